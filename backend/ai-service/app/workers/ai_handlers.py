@@ -5,12 +5,16 @@ Xử lý messages từ RabbitMQ và route tới handlers tương ứng
 import logging
 import time
 import json
+import gzip
+import hashlib
 from datetime import datetime
 from typing import Dict, Any, List
 import os
 
 from app.config.settings import settings
 
+import redis
+
 # Gemini API
 try:
     import google.generativeai as genai
@@ -50,6 +54,7 @@ class AIMessageHandler:
         self.tokenizer = None
         self.device = None
         self.rabbitmq_manager = rabbitmq_manager
+        self.redis_client = None  # Lazy: chỉ cần khi nhận claim-check payload
         
         # Initialize AI based on provider
         if not self.mock_mode:
@@ -115,6 +120,9 @@ class AIMessageHandler:
         try:
             logger.info(f"[Received] Action: {action} for Message ID: {message_id}")
             logger.info(f"[Priority] {priority} | User: {user_id}")
+            
+            # Payload lớn được Core Service gửi qua claim-check (Redis), queue chỉ mang reference
+            payload = self._resolve_claim_check(payload)
             mode_status = "MOCK mode" if self.mock_mode else "AI mode"
             logger.info(f"[Processing] {action} with {mode_status}...")
             
@@ -171,6 +179,32 @@ class AIMessageHandler:
             
             return error_response
     
+    def _resolve_claim_check(self, payload: Dict[str, Any]) -> Dict[str, Any]:
+        """
+        Đọc payload thật từ Redis nếu message chỉ chứa claim-check reference
+        
+        Reference: {"claim_check": {"key", "sha256", "encoding": "gzip", "size"}}
+        (xem AIPayloadClaimCheck ở core-service)
+        """
+        claim_check = payload.get('claim_check') if isinstance(payload, dict) else None
+        if not claim_check:
+            return payload
+        
+        if self.redis_client is None:
+            self.redis_client = redis.Redis.from_url(settings.redis_url)
+        
+        key = claim_check.get('key')
+        blob = self.redis_client.get(key)
+        if blob is None:
+            raise ValueError(f"Claim-check payload expired or missing: {key}")
+        
+        raw = gzip.decompress(blob) if claim_check.get('encoding') == 'gzip' else blob
+        if hashlib.sha256(raw).hexdigest() != claim_check.get('sha256'):
+            raise ValueError(f"Claim-check payload hash mismatch: {key}")
+        
+        logger.info(f"📦 Loaded claim-check payload {key} ({len(blob)} bytes gzip → {len(raw)} bytes)")
+        return json.loads(raw)
+    
     def _send_result_to_queue(self, response: Dict[str, Any]) -> None:
         """Send result to ai_result_queue"""
         if not self.rabbitmq_manager:
@@ -0,0 +1,121 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import vn.edu.smd.benchmarks.support.SyntheticData;
+import vn.edu.smd.core.config.RabbitMQConfig;
+import vn.edu.smd.core.module.ai.service.AIPayloadClaimCheck;
+import vn.edu.smd.shared.dto.ai.AIMessageRequest;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message COMPARE_VERSIONS gửi lên RabbitMQ: payload inline vs claim-check reference
+ *
+ * claimCheck gồm cả chi phí chuẩn hoá JSON + gzip + sha256 (không tính round-trip Redis).
+ * Kích thước message (byte trên broker) được in ra khi setup; trên môi trường chạy thật
+ * xem metric smd.ai.message.bytes theo tag transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIMessageTransportBenchmark {
+
+    @Param({"10", "50"})
+    public int cloCount;
+
+    private MessageConverter converter;
+    private AIPayloadClaimCheck claimCheck;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setup() {
+        converter = new RabbitMQConfig().messageConverter();
+        // Chỉ dùng encode() - không cần Redis / bulkhead
+        claimCheck = new AIPayloadClaimCheck(null, null, null);
+
+        SyntheticData oldData = new SyntheticData(cloCount);
+        SyntheticData newData = new SyntheticData(cloCount);
+        payload = new HashMap<>();
+        payload.put("old_version_id", oldData.syllabus.getId().toString());
+        payload.put("new_version_id", newData.syllabus.getId().toString());
+        payload.put("subject_id", oldData.syllabus.getSubject().getId().toString());
+        payload.put("old_version", versionData(oldData));
+        payload.put("new_version", versionData(newData));
+        payload.put("comparison_depth", "DETAILED");
+
+        System.out.printf("%nCOMPARE_VERSIONS message (%d CLO): inline=%d bytes, claim_check=%d bytes (blob %d bytes gzip)%n",
+                cloCount, inline().getBody().length, claimCheck().getBody().length,
+                claimCheck.encode(payload).gzip().length);
+    }
+
+    @Benchmark
+    public Message inline() {
+        return converter.toMessage(message(payload), new MessageProperties());
+    }
+
+    @Benchmark
+    public Message claimCheck() {
+        AIPayloadClaimCheck.EncodedPayload encoded = claimCheck.encode(payload);
+        Map<String, Object> claim = new LinkedHashMap<>();
+        claim.put("key", encoded.key());
+        claim.put("sha256", encoded.sha256());
+        claim.put("encoding", "gzip");
+        claim.put("size", encoded.jsonBytes());
+        Map<String, Object> reference = new LinkedHashMap<>();
+        reference.put("old_version_id", payload.get("old_version_id"));
+        reference.put("new_version_id", payload.get("new_version_id"));
+        reference.put("subject_id", payload.get("subject_id"));
+        reference.put("comparison_depth", payload.get("comparison_depth"));
+        reference.put(AIPayloadClaimCheck.CLAIM_CHECK_FIELD, claim);
+        return converter.toMessage(message(reference), new MessageProperties());
+    }
+
+    private static AIMessageRequest message(Map<String, Object> payload) {
+        return AIMessageRequest.builder()
+                .messageId(UUID.randomUUID().toString())
+                .action("COMPARE_VERSIONS")
+                .priority("MEDIUM")
+                .timestamp(Instant.now())
+                .userId(UUID.randomUUID().toString())
+                .payload(payload)
+                .build();
+    }
+
+    /**
+     * Giống AITaskService.buildVersionData
+     */
+    private static Map<String, Object> versionData(SyntheticData data) {
+        Map<String, Object> version = new HashMap<>();
+        version.put("version_no", data.syllabus.getVersionNo());
+        version.put("status", data.syllabus.getStatus().toString());
+        version.put("subject_code", data.syllabus.getSnapSubjectCode());
+        version.put("subject_name", data.syllabus.getSnapSubjectNameVi());
+        version.put("credit_count", data.syllabus.getSnapCreditCount());
+        version.put("description", data.syllabus.getDescription());
+        version.put("objectives", data.syllabus.getObjectives());
+        version.put("content", data.syllabus.getContent());
+        version.put("created_at", data.syllabus.getCreatedAt());
+        return version;
+    }
+}
@@ -0,0 +1,41 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Chạy JMH và ghi kết quả JSON vào results/jmh-&lt;commit&gt;.json
+ *
+ * Tham số dòng lệnh giống JMH (vd: "PloMapping -f 1 -wi 1").
+ * Commit lấy từ -Dbench.commit (mặc định "local").
+ * So sánh hai lần chạy: {@link CompareResults}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if (cli.getResult().hasValue() || cli.getResultFormat().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+
+        String commit = System.getProperty("bench.commit", "local");
+        Path resultFile = Path.of("results", "jmh-" + commit + ".json");
+        Files.createDirectories(resultFile.getParent());
+
+        new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build()).run();
+
+        System.out.println("JMH results written to " + resultFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,70 @@
+package vn.edu.smd.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * So sánh hai file JSON của JMH (baseline vs candidate)
+ *
+ * Usage: java -cp ... vn.edu.smd.benchmarks.CompareResults results/jmh-abc123.json results/jmh-def456.json [threshold%]
+ * Exit code 1 nếu có benchmark chậm hơn ngưỡng (mặc định 10%).
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().get("primaryMetric");
+            String unit = after.get("scoreUnit").asText();
+            double afterScore = after.get("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", afterScore, "new");
+                continue;
+            }
+            double beforeScore = before.get("primaryMetric").get("score").asDouble();
+            double change = (afterScore - beforeScore) / beforeScore * 100;
+            // Throughput (ops/time): cao hơn là tốt; AverageTime (time/op): thấp hơn là tốt
+            boolean higherIsBetter = unit.startsWith("ops/");
+            double slowdown = higherIsBetter ? -change : change;
+            String marker = slowdown > threshold ? "  <-- REGRESSION" : "";
+            regression |= slowdown > threshold;
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    entry.getKey(), beforeScore, afterScore, change, unit, marker);
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText()
+                    .replace("vn.edu.smd.benchmarks.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            results.put(key.toString(), run);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,69 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import vn.edu.smd.benchmarks.support.Stubs;
+import vn.edu.smd.core.security.JwtTokenProvider;
+import vn.edu.smd.core.security.UserPrincipal;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider validate/parse - chạy trên mọi request qua JwtAuthenticationFilter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    // Cùng secret với application.properties
+    private static final String SECRET =
+            "smd-syllabus-management-super-secret-key-for-jwt-token-generation-2024-hs512-algorithm-64bytes!!";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        Stubs.setField(tokenProvider, "jwtSecret", SECRET);
+        Stubs.setField(tokenProvider, "jwtExpirationMs", 86400000L);
+        Stubs.setField(tokenProvider, "refreshTokenExpirationMs", 604800000L);
+        tokenProvider.init();
+
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "student@smd.edu.vn", "", List.of());
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUserIdFromToken() {
+        return tokenProvider.getUserIdFromToken(token);
+    }
+
+    /**
+     * Đường đi thực tế trong JwtAuthenticationFilter: validate rồi parse lại lần nữa
+     */
+    @Benchmark
+    public String validateThenParse() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getUserIdFromToken(token) : null;
+    }
+}
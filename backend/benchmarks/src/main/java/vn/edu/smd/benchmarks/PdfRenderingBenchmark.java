@@ -0,0 +1,60 @@
+package vn.edu.smd.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import vn.edu.smd.benchmarks.support.Stubs;
+import vn.edu.smd.benchmarks.support.SyntheticData;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
+import vn.edu.smd.core.module.student.service.PdfService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PdfService.generateSyllabusPdf (Thymeleaf template + openhtmltopdf, font TimesVN)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PdfRenderingBenchmark {
+
+    private PdfService pdfService;
+    private StudentSyllabusDetailDto data;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        pdfService = new PdfService();
+        Stubs.setField(pdfService, "templateEngine", templateEngine);
+        Stubs.setField(pdfService, "bulkheadRegistry",
+                new BulkheadRegistry(new StandardEnvironment(), new SimpleMeterRegistry()));
+
+        data = new SyntheticData(8).detailDto();
+    }
+
+    @Benchmark
+    public byte[] generateSyllabusPdf() {
+        return pdfService.generateSyllabusPdf(data);
+    }
+}
@@ -0,0 +1,63 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vn.edu.smd.benchmarks.support.Stubs;
+import vn.edu.smd.benchmarks.support.SyntheticData;
+import vn.edu.smd.core.repository.PLORepository;
+import vn.edu.smd.core.service.PloMappingService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PloMappingService.suggestPloMappings cho một đề cương có N CLO
+ * (bộ PLO mặc định và bộ PLO của curriculum lấy từ repository)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PloMappingBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int cloCount;
+
+    private PloMappingService ploMappingService;
+    private List<Map<String, Object>> clos;
+    private UUID curriculumId;
+
+    @Setup
+    public void setup() {
+        SyntheticData data = new SyntheticData(cloCount);
+        var answers = Stubs.answers();
+        answers.put("findByCurriculumId", args -> data.plos);
+        PLORepository ploRepository = Stubs.repository(PLORepository.class, answers);
+        ploMappingService = Stubs.service(PloMappingService.class, Map.of(PLORepository.class, ploRepository));
+        clos = data.cloMaps();
+        curriculumId = data.syllabus.getSubject().getCurriculum().getId();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> suggestPloMappings() {
+        return ploMappingService.suggestPloMappings(clos);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> suggestPloMappingsForCurriculum() {
+        return ploMappingService.suggestPloMappings(curriculumId, clos);
+    }
+}
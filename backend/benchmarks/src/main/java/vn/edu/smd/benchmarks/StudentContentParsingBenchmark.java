@@ -0,0 +1,69 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import vn.edu.smd.benchmarks.support.Stubs;
+import vn.edu.smd.benchmarks.support.SyntheticData;
+import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
+import vn.edu.smd.core.module.student.service.impl.StudentSyllabusServiceImpl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentSyllabusServiceImpl.parseContent - đọc CLO, đánh giá, giáo trình từ JSONB content
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentContentParsingBenchmark {
+
+    @Param({"5", "20"})
+    public int cloCount;
+
+    private StudentSyllabusServiceImpl service;
+    private MethodHandle parseContent;
+    private Map<String, Object> content;
+
+    @Setup
+    public void setup() throws Exception {
+        content = new SyntheticData(cloCount).syllabus.getContent();
+        service = Stubs.service(StudentSyllabusServiceImpl.class, Map.of());
+        parseContent = MethodHandles.privateLookupIn(StudentSyllabusServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(StudentSyllabusServiceImpl.class, "parseContent",
+                        MethodType.methodType(void.class, Map.class, List.class, List.class, List.class,
+                                List.class, Map.class));
+    }
+
+    @Benchmark
+    public void parseContent(Blackhole blackhole) throws Throwable {
+        List<StudentSyllabusDetailDto.CloDto> clos = new ArrayList<>();
+        List<StudentSyllabusDetailDto.AssessmentDto> assessments = new ArrayList<>();
+        List<String> textbooks = new ArrayList<>();
+        List<String> references = new ArrayList<>();
+        Map<String, List<String>> matrix = new HashMap<>();
+        parseContent.invoke(service, content, clos, assessments, textbooks, references, matrix);
+        blackhole.consume(clos);
+        blackhole.consume(assessments);
+        blackhole.consume(matrix);
+    }
+}
@@ -0,0 +1,86 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import vn.edu.smd.benchmarks.support.Stubs;
+import vn.edu.smd.benchmarks.support.SyntheticData;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusResponse;
+import vn.edu.smd.core.module.syllabus.service.SyllabusService;
+import vn.edu.smd.core.repository.AssessmentCloMappingRepository;
+import vn.edu.smd.core.repository.AssessmentSchemeRepository;
+import vn.edu.smd.core.repository.CLORepository;
+import vn.edu.smd.core.repository.CloPlOMappingRepository;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * SyllabusService.mapToResponse trên entity giả lập
+ *
+ * Repository được thay bằng stub in-memory nên kết quả đo phần CPU của việc
+ * mapping (không tính round-trip DB của các query per-CLO / per-assessment).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyllabusMappingBenchmark {
+
+    @Param({"5", "20"})
+    public int cloCount;
+
+    private SyllabusService syllabusService;
+    private MethodHandle mapToResponse;
+    private SyllabusVersion syllabus;
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticData data = new SyntheticData(cloCount);
+        syllabus = data.syllabus;
+
+        Map<String, Function<Object[], Object>> cloAnswers = Stubs.answers();
+        cloAnswers.put("findBySyllabusVersionId", args -> data.clos);
+        Map<String, Function<Object[], Object>> mappingAnswers = Stubs.answers();
+        mappingAnswers.put("findByCloId", args -> data.cloPloMappings.getOrDefault((UUID) args[0], List.of()));
+        Map<String, Function<Object[], Object>> assessmentAnswers = Stubs.answers();
+        assessmentAnswers.put("findBySyllabusVersionId", args -> data.assessments);
+        Map<String, Function<Object[], Object>> assessmentCloAnswers = Stubs.answers();
+        assessmentCloAnswers.put("findByAssessmentSchemeId",
+                args -> data.assessmentCloMappings.getOrDefault((UUID) args[0], List.of()));
+
+        syllabusService = Stubs.service(SyllabusService.class, Map.of(
+                CLORepository.class, Stubs.repository(CLORepository.class, cloAnswers),
+                CloPlOMappingRepository.class, Stubs.repository(CloPlOMappingRepository.class, mappingAnswers),
+                AssessmentSchemeRepository.class, Stubs.repository(AssessmentSchemeRepository.class, assessmentAnswers),
+                AssessmentCloMappingRepository.class,
+                Stubs.repository(AssessmentCloMappingRepository.class, assessmentCloAnswers)
+        ));
+
+        mapToResponse = MethodHandles.privateLookupIn(SyllabusService.class, MethodHandles.lookup())
+                .findVirtual(SyllabusService.class, "mapToResponse",
+                        MethodType.methodType(SyllabusResponse.class, SyllabusVersion.class));
+    }
+
+    @Benchmark
+    public SyllabusResponse mapToResponse() throws Throwable {
+        return (SyllabusResponse) mapToResponse.invoke(syllabusService, syllabus);
+    }
+}
@@ -0,0 +1,104 @@
+package vn.edu.smd.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import vn.edu.smd.core.config.RedisConfig;
+import vn.edu.smd.core.dto.TaskStatusDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializer Redis của TaskStatusDTO (Jackson + default typing) từ RedisConfig
+ *
+ * Payload SUCCESS mô phỏng kết quả MAP_CLO_PLO với 20 mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStatusSerializerBenchmark {
+
+    private RedisSerializer<TaskStatusDTO> serializer;
+    private TaskStatusDTO queued;
+    private TaskStatusDTO success;
+    private byte[] successBytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        // Connection factory không được start - chỉ cần để template afterPropertiesSet()
+        RedisTemplate<String, TaskStatusDTO> template =
+                new RedisConfig().taskStatusRedisTemplate(new LettuceConnectionFactory());
+        serializer = (RedisSerializer<TaskStatusDTO>) template.getValueSerializer();
+
+        queued = TaskStatusDTO.builder()
+                .taskId(UUID.randomUUID().toString())
+                .action("MAP_CLO_PLO")
+                .status("QUEUED")
+                .progress(0)
+                .message("Task queued for processing")
+                .timestamp(System.currentTimeMillis())
+                .userId(UUID.randomUUID().toString())
+                .priority("HIGH")
+                .build();
+
+        List<Map<String, Object>> mappings = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            Map<String, Object> mapping = new HashMap<>();
+            mapping.put("clo_code", "CLO" + i);
+            mapping.put("plo_code", "PLO" + (i % 8 + 1));
+            mapping.put("level", "M");
+            mapping.put("score", 0.75);
+            mapping.put("comment", "CLO phù hợp với chuẩn đầu ra của chương trình đào tạo");
+            mappings.add(mapping);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("mappings", mappings);
+        result.put("compliance_score", 87.5);
+        result.put("summary", "Đề cương đáp ứng phần lớn yêu cầu về ánh xạ CLO-PLO");
+
+        success = TaskStatusDTO.builder()
+                .taskId(queued.getTaskId())
+                .action("MAP_CLO_PLO")
+                .status("SUCCESS")
+                .progress(100)
+                .result(result)
+                .timestamp(System.currentTimeMillis())
+                .processingTimeMs(6500)
+                .build();
+        successBytes = serializer.serialize(success);
+    }
+
+    @Benchmark
+    public byte[] serializeQueued() {
+        return serializer.serialize(queued);
+    }
+
+    @Benchmark
+    public byte[] serializeSuccess() {
+        return serializer.serialize(success);
+    }
+
+    @Benchmark
+    public TaskStatusDTO deserializeSuccess() {
+        return serializer.deserialize(successBytes);
+    }
+}
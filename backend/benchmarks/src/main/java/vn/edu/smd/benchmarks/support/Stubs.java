@@ -0,0 +1,110 @@
+package vn.edu.smd.benchmarks.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins cho repository interfaces
+ *
+ * Mỗi method trả về kết quả đã đăng ký theo tên method; các method khác trả về
+ * giá trị rỗng (empty list/Optional, false, 0, null) để service chạy được mà không cần DB.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(self);
+                            case "equals" -> self == args[0];
+                            default -> type.getSimpleName() + "Stub";
+                        };
+                    }
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return emptyValue(method.getReturnType());
+                });
+        return type.cast(proxy);
+    }
+
+    public static <T> T repository(Class<T> type) {
+        return repository(type, Collections.emptyMap());
+    }
+
+    /**
+     * Tạo service có constructor injection (@RequiredArgsConstructor): interface được stub,
+     * tham số khác lấy từ overrides theo type hoặc để null.
+     */
+    public static <T> T service(Class<T> type, Map<Class<?>, Object> overrides) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Class<?> parameterType = parameterTypes[i];
+                if (overrides.containsKey(parameterType)) {
+                    args[i] = overrides.get(parameterType);
+                } else if (parameterType.isInterface()) {
+                    args[i] = repository(parameterType);
+                }
+            }
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Gán field private (dùng cho @Autowired / @Value field injection)
+     */
+    public static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set field " + name, e);
+        }
+    }
+
+    public static Map<String, Function<Object[], Object>> answers() {
+        return new HashMap<>();
+    }
+
+    private static Object emptyValue(Class<?> returnType) {
+        if (returnType == List.class || returnType == Iterable.class) {
+            return Collections.emptyList();
+        }
+        if (returnType == Set.class) {
+            return Collections.emptySet();
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        return null;
+    }
+}
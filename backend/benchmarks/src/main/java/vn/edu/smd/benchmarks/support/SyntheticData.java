@@ -0,0 +1,215 @@
+package vn.edu.smd.benchmarks.support;
+
+import vn.edu.smd.core.entity.AcademicTerm;
+import vn.edu.smd.core.entity.AssessmentCloMapping;
+import vn.edu.smd.core.entity.AssessmentScheme;
+import vn.edu.smd.core.entity.CLO;
+import vn.edu.smd.core.entity.CloPlOMapping;
+import vn.edu.smd.core.entity.Curriculum;
+import vn.edu.smd.core.entity.Department;
+import vn.edu.smd.core.entity.Faculty;
+import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.entity.User;
+import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dữ liệu giả lập có kích thước điều chỉnh được cho benchmark
+ *
+ * Mô phỏng một đề cương với N CLO, 8 PLO, mỗi CLO ánh xạ 2 PLO và
+ * 4 hình thức đánh giá, tương tự dữ liệu seed trong db/migration.
+ */
+public class SyntheticData {
+
+    private static final String[] CLO_TEMPLATES = {
+            "Phân tích yêu cầu và thiết kế kiến trúc hệ thống phần mềm theo mô hình phân lớp",
+            "Áp dụng kiến thức toán học và thuật toán để giải quyết bài toán kỹ thuật",
+            "Thiết kế cơ sở dữ liệu quan hệ, viết truy vấn SQL và quản lý lưu trữ dữ liệu",
+            "Lập trình thành thạo bằng ngôn ngữ Java và Python, cài đặt các cấu trúc dữ liệu",
+            "Làm việc nhóm hiệu quả trong dự án, phối hợp và chia sẻ công việc với thành viên",
+            "Thuyết trình, viết báo cáo kỹ thuật và trình bày kết quả một cách chuyên nghiệp",
+            "Tuân thủ đạo đức nghề nghiệp, trách nhiệm về bảo mật và quyền riêng tư dữ liệu",
+            "Tự học, nghiên cứu và cập nhật công nghệ mới để phát triển nghề nghiệp"
+    };
+
+    private static final String[] BLOOM_LEVELS = {"Remember", "Understand", "Apply", "Analyze", "Evaluate", "Create"};
+
+    private static final String[] ASSESSMENT_NAMES = {"Chuyên cần", "Bài tập thực hành", "Kiểm tra giữa kỳ", "Thi cuối kỳ"};
+
+    public final SyllabusVersion syllabus;
+    public final List<CLO> clos = new ArrayList<>();
+    public final List<PLO> plos = new ArrayList<>();
+    public final Map<UUID, List<CloPlOMapping>> cloPloMappings = new HashMap<>();
+    public final List<AssessmentScheme> assessments = new ArrayList<>();
+    public final Map<UUID, List<AssessmentCloMapping>> assessmentCloMappings = new HashMap<>();
+
+    public SyntheticData(int cloCount) {
+        Faculty faculty = Faculty.builder().id(UUID.randomUUID()).code("CNTT").name("Khoa Công nghệ Thông tin").build();
+        Department department = Department.builder().id(UUID.randomUUID()).code("KTPM")
+                .name("Bộ môn Kỹ thuật Phần mềm").faculty(faculty).build();
+        Curriculum curriculum = Curriculum.builder().id(UUID.randomUUID()).code("CNTT2024")
+                .name("Kỹ thuật Phần mềm 2024").faculty(faculty).totalCredits(150).build();
+        Subject subject = Subject.builder().id(UUID.randomUUID()).code("SE101")
+                .currentNameVi("Nhập môn Kỹ thuật Phần mềm").currentNameEn("Introduction to Software Engineering")
+                .department(department).curriculum(curriculum).defaultCredits(3)
+                .description("Môn học cung cấp kiến thức nền tảng về quy trình phát triển phần mềm.")
+                .build();
+        AcademicTerm term = AcademicTerm.builder().id(UUID.randomUUID()).code("HK1_2024-2025")
+                .name("Học kỳ 1").academicYear("2024-2025").build();
+        User owner = User.builder().id(UUID.randomUUID()).email("lecturer@smd.edu.vn").fullName("Nguyễn Văn A").build();
+
+        this.syllabus = SyllabusVersion.builder()
+                .id(UUID.randomUUID())
+                .subject(subject)
+                .academicTerm(term)
+                .versionNo("v1.0")
+                .status(SyllabusStatus.PUBLISHED)
+                .snapSubjectCode(subject.getCode())
+                .snapSubjectNameVi(subject.getCurrentNameVi())
+                .snapSubjectNameEn(subject.getCurrentNameEn())
+                .snapCreditCount(3)
+                .keywords(new String[]{"software", "engineering"})
+                .description(subject.getDescription())
+                .objectives("Hiểu quy trình phát triển phần mềm\nÁp dụng các mô hình thiết kế\nLàm việc nhóm")
+                .studentTasks("Tham gia lớp học\nLàm bài tập\nThực hiện đồ án")
+                .createdBy(owner)
+                .publishedAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        for (int i = 1; i <= 8; i++) {
+            plos.add(PLO.builder().id(UUID.randomUUID()).subject(subject).code("PLO" + i)
+                    .description(CLO_TEMPLATES[i - 1]).build());
+        }
+
+        for (int i = 0; i < cloCount; i++) {
+            CLO clo = CLO.builder().id(UUID.randomUUID()).syllabusVersion(syllabus).code("CLO" + (i + 1))
+                    .description(CLO_TEMPLATES[i % CLO_TEMPLATES.length])
+                    .bloomLevel(BLOOM_LEVELS[i % BLOOM_LEVELS.length])
+                    .weight(BigDecimal.valueOf(100.0 / cloCount)).build();
+            clos.add(clo);
+
+            List<CloPlOMapping> mappings = new ArrayList<>();
+            mappings.add(CloPlOMapping.builder().id(UUID.randomUUID()).clo(clo)
+                    .plo(plos.get(i % plos.size())).mappingLevel("H").build());
+            mappings.add(CloPlOMapping.builder().id(UUID.randomUUID()).clo(clo)
+                    .plo(plos.get((i + 3) % plos.size())).mappingLevel("M").build());
+            cloPloMappings.put(clo.getId(), mappings);
+        }
+
+        for (String name : ASSESSMENT_NAMES) {
+            AssessmentScheme scheme = AssessmentScheme.builder().id(UUID.randomUUID()).syllabusVersion(syllabus)
+                    .name(name).weightPercent(BigDecimal.valueOf(25)).build();
+            assessments.add(scheme);
+            List<AssessmentCloMapping> mappings = new ArrayList<>();
+            for (int i = 0; i < clos.size(); i += 2) {
+                mappings.add(AssessmentCloMapping.builder().id(UUID.randomUUID())
+                        .assessmentScheme(scheme).clo(clos.get(i)).build());
+            }
+            assessmentCloMappings.put(scheme.getId(), mappings);
+        }
+
+        syllabus.setContent(buildContent());
+    }
+
+    /**
+     * CLO dạng Map như input của PloMappingService.suggestPloMappings
+     */
+    public List<Map<String, Object>> cloMaps() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (CLO clo : clos) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("code", clo.getCode());
+            map.put("description", clo.getDescription());
+            map.put("bloomLevel", clo.getBloomLevel());
+            result.add(map);
+        }
+        return result;
+    }
+
+    public StudentSyllabusDetailDto detailDto() {
+        List<StudentSyllabusDetailDto.CloDto> cloDtos = new ArrayList<>();
+        Map<String, List<String>> matrix = new LinkedHashMap<>();
+        for (CLO clo : clos) {
+            List<String> ploCodes = cloPloMappings.get(clo.getId()).stream()
+                    .map(m -> m.getPlo().getCode()).toList();
+            matrix.put(clo.getCode(), ploCodes);
+            cloDtos.add(StudentSyllabusDetailDto.CloDto.builder().code(clo.getCode())
+                    .description(clo.getDescription()).bloomLevel(clo.getBloomLevel())
+                    .weight(clo.getWeight().intValue()).plo(ploCodes).build());
+        }
+        List<StudentSyllabusDetailDto.AssessmentDto> assessmentDtos = new ArrayList<>();
+        for (AssessmentScheme scheme : assessments) {
+            assessmentDtos.add(StudentSyllabusDetailDto.AssessmentDto.builder().method(scheme.getName())
+                    .form("Thi viết").criteria("Rubric").weight(25).clo(List.of("CLO1", "CLO2")).build());
+        }
+        Subject subject = syllabus.getSubject();
+        return StudentSyllabusDetailDto.builder()
+                .id(subject.getId())
+                .versionId(syllabus.getId())
+                .code(subject.getCode())
+                .nameVi(subject.getCurrentNameVi())
+                .nameEn(subject.getCurrentNameEn())
+                .term("Học kỳ 1")
+                .credits(3)
+                .faculty(subject.getDepartment().getFaculty().getName())
+                .lecturerName("Giảng viên phụ trách")
+                .description(subject.getDescription())
+                .summaryInline(subject.getDescription())
+                .status("PUBLISHED")
+                .clos(cloDtos)
+                .ploList(plos.stream().map(PLO::getCode).toList())
+                .cloPloMap(matrix)
+                .assessmentMatrix(assessmentDtos)
+                .objectives(List.of(syllabus.getObjectives().split("\\n")))
+                .studentTasks(List.of(syllabus.getStudentTasks().split("\\n")))
+                .textbooks(List.of("Software Engineering - Ian Sommerville", "Clean Code - Robert C. Martin"))
+                .references(List.of("Pressman, Software Engineering: A Practitioner's Approach"))
+                .timeAllocation(new StudentSyllabusDetailDto.TimeAllocationDto(30, 30, 90))
+                .build();
+    }
+
+    private Map<String, Object> buildContent() {
+        Map<String, Object> content = new HashMap<>();
+        List<Map<String, Object>> cloList = new ArrayList<>();
+        for (CLO clo : clos) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("code", clo.getCode());
+            map.put("description", clo.getDescription());
+            map.put("bloomLevel", clo.getBloomLevel());
+            map.put("weight", clo.getWeight().intValue());
+            map.put("mappedPLOs", cloPloMappings.get(clo.getId()).stream().map(m -> m.getPlo().getCode()).toList());
+            cloList.add(map);
+        }
+        content.put("clos", cloList);
+
+        List<Map<String, Object>> assessmentList = new ArrayList<>();
+        for (AssessmentScheme scheme : assessments) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("method", scheme.getName());
+            map.put("form", "Thi viết");
+            map.put("criteria", "Rubric");
+            map.put("weight", 25);
+            map.put("clos", List.of("CLO1", "CLO2"));
+            assessmentList.add(map);
+        }
+        content.put("assessmentMethods", assessmentList);
+        content.put("textbooks", List.of(Map.of("title", "Software Engineering - Ian Sommerville"),
+                Map.of("title", "Clean Code - Robert C. Martin")));
+        content.put("references", "Pressman, Software Engineering\nFowler, Refactoring");
+        content.put("objectives", List.of("Hiểu quy trình phát triển phần mềm", "Áp dụng các mô hình thiết kế"));
+        content.put("description", syllabus.getDescription());
+        return content;
+    }
+}
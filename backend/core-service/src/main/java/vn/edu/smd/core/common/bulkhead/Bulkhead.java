@@ -0,0 +1,127 @@
+package vn.edu.smd.core.common.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.observability.TransactionRecorder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Semaphore bulkhead giới hạn số lời gọi đồng thời tới một backend
+ *
+ * Khi hết permit, caller chờ tối đa maxWait rồi nhận BulkheadFullException (HTTP 503),
+ * thay vì chiếm thread vô thời hạn khi backend chậm.
+ *
+ * Metrics (tag: name):
+ * - smd.bulkhead.active / smd.bulkhead.max / smd.bulkhead.saturation
+ * - smd.bulkhead.wait: thời gian chờ permit
+ * - smd.bulkhead.rejected: số lời gọi bị từ chối
+ *
+ * Lời gọi ra ngoài (mọi bulkhead trừ "database") được báo cho TransactionRecorder để đếm
+ * các lần gọi I/O trong lúc thread còn giữ connection của một transaction.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore semaphore;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.semaphore = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("smd.bulkhead.active", this, Bulkhead::getActiveCount)
+                .description("Calls currently holding a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("smd.bulkhead.max", this, Bulkhead::getMaxConcurrent)
+                .description("Maximum concurrent calls allowed by the bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("smd.bulkhead.saturation", this, Bulkhead::getSaturation)
+                .description("Ratio of used permits (0..1)")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("smd.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("smd.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was full")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    public void run(Runnable call) {
+        acquire();
+        try {
+            call.run();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Lấy permit thủ công - caller bắt buộc gọi release() (dùng cho connection DB)
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for bulkhead '" + name + "'");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new BulkheadFullException("Bulkhead '" + name + "' is full (" + maxConcurrent
+                    + " concurrent calls), please retry later");
+        }
+        if (!BulkheadRegistry.DATABASE.equals(name)) {
+            TransactionRecorder.recordOutboundCall(name);
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - semaphore.availablePermits();
+    }
+
+    public double getSaturation() {
+        return (double) getActiveCount() / maxConcurrent;
+    }
+}
@@ -0,0 +1,105 @@
+package vn.edu.smd.core.common.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * DataSource giữ một permit của bulkhead "database" trong suốt thời gian connection mở
+ *
+ * - Permit được trả đúng một lần khi Connection.close() được gọi (trả về pool).
+ * - Chỉ áp dụng khi guarded = true (vd: thread đang xử lý HTTP request); các thread khác
+ *   (RabbitMQ listener, scheduler) lấy connection thẳng từ pool.
+ * - Hết permit → SQLTransientConnectionException (SQLState 08001, cause = BulkheadFullException)
+ *   đúng hợp đồng của getConnection(); GlobalExceptionHandler trả 503.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private static final String CONNECTION_UNAVAILABLE_STATE = "08001";
+
+    private final Supplier<Bulkhead> bulkhead;
+    private final BooleanSupplier guarded;
+
+    public BulkheadDataSource(DataSource targetDataSource, Supplier<Bulkhead> bulkhead, BooleanSupplier guarded) {
+        super(targetDataSource);
+        this.bulkhead = bulkhead;
+        this.guarded = guarded;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!guarded.getAsBoolean()) {
+            return obtainTargetDataSource().getConnection();
+        }
+        Bulkhead current = acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection(), current);
+        } catch (SQLException | RuntimeException e) {
+            current.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!guarded.getAsBoolean()) {
+            return obtainTargetDataSource().getConnection(username, password);
+        }
+        Bulkhead current = acquire();
+        try {
+            return wrap(obtainTargetDataSource().getConnection(username, password), current);
+        } catch (SQLException | RuntimeException e) {
+            current.release();
+            throw e;
+        }
+    }
+
+    private Bulkhead acquire() throws SQLException {
+        Bulkhead current = bulkhead.get();
+        try {
+            current.acquire();
+        } catch (BulkheadFullException e) {
+            throw new SQLTransientConnectionException(e.getMessage(), CONNECTION_UNAVAILABLE_STATE, e);
+        }
+        return current;
+    }
+
+    private Connection wrap(Connection target, Bulkhead current) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        // So sánh theo chính proxy (pool / Hibernate dùng connection làm key)
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Bulkhead-guarded connection [" + target + "]";
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                current.release();
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,66 @@
+package vn.edu.smd.core.common.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry các bulkhead theo integration
+ *
+ * Cấu hình trong application.properties:
+ *   app.bulkhead.<name>.max-concurrent
+ *   app.bulkhead.<name>.max-wait-ms
+ * Tắt toàn bộ: app.bulkhead.enabled=false
+ */
+@Slf4j
+@Component
+public class BulkheadRegistry {
+
+    public static final String DATABASE = "database";
+    public static final String REDIS = "redis";
+    public static final String RABBITMQ = "rabbitmq";
+    public static final String FCM = "fcm";
+    public static final String PDF = "pdf";
+
+    private static final Map<String, Integer> DEFAULT_MAX_CONCURRENT = Map.of(
+            DATABASE, 16,
+            REDIS, 50,
+            RABBITMQ, 20,
+            FCM, 10,
+            PDF, 4
+    );
+
+    private static final long DEFAULT_MAX_WAIT_MS = 5000;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadRegistry(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Bulkhead get(String name) {
+        return bulkheads.computeIfAbsent(name, this::create);
+    }
+
+    private Bulkhead create(String name) {
+        boolean enabled = environment.getProperty("app.bulkhead.enabled", Boolean.class, true);
+        int maxConcurrent = enabled
+                ? environment.getProperty("app.bulkhead." + name + ".max-concurrent", Integer.class,
+                        DEFAULT_MAX_CONCURRENT.getOrDefault(name, 20))
+                : Integer.MAX_VALUE;
+        long maxWaitMs = environment.getProperty("app.bulkhead." + name + ".max-wait-ms", Long.class,
+                DEFAULT_MAX_WAIT_MS);
+
+        log.info("Bulkhead '{}' created: maxConcurrent={}, maxWait={}ms", name,
+                enabled ? maxConcurrent : "unbounded", maxWaitMs);
+        return new Bulkhead(name, maxConcurrent, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+}
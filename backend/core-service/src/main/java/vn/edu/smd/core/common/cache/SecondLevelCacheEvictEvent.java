@@ -0,0 +1,7 @@
+package vn.edu.smd.core.common.cache;
+
+/**
+ * Cả region của entity cần bỏ trên các instance khác (sau bulk UPDATE / DELETE bằng JPQL / native SQL)
+ */
+public record SecondLevelCacheEvictEvent(String entityName) {
+}
@@ -0,0 +1,166 @@
+package vn.edu.smd.core.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Đồng bộ second-level cache của Hibernate giữa các instance qua Redis pub/sub
+ *
+ * - Cache (Caffeine qua JCache) nằm trong heap của từng instance; Hibernate tự cập nhật cache local
+ *   khi entity được sửa / xóa, nhưng instance khác vẫn giữ bản cũ tới khi hết hạn
+ * - Sau khi transaction commit, mỗi UPDATE / DELETE của entity có cache được phát
+ *   "entityName|id|nodeId" lên kênh; instance nhận bỏ entity đó và query cache mặc định
+ * - Bulk UPDATE / DELETE không qua entity: service gọi evictAll(entityClass) → cả region
+ * - Lỗi Redis không chặn thao tác ghi; region luôn có after-write expiry (application.conf)
+ *   để giới hạn thời gian dữ liệu cũ khi mất thông báo
+ *
+ * Mọi entity có cache đều dùng khóa UUID.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidator implements MessageListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    public static final String CHANNEL = "smd:l2cache:evict";
+
+    private static final char SEPARATOR = '|';
+    private static final String ALL = "*";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.l2-cache.pubsub.enabled:true}")
+    private boolean pubSubEnabled = true;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Bỏ cả region của entity trên các instance khác sau khi transaction hiện tại commit
+     * (region local đã được Hibernate dọn khi chạy bulk UPDATE / DELETE)
+     */
+    public void evictAll(Class<?> entityClass) {
+        eventPublisher.publishEvent(new SecondLevelCacheEvictEvent(entityClass.getName()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvictAll(SecondLevelCacheEvictEvent event) {
+        publish(event.entityName(), ALL);
+    }
+
+    // ==========================================
+    // HIBERNATE POST-COMMIT EVENTS
+    // ==========================================
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return pubSubEnabled && persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister().getEntityName(), String.valueOf(event.getId()));
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rollback: không có gì thay đổi để báo
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister().getEntityName(), String.valueOf(event.getId()));
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rollback: không có gì thay đổi để báo
+    }
+
+    // ==========================================
+    // REDIS PUB/SUB
+    // ==========================================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", -1);
+        if (parts.length != 3 || nodeId.equals(parts[2])) {
+            return;
+        }
+        evictLocal(parts[0], parts[1]);
+    }
+
+    void evictLocal(String entityName, String id) {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        try {
+            if (ALL.equals(id)) {
+                cache.evictEntityData(entityName);
+            } else {
+                cache.evictEntityData(entityName, UUID.fromString(id));
+            }
+        } catch (IllegalArgumentException e) {
+            // Entity không có cache / id sai định dạng (phiên bản khác đang chạy song song)
+            log.warn("⚠️ Ignored second-level cache eviction {}#{}: {}", entityName, id, e.getMessage());
+            return;
+        }
+        // Query cache không biết bảng đã đổi ở instance khác → bỏ kết quả query đã cache
+        cache.evictDefaultQueryRegion();
+        meterRegistry.counter("smd.l2cache.remote_evictions", "entity", shortName(entityName)).increment();
+        log.debug("Evicted second-level cache {}#{} on remote change", entityName, id);
+    }
+
+    private void publish(String entityName, String id) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() -> stringRedisTemplate.convertAndSend(CHANNEL,
+                    entityName + SEPARATOR + id + SEPARATOR + nodeId));
+        } catch (BulkheadFullException | DataAccessException e) {
+            // Instance khác giữ bản cũ tới khi region hết hạn
+            log.warn("⚠️ Cannot broadcast second-level cache eviction for {}#{}: {}", entityName, id, e.getMessage());
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static String shortName(String entityName) {
+        return entityName.substring(entityName.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,7 @@
+package vn.edu.smd.core.common.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
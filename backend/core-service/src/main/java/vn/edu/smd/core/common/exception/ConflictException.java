@@ -0,0 +1,7 @@
+package vn.edu.smd.core.common.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package vn.edu.smd.core.common.exception;
+
+/**
+ * If-Match không khớp phiên bản hiện tại (HTTP 412); currentEtag được trả lại để client tải lại
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final String currentEtag;
+
+    public PreconditionFailedException(String message, String currentEtag) {
+        super(message);
+        this.currentEtag = currentEtag;
+    }
+
+    public String getCurrentEtag() {
+        return currentEtag;
+    }
+}
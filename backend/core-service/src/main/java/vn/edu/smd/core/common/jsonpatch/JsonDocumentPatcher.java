@@ -0,0 +1,301 @@
+package vn.edu.smd.core.common.jsonpatch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.ConflictException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Áp JSON Patch (RFC 6902) hoặc JSON Merge Patch (RFC 7396) lên một tài liệu JSON dạng object
+ *
+ * Ngoài tài liệu mới còn trả về danh sách JsonbEdit tương đương để ghi cục bộ xuống cột jsonb
+ * (move / copy được tách thành remove + add với giá trị đã biết, test không sinh edit).
+ * Patch sai cú pháp → BadRequestException; không áp được lên tài liệu hiện tại (path không tồn tại,
+ * test không khớp) → ConflictException.
+ */
+public final class JsonDocumentPatcher {
+
+    private static final Comparator<JsonNode> NUMERIC_EQUALITY = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private JsonDocumentPatcher() {
+    }
+
+    public record Result(ObjectNode document, List<JsonbEdit> edits) {
+
+        public boolean changed(JsonNode original) {
+            return !edits.isEmpty() && !document.equals(original);
+        }
+    }
+
+    // ==========================================
+    // RFC 6902 - JSON Patch
+    // ==========================================
+
+    public static Result applyJsonPatch(JsonNode document, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new BadRequestException("JSON Patch phải là một mảng các thao tác");
+        }
+        ObjectNode target = copyOf(document);
+        List<JsonbEdit> edits = new ArrayList<>();
+        for (JsonNode operation : patch) {
+            if (!operation.isObject() || !operation.path("op").isTextual()) {
+                throw new BadRequestException("Thao tác JSON Patch không hợp lệ: " + operation);
+            }
+            String op = operation.get("op").asText();
+            List<String> path = parsePointer(requiredText(operation, "path"));
+            switch (op) {
+                case "add" -> target = add(target, path, requiredValue(operation), edits);
+                case "remove" -> remove(target, path, edits);
+                case "replace" -> target = replace(target, path, requiredValue(operation), edits);
+                case "move" -> {
+                    List<String> from = parsePointer(requiredText(operation, "from"));
+                    if (!from.equals(path)) {
+                        if (path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                            throw new ConflictException("Không thể move vào chính phần tử con của nó: " + pointer(path));
+                        }
+                        JsonNode value = get(target, from);
+                        remove(target, from, edits);
+                        target = add(target, path, value, edits);
+                    }
+                }
+                case "copy" -> {
+                    List<String> from = parsePointer(requiredText(operation, "from"));
+                    target = add(target, path, get(target, from).deepCopy(), edits);
+                }
+                case "test" -> {
+                    JsonNode actual = get(target, path);
+                    if (!actual.equals(NUMERIC_EQUALITY, requiredValue(operation))) {
+                        throw new ConflictException("Giá trị tại " + pointer(path) + " không khớp với thao tác test");
+                    }
+                }
+                default -> throw new BadRequestException("Thao tác JSON Patch không hỗ trợ: " + op);
+            }
+        }
+        return new Result(target, edits);
+    }
+
+    private static ObjectNode add(ObjectNode root, List<String> path, JsonNode value, List<JsonbEdit> edits) {
+        if (path.isEmpty()) {
+            return replaceRoot(value, edits);
+        }
+        JsonNode parent = get(root, path.subList(0, path.size() - 1));
+        String token = path.get(path.size() - 1);
+        if (parent instanceof ObjectNode object) {
+            object.set(token, value);
+            edits.add(JsonbEdit.set(path, value));
+        } else if (parent instanceof ArrayNode array) {
+            int index = "-".equals(token) ? array.size() : arrayIndex(token, array.size(), path);
+            List<String> editPath = withLast(path, String.valueOf(index));
+            if (index == array.size()) {
+                array.add(value);
+                edits.add(JsonbEdit.set(editPath, value));
+            } else {
+                array.insert(index, value);
+                edits.add(JsonbEdit.insert(editPath, value));
+            }
+        } else {
+            throw new ConflictException("Không thể thêm vào giá trị không phải object / mảng: " + pointer(path));
+        }
+        return root;
+    }
+
+    private static void remove(ObjectNode root, List<String> path, List<JsonbEdit> edits) {
+        if (path.isEmpty()) {
+            throw new ConflictException("Không thể xoá toàn bộ tài liệu");
+        }
+        JsonNode parent = get(root, path.subList(0, path.size() - 1));
+        String token = path.get(path.size() - 1);
+        if (parent instanceof ObjectNode object && object.has(token)) {
+            object.remove(token);
+        } else if (parent instanceof ArrayNode array) {
+            array.remove(existingIndex(token, array.size(), path));
+        } else {
+            throw new ConflictException("Không tìm thấy path: " + pointer(path));
+        }
+        edits.add(JsonbEdit.remove(path));
+    }
+
+    private static ObjectNode replace(ObjectNode root, List<String> path, JsonNode value, List<JsonbEdit> edits) {
+        if (path.isEmpty()) {
+            return replaceRoot(value, edits);
+        }
+        JsonNode parent = get(root, path.subList(0, path.size() - 1));
+        String token = path.get(path.size() - 1);
+        if (parent instanceof ObjectNode object && object.has(token)) {
+            object.set(token, value);
+        } else if (parent instanceof ArrayNode array) {
+            array.set(existingIndex(token, array.size(), path), value);
+        } else {
+            throw new ConflictException("Không tìm thấy path: " + pointer(path));
+        }
+        edits.add(JsonbEdit.set(path, value));
+        return root;
+    }
+
+    private static ObjectNode replaceRoot(JsonNode value, List<JsonbEdit> edits) {
+        if (!value.isObject()) {
+            throw new BadRequestException("Tài liệu phải là một JSON object");
+        }
+        ObjectNode root = (ObjectNode) value.deepCopy();
+        edits.add(JsonbEdit.set(List.of(), root));
+        return root;
+    }
+
+    // ==========================================
+    // RFC 7396 - JSON Merge Patch
+    // ==========================================
+
+    public static Result applyMergePatch(JsonNode document, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("JSON Merge Patch cho nội dung đề cương phải là một JSON object");
+        }
+        ObjectNode target = copyOf(document);
+        List<JsonbEdit> edits = new ArrayList<>();
+        merge(target, (ObjectNode) patch, new ArrayList<>(), edits);
+        return new Result(target, edits);
+    }
+
+    private static void merge(ObjectNode target, ObjectNode patch, List<String> prefix, List<JsonbEdit> edits) {
+        patch.fields().forEachRemaining(field -> {
+            List<String> path = new ArrayList<>(prefix);
+            path.add(field.getKey());
+            JsonNode value = field.getValue();
+            JsonNode existing = target.get(field.getKey());
+            if (value.isNull()) {
+                if (existing != null) {
+                    target.remove(field.getKey());
+                    edits.add(JsonbEdit.remove(path));
+                }
+            } else if (value.isObject() && existing != null && existing.isObject()) {
+                merge((ObjectNode) existing, (ObjectNode) value, path, edits);
+            } else {
+                JsonNode merged = value.isObject() ? withoutNulls((ObjectNode) value) : value;
+                if (!merged.equals(existing)) {
+                    target.set(field.getKey(), merged);
+                    edits.add(JsonbEdit.set(path, merged));
+                }
+            }
+        });
+    }
+
+    /** Merge patch vào một giá trị chưa phải object = merge vào {} → bỏ mọi member null */
+    private static ObjectNode withoutNulls(ObjectNode value) {
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        value.fields().forEachRemaining(field -> {
+            if (field.getValue().isObject()) {
+                result.set(field.getKey(), withoutNulls((ObjectNode) field.getValue()));
+            } else if (!field.getValue().isNull()) {
+                result.set(field.getKey(), field.getValue());
+            }
+        });
+        return result;
+    }
+
+    // ==========================================
+    // JSON POINTER (RFC 6901)
+    // ==========================================
+
+    static List<String> parsePointer(String pointer) {
+        if (pointer.isEmpty()) {
+            return List.of();
+        }
+        if (!pointer.startsWith("/")) {
+            throw new BadRequestException("JSON Pointer phải bắt đầu bằng '/': " + pointer);
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    private static String pointer(List<String> path) {
+        StringBuilder pointer = new StringBuilder();
+        for (String token : path) {
+            pointer.append('/').append(token.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+
+    private static JsonNode get(JsonNode root, List<String> path) {
+        JsonNode node = root;
+        for (int i = 0; i < path.size(); i++) {
+            String token = path.get(i);
+            if (node instanceof ObjectNode object) {
+                node = object.get(token);
+            } else if (node instanceof ArrayNode array) {
+                node = array.get(existingIndex(token, array.size(), path.subList(0, i + 1)));
+            } else {
+                node = null;
+            }
+            if (node == null) {
+                throw new ConflictException("Không tìm thấy path: " + pointer(path.subList(0, i + 1)));
+            }
+        }
+        return node;
+    }
+
+    private static int existingIndex(String token, int size, List<String> path) {
+        int index = arrayIndex(token, size, path);
+        if (index == size) {
+            throw new ConflictException("Vượt quá kích thước mảng: " + pointer(path));
+        }
+        return index;
+    }
+
+    /** Index hợp lệ để thêm: 0..size (không có số 0 ở đầu, theo RFC 6901) */
+    private static int arrayIndex(String token, int size, List<String> path) {
+        if (token.isEmpty() || token.length() > 9 || !token.chars().allMatch(Character::isDigit)
+                || (token.length() > 1 && token.charAt(0) == '0')) {
+            throw new ConflictException("Index mảng không hợp lệ: " + pointer(path));
+        }
+        int index = Integer.parseInt(token);
+        if (index > size) {
+            throw new ConflictException("Vượt quá kích thước mảng: " + pointer(path));
+        }
+        return index;
+    }
+
+    private static List<String> withLast(List<String> path, String last) {
+        List<String> copy = new ArrayList<>(path);
+        copy.set(copy.size() - 1, last);
+        return copy;
+    }
+
+    private static ObjectNode copyOf(JsonNode document) {
+        if (document == null || document.isNull() || document.isMissingNode()) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+        if (!document.isObject()) {
+            throw new BadRequestException("Tài liệu phải là một JSON object");
+        }
+        return (ObjectNode) document.deepCopy();
+    }
+
+    private static String requiredText(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new BadRequestException("Thao tác " + operation.path("op").asText() + " thiếu \"" + field + "\"");
+        }
+        return value.asText();
+    }
+
+    private static JsonNode requiredValue(JsonNode operation) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new BadRequestException("Thao tác " + operation.path("op").asText() + " thiếu \"value\"");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,39 @@
+package vn.edu.smd.core.common.jsonpatch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Một thao tác ghi cục bộ lên cột jsonb, tương ứng một hàm / toán tử của PostgreSQL
+ *
+ * - SET: jsonb_set(doc, path, value, true) - ghi đè key / phần tử mảng, index = size thì nối vào cuối mảng;
+ *   path rỗng = thay cả tài liệu
+ * - INSERT: jsonb_insert(doc, path, value, false) - chèn vào mảng trước phần tử tại index
+ * - REMOVE: doc #- path
+ *
+ * Path là danh sách key / index (dạng chuỗi) tính trên tài liệu ngay trước thao tác. Value được sao chép
+ * vì tài liệu trong bộ nhớ còn bị các thao tác sau sửa tiếp.
+ */
+public record JsonbEdit(Kind kind, List<String> path, JsonNode value) {
+
+    public enum Kind {
+        SET, INSERT, REMOVE
+    }
+
+    public static JsonbEdit set(List<String> path, JsonNode value) {
+        return new JsonbEdit(Kind.SET, List.copyOf(path), value.deepCopy());
+    }
+
+    public static JsonbEdit insert(List<String> path, JsonNode value) {
+        return new JsonbEdit(Kind.INSERT, List.copyOf(path), value.deepCopy());
+    }
+
+    public static JsonbEdit remove(List<String> path) {
+        return new JsonbEdit(Kind.REMOVE, List.copyOf(path), null);
+    }
+
+    public boolean replacesDocument() {
+        return kind == Kind.SET && path.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package vn.edu.smd.core.common.jsonpatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dựng biểu thức SQL (PostgreSQL) áp các JsonbEdit lên một cột jsonb
+ *
+ * Mỗi edit bọc biểu thức trước nó: jsonb_set(jsonb_insert(content #- p0, p1, v1, false), p2, v2, true)...
+ * nên thứ tự tham số (:p0, :p1, ...) trùng thứ tự edit. Chỉ các đoạn thay đổi được gửi xuống DB,
+ * không gửi lại cả tài liệu.
+ */
+public final class JsonbEditSql {
+
+    private JsonbEditSql() {
+    }
+
+    public record Expression(String sql, List<Object> parameters) {
+
+        /** Tên tham số thứ i trong sql */
+        public static String parameterName(int index) {
+            return "p" + index;
+        }
+    }
+
+    public static Expression render(String column, List<JsonbEdit> edits) {
+        String sql = "COALESCE(" + column + ", CAST('{}' AS jsonb))";
+        List<Object> parameters = new ArrayList<>();
+        for (JsonbEdit edit : edits) {
+            if (edit.replacesDocument()) {
+                // Thay cả tài liệu: bỏ các edit trước đó
+                parameters.clear();
+                sql = "CAST(" + next(parameters, edit.value().toString()) + " AS jsonb)";
+                continue;
+            }
+            String path = "CAST(" + next(parameters, textArrayLiteral(edit.path())) + " AS text[])";
+            sql = switch (edit.kind()) {
+                case SET -> "jsonb_set(" + sql + ", " + path + ", CAST("
+                        + next(parameters, edit.value().toString()) + " AS jsonb), true)";
+                case INSERT -> "jsonb_insert(" + sql + ", " + path + ", CAST("
+                        + next(parameters, edit.value().toString()) + " AS jsonb), false)";
+                case REMOVE -> "(" + sql + " #- " + path + ")";
+            };
+        }
+        return new Expression(sql, parameters);
+    }
+
+    /**
+     * Literal mảng text[] của PostgreSQL: {"clos","0","description"} (escape \ và ")
+     */
+    static String textArrayLiteral(List<String> path) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append('"');
+            for (char c : path.get(i).toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    literal.append('\\');
+                }
+                literal.append(c);
+            }
+            literal.append('"');
+        }
+        return literal.append('}').toString();
+    }
+
+    private static String next(List<Object> parameters, Object value) {
+        parameters.add(value);
+        return ":" + Expression.parameterName(parameters.size() - 1);
+    }
+}
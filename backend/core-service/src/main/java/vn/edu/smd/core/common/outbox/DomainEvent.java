@@ -0,0 +1,15 @@
+package vn.edu.smd.core.common.outbox;
+
+import java.util.UUID;
+
+/**
+ * Domain event đi qua outbox (DomainEventOutbox.emit) - handler là các @EventListener thường,
+ * chạy sau khi transaction phát event đã commit, có thể chạy lại (at-least-once)
+ *
+ * Event được lưu dạng JSON theo tên class: chỉ nên chứa id / giá trị đơn giản, không chứa entity.
+ */
+public interface DomainEvent {
+
+    /** Id của đối tượng phát event (vd syllabus version) - phục vụ tra cứu outbox */
+    UUID aggregateId();
+}
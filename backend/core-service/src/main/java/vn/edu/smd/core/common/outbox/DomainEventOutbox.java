@@ -0,0 +1,239 @@
+package vn.edu.smd.core.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.entity.OutboxEvent;
+import vn.edu.smd.core.repository.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transactional outbox cho domain event
+ *
+ * - emit(event): ghi event vào outbox_events trong transaction của thao tác nghiệp vụ (rollback → không có event)
+ * - Sau commit: event được đưa vào pool dispatch có giới hạn; luồng dispatch nhận event (claim có lease),
+ *   publish cho các @EventListener rồi đánh dấu DONE. Handler lỗi → thử lại với backoff, quá max-attempts → FAILED
+ * - Relay định kỳ quét các event tới hạn (pool đầy, instance chết giữa chừng, đang chờ thử lại)
+ *   → mỗi event được xử lý ít nhất một lần, handler phải chịu được chạy lặp
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.dispatch.threads:2}")
+    private int dispatchThreads = 2;
+
+    @Value("${app.outbox.dispatch.queue-capacity:500}")
+    private int queueCapacity = 500;
+
+    @Value("${app.outbox.lease-seconds:120}")
+    private long leaseSeconds = 120;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${app.outbox.retry-base-delay-seconds:10}")
+    private long retryBaseDelaySeconds = 10;
+
+    @Value("${app.outbox.retry-max-delay-seconds:3600}")
+    private long retryMaxDelaySeconds = 3600;
+
+    @Value("${app.outbox.relay-batch-size:100}")
+    private int relayBatchSize = 100;
+
+    @Value("${app.outbox.retention-days:7}")
+    private long retentionDays = 7;
+
+    private volatile ThreadPoolExecutor dispatchExecutor;
+
+    /** Báo sau commit rằng có event mới trong outbox (chỉ dùng nội bộ) */
+    record Appended(UUID outboxId) {
+    }
+
+    /**
+     * Ghi event vào outbox trong transaction hiện tại; handler chạy sau khi transaction commit
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void emit(DomainEvent event) {
+        OutboxEvent row = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(event.getClass().getName())
+                .aggregateId(event.aggregateId())
+                .payload(objectMapper.convertValue(event, Map.class))
+                // Lần dispatch đầu đi theo đường sau commit; relay chỉ nhặt lại khi quá lease
+                .nextAttemptAt(LocalDateTime.now().plusSeconds(leaseSeconds))
+                .build());
+        eventPublisher.publishEvent(new Appended(row.getId()));
+    }
+
+    @TransactionalEventListener
+    public void onAppended(Appended appended) {
+        submit(appended.outboxId());
+    }
+
+    // ==========================================
+    // DISPATCH
+    // ==========================================
+
+    private boolean submit(UUID outboxId) {
+        try {
+            dispatchExecutor().execute(() -> dispatch(outboxId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Pool đầy: event vẫn PENDING trong DB, relay sẽ nhặt lại
+            meterRegistry.counter("smd.outbox.dispatch.rejected").increment();
+            return false;
+        }
+    }
+
+    void dispatch(UUID outboxId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxEventRepository.claim(outboxId, OutboxEvent.Status.PENDING, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return;
+        }
+        OutboxEvent row = outboxEventRepository.findById(outboxId).orElse(null);
+        if (row == null) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(deserialize(row));
+            outboxEventRepository.markProcessed(outboxId, OutboxEvent.Status.DONE, LocalDateTime.now());
+            meterRegistry.counter("smd.outbox.dispatched", "event", simpleName(row)).increment();
+        } catch (RuntimeException e) {
+            onFailure(row, e);
+        }
+    }
+
+    private void onFailure(OutboxEvent row, RuntimeException error) {
+        int attempts = row.getAttempts() != null ? row.getAttempts() : 1;
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markAttemptFailed(row.getId(), OutboxEvent.Status.FAILED, row.getNextAttemptAt(), message);
+            meterRegistry.counter("smd.outbox.failed", "event", simpleName(row)).increment();
+            log.error("❌ Outbox event {} ({}) failed after {} attempts: {}", row.getId(), simpleName(row), attempts, message, error);
+            return;
+        }
+        Duration delay = retryDelay(attempts);
+        outboxEventRepository.markAttemptFailed(row.getId(), OutboxEvent.Status.PENDING, LocalDateTime.now().plus(delay), message);
+        meterRegistry.counter("smd.outbox.retried", "event", simpleName(row)).increment();
+        log.warn("⚠️ Outbox event {} ({}) attempt {} failed, retry in {}s: {}",
+                row.getId(), simpleName(row), attempts, delay.toSeconds(), message);
+    }
+
+    /** base * 2^(attempts-1), tối đa retry-max-delay-seconds */
+    Duration retryDelay(int attempts) {
+        long seconds = retryBaseDelaySeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        return Duration.ofSeconds(Math.min(seconds, retryMaxDelaySeconds));
+    }
+
+    private DomainEvent deserialize(OutboxEvent row) {
+        Class<?> type;
+        try {
+            type = Class.forName(row.getEventType(), false, DomainEvent.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown outbox event type: " + row.getEventType(), e);
+        }
+        if (!DomainEvent.class.isAssignableFrom(type)) {
+            throw new IllegalStateException("Outbox event type is not a DomainEvent: " + row.getEventType());
+        }
+        return (DomainEvent) objectMapper.convertValue(row.getPayload(), type);
+    }
+
+    private static String simpleName(OutboxEvent row) {
+        String type = row.getEventType();
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    // ==========================================
+    // RELAY & DỌN DẸP
+    // ==========================================
+
+    /**
+     * Nhặt lại event tới hạn: chờ thử lại, hết lease (instance dừng giữa chừng) hoặc bị từ chối lúc pool đầy
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:5000}")
+    public void relayDue() {
+        List<UUID> dueIds;
+        try {
+            dueIds = outboxEventRepository.findDueIds(OutboxEvent.Status.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, relayBatchSize));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Outbox relay query failed: {}", e.getMessage());
+            return;
+        }
+        for (UUID id : dueIds) {
+            if (!submit(id)) {
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        try {
+            int deleted = outboxEventRepository.deleteProcessedBefore(OutboxEvent.Status.DONE,
+                    LocalDateTime.now().minusDays(retentionDays));
+            if (deleted > 0) {
+                log.info("🧹 Purged {} processed outbox events", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatchExecutor != null) {
+            // Event đang chờ trong hàng đợi vẫn PENDING trong DB → instance khác / lần khởi động sau xử lý
+            dispatchExecutor.shutdown();
+            try {
+                dispatchExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor dispatchExecutor() {
+        if (dispatchExecutor == null) {
+            synchronized (this) {
+                if (dispatchExecutor == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    int threads = Math.max(1, dispatchThreads);
+                    dispatchExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                                Thread thread = new Thread(runnable, "outbox-dispatch-" + counter.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }, new ThreadPoolExecutor.AbortPolicy());
+                }
+            }
+        }
+        return dispatchExecutor;
+    }
+}
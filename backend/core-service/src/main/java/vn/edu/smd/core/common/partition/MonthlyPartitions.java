@@ -0,0 +1,51 @@
+package vn.edu.smd.core.common.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Quy ước partition theo tháng: <table>_pYYYY_MM chứa các dòng có created_at trong [đầu tháng, đầu tháng sau)
+ * (khớp với hàm core_service.create_monthly_partition)
+ */
+public final class MonthlyPartitions {
+
+    private static final Pattern SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})");
+
+    private MonthlyPartitions() {
+    }
+
+    public static String name(PartitionedTable table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table.tableName(), month.getYear(), month.getMonthValue());
+    }
+
+    /** Tháng của partition, rỗng nếu tên không theo quy ước (vd. partition DEFAULT) */
+    public static Optional<YearMonth> month(PartitionedTable table, String partitionName) {
+        if (partitionName == null || !partitionName.startsWith(table.tableName())) {
+            return Optional.empty();
+        }
+        Matcher matcher = SUFFIX.matcher(partitionName.substring(table.tableName().length()));
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        int monthValue = Integer.parseInt(matcher.group(2));
+        if (monthValue < 1 || monthValue > 12) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), monthValue));
+    }
+
+    /**
+     * Tháng cũ nhất còn giữ: dòng được giữ ít nhất retentionMonths tháng, partition chỉ hết hạn khi
+     * toàn bộ tháng của nó đã cũ hơn mốc đó
+     */
+    public static YearMonth firstRetainedMonth(LocalDate today, int retentionMonths) {
+        return YearMonth.from(today.minusMonths(Math.max(1, retentionMonths)));
+    }
+
+    public static boolean isExpired(YearMonth month, YearMonth firstRetainedMonth) {
+        return month.isBefore(firstRetainedMonth);
+    }
+}
@@ -0,0 +1,301 @@
+package vn.edu.smd.core.common.partition;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bảo trì partition theo tháng của notifications / audit_logs (V57)
+ *
+ * - Tạo trước partition cho tháng hiện tại và premake-months tháng tới
+ * - Partition hết hạn (app.retention.<table>.months): DETACH khỏi bảng cha, rồi tuỳ expired-action
+ *   ARCHIVE → xuất ra <archive-dir>/<table>/<partition>.jsonl.gz (mỗi dòng một row_to_json) rồi DROP,
+ *   DETACH → giữ bảng đã tách trong DB để xử lý thủ công
+ * - Bảng đã detach nhưng chưa lưu trữ (instance dừng giữa chừng) được xử lý lại ở lần chạy sau
+ * - Advisory lock của PostgreSQL: tại một thời điểm chỉ một instance chạy job
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionRetentionJob {
+
+    static final String SCHEMA = "core_service";
+    private static final long ADVISORY_LOCK_KEY = 0x534D445F52455445L; // "SMD_RETE"
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionWindow retentionWindow;
+    private final MeterRegistry meterRegistry;
+
+    public enum ExpiredAction {
+        ARCHIVE, DETACH
+    }
+
+    @Value("${app.retention.premake-months:3}")
+    private int premakeMonths = 3;
+
+    @Value("${app.retention.expired-action:ARCHIVE}")
+    private ExpiredAction expiredAction = ExpiredAction.ARCHIVE;
+
+    @Value("${app.retention.archive-dir:archive}")
+    private String archiveDir = "archive";
+
+    @Value("${app.retention.lock-timeout-ms:5000}")
+    private long lockTimeoutMs = 5000;
+
+    @Value("${app.retention.export-fetch-size:1000}")
+    private int exportFetchSize = 1000;
+
+    /** Partition của bảng kèm trạng thái còn gắn với bảng cha hay đã detach */
+    record PartitionInfo(String name, YearMonth month, boolean attached) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        // Chỉ tạo partition tương lai lúc khởi động; archive để cho lịch chạy đêm
+        run(false);
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 30 2 * * *}")
+    public void maintain() {
+        run(true);
+    }
+
+    private void run(boolean handleExpired) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.info("⏭️ Partition retention already running on another instance");
+                    return null;
+                }
+                try {
+                    for (PartitionedTable table : PartitionedTable.values()) {
+                        maintain(connection, table, handleExpired);
+                    }
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            meterRegistry.counter("smd.retention.failures").increment();
+            log.error("❌ Partition retention failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void maintain(Connection connection, PartitionedTable table, boolean handleExpired) throws SQLException {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= Math.max(0, premakeMonths); i++) {
+            createPartition(connection, table, current.plusMonths(i));
+        }
+        warnIfDefaultPartitionUsed(connection, table);
+        if (!handleExpired) {
+            return;
+        }
+
+        YearMonth firstRetained = MonthlyPartitions.firstRetainedMonth(LocalDate.now(), retentionWindow.months(table));
+        for (PartitionInfo partition : listPartitions(connection, table)) {
+            if (!MonthlyPartitions.isExpired(partition.month(), firstRetained)) {
+                continue;
+            }
+            try {
+                if (partition.attached()) {
+                    detach(connection, table, partition.name());
+                }
+                if (expiredAction == ExpiredAction.ARCHIVE) {
+                    archiveAndDrop(connection, table, partition.name());
+                }
+            } catch (SQLException | IOException e) {
+                // Để nguyên partition (đang gắn hoặc đã detach) cho lần chạy sau
+                meterRegistry.counter("smd.retention.failures", "table", table.tableName()).increment();
+                log.warn("⚠️ Retention of {} failed, will retry next run: {}", partition.name(), e.getMessage());
+            }
+        }
+    }
+
+    // ==========================================
+    // PARTITION DDL
+    // ==========================================
+
+    private void createPartition(Connection connection, PartitionedTable table, YearMonth month) {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + SCHEMA + ".create_monthly_partition(?, ?)")) {
+            statement.setString(1, table.tableName());
+            statement.setObject(2, month.atDay(1));
+            statement.execute();
+        } catch (SQLException e) {
+            // Thường gặp khi partition DEFAULT đã chứa dòng của tháng đó
+            meterRegistry.counter("smd.retention.failures", "table", table.tableName()).increment();
+            log.warn("⚠️ Could not create partition {}: {}", MonthlyPartitions.name(table, month), e.getMessage());
+        }
+    }
+
+    private void warnIfDefaultPartitionUsed(Connection connection, PartitionedTable table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT EXISTS (SELECT 1 FROM " + qualified(table.tableName() + "_default") + ")")) {
+            if (rs.next() && rs.getBoolean(1)) {
+                log.warn("⚠️ {}_default contains rows: monthly partitions for those months cannot be created " +
+                        "until the rows are moved", table.tableName());
+            }
+        }
+    }
+
+    List<PartitionInfo> listPartitions(Connection connection, PartitionedTable table) throws SQLException {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT c.relname, i.inhrelid IS NOT NULL " +
+                "FROM pg_class c " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "LEFT JOIN pg_inherits i ON i.inhrelid = c.oid AND i.inhparent = ?::regclass " +
+                "WHERE n.nspname = ? AND c.relkind = 'r' AND c.relname LIKE ?")) {
+            statement.setString(1, SCHEMA + "." + table.tableName());
+            statement.setString(2, SCHEMA);
+            statement.setString(3, table.tableName() + "%");
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    boolean attached = rs.getBoolean(2);
+                    MonthlyPartitions.month(table, name)
+                            .ifPresent(month -> partitions.add(new PartitionInfo(name, month, attached)));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private void detach(Connection connection, PartitionedTable table, String partition) throws SQLException {
+        // DETACH cần ACCESS EXCLUSIVE trên bảng cha: chờ tối đa lock-timeout thay vì chặn các truy vấn khác
+        inTransaction(connection, () -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL lock_timeout = " + Math.max(1, lockTimeoutMs));
+                statement.execute("ALTER TABLE " + qualified(table.tableName()) + " DETACH PARTITION " + qualified(partition));
+            }
+        });
+        log.info("📤 Detached expired partition {}", partition);
+    }
+
+    private void archiveAndDrop(Connection connection, PartitionedTable table, String partition)
+            throws SQLException, IOException {
+        Path target = Paths.get(archiveDir, table.tableName(), partition + ".jsonl.gz");
+        long[] exported = new long[1];
+        long[] expected = new long[1];
+        inTransaction(connection, () -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + qualified(partition))) {
+                rs.next();
+                expected[0] = rs.getLong(1);
+            }
+            // Cần transaction để driver PostgreSQL đọc theo cursor (fetch size) thay vì nạp cả bảng
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(Math.max(1, exportFetchSize));
+                try (ResultSet rs = statement.executeQuery("SELECT row_to_json(t)::text FROM " + qualified(partition) + " t")) {
+                    exported[0] = export(rs, target);
+                }
+            } catch (IOException e) {
+                throw new SQLException("Export of " + partition + " to " + target + " failed", e);
+            }
+        });
+        if (exported[0] != expected[0]) {
+            throw new IOException("Exported " + exported[0] + " of " + expected[0] + " rows from " + partition);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + qualified(partition));
+        }
+        meterRegistry.counter("smd.retention.archived.rows", "table", table.tableName()).increment(exported[0]);
+        log.info("🗄️ Archived {} rows of {} to {} and dropped the partition", exported[0], partition, target.toAbsolutePath());
+    }
+
+    /**
+     * Ghi mỗi dòng (cột 1) ra file gzip; ghi vào file tạm rồi đổi tên để không bao giờ có file lưu trữ dở dang
+     */
+    static long export(ResultSet rs, Path target) throws SQLException, IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        long rows = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            while (rs.next()) {
+                writer.write(rs.getString(1));
+                writer.write('\n');
+                rows++;
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    // ==========================================
+    // HELPER METHODS
+    // ==========================================
+
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private static void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    /** Tên chỉ đến từ PartitionedTable / MonthlyPartitions nên không chứa ký tự cần escape */
+    private static String qualified(String table) {
+        return SCHEMA + ".\"" + table + "\"";
+    }
+}
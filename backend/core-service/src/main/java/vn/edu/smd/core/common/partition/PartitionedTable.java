@@ -0,0 +1,20 @@
+package vn.edu.smd.core.common.partition;
+
+/**
+ * Các bảng được partition theo tháng trên created_at (V57)
+ */
+public enum PartitionedTable {
+
+    NOTIFICATIONS("notifications"),
+    AUDIT_LOGS("audit_logs");
+
+    private final String tableName;
+
+    PartitionedTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+}
@@ -0,0 +1,34 @@
+package vn.edu.smd.core.common.partition;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Khoảng thời gian còn lưu của các bảng partition theo tháng
+ *
+ * since(table) là đầu tháng cũ nhất còn giữ: truy vấn luôn kèm created_at >= since để được partition pruning,
+ * và dữ liệu hiển thị khớp với những gì PartitionRetentionJob giữ lại (kể cả khi job chưa kịp chạy).
+ */
+@Component
+public class RetentionWindow {
+
+    @Value("${app.retention.notifications.months:6}")
+    private int notificationMonths = 6;
+
+    @Value("${app.retention.audit-logs.months:24}")
+    private int auditLogMonths = 24;
+
+    public int months(PartitionedTable table) {
+        return Math.max(1, switch (table) {
+            case NOTIFICATIONS -> notificationMonths;
+            case AUDIT_LOGS -> auditLogMonths;
+        });
+    }
+
+    public LocalDateTime since(PartitionedTable table) {
+        return MonthlyPartitions.firstRetainedMonth(LocalDate.now(), months(table)).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,9 @@
+package vn.edu.smd.core.common.refdata;
+
+/**
+ * Phát ra khi một bảng danh mục bị ghi - các snapshot phụ thuộc bảng đó được làm mới sau commit
+ *
+ * @param source tên bảng nguồn (hằng số trong {@link ReferenceDataRegistry})
+ */
+public record ReferenceDataChangedEvent(String source) {
+}
@@ -0,0 +1,159 @@
+package vn.edu.smd.core.common.refdata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registry các bảng danh mục nhỏ phục vụ form ở frontend (học kỳ, năm học, khoa, CTĐT, vai trò...)
+ *
+ * - Mỗi service đăng ký một dataset (loader + hàm lấy id); endpoint tra cứu đọc từ snapshot trong bộ nhớ,
+ *   không chạm DB cho tới khi dataset bị invalidate
+ * - Service ghi gọi invalidate(source): sau khi transaction commit, làm mới local và phát
+ *   "source|nodeId" lên kênh Redis để các instance khác làm mới theo (lỗi Redis không chặn thao tác ghi)
+ * - ETag = hash nội dung snapshot → giống nhau giữa các instance, client revalidate nhận 304
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataRegistry implements MessageListener {
+
+    public static final String CHANNEL = "smd:refdata:invalidate";
+
+    public static final String SEMESTERS = "semesters";
+    public static final String ACADEMIC_TERMS = "academic_terms";
+    public static final String ROLES = "roles";
+    public static final String FACULTIES = "faculties";
+    public static final String CURRICULUMS = "curriculums";
+    public static final String ORGANIZATIONS = "organizations";
+    public static final String TEACHING_METHODS = "teaching_methods";
+    public static final String SUBJECT_COMPONENTS = "subject_components";
+
+    private static final char SEPARATOR = '|';
+
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reference-data.pubsub.enabled:true}")
+    private boolean pubSubEnabled = true;
+
+    @Value("${app.reference-data.max-age-minutes:60}")
+    private long maxAgeMinutes = 60;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, ReferenceDataset<?>> datasets = new ConcurrentHashMap<>();
+
+    /**
+     * Đăng ký dataset (gọi trong @PostConstruct của service); chưa nạp gì cho tới lần đọc đầu tiên
+     *
+     * @param sources các bảng mà dataset đọc - ghi vào bảng nào cũng làm dataset nạp lại
+     * @param loader  đọc toàn bộ bảng và map sang DTO, chạy trong transaction read-only
+     */
+    public <T> ReferenceDataset<T> register(String name, Set<String> sources, Supplier<List<T>> loader,
+                                            Function<T, UUID> idFunction) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReferenceDataset<T> dataset = new ReferenceDataset<>(name, sources, () -> load(name, readOnly, loader),
+                idFunction, items -> etag(name, items), () -> maxAgeMinutes);
+        if (datasets.putIfAbsent(name, dataset) != null) {
+            throw new IllegalStateException("Reference dataset already registered: " + name);
+        }
+        return dataset;
+    }
+
+    /**
+     * Đánh dấu bảng nguồn đã đổi; snapshot được làm mới sau khi transaction hiện tại commit
+     */
+    public void invalidate(String source) {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(source));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidateLocal(event.source());
+        publish(event.source());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || nodeId.equals(body.substring(separator + 1))) {
+            return;
+        }
+        invalidateLocal(body.substring(0, separator));
+    }
+
+    void invalidateLocal(String source) {
+        int invalidated = 0;
+        for (ReferenceDataset<?> dataset : datasets.values()) {
+            if (dataset.dependsOn(source)) {
+                dataset.invalidate();
+                invalidated++;
+            }
+        }
+        log.debug("Reference data source {} changed, invalidated {} dataset(s)", source, invalidated);
+    }
+
+    private void publish(String source) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() ->
+                    stringRedisTemplate.convertAndSend(CHANNEL, source + SEPARATOR + nodeId));
+        } catch (BulkheadFullException | DataAccessException e) {
+            // Instance khác tự nạp lại khi snapshot quá max-age
+            log.warn("⚠️ Cannot broadcast reference data invalidation for {}: {}", source, e.getMessage());
+        }
+    }
+
+    private <T> List<T> load(String name, TransactionTemplate readOnly, Supplier<List<T>> loader) {
+        long start = System.nanoTime();
+        List<T> items = readOnly.execute(status -> loader.get());
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("smd.refdata.load", "dataset", name).record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("📚 Loaded reference data {}: {} items in {} ms", name, items.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return items;
+    }
+
+    private String etag(String name, List<?> items) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(items));
+            return "\"" + name + "-" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot compute ETag of reference data " + name, e);
+        }
+    }
+}
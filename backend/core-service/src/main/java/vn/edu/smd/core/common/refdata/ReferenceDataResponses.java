@@ -0,0 +1,28 @@
+package vn.edu.smd.core.common.refdata;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import vn.edu.smd.core.common.dto.ApiResponse;
+
+import java.util.function.Function;
+
+/**
+ * Response cho endpoint danh mục: ETag lấy từ snapshot, If-None-Match khớp → 304 không body
+ *
+ * Body ApiResponse có timestamp nên hash body (ShallowEtagHeaderFilter) không bao giờ khớp;
+ * ETag của snapshot chỉ đổi khi dữ liệu đổi.
+ */
+public final class ReferenceDataResponses {
+
+    private ReferenceDataResponses() {
+    }
+
+    public static <T, R> ResponseEntity<ApiResponse<R>> ok(WebRequest request, ReferenceSnapshot<T> snapshot,
+                                                           Function<ReferenceSnapshot<T>, R> body) {
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok().eTag(snapshot.getEtag()).body(ApiResponse.success(body.apply(snapshot)));
+    }
+}
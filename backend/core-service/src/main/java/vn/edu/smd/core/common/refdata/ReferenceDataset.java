@@ -0,0 +1,79 @@
+package vn.edu.smd.core.common.refdata;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Một tập danh mục đăng ký với {@link ReferenceDataRegistry}: giữ snapshot hiện tại và nạp lại khi cần
+ *
+ * - invalidate() chỉ tăng generation; lần đọc kế tiếp mới nạp lại (một luồng nạp, các luồng khác chờ)
+ * - Bị invalidate trong lúc đang nạp → snapshot vừa nạp mang generation cũ, lần đọc sau nạp lại
+ * - Snapshot quá maxAge cũng nạp lại (phòng dữ liệu sửa thẳng trong DB / xóa dây chuyền)
+ */
+public final class ReferenceDataset<T> {
+
+    private final String name;
+    private final Set<String> sources;
+    private final Supplier<List<T>> loader;
+    private final Function<T, UUID> idFunction;
+    private final Function<List<T>, String> etagFunction;
+    private final Supplier<Long> maxAgeMinutes;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private volatile ReferenceSnapshot<T> snapshot;
+
+    ReferenceDataset(String name, Set<String> sources, Supplier<List<T>> loader, Function<T, UUID> idFunction,
+                     Function<List<T>, String> etagFunction, Supplier<Long> maxAgeMinutes) {
+        this.name = name;
+        this.sources = Set.copyOf(sources);
+        this.loader = loader;
+        this.idFunction = idFunction;
+        this.etagFunction = etagFunction;
+        this.maxAgeMinutes = maxAgeMinutes;
+    }
+
+    public ReferenceSnapshot<T> snapshot() {
+        ReferenceSnapshot<T> current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadingGeneration = generation.get();
+            List<T> items = loader.get();
+            current = new ReferenceSnapshot<>(name, version.incrementAndGet(), loadingGeneration,
+                    etagFunction.apply(items), items, idFunction);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    boolean dependsOn(String source) {
+        return sources.contains(source);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private boolean isFresh(ReferenceSnapshot<T> current) {
+        if (current == null || current.getGeneration() != generation.get()) {
+            return false;
+        }
+        long maxAge = maxAgeMinutes.get();
+        return maxAge <= 0 || System.nanoTime() - current.getLoadedAtNanos() < TimeUnit.MINUTES.toNanos(maxAge);
+    }
+}
@@ -0,0 +1,104 @@
+package vn.edu.smd.core.common.refdata;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ảnh chụp bất biến của một bảng danh mục nhỏ (học kỳ, khoa, vai trò...) đã map sang DTO
+ *
+ * - version tăng sau mỗi lần nạp lại trên node này; etag lấy từ hash nội dung nên giống nhau giữa các node
+ * - Các DTO được dùng chung cho mọi request: chỉ đọc, không sửa trên bản trả về
+ */
+public final class ReferenceSnapshot<T> {
+
+    private final String name;
+    private final long version;
+    private final long generation;
+    private final String etag;
+    private final List<T> items;
+    private final Map<UUID, T> byId;
+    private final LocalDateTime loadedAt;
+    private final long loadedAtNanos;
+
+    ReferenceSnapshot(String name, long version, long generation, String etag, List<T> items, Function<T, UUID> idFunction) {
+        this.name = name;
+        this.version = version;
+        this.generation = generation;
+        this.etag = etag;
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        Map<UUID, T> index = new HashMap<>(items.size() * 2);
+        for (T item : items) {
+            UUID id = idFunction.apply(item);
+            if (id != null) {
+                index.put(id, item);
+            }
+        }
+        this.byId = Collections.unmodifiableMap(index);
+        this.loadedAt = LocalDateTime.now();
+        this.loadedAtNanos = System.nanoTime();
+    }
+
+    public Optional<T> findById(UUID id) {
+        return Optional.ofNullable(id == null ? null : byId.get(id));
+    }
+
+    public Optional<T> findFirst(Predicate<T> predicate) {
+        for (T item : items) {
+            if (predicate.test(item)) {
+                return Optional.of(item);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<T> filter(Predicate<T> predicate) {
+        List<T> result = new ArrayList<>();
+        for (T item : items) {
+            if (predicate.test(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceSnapshot[" + name + " v" + version + ", " + items.size() + " items, " + etag + "]";
+    }
+}
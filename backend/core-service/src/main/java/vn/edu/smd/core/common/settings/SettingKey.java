@@ -0,0 +1,133 @@
+package vn.edu.smd.core.common.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Khoá cấu hình có kiểu trong bảng system_settings
+ *
+ * Giá trị jsonb có dạng {"value": ...} (như seed V8). Mỗi khoá có giá trị mặc định - dùng khi chưa có dòng
+ * trong DB hoặc dòng sai kiểu - và được đánh số khi khai báo để snapshot tra theo index mảng.
+ */
+public final class SettingKey<T> {
+
+    static final String VALUE_FIELD = "value";
+
+    private static final List<SettingKey<?>> DECLARED = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final T defaultValue;
+    private final Function<Object, T> converter;
+    private final Predicate<T> validator;
+    private final int index;
+
+    private SettingKey(String name, T defaultValue, Function<Object, T> converter, Predicate<T> validator) {
+        this.name = Objects.requireNonNull(name);
+        this.defaultValue = Objects.requireNonNull(defaultValue);
+        this.converter = converter;
+        this.validator = validator;
+        synchronized (DECLARED) {
+            if (DECLARED.stream().anyMatch(key -> key.name.equals(name))) {
+                throw new IllegalStateException("Setting key already declared: " + name);
+            }
+            this.index = DECLARED.size();
+            DECLARED.add(this);
+        }
+    }
+
+    public static SettingKey<Integer> ofInt(String name, int defaultValue, int min, int max) {
+        return new SettingKey<>(name, defaultValue, raw -> Math.toIntExact(integral(raw)), value -> value >= min && value <= max);
+    }
+
+    public static SettingKey<Long> ofLong(String name, long defaultValue, long min, long max) {
+        return new SettingKey<>(name, defaultValue, SettingKey::integral, value -> value >= min && value <= max);
+    }
+
+    public static SettingKey<Boolean> ofBoolean(String name, boolean defaultValue) {
+        return new SettingKey<>(name, defaultValue, raw -> (Boolean) raw, value -> true);
+    }
+
+    public static SettingKey<String> ofString(String name, String defaultValue, Predicate<String> validator) {
+        return new SettingKey<>(name, defaultValue, raw -> (String) raw, validator);
+    }
+
+    public static SettingKey<List<String>> ofStringList(String name, List<String> defaultValue, Predicate<String> elementValidator) {
+        return new SettingKey<>(name, List.copyOf(defaultValue), raw -> {
+            List<String> values = new ArrayList<>();
+            for (Object element : (List<?>) raw) {
+                if (!(element instanceof String text)) {
+                    throw new ClassCastException("not a string: " + element);
+                }
+                values.add(text);
+            }
+            return Collections.unmodifiableList(values);
+        }, values -> values.stream().allMatch(elementValidator));
+    }
+
+    /**
+     * Đọc giá trị từ jsonb của dòng system_settings
+     *
+     * @throws IllegalArgumentException thiếu "value", sai kiểu hoặc không hợp lệ
+     */
+    public T parse(Map<String, Object> json) {
+        Object raw = json != null ? json.get(VALUE_FIELD) : null;
+        if (raw == null) {
+            throw new IllegalArgumentException("Setting " + name + " must be an object with a non-null \"value\"");
+        }
+        T value;
+        try {
+            value = converter.apply(raw);
+        } catch (ClassCastException | ArithmeticException e) {
+            throw new IllegalArgumentException("Setting " + name + " has a value of the wrong type: " + raw);
+        }
+        if (!validator.test(value)) {
+            throw new IllegalArgumentException("Setting " + name + " has an invalid value: " + raw);
+        }
+        return value;
+    }
+
+    /** Số nguyên từ JSON (10 hoặc 10.0, không nhận 10.5) */
+    private static long integral(Object raw) {
+        double number = ((Number) raw).doubleValue();
+        if (number != Math.rint(number) || Math.abs(number) > Long.MAX_VALUE) {
+            throw new ArithmeticException("not an integer: " + raw);
+        }
+        return ((Number) raw).longValue();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public T defaultValue() {
+        return defaultValue;
+    }
+
+    int index() {
+        return index;
+    }
+
+    static List<SettingKey<?>> declared() {
+        return List.copyOf(DECLARED);
+    }
+
+    static SettingKey<?> find(String name) {
+        for (SettingKey<?> key : DECLARED) {
+            if (key.name.equals(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,9 @@
+package vn.edu.smd.core.common.settings;
+
+/**
+ * Phát ra khi admin ghi một dòng system_settings - snapshot cấu hình được làm mới sau commit
+ *
+ * @param key khoá vừa đổi (chỉ để log; mọi thay đổi đều nạp lại cả bảng)
+ */
+public record SystemSettingChangedEvent(String key) {
+}
@@ -0,0 +1,206 @@
+package vn.edu.smd.core.common.settings;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.entity.SystemSetting;
+import vn.edu.smd.core.repository.SystemSettingRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cấu hình runtime từ bảng system_settings
+ *
+ * - Cả bảng được nạp thành một snapshot bất biến; giá trị của các khoá trong {@link SystemSettings} được parse sẵn
+ *   vào mảng theo index của khoá → get(key) chỉ là đọc volatile + truy cập mảng, không chạm DB / Redis
+ * - Admin ghi một khoá → sau commit làm mới local và phát "key|nodeId" lên kênh Redis cho các instance khác;
+ *   snapshot quá max-age cũng nạp lại (sửa thẳng trong DB, lỡ message)
+ * - Dòng sai kiểu / không hợp lệ → dùng giá trị mặc định của khoá; không nạp được bảng → giữ snapshot cũ
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SystemSettingRegistry implements MessageListener {
+
+    public static final String CHANNEL = "smd:settings:invalidate";
+
+    private static final char SEPARATOR = '|';
+    /** Nạp lỗi → thử lại sau khoảng này thay vì mỗi lần đọc */
+    private static final long RETRY_AFTER_FAILURE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final SystemSettingRepository systemSettingRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.system-settings.pubsub.enabled:true}")
+    private boolean pubSubEnabled = true;
+
+    @Value("${app.system-settings.max-age-minutes:10}")
+    private long maxAgeMinutes = 10;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param values    giá trị đã parse, theo SettingKey.index()
+     * @param raw       jsonb của mọi dòng (cả khoá chưa khai báo trong code)
+     * @param expiresAt System.nanoTime() mà sau đó phải nạp lại
+     */
+    record Snapshot(Object[] values, Map<String, Map<String, Object>> raw, long generation, long expiresAt) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(SettingKey<T> key) {
+        Snapshot current = snapshot;
+        if (!isFresh(current)) {
+            current = reload();
+        }
+        int index = key.index();
+        if (index < current.values().length) {
+            return (T) current.values()[index];
+        }
+        // Khoá khai báo sau khi snapshot được dựng
+        return parseOrDefault(key, current.raw().get(key.name()));
+    }
+
+    /** jsonb hiện hành của một dòng (null nếu chưa có dòng) */
+    public Map<String, Object> raw(String name) {
+        Snapshot current = snapshot;
+        if (!isFresh(current)) {
+            current = reload();
+        }
+        return current.raw().get(name);
+    }
+
+    /**
+     * Đánh dấu cấu hình đã đổi; snapshot được làm mới sau khi transaction hiện tại commit
+     */
+    public void invalidate(String key) {
+        eventPublisher.publishEvent(new SystemSettingChangedEvent(key));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemSettingChanged(SystemSettingChangedEvent event) {
+        invalidateLocal(event.key());
+        publish(event.key());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || nodeId.equals(body.substring(separator + 1))) {
+            return;
+        }
+        invalidateLocal(body.substring(0, separator));
+    }
+
+    void invalidateLocal(String key) {
+        generation.incrementAndGet();
+        log.debug("System setting {} changed, snapshot reloads on next read", key);
+    }
+
+    // ==========================================
+    // NẠP SNAPSHOT
+    // ==========================================
+
+    private Snapshot reload() {
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long loadingGeneration = generation.get();
+            try {
+                current = load(loadingGeneration);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Cannot load system settings, keeping {}: {}",
+                        current != null ? "previous snapshot" : "defaults", e.getMessage());
+                current = current != null
+                        ? new Snapshot(current.values(), current.raw(), loadingGeneration, System.nanoTime() + RETRY_AFTER_FAILURE_NANOS)
+                        : build(Map.of(), loadingGeneration, System.nanoTime() + RETRY_AFTER_FAILURE_NANOS);
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private Snapshot load(long loadingGeneration) {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<SystemSetting> rows = readOnly.execute(status -> systemSettingRepository.findAll());
+        Map<String, Map<String, Object>> raw = new HashMap<>();
+        for (SystemSetting row : rows != null ? rows : List.<SystemSetting>of()) {
+            raw.put(row.getKey(), row.getValue() != null
+                    ? Collections.unmodifiableMap(new LinkedHashMap<>(row.getValue())) : Map.of());
+        }
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("smd.settings.load").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("⚙️ Loaded {} system settings in {} ms", raw.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        long maxAge = maxAgeMinutes > 0 ? TimeUnit.MINUTES.toNanos(maxAgeMinutes) : Long.MAX_VALUE / 2;
+        return build(Collections.unmodifiableMap(raw), loadingGeneration, System.nanoTime() + maxAge);
+    }
+
+    private Snapshot build(Map<String, Map<String, Object>> raw, long loadingGeneration, long expiresAt) {
+        List<SettingKey<?>> keys = SystemSettings.catalog();
+        Object[] values = new Object[keys.size()];
+        for (SettingKey<?> key : keys) {
+            values[key.index()] = parseOrDefault(key, raw.get(key.name()));
+        }
+        return new Snapshot(values, raw, loadingGeneration, expiresAt);
+    }
+
+    private static <T> T parseOrDefault(SettingKey<T> key, Map<String, Object> json) {
+        if (json == null) {
+            return key.defaultValue();
+        }
+        try {
+            return key.parse(json);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ {} - using default {}", e.getMessage(), key.defaultValue());
+            return key.defaultValue();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.generation() == generation.get() && System.nanoTime() - current.expiresAt() < 0;
+    }
+
+    private void publish(String key) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() ->
+                    stringRedisTemplate.convertAndSend(CHANNEL, key + SEPARATOR + nodeId));
+        } catch (BulkheadFullException | DataAccessException e) {
+            // Instance khác tự nạp lại khi snapshot quá max-age
+            log.warn("⚠️ Cannot broadcast system setting change for {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package vn.edu.smd.core.common.settings;
+
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Danh mục các khoá system_settings mà code đọc (admin sửa qua /api/system-settings, không cần deploy lại)
+ *
+ * Đọc qua SystemSettingRegistry.get(key); chưa có dòng trong DB → giá trị mặc định khai báo ở đây.
+ */
+public final class SystemSettings {
+
+    // ==========================================
+    // AI TASK
+    // ==========================================
+
+    /** TTL trạng thái task AI đang chờ / đang chạy trong Redis */
+    public static final SettingKey<Long> AI_TASK_STATUS_TTL_MINUTES =
+            SettingKey.ofLong("ai.task_status_ttl_minutes", 30, 1, 24 * 60);
+
+    /** TTL kết quả task AI đã xong (COMPLETED / FAILED) trong Redis */
+    public static final SettingKey<Long> AI_TASK_RESULT_TTL_MINUTES =
+            SettingKey.ofLong("ai.task_result_ttl_minutes", 120, 1, 7 * 24 * 60);
+
+    // ==========================================
+    // DANH SÁCH ĐỀ CƯƠNG - trạng thái lọc mặc định theo vai trò
+    // ==========================================
+
+    public static final SettingKey<List<String>> DEFAULT_STATUSES_PRINCIPAL = defaultStatuses("PRINCIPAL",
+            SyllabusStatus.PENDING_PRINCIPAL, SyllabusStatus.APPROVED);
+
+    public static final SettingKey<List<String>> DEFAULT_STATUSES_AA = defaultStatuses("AA",
+            SyllabusStatus.PENDING_AA, SyllabusStatus.PENDING_PRINCIPAL, SyllabusStatus.REJECTED);
+
+    public static final SettingKey<List<String>> DEFAULT_STATUSES_HOD = defaultStatuses("HOD",
+            SyllabusStatus.PENDING_HOD, SyllabusStatus.PENDING_AA, SyllabusStatus.REJECTED);
+
+    public static final SettingKey<List<String>> DEFAULT_STATUSES_LECTURER = defaultStatuses("LECTURER",
+            SyllabusStatus.DRAFT, SyllabusStatus.PENDING_HOD, SyllabusStatus.PENDING_AA, SyllabusStatus.PENDING_PRINCIPAL,
+            SyllabusStatus.APPROVED, SyllabusStatus.PUBLISHED, SyllabusStatus.REJECTED, SyllabusStatus.REVISION_IN_PROGRESS);
+
+    private static final Map<String, SettingKey<List<String>>> DEFAULT_STATUSES_BY_ROLE = Map.of(
+            "PRINCIPAL", DEFAULT_STATUSES_PRINCIPAL,
+            "AA", DEFAULT_STATUSES_AA,
+            "HOD", DEFAULT_STATUSES_HOD,
+            "LECTURER", DEFAULT_STATUSES_LECTURER);
+
+    // ==========================================
+    // NỘI DUNG THÔNG BÁO
+    // ==========================================
+
+    public static final SettingKey<String> NOTIFY_PUBLISHED_TITLE = SettingKey.ofString(
+            "notification.syllabus_published.title", "Đề cương đã xuất hành", text -> !text.isBlank());
+
+    /** String.format với 2 tham số: mã môn, tên môn */
+    public static final SettingKey<String> NOTIFY_PUBLISHED_MESSAGE = SettingKey.ofString(
+            "notification.syllabus_published.message", "Đề cương môn %s - %s đã chính thức được xuất hành.",
+            text -> formats(text, 2));
+
+    private SystemSettings() {
+    }
+
+    /** Khoá trạng thái mặc định của vai trò; null nếu vai trò không có bộ lọc mặc định (ADMIN...) */
+    public static SettingKey<List<String>> defaultStatusesFor(String roleCode) {
+        return roleCode != null ? DEFAULT_STATUSES_BY_ROLE.get(roleCode) : null;
+    }
+
+    /** Mọi khoá đã khai báo (gọi qua class này để chắc chắn các hằng ở trên đã được khởi tạo) */
+    public static List<SettingKey<?>> catalog() {
+        return SettingKey.declared();
+    }
+
+    public static SettingKey<?> find(String name) {
+        return SettingKey.find(name);
+    }
+
+    private static SettingKey<List<String>> defaultStatuses(String roleCode, SyllabusStatus... statuses) {
+        return SettingKey.ofStringList("syllabus.default_statuses." + roleCode,
+                Arrays.stream(statuses).map(Enum::name).toList(), SystemSettings::isSyllabusStatus);
+    }
+
+    private static boolean isSyllabusStatus(String value) {
+        return Arrays.stream(SyllabusStatus.values()).anyMatch(status -> status.name().equals(value));
+    }
+
+    private static boolean formats(String template, int arguments) {
+        try {
+            // Tham số thật là chuỗi: %d / %f... (hoặc thiếu tham số) bị loại ngay khi lưu
+            Object[] samples = new Object[arguments];
+            Arrays.fill(samples, "x");
+            String.format(template, samples);
+            return !template.isBlank();
+        } catch (IllegalFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package vn.edu.smd.core.common.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Ghi dần kết quả của một Stream ra response thay vì dựng cả List rồi mới serialize
+ *
+ * - export: tải cả bảng dạng file NDJSON (mỗi dòng một object JSON) cho công cụ admin
+ * - stream: danh sách lớn trả thẳng về client, NDJSON nếu Accept yêu cầu application/x-ndjson,
+ *   ngược lại là một mảng JSON ghi từng phần tử
+ * - Dữ liệu đọc qua Stream của repository (fetch size nhỏ) trong một transaction read-only
+ *   mở ngay trên thread ghi response → không giữ cả tập kết quả trong heap
+ * - Stream entity: persistence context được clear sau mỗi CLEAR_EVERY dòng đã ghi để không phình theo số dòng
+ * - Ghi qua buffer, phần tử nào xong ra client phần tử đó
+ */
+@Slf4j
+@Component
+public class NdjsonExporter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Khớp với fetch size của các query Stream: mỗi lượt fetch xong thì bỏ các entity đã ghi */
+    static final int CLEAR_EVERY = 500;
+
+    enum Format {
+        NDJSON("ndjson"), JSON_ARRAY("json");
+
+        private final String metricName;
+
+        Format(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    public NdjsonExporter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                          EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> export(String dataset, Supplier<Stream<T>> rows) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_NDJSON);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(dataset + "-" + LocalDate.now() + ".ndjson").build());
+        StreamingResponseBody body = out -> write(dataset, Format.NDJSON, rows, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Trả danh sách dạng streaming; accept là header Accept của request (có thể null)
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String dataset, String accept, Supplier<Stream<T>> rows) {
+        Format format = wantsNdjson(accept) ? Format.NDJSON : Format.JSON_ARRAY;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format == Format.NDJSON ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON);
+        StreamingResponseBody body = out -> write(dataset, format, rows, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private <T> void write(String dataset, Format format, Supplier<Stream<T>> rows, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        try {
+            long count = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                try (Stream<T> stream = rows.get()) {
+                    Iterator<T> iterator = stream.iterator();
+                    if (format == Format.JSON_ARRAY) {
+                        buffered.write('[');
+                    }
+                    while (iterator.hasNext()) {
+                        T row = iterator.next();
+                        if (format == Format.JSON_ARRAY && written > 0) {
+                            buffered.write(',');
+                        }
+                        writer.writeValue(buffered, row);
+                        if (format == Format.NDJSON) {
+                            buffered.write('\n');
+                        }
+                        if (++written % CLEAR_EVERY == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                    if (format == Format.JSON_ARRAY) {
+                        buffered.write(']');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+            buffered.flush();
+            meterRegistry.counter("smd.export." + format.metricName + ".rows", "dataset", dataset).increment(count);
+            log.info("📤 {} stream {}: {} rows in {} ms", format, dataset, count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (UncheckedIOException e) {
+            // Client ngắt kết nối giữa chừng
+            log.warn("⚠️ {} stream {} aborted: {}", format, dataset, e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    /** Chỉ chọn NDJSON khi client ghi rõ; Accept wildcard hay application/json vẫn nhận mảng JSON */
+    static boolean wantsNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(APPLICATION_NDJSON::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
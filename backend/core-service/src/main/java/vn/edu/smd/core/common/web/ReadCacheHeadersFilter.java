@@ -0,0 +1,98 @@
+package vn.edu.smd.core.common.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETag + Cache-Control cho các endpoint GET đọc nhiều
+ *
+ * - Mặc định Spring Security gắn "no-cache, no-store" + Pragma + Expires cho mọi response → gateway
+ *   không cache được. Filter này đặt "max-age=0, must-revalidate, s-maxage=N" TRƯỚC khi chạy chain,
+ *   nên CacheControlHeadersWriter của Security bỏ qua (không ghi Pragma / Expires):
+ *   trình duyệt luôn revalidate, còn shared cache (micro-cache ở gateway) được giữ response N giây.
+ * - ETag / 304 do ShallowEtagHeaderFilter xử lý (hash của body); ETag controller đã đặt (snapshot danh mục)
+ *   được giữ nguyên, 304 do controller trả về đi qua không đổi header.
+ * - Response không phải 200 được đổi về no-store.
+ * - /api/student/syllabi phụ thuộc người dùng (cờ tracked) nên thêm Vary: Authorization.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.http-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadCacheHeadersFilter extends ShallowEtagHeaderFilter {
+
+    private static final List<String> REFERENCE_DATA_PATHS = List.of("/api/subjects", "/api/academic-terms", "/api/semesters");
+    private static final String STUDENT_SYLLABI_PATH = "/api/student/syllabi";
+
+    @Value("${app.http-cache.reference-data.shared-max-age-seconds:30}")
+    private long referenceDataMaxAge;
+
+    @Value("${app.http-cache.student-syllabi.shared-max-age-seconds:5}")
+    private long studentSyllabiMaxAge;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || resolveMaxAge(request.getRequestURI()) < 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        CacheControl cacheControl = CacheControl.maxAge(0, TimeUnit.SECONDS)
+                .mustRevalidate()
+                .sMaxAge(resolveMaxAge(uri), TimeUnit.SECONDS);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (uri.startsWith(STUDENT_SYLLABI_PATH)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+        super.doFilterInternal(request, response, filterChain);
+    }
+
+    @Override
+    protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+                                        int responseStatusCode, InputStream inputStream) {
+        // Được gọi trước khi body được ghi ra → còn sửa header được
+        if (responseStatusCode == HttpServletResponse.SC_NOT_MODIFIED) {
+            // Controller đã tự so ETag (snapshot danh mục) → giữ nguyên Cache-Control
+            return false;
+        }
+        if (responseStatusCode != HttpServletResponse.SC_OK || isStreaming(response)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return false;
+        }
+        return super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+    }
+
+    private long resolveMaxAge(String uri) {
+        if (uri.startsWith(STUDENT_SYLLABI_PATH)) {
+            // PDF tải về không cần cache ở gateway
+            return uri.endsWith("/pdf") ? -1 : studentSyllabiMaxAge;
+        }
+        for (String path : REFERENCE_DATA_PATHS) {
+            if (uri.equals(path) || uri.startsWith(path + "/")) {
+                return referenceDataMaxAge;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isStreaming(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith("text/event-stream");
+    }
+}
@@ -0,0 +1,65 @@
+package vn.edu.smd.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import vn.edu.smd.core.common.bulkhead.BulkheadDataSource;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulkhead & Virtual Thread Configuration
+ *
+ * - Bọc DataSource bằng bulkhead "database" (permit giữ trong lúc connection mở), chỉ cho
+ *   thread HTTP request. Bulkhead nhỏ hơn Hikari pool nên listener / scheduler luôn còn
+ *   connection dự phòng, còn request vượt ngưỡng bị từ chối nhanh (503) thay vì chờ pool.
+ * - Redis / RabbitMQ / FCM / PDF dùng BulkheadRegistry trực tiếp trong service
+ * - Virtual thread (opt-in): spring.threads.virtual.enabled=true
+ *   Spring Boot sẽ chạy Tomcat request và @RabbitListener trên virtual thread,
+ *   nhưng chỉ khi JVM là Java 21+ (image runtime core-service dùng JRE 21).
+ *   Trên Java 17 property này không có tác dụng.
+ */
+@Slf4j
+@Configuration
+public class BulkheadConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * static để BeanPostProcessor được tạo sớm; registry lấy lazy khi mở connection đầu tiên
+     */
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<BulkheadRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                return new BulkheadDataSource(dataSource,
+                        () -> registry.getObject().get(BulkheadRegistry.DATABASE),
+                        () -> RequestContextHolder.getRequestAttributes() != null);
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        if (!virtualThreadsEnabled) {
+            log.info("Request handling runs on platform threads (spring.threads.virtual.enabled=false)");
+        } else if (Runtime.version().feature() >= 21) {
+            log.info("✅ Virtual threads enabled for Tomcat requests and @RabbitListener consumers");
+        } else {
+            log.warn("⚠️ spring.threads.virtual.enabled=true but JVM is Java {} - virtual threads need Java 21+",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package vn.edu.smd.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import vn.edu.smd.core.service.SyllabusFollowerService;
+
+/**
+ * Nhận thay đổi theo dõi đề cương từ các instance khác qua Redis pub/sub
+ *
+ * Tắt: app.follower-index.pubsub.enabled=false (khi đó mỗi instance chỉ dựa vào max-age)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.follower-index.pubsub.enabled", havingValue = "true", matchIfMissing = true)
+public class FollowerIndexConfig {
+
+    @Bean
+    public RedisMessageListenerContainer followerIndexListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        SyllabusFollowerService syllabusFollowerService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(syllabusFollowerService, new ChannelTopic(SyllabusFollowerService.CHANNEL));
+        return container;
+    }
+}
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,6 +32,7 @@ public class RabbitMQConfig {
     public static final String QUEUE_AI_PROCESSING = "ai_processing_queue";
     public static final String QUEUE_AI_SUMMARIZE = "ai_summarize_queue";
     public static final String QUEUE_AI_RESULT = "ai_result_queue";
+    public static final String QUEUE_AI_RESULT_DLQ = "ai_result_queue.dlq";
     public static final String QUEUE_NOTIFICATION = "notification_queue";
     
     // Routing Keys
@@ -36,6 +40,24 @@ public class RabbitMQConfig {
     public static final String ROUTING_KEY_SUMMARIZE = "ai.summarize";
     public static final String ROUTING_KEY_RESULT = "ai.result";
     public static final String ROUTING_KEY_NOTIFICATION = "notification.*";
+
+    // Listener container cho ai_result_queue
+    public static final String AI_RESULT_CONTAINER_FACTORY = "aiResultListenerContainerFactory";
+
+    @Value("${app.ai-result.listener.concurrency:2}")
+    private int aiResultConcurrency;
+
+    @Value("${app.ai-result.listener.max-concurrency:4}")
+    private int aiResultMaxConcurrency;
+
+    @Value("${app.ai-result.listener.prefetch:50}")
+    private int aiResultPrefetch;
+
+    @Value("${app.ai-result.listener.batch-size:20}")
+    private int aiResultBatchSize;
+
+    @Value("${app.ai-result.listener.receive-timeout-ms:200}")
+    private long aiResultReceiveTimeoutMs;
     
     // =============================================
     // EXCHANGES
@@ -74,6 +96,15 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(QUEUE_AI_RESULT).build();
     }
     
+    /**
+     * Kết quả AI sai định dạng được chuyển sang đây (không khai báo x-dead-letter-exchange trên
+     * ai_result_queue vì queue đã tồn tại, đổi argument sẽ bị RabbitMQ từ chối khi khai báo lại)
+     */
+    @Bean
+    public Queue aiResultDeadLetterQueue() {
+        return QueueBuilder.durable(QUEUE_AI_RESULT_DLQ).build();
+    }
+    
     @Bean
     public Queue notificationQueue() {
         return QueueBuilder.durable(QUEUE_NOTIFICATION).build();
@@ -140,4 +171,31 @@ public class RabbitMQConfig {
         template.setMessageConverter(messageConverter());
         return template;
     }
+    
+    // =============================================
+    // LISTENER CONTAINER - ai_result_queue
+    // =============================================
+    
+    /**
+     * Batch listener cho ai_result_queue
+     *
+     * - concurrency / max-concurrency consumer song song, prefetch cho mỗi consumer
+     * - Gom tối đa batch-size message (hoặc chờ receive-timeout-ms) rồi ghi Redis một lần qua pipeline
+     * - Ack tự động sau khi cả batch xử lý xong; lỗi tạm thời → requeue cả batch (ghi status là idempotent)
+     */
+    @Bean(AI_RESULT_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory aiResultListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(aiResultConcurrency);
+        factory.setMaxConcurrentConsumers(Math.max(aiResultConcurrency, aiResultMaxConcurrency));
+        factory.setPrefetchCount(Math.max(aiResultPrefetch, aiResultBatchSize));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(aiResultBatchSize);
+        factory.setReceiveTimeout(aiResultReceiveTimeoutMs);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        return factory;
+    }
 }
@@ -0,0 +1,28 @@
+package vn.edu.smd.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+
+/**
+ * Nhận thông báo invalidate danh mục từ các instance khác qua Redis pub/sub
+ *
+ * Tắt: app.reference-data.pubsub.enabled=false (khi đó mỗi instance chỉ dựa vào max-age)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reference-data.pubsub.enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataConfig {
+
+    @Bean
+    public RedisMessageListenerContainer referenceDataListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        ReferenceDataRegistry referenceDataRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(referenceDataRegistry, new ChannelTopic(ReferenceDataRegistry.CHANNEL));
+        return container;
+    }
+}
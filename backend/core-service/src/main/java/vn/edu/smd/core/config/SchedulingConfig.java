@@ -0,0 +1,14 @@
+package vn.edu.smd.core.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ *
+ * Bật @Scheduled cho các job nền (vd: AITaskScheduler nhả task AI theo capacity của worker)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,28 @@
+package vn.edu.smd.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import vn.edu.smd.core.common.cache.SecondLevelCacheInvalidator;
+
+/**
+ * Nhận thông báo bỏ entity khỏi second-level cache từ các instance khác qua Redis pub/sub
+ *
+ * Tắt: app.l2-cache.pubsub.enabled=false (khi đó region chỉ dựa vào after-write expiry trong application.conf)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.l2-cache.pubsub.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer secondLevelCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           SecondLevelCacheInvalidator invalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidator, new ChannelTopic(SecondLevelCacheInvalidator.CHANNEL));
+        return container;
+    }
+}
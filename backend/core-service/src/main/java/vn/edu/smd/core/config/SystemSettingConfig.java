@@ -0,0 +1,28 @@
+package vn.edu.smd.core.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import vn.edu.smd.core.common.settings.SystemSettingRegistry;
+
+/**
+ * Nhận thay đổi system_settings từ các instance khác qua Redis pub/sub
+ *
+ * Tắt: app.system-settings.pubsub.enabled=false (khi đó mỗi instance chỉ dựa vào max-age)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.system-settings.pubsub.enabled", havingValue = "true", matchIfMissing = true)
+public class SystemSettingConfig {
+
+    @Bean
+    public RedisMessageListenerContainer systemSettingListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        SystemSettingRegistry systemSettingRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(systemSettingRegistry, new ChannelTopic(SystemSettingRegistry.CHANNEL));
+        return container;
+    }
+}
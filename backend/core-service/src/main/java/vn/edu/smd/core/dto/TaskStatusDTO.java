@@ -80,4 +80,15 @@ public class TaskStatusDTO implements Serializable {
      * Priority: LOW, MEDIUM, HIGH
      */
     private String priority;
+    
+    /**
+     * Vị trí trong hàng đợi công bằng (0 = task kế tiếp được gửi cho AI Worker),
+     * null khi task đã được gửi đi hoặc đã xong
+     */
+    private Integer queuePosition;
+    
+    /**
+     * Thời gian ước tính tới khi có kết quả (giây), chỉ có khi status = QUEUED
+     */
+    private Integer etaSeconds;
 }
@@ -2,6 +2,8 @@ package vn.edu.smd.core.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +17,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "academic_terms", schema = "core_service")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "academic_terms")
 @Getter
 @Setter
 @NoArgsConstructor
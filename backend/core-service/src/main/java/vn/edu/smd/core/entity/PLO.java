@@ -2,6 +2,8 @@ package vn.edu.smd.core.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import vn.edu.smd.core.converter.PloCategoryConverter;
@@ -12,6 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "plos", schema = "core_service")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plos")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class PLO {
 
@@ -10,6 +10,7 @@ import vn.edu.smd.shared.enums.ComponentType;
 import vn.edu.smd.shared.enums.CourseType;
 import vn.edu.smd.shared.enums.SyllabusStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -89,6 +90,24 @@ public class SyllabusVersion {
     @Column(name = "content", columnDefinition = "jsonb")
     private Map<String, Object> content;
 
+    // V55 - tăng mỗi lần lưu nội dung, dùng làm ETag cho autosave (PATCH /content với If-Match)
+    @Column(name = "content_revision", nullable = false)
+    @Builder.Default
+    private Long contentRevision = 0L;
+
+    // V58 - cột GENERATED ... STORED tính từ content (chỉ đọc, có giá trị khi load lại từ DB)
+    @Column(name = "content_clo_count", insertable = false, updatable = false)
+    private Integer contentCloCount;
+
+    @Column(name = "content_assessment_count", insertable = false, updatable = false)
+    private Integer contentAssessmentCount;
+
+    @Column(name = "content_assessment_weight_total", precision = 7, scale = 2, insertable = false, updatable = false)
+    private BigDecimal contentAssessmentWeightTotal;
+
+    @Column(name = "content_objective_count", insertable = false, updatable = false)
+    private Integer contentObjectiveCount;
+
     // V8 additions - Post-publication & Workflow
     @Column(name = "effective_date")
     private LocalDate effectiveDate;
@@ -8,7 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.module.academicterm.dto.AcademicTermRequest;
 import vn.edu.smd.core.module.academicterm.dto.AcademicTermResponse;
@@ -34,9 +37,8 @@ public class AcademicTermController {
 
     @Operation(summary = "Get all academic terms", description = "Get list of all academic terms without pagination")
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<AcademicTermResponse>>> getAllAcademicTermsNoPaging() {
-        List<AcademicTermResponse> terms = academicTermService.getAllAcademicTerms();
-        return ResponseEntity.ok(ApiResponse.success(terms));
+    public ResponseEntity<ApiResponse<List<AcademicTermResponse>>> getAllAcademicTermsNoPaging(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, academicTermService.getAcademicTermSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get academic term by ID", description = "Get academic term details by ID")
@@ -55,9 +57,9 @@ public class AcademicTermController {
 
     @Operation(summary = "Get active academic terms", description = "Get list of all active academic terms")
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<AcademicTermResponse>>> getActiveAcademicTerms() {
-        List<AcademicTermResponse> terms = academicTermService.getActiveAcademicTerms();
-        return ResponseEntity.ok(ApiResponse.success(terms));
+    public ResponseEntity<ApiResponse<List<AcademicTermResponse>>> getActiveAcademicTerms(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, academicTermService.getAcademicTermSnapshot(),
+                snapshot -> snapshot.filter(term -> Boolean.TRUE.equals(term.getIsActive())));
     }
 
     @Operation(summary = "Get current academic year", description = "Get the currently active academic year")
@@ -1,5 +1,6 @@
 package vn.edu.smd.core.module.academicterm.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,51 +8,67 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.AcademicTerm;
-import vn.edu.smd.core.entity.Semester;
 import vn.edu.smd.core.module.academicterm.dto.AcademicTermRequest;
 import vn.edu.smd.core.module.academicterm.dto.AcademicTermResponse;
 import vn.edu.smd.core.module.semester.dto.SemesterResponse;
+import vn.edu.smd.core.module.semester.service.SemesterService;
 import vn.edu.smd.core.repository.AcademicTermRepository;
-import vn.edu.smd.core.repository.SemesterRepository;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AcademicTermService {
 
     private final AcademicTermRepository academicTermRepository;
-    private final SemesterRepository semesterRepository;
+    private final SemesterService semesterService;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<AcademicTermResponse> academicTerms;
+
+    @PostConstruct
+    void registerReferenceData() {
+        academicTerms = referenceDataRegistry.register(ReferenceDataRegistry.ACADEMIC_TERMS,
+                Set.of(ReferenceDataRegistry.ACADEMIC_TERMS),
+                () -> academicTermRepository.findAll().stream().map(this::mapToResponse).toList(),
+                AcademicTermResponse::getId);
+    }
 
     public Page<AcademicTermResponse> getAllAcademicTerms(Pageable pageable) {
         return academicTermRepository.findAll(pageable).map(this::mapToResponse);
     }
 
+    // =============================================
+    // LOOKUP (snapshot trong bộ nhớ, không chạm DB)
+    // =============================================
+
+    public ReferenceSnapshot<AcademicTermResponse> getAcademicTermSnapshot() {
+        return academicTerms.snapshot();
+    }
+
     public List<AcademicTermResponse> getAllAcademicTerms() {
-        return academicTermRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return academicTerms.snapshot().getItems();
     }
 
     public AcademicTermResponse getAcademicTermById(UUID id) {
-        AcademicTerm term = academicTermRepository.findById(id)
+        return academicTerms.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("AcademicTerm", "id", id));
-        return mapToResponse(term);
     }
 
     public AcademicTermResponse getAcademicTermByCode(String code) {
-        AcademicTerm term = academicTermRepository.findByCode(code)
+        return academicTerms.snapshot().findFirst(term -> Objects.equals(term.getCode(), code))
                 .orElseThrow(() -> new ResourceNotFoundException("AcademicTerm", "code", code));
-        return mapToResponse(term);
     }
 
     public List<AcademicTermResponse> getActiveAcademicTerms() {
-        return academicTermRepository.findByIsActive(true).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return academicTerms.snapshot().filter(term -> Boolean.TRUE.equals(term.getIsActive()));
     }
 
     @Transactional
@@ -74,6 +91,7 @@ public class AcademicTermService {
                 .build();
 
         AcademicTerm savedTerm = academicTermRepository.save(term);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
         return mapToResponse(savedTerm);
     }
 
@@ -101,6 +119,7 @@ public class AcademicTermService {
         }
 
         AcademicTerm updatedTerm = academicTermRepository.save(term);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
         return mapToResponse(updatedTerm);
     }
 
@@ -111,6 +130,7 @@ public class AcademicTermService {
         
         term.setIsActive(true);
         AcademicTerm updatedTerm = academicTermRepository.save(term);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
         return mapToResponse(updatedTerm);
     }
 
@@ -120,21 +140,18 @@ public class AcademicTermService {
             throw new ResourceNotFoundException("AcademicTerm", "id", id);
         }
         academicTermRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
     }
 
     public AcademicTermResponse getCurrentAcademicYear() {
-        AcademicTerm currentTerm = academicTermRepository.findFirstByIsActiveTrue()
+        return academicTerms.snapshot().findFirst(term -> Boolean.TRUE.equals(term.getIsActive()))
                 .orElseThrow(() -> new ResourceNotFoundException("No active academic year found"));
-        return mapToResponse(currentTerm);
     }
 
     public List<SemesterResponse> getSemestersByAcademicYear(UUID id) {
-        AcademicTerm term = academicTermRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("AcademicTerm", "id", id));
-        
-        return semesterRepository.findByAcademicYear(term.getAcademicYear()).stream()
-                .map(this::mapSemesterToResponse)
-                .collect(Collectors.toList());
+        AcademicTermResponse term = getAcademicTermById(id);
+        return semesterService.getSemesterSnapshot()
+                .filter(semester -> Objects.equals(semester.getAcademicYear(), term.getAcademicYear()));
     }
 
     private AcademicTermResponse mapToResponse(AcademicTerm term) {
@@ -150,19 +167,4 @@ public class AcademicTermService {
         response.setUpdatedAt(term.getUpdatedAt());
         return response;
     }
-
-    private SemesterResponse mapSemesterToResponse(Semester semester) {
-        SemesterResponse response = new SemesterResponse();
-        response.setId(semester.getId());
-        response.setCode(semester.getCode());
-        response.setName(semester.getName());
-        response.setSemesterNumber(semester.getSemesterNumber());
-        response.setAcademicYear(semester.getAcademicYear());
-        response.setStartDate(semester.getStartDate());
-        response.setEndDate(semester.getEndDate());
-        response.setIsActive(semester.getIsActive());
-        response.setCreatedAt(semester.getCreatedAt());
-        response.setUpdatedAt(semester.getUpdatedAt());
-        return response;
-    }
 }
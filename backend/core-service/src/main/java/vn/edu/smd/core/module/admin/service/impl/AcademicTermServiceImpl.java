@@ -1,26 +1,43 @@
 package vn.edu.smd.core.module.admin.service.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.cache.SecondLevelCacheInvalidator;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
 import vn.edu.smd.core.entity.AcademicTerm;
 import vn.edu.smd.core.module.admin.dto.AcademicTermDto;
 import vn.edu.smd.core.module.admin.service.AcademicTermService;
 import vn.edu.smd.core.repository.AcademicTermRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AcademicTermServiceImpl implements AcademicTermService {
 
     private final AcademicTermRepository termRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final SecondLevelCacheInvalidator secondLevelCache;
+
+    private ReferenceDataset<AcademicTermDto> terms;
+
+    @PostConstruct
+    void registerReferenceData() {
+        // Cùng bảng academic_terms với module academicterm, khác DTO → dataset riêng, chung nguồn
+        terms = referenceDataRegistry.register("admin_academic_terms",
+                Set.of(ReferenceDataRegistry.ACADEMIC_TERMS),
+                () -> termRepository.findAll().stream().map(this::mapToDto).toList(),
+                AcademicTermDto::getId);
+    }
 
     @Override
     public List<AcademicTermDto> getAllTerms() {
-        return termRepository.findAll().stream().map(this::mapToDto).collect(Collectors.toList());
+        return terms.snapshot().getItems();
     }
 
     @Override
@@ -42,9 +59,12 @@ public class AcademicTermServiceImpl implements AcademicTermService {
         // Nếu tạo mới là active thì tắt các cái cũ đi
         if (Boolean.TRUE.equals(term.getIsActive())) {
             termRepository.deactivateAllTerms();
+            secondLevelCache.evictAll(AcademicTerm.class);
         }
 
-        return mapToDto(termRepository.save(term));
+        AcademicTermDto saved = mapToDto(termRepository.save(term));
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
+        return saved;
     }
 
     @Override
@@ -56,6 +76,7 @@ public class AcademicTermServiceImpl implements AcademicTermService {
             throw new RuntimeException("Không thể xóa học kỳ đang hoạt động");
         }
         termRepository.delete(term);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
     }
 
     @Override
@@ -63,12 +84,15 @@ public class AcademicTermServiceImpl implements AcademicTermService {
     public void setActiveTerm(UUID id) {
         // 1. Tắt active tất cả
         termRepository.deactivateAllTerms();
+        // Bulk UPDATE không qua entity → báo các instance khác bỏ cả region academic_terms
+        secondLevelCache.evictAll(AcademicTerm.class);
 
         // 2. Bật active cho cái được chọn
         AcademicTerm term = termRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy học kỳ"));
         term.setIsActive(true);
         termRepository.save(term);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ACADEMIC_TERMS);
     }
 
     private AcademicTermDto mapToDto(AcademicTerm entity) {
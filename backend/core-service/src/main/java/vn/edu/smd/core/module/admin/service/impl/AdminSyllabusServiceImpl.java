@@ -2,10 +2,12 @@ package vn.edu.smd.core.module.admin.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.entity.SyllabusVersion;
 import vn.edu.smd.core.module.admin.service.AdminSyllabusService;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
 import vn.edu.smd.core.module.syllabus.service.SyllabusService;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
 import vn.edu.smd.shared.enums.SyllabusStatus;
@@ -21,6 +23,7 @@ public class AdminSyllabusServiceImpl implements AdminSyllabusService {
 
     private final SyllabusVersionRepository syllabusRepository;
     private final SyllabusService syllabusService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -44,6 +47,7 @@ public class AdminSyllabusServiceImpl implements AdminSyllabusService {
         
         SyllabusVersion savedSyllabus = syllabusRepository.save(syllabus);
         log.info("📌 [PublishSyllabus] Lưu vào DB: {} (Status: {})", id, savedSyllabus.getStatus());
+        eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(savedSyllabus.getId(), savedSyllabus.getSubject().getId()));
         
         // Gửi thông báo cho sinh viên khi xuất hành
         try {
@@ -88,6 +92,7 @@ public class AdminSyllabusServiceImpl implements AdminSyllabusService {
         syllabus.setStatus(SyllabusStatus.INACTIVE); 
 
         SyllabusVersion savedSyllabus = syllabusRepository.save(syllabus);
+        eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(savedSyllabus.getId(), savedSyllabus.getSubject().getId()));
         
         // Gửi thông báo cho sinh viên khi gỡ bỏ đề cương
         syllabusService.notifyStudentsOnUnpublish(savedSyllabus, reason);
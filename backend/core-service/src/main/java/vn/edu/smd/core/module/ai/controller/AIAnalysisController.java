@@ -2,10 +2,12 @@ package vn.edu.smd.core.module.ai.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
 import vn.edu.smd.core.dto.TaskStatusDTO;
 import vn.edu.smd.core.module.ai.service.AITaskService;
 import vn.edu.smd.core.security.UserPrincipal;
@@ -51,14 +53,7 @@ public class AIAnalysisController {
         
         String taskId = aiTaskService.requestCloPloMapping(id, curriculumId, userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("task_id", taskId);
-        response.put("status", "QUEUED");
-        response.put("message", "Yêu cầu kiểm tra CLO-PLO đã được gửi");
-        response.put("estimated_time_seconds", 7);
-        response.put("poll_url", "/api/ai/tasks/" + taskId + "/status");
-        
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queuedResponse(taskId, "Yêu cầu kiểm tra CLO-PLO đã được gửi"));
     }
     
     // =============================================
@@ -89,14 +84,7 @@ public class AIAnalysisController {
         String taskId = aiTaskService.requestCompareVersions(
                 oldVersionId, newVersionId, subjectId, userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("task_id", taskId);
-        response.put("status", "QUEUED");
-        response.put("message", "Yêu cầu so sánh phiên bản đã được gửi");
-        response.put("estimated_time_seconds", 10);
-        response.put("poll_url", "/api/ai/tasks/" + taskId + "/status");
-        
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queuedResponse(taskId, "Yêu cầu so sánh phiên bản đã được gửi"));
     }
     
     // =============================================
@@ -121,14 +109,28 @@ public class AIAnalysisController {
         
         String taskId = aiTaskService.requestSummarize(id, userId);
         
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queuedResponse(taskId, "Yêu cầu tóm tắt đề cương đã được gửi"));
+    }
+    
+    /**
+     * Response 202 chung: vị trí trong hàng đợi + ETA lấy từ AITaskScheduler
+     */
+    private Map<String, Object> queuedResponse(String taskId, String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("task_id", taskId);
         response.put("status", "QUEUED");
-        response.put("message", "Yêu cầu tóm tắt đề cương đã được gửi");
-        response.put("estimated_time_seconds", 5);
+        response.put("message", message);
         response.put("poll_url", "/api/ai/tasks/" + taskId + "/status");
         
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        try {
+            TaskStatusDTO status = aiTaskService.getTaskStatus(taskId);
+            response.put("queue_position", status.getQueuePosition());
+            response.put("estimated_time_seconds", status.getEtaSeconds());
+        } catch (BulkheadFullException | DataAccessException e) {
+            // Task đã được gửi - không trả lỗi chỉ vì không đọc được vị trí, Frontend sẽ polling
+            log.warn("Could not read queue position for task {}: {}", taskId, e.getMessage());
+        }
+        return response;
     }
     
     // =============================================
@@ -0,0 +1,68 @@
+package vn.edu.smd.core.module.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kết quả AI Worker gửi về ai_result_queue
+ *
+ * messageId trùng với taskId đã trả cho Frontend khi tạo task.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AIResultMessage {
+
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_ERROR = "ERROR";
+    public static final String STATUS_PROCESSING = "PROCESSING";
+
+    private static final Set<String> KNOWN_STATUSES = Set.of(STATUS_SUCCESS, STATUS_ERROR, STATUS_PROCESSING);
+
+    private String messageId;
+    private String action;
+    private String status;
+    private Integer progress;
+    private Map<String, Object> result;
+    private String errorMessage;
+    private Integer processingTimeMs;
+
+    /**
+     * @return lý do message không hợp lệ, null nếu hợp lệ
+     */
+    public String validate() {
+        if (messageId == null || messageId.isBlank()) {
+            return "missing messageId";
+        }
+        if (status == null || !KNOWN_STATUSES.contains(status)) {
+            return "unknown status: " + status;
+        }
+        if (progress != null && (progress < 0 || progress > 100)) {
+            return "progress out of range: " + progress;
+        }
+        return null;
+    }
+
+    public boolean isTerminal() {
+        return STATUS_SUCCESS.equals(status) || STATUS_ERROR.equals(status);
+    }
+
+    /**
+     * Thứ tự của update trong vòng đời task: progress 0..100, trạng thái kết thúc luôn đứng sau cùng.
+     * Redis chỉ nhận update có rank lớn hơn rank đã lưu (idempotent + progress không đi lùi).
+     */
+    public int rank() {
+        if (isTerminal()) {
+            return 101;
+        }
+        return progress != null ? progress : 0;
+    }
+}
@@ -1,56 +1,97 @@
 package vn.edu.smd.core.module.ai.listener;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.stereotype.Component;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.config.RabbitMQConfig;
+import vn.edu.smd.core.module.ai.dto.AIResultMessage;
 import vn.edu.smd.core.module.ai.service.AITaskService;
 
-import java.util.Map;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * AI Result Listener
  * Lắng nghe kết quả từ AI Worker trên queue ai_result_queue
+ *
+ * - Nhận theo batch (RabbitMQConfig.aiResultListenerContainerFactory), nhiều consumer song song
+ * - Message sai định dạng → chuyển sang ai_result_queue.dlq, không làm hỏng cả batch
+ * - Status được ghi vào Redis qua một pipeline, idempotent theo messageId + rank (xem AITaskService.applyResults)
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class AIResultListener {
-    
+
+    static final String DEAD_LETTER_REASON_HEADER = "x-smd-dead-letter-reason";
+
     private final AITaskService aiTaskService;
-    
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
     /**
-     * Nhận kết quả AI từ queue
-     * 
-     * @param message Result message từ AI Worker
+     * Nhận một batch kết quả AI từ queue
+     *
+     * @param messages Result messages từ AI Worker
      */
-    @RabbitListener(queues = "ai_result_queue")
-    public void receiveAIResult(Map<String, Object> message) {
-        try {
-            String messageId = (String) message.get("messageId");
-            String action = (String) message.get("action");
-            String status = (String) message.get("status");
-            Integer progress = (Integer) message.get("progress");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> result = (Map<String, Object>) message.get("result");
-            String errorMessage = (String) message.get("errorMessage");
-            Integer processingTimeMs = (Integer) message.get("processingTimeMs");
-            
-            log.info("📥 Received AI result: messageId={}, action={}, status={}", 
-                     messageId, action, status);
-            
-            if ("SUCCESS".equals(status)) {
-                log.info("✅ AI task completed successfully in {}ms", processingTimeMs);
-                aiTaskService.updateTaskStatus(messageId, status, progress, result, null);
-            } else if ("ERROR".equals(status)) {
-                log.error("❌ AI task failed: {}", errorMessage);
-                aiTaskService.updateTaskStatus(messageId, status, 0, null, errorMessage);
-            } else {
-                log.warn("⚠️ Unknown status: {}", status);
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_AI_RESULT, containerFactory = RabbitMQConfig.AI_RESULT_CONTAINER_FACTORY)
+    public void receiveAIResults(List<Message> messages) {
+        List<AIResultMessage> results = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            AIResultMessage result = parse(message);
+            if (result != null) {
+                results.add(result);
             }
-            
-        } catch (Exception e) {
-            log.error("❌ Error processing AI result: {}", e.getMessage(), e);
         }
+        if (results.isEmpty()) {
+            return;
+        }
+
+        try {
+            int applied = aiTaskService.applyResults(results);
+            log.info("📥 Applied {}/{} AI result(s) from a batch of {} message(s)", applied, results.size(), messages.size());
+        } catch (BulkheadFullException | RedisConnectionFailureException | QueryTimeoutException e) {
+            // Redis đang quá tải / mất kết nối: trả cả batch về queue thay vì làm mất kết quả AI
+            // (ghi lại là an toàn vì applyResults idempotent)
+            log.warn("⏳ Redis unavailable, requeueing {} AI result(s): {}", messages.size(), e.getMessage());
+            throw new ImmediateRequeueAmqpException("Redis unavailable", e);
+        }
+    }
+
+    private AIResultMessage parse(Message message) {
+        AIResultMessage result;
+        try {
+            result = objectMapper.readValue(message.getBody(), AIResultMessage.class);
+        } catch (IOException e) {
+            deadLetter(message, "unreadable JSON: " + e.getMessage());
+            return null;
+        }
+        String invalid = result.validate();
+        if (invalid != null) {
+            deadLetter(message, invalid);
+            return null;
+        }
+        if (AIResultMessage.STATUS_ERROR.equals(result.getStatus())) {
+            log.error("❌ AI task failed: messageId={}, error={}", result.getMessageId(), result.getErrorMessage());
+        } else {
+            log.debug("📥 Received AI result: messageId={}, action={}, status={}, progress={}",
+                      result.getMessageId(), result.getAction(), result.getStatus(), result.getProgress());
+        }
+        return result;
+    }
+
+    private void deadLetter(Message message, String reason) {
+        log.error("☠️ Malformed AI result moved to {}: {}", RabbitMQConfig.QUEUE_AI_RESULT_DLQ, reason);
+        message.getMessageProperties().setHeader(DEAD_LETTER_REASON_HEADER, reason);
+        rabbitTemplate.send("", RabbitMQConfig.QUEUE_AI_RESULT_DLQ, message);
     }
 }
@@ -0,0 +1,176 @@
+package vn.edu.smd.core.module.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Claim-check cho payload AI lớn
+ *
+ * Payload vượt threshold-bytes (COMPARE_VERSIONS với 2 JSONB content, SUMMARIZE_SYLLABUS với
+ * CLO / lịch giảng dạy / tài liệu) được gzip và lưu vào Redis dưới key ai:payload:{sha256};
+ * message RabbitMQ chỉ mang reference "claim_check" cùng các field scalar để log/route.
+ *
+ * - JSON chuẩn hoá (sắp xếp key) → payload giống nhau có cùng hash, blob được dùng lại (SET NX + gia hạn TTL)
+ * - Redis lỗi / bulkhead đầy → gửi payload inline như trước, không làm hỏng request
+ * - AI Worker (ai_handlers.resolve_claim_check) đọc blob, kiểm tra sha256 rồi xử lý như payload thường
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AIPayloadClaimCheck {
+
+    public static final String CLAIM_CHECK_FIELD = "claim_check";
+    public static final String KEY_PREFIX = "ai:payload:";
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ai.claim-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ai.claim-check.threshold-bytes:16384}")
+    private int thresholdBytes;
+
+    @Value("${app.ai.claim-check.ttl-minutes:120}")
+    private long ttlMinutes;
+
+    /**
+     * Blob đã mã hoá: JSON gốc được gzip, hash tính trên JSON chưa nén
+     */
+    public record EncodedPayload(String sha256, int jsonBytes, byte[] gzip) {
+
+        public String key() {
+            return KEY_PREFIX + sha256;
+        }
+    }
+
+    /**
+     * Thay payload lớn bằng reference tới blob trong Redis
+     *
+     * @return payload gửi lên queue (chính payload gốc nếu nhỏ hơn ngưỡng hoặc Redis không dùng được)
+     */
+    public Map<String, Object> externalize(String action, Map<String, Object> payload) {
+        if (!enabled || payload == null) {
+            return payload;
+        }
+        EncodedPayload encoded = encode(payload);
+        if (encoded.jsonBytes() < thresholdBytes) {
+            return payload;
+        }
+
+        Boolean stored;
+        try {
+            stored = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() -> store(encoded));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.warn("⚠️ Claim-check store failed, sending {} payload inline ({} bytes): {}",
+                     action, encoded.jsonBytes(), e.getMessage());
+            meterRegistry.counter("smd.ai.claim_check.blobs", "action", action, "result", "failed").increment();
+            return payload;
+        }
+
+        String result = Boolean.TRUE.equals(stored) ? "stored" : "reused";
+        meterRegistry.counter("smd.ai.claim_check.blobs", "action", action, "result", result).increment();
+        log.debug("📦 Claim-check {} {}: {} bytes JSON → {} bytes gzip, key={}",
+                  result, action, encoded.jsonBytes(), encoded.gzip().length, encoded.key());
+
+        return reference(payload, encoded);
+    }
+
+    /**
+     * JSON chuẩn hoá + gzip + sha256, không đụng tới Redis
+     */
+    public EncodedPayload encode(Map<String, Object> payload) {
+        try {
+            byte[] json = CANONICAL_MAPPER.writeValueAsBytes(payload);
+            return new EncodedPayload(sha256(json), json.length, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("AI payload is not serializable: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * @return true nếu blob mới được ghi, false nếu đã có sẵn (chỉ gia hạn TTL)
+     */
+    private Boolean store(EncodedPayload encoded) {
+        byte[] key = encoded.key().getBytes(StandardCharsets.UTF_8);
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        return stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> {
+            Boolean created = connection.stringCommands().set(key, encoded.gzip(),
+                    Expiration.from(ttl), RedisStringCommands.SetOption.ifAbsent());
+            if (!Boolean.TRUE.equals(created)) {
+                connection.keyCommands().expire(key, ttl.toSeconds());
+            }
+            return created;
+        });
+    }
+
+    private static Map<String, Object> reference(Map<String, Object> payload, EncodedPayload encoded) {
+        Map<String, Object> claimCheck = new LinkedHashMap<>();
+        claimCheck.put("key", encoded.key());
+        claimCheck.put("sha256", encoded.sha256());
+        claimCheck.put("encoding", "gzip");
+        claimCheck.put("size", encoded.jsonBytes());
+
+        // Giữ lại id / option dạng scalar để AI Worker log được trước khi tải blob
+        Map<String, Object> reference = new LinkedHashMap<>();
+        payload.forEach((field, value) -> {
+            boolean structured = value instanceof Map || value instanceof Collection
+                    || (value != null && value.getClass().isArray());
+            if (!structured) {
+                reference.put(field, value);
+            }
+        });
+        reference.put(CLAIM_CHECK_FIELD, claimCheck);
+        return reference;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package vn.edu.smd.core.module.ai.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.common.exception.RateLimitExceededException;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token bucket theo user + action cho việc gửi task AI (lưu trong Redis, dùng chung mọi instance)
+ *
+ * Cấu hình: app.ai.scheduler.rate-limit.{action}.capacity / refill-per-minute
+ * (action viết thường, gạch ngang: map-clo-plo, compare-versions, summarize-syllabus)
+ * Redis lỗi → cho qua (fail-open), hàng đợi công bằng phía sau vẫn giới hạn tải lên AI Worker.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AITaskRateLimiter {
+
+    private static final String KEY_PREFIX = "ai:ratelimit:";
+
+    /**
+     * Mặc định: đủ cho vài lần bấm liên tiếp, sau đó mỗi phút nạp lại vài lượt
+     */
+    private static final Map<String, int[]> DEFAULT_LIMITS = Map.of(
+            "MAP_CLO_PLO", new int[]{5, 10},
+            "COMPARE_VERSIONS", new int[]{3, 6},
+            "SUMMARIZE_SYLLABUS", new int[]{3, 6}
+    );
+
+    /**
+     * KEYS[1] = bucket; ARGV = capacity, refill/ms, now(ms), ttl(ms)
+     * → {1, 0} nếu lấy được token, {0, ms phải chờ} nếu hết
+     */
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+            + "local capacity = tonumber(ARGV[1]) "
+            + "local rate = tonumber(ARGV[2]) "
+            + "local now = tonumber(ARGV[3]) "
+            + "local tokens = tonumber(bucket[1]) or capacity "
+            + "local ts = tonumber(bucket[2]) or now "
+            + "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) "
+            + "local allowed = 0 "
+            + "local wait = 0 "
+            + "if tokens >= 1 then tokens = tokens - 1 allowed = 1 "
+            + "else wait = math.ceil((1 - tokens) / rate) end "
+            + "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+            + "return {allowed, wait}", List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    /**
+     * Lấy một token cho user / action
+     *
+     * @throws RateLimitExceededException nếu bucket đã hết (HTTP 429 + Retry-After)
+     */
+    public void acquire(String userId, String action) {
+        if (!environment.getProperty("app.ai.scheduler.rate-limit.enabled", Boolean.class, true)) {
+            return;
+        }
+        String name = action.toLowerCase(Locale.ROOT).replace('_', '-');
+        int[] defaults = DEFAULT_LIMITS.getOrDefault(action, new int[]{3, 6});
+        int capacity = environment.getProperty("app.ai.scheduler.rate-limit." + name + ".capacity", Integer.class, defaults[0]);
+        int refillPerMinute = environment.getProperty("app.ai.scheduler.rate-limit." + name + ".refill-per-minute",
+                Integer.class, defaults[1]);
+        double refillPerMs = refillPerMinute / 60_000.0;
+        // Bucket đầy lại sau capacity / refill phút → giữ key thêm một chút rồi để Redis xoá
+        long ttlMs = (long) Math.ceil(capacity / refillPerMs) + 60_000;
+
+        List<?> reply;
+        try {
+            reply = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + userId + ":" + action),
+                            String.valueOf(capacity), String.valueOf(refillPerMs),
+                            String.valueOf(System.currentTimeMillis()), String.valueOf(ttlMs)));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.warn("⚠️ Rate limiter unavailable, allowing {} for user {}: {}", action, userId, e.getMessage());
+            return;
+        }
+
+        if (reply != null && reply.size() == 2 && ((Number) reply.get(0)).longValue() == 0L) {
+            long retryAfterSeconds = Math.max(1, (((Number) reply.get(1)).longValue() + 999) / 1000);
+            meterRegistry.counter("smd.ai.scheduler.rate_limited", "action", action).increment();
+            log.info("🚦 Rate limited {} for user {}, retry after {}s", action, userId, retryAfterSeconds);
+            throw new RateLimitExceededException(
+                    "Bạn đã gửi quá nhiều yêu cầu AI, vui lòng thử lại sau " + retryAfterSeconds + " giây",
+                    retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package vn.edu.smd.core.module.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.config.RabbitMQConfig;
+import vn.edu.smd.core.module.ai.dto.AIResultMessage;
+import vn.edu.smd.shared.dto.ai.AIMessageRequest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weighted fair queue giữa Core Service và RabbitMQ cho các task AI
+ *
+ * - Mỗi lane (ai_processing_queue / ai_summarize_queue) có một sorted set trong Redis,
+ *   score = virtual finish time: max(V, finish trước đó của user) + chi phí action / trọng số priority
+ *   → user gửi dồn dập bị đẩy lùi sau các user khác thay vì chiếm hết queue
+ * - Chỉ nhả task lên broker khi số task đang chạy < worker-capacity của lane
+ *   (inflight được giải phóng khi AI Worker trả SUCCESS / ERROR, hoặc sau inflight-timeout)
+ * - Vị trí trong hàng đợi + ETA (từ thời gian xử lý trung bình) được trả về trong TaskStatusDTO
+ * - Redis lỗi / scheduler tắt → gửi thẳng lên RabbitMQ như trước
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AITaskScheduler {
+
+    private static final String KEY_PREFIX = "ai:wfq:";
+
+    private static final ObjectMapper TASK_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /**
+     * KEYS: queue, user-finish, vtime; ARGV: taskId, userId, cost/weight, ttl(ms)
+     * → vị trí (0-based) của task trong lane
+     */
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>(
+            "local v = tonumber(redis.call('GET', KEYS[3]) or '0') "
+            + "local last = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0') "
+            + "local finish = math.max(v, last) + tonumber(ARGV[3]) "
+            + "redis.call('HSET', KEYS[2], ARGV[2], tostring(finish)) "
+            + "redis.call('PEXPIRE', KEYS[2], ARGV[4]) "
+            + "redis.call('ZADD', KEYS[1], finish, ARGV[1]) "
+            + "return redis.call('ZRANK', KEYS[1], ARGV[1])", Long.class);
+
+    /**
+     * KEYS: queue, inflight, vtime; ARGV: capacity, now(ms), stale-before(ms)
+     * → các taskId được nhả (đã chuyển sang inflight)
+     */
+    private static final RedisScript<List> DISPATCH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[3]) "
+            + "local free = tonumber(ARGV[1]) - redis.call('ZCARD', KEYS[2]) "
+            + "if free <= 0 then return {} end "
+            + "local popped = redis.call('ZPOPMIN', KEYS[1], free) "
+            + "local ids = {} "
+            + "for i = 1, #popped, 2 do "
+            + "  ids[#ids + 1] = popped[i] "
+            + "  redis.call('ZADD', KEYS[2], ARGV[2], popped[i]) "
+            + "  redis.call('SET', KEYS[3], popped[i + 1]) "
+            + "end "
+            + "return ids", List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    /**
+     * Thời gian xử lý trung bình (EWMA, giây) theo action, cập nhật từ kết quả AI Worker trả về
+     */
+    private final Map<String, Double> averageSeconds = new ConcurrentHashMap<>();
+
+    /**
+     * Lane = một queue của AI Worker
+     */
+    enum Lane {
+        PROCESSING("processing", 2),
+        SUMMARIZE("summarize", 1);
+
+        final String name;
+        final int defaultCapacity;
+
+        Lane(String name, int defaultCapacity) {
+            this.name = name;
+            this.defaultCapacity = defaultCapacity;
+        }
+
+        static Lane ofRoutingKey(String routingKey) {
+            return RabbitMQConfig.ROUTING_KEY_SUMMARIZE.equals(routingKey) ? SUMMARIZE : PROCESSING;
+        }
+
+        static Lane ofAction(String action) {
+            return "SUMMARIZE_SYLLABUS".equals(action) ? SUMMARIZE : PROCESSING;
+        }
+
+        String queueKey() {
+            return KEY_PREFIX + name + ":queue";
+        }
+
+        String inflightKey() {
+            return KEY_PREFIX + name + ":inflight";
+        }
+
+        String vtimeKey() {
+            return KEY_PREFIX + name + ":vtime";
+        }
+
+        String userFinishKey() {
+            return KEY_PREFIX + name + ":user-finish";
+        }
+    }
+
+    /**
+     * Task chờ trong Redis cho tới khi được nhả lên broker
+     */
+    record QueuedTask(String routingKey, int priority, long enqueuedAt, AIMessageRequest message) {
+    }
+
+    // =============================================
+    // SUBMIT
+    // =============================================
+
+    /**
+     * Đưa task vào hàng đợi công bằng của lane, nhả ngay nếu worker còn chỗ
+     *
+     * @param priority priority RabbitMQ (5 / 3 / 1), đồng thời là trọng số trong hàng đợi
+     * @return vị trí (0-based) trong hàng đợi lúc gửi, null nếu đã gửi thẳng lên broker
+     */
+    public Integer submit(String routingKey, AIMessageRequest message, int priority) {
+        if (!isEnabled()) {
+            publish(routingKey, message, priority);
+            return null;
+        }
+        Lane lane = Lane.ofRoutingKey(routingKey);
+        String taskId = message.getMessageId();
+        double virtualCost = estimateSeconds(message.getAction()) / Math.max(1, priority);
+
+        Long position;
+        try {
+            String body = TASK_MAPPER.writeValueAsString(
+                    new QueuedTask(routingKey, priority, System.currentTimeMillis(), message));
+            Duration ttl = Duration.ofMinutes(environment.getProperty("app.ai.scheduler.task-ttl-minutes", Long.class, 120L));
+            position = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() -> {
+                stringRedisTemplate.opsForValue().set(taskKey(taskId), body, ttl);
+                return stringRedisTemplate.execute(ENQUEUE_SCRIPT,
+                        List.of(lane.queueKey(), lane.userFinishKey(), lane.vtimeKey()),
+                        taskId, String.valueOf(message.getUserId()), String.valueOf(virtualCost),
+                        String.valueOf(ttl.toMillis()));
+            });
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.warn("⚠️ Fair queue unavailable, publishing {} directly: {}", taskId, e.getMessage());
+            publish(routingKey, message, priority);
+            return null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("AI task is not serializable: " + e.getOriginalMessage(), e);
+        }
+
+        log.info("🗂️ Queued {} task {} for user {} at position {} ({})",
+                 message.getAction(), taskId, message.getUserId(), position, lane.name);
+        dispatch(lane);
+        return position != null ? position.intValue() : null;
+    }
+
+    // =============================================
+    // DISPATCH
+    // =============================================
+
+    /**
+     * Nhả task lên broker khi worker còn chỗ (ngoài ra submit / release cũng gọi trực tiếp)
+     */
+    @Scheduled(fixedDelayString = "${app.ai.scheduler.dispatch-interval-ms:1000}")
+    public void dispatchAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (Lane lane : Lane.values()) {
+            try {
+                dispatch(lane);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Dispatch of lane {} failed: {}", lane.name, e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(Lane lane) {
+        long now = System.currentTimeMillis();
+        long inflightTimeoutMs = TimeUnit.SECONDS.toMillis(
+                environment.getProperty("app.ai.scheduler.inflight-timeout-seconds", Long.class, 300L));
+
+        List<?> released;
+        try {
+            released = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute(DISPATCH_SCRIPT,
+                            List.of(lane.queueKey(), lane.inflightKey(), lane.vtimeKey()),
+                            String.valueOf(capacity(lane)), String.valueOf(now), String.valueOf(now - inflightTimeoutMs)));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.warn("⚠️ Fair queue unavailable, dispatch of lane {} skipped: {}", lane.name, e.getMessage());
+            return;
+        }
+        if (released == null) {
+            return;
+        }
+
+        for (Object id : released) {
+            String taskId = String.valueOf(id);
+            String body = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.opsForValue().getAndDelete(taskKey(taskId)));
+            if (body == null) {
+                log.warn("⚠️ Queued task {} expired before dispatch, dropping", taskId);
+                stringRedisTemplate.opsForZSet().remove(lane.inflightKey(), taskId);
+                continue;
+            }
+            QueuedTask task;
+            try {
+                task = TASK_MAPPER.readValue(body, QueuedTask.class);
+            } catch (JsonProcessingException e) {
+                log.error("❌ Unreadable queued task {}, dropping: {}", taskId, e.getOriginalMessage());
+                stringRedisTemplate.opsForZSet().remove(lane.inflightKey(), taskId);
+                continue;
+            }
+            try {
+                publish(task.routingKey(), task.message(), task.priority());
+            } catch (BulkheadFullException | AmqpException e) {
+                // Trả task về đầu hàng đợi, lần dispatch sau gửi lại
+                log.warn("⚠️ Publishing {} failed, requeueing: {}", taskId, e.getMessage());
+                stringRedisTemplate.opsForValue().set(taskKey(taskId), body, Duration.ofMinutes(30));
+                stringRedisTemplate.opsForZSet().remove(lane.inflightKey(), taskId);
+                stringRedisTemplate.opsForZSet().add(lane.queueKey(), taskId, 0);
+                return;
+            }
+            meterRegistry.timer("smd.ai.scheduler.wait", "action", task.message().getAction())
+                    .record(now - task.enqueuedAt(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // =============================================
+    // RELEASE / ESTIMATE
+    // =============================================
+
+    /**
+     * Giải phóng chỗ của các task đã xong và cập nhật thời gian xử lý trung bình
+     * (gọi từ AITaskService.applyResults)
+     */
+    public void release(Collection<AIResultMessage> results) {
+        if (!isEnabled()) {
+            return;
+        }
+        boolean freed = false;
+        for (AIResultMessage result : results) {
+            if (!result.isTerminal()) {
+                continue;
+            }
+            freed = true;
+            if (result.getProcessingTimeMs() != null && AIResultMessage.STATUS_SUCCESS.equals(result.getStatus())) {
+                double sample = result.getProcessingTimeMs() / 1000.0;
+                averageSeconds.compute(result.getAction(), (action, average) ->
+                        (average != null ? average : configuredSeconds(action)) * 0.8 + sample * 0.2);
+            }
+        }
+        if (!freed) {
+            return;
+        }
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() -> {
+                for (AIResultMessage result : results) {
+                    if (result.isTerminal()) {
+                        stringRedisTemplate.opsForZSet().remove(Lane.ofAction(result.getAction()).inflightKey(),
+                                result.getMessageId());
+                    }
+                }
+            });
+            for (Lane lane : Lane.values()) {
+                dispatch(lane);
+            }
+        } catch (BulkheadFullException | DataAccessException e) {
+            // Chỗ trống sẽ được thu hồi sau inflight-timeout
+            log.warn("⚠️ Could not release inflight AI tasks: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vị trí hiện tại trong hàng đợi (0-based), null nếu task đã được nhả lên broker / không còn trong hàng đợi
+     */
+    public Integer queuePosition(String taskId, String action) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Long rank = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                stringRedisTemplate.opsForZSet().rank(Lane.ofAction(action).queueKey(), taskId));
+        return rank != null ? rank.intValue() : null;
+    }
+
+    /**
+     * ETA (giây): chờ position / capacity lượt worker + lượt đang chạy + thời gian xử lý của chính task
+     */
+    public int estimateEtaSeconds(String action, Integer position) {
+        double average = estimateSeconds(action);
+        if (position == null) {
+            return (int) Math.ceil(average);
+        }
+        int rounds = position / capacity(Lane.ofAction(action)) + 1;
+        return (int) Math.ceil(average * (rounds + 1));
+    }
+
+    private double estimateSeconds(String action) {
+        Double average = averageSeconds.get(action);
+        return average != null ? average : configuredSeconds(action);
+    }
+
+    private double configuredSeconds(String action) {
+        String name = action.toLowerCase(Locale.ROOT).replace('_', '-');
+        return environment.getProperty("app.ai.scheduler.estimated-seconds." + name, Double.class,
+                "COMPARE_VERSIONS".equals(action) ? 10.0 : "SUMMARIZE_SYLLABUS".equals(action) ? 5.0 : 7.0);
+    }
+
+    // =============================================
+    // HELPERS
+    // =============================================
+
+    private boolean isEnabled() {
+        return environment.getProperty("app.ai.scheduler.enabled", Boolean.class, true);
+    }
+
+    private int capacity(Lane lane) {
+        return Math.max(1, environment.getProperty("app.ai.scheduler." + lane.name + ".worker-capacity",
+                Integer.class, lane.defaultCapacity));
+    }
+
+    private static String taskKey(String taskId) {
+        return KEY_PREFIX + "task:" + taskId;
+    }
+
+    /**
+     * Gửi message vào smd.direct
+     * (smd.ai.message.bytes theo transport = inline | claim_check để so sánh kích thước message trên broker)
+     */
+    private void publish(String routingKey, AIMessageRequest message, int priority) {
+        String transport = message.getPayload() != null
+                && message.getPayload().containsKey(AIPayloadClaimCheck.CLAIM_CHECK_FIELD) ? "claim_check" : "inline";
+
+        bulkheadRegistry.get(BulkheadRegistry.RABBITMQ).run(() ->
+                rabbitTemplate.convertAndSend(
+                        RabbitMQConfig.EXCHANGE_DIRECT,
+                        routingKey,
+                        message,
+                        msg -> {
+                            msg.getMessageProperties().setPriority(priority);
+                            DistributionSummary.builder("smd.ai.message.bytes")
+                                    .baseUnit("bytes")
+                                    .tag("action", message.getAction())
+                                    .tag("transport", transport)
+                                    .register(meterRegistry)
+                                    .record(msg.getBody().length);
+                            return msg;
+                        }
+                ));
+    }
+}
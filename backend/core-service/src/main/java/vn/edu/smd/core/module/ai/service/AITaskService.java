@@ -5,13 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.settings.SystemSettingRegistry;
+import vn.edu.smd.core.common.settings.SystemSettings;
 import vn.edu.smd.core.config.RabbitMQConfig;
 import vn.edu.smd.core.entity.CLO;
 import vn.edu.smd.core.entity.AssessmentScheme;
 import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.module.syllabus.service.SyllabusContentReader;
 import vn.edu.smd.core.repository.CLORepository;
 import vn.edu.smd.core.repository.AssessmentSchemeRepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.SyllabusContentSections;
 import vn.edu.smd.shared.dto.ai.AIMessageRequest;
 
 import java.time.Duration;
@@ -23,8 +28,15 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import vn.edu.smd.core.dto.TaskStatusDTO;
+import vn.edu.smd.core.module.ai.dto.AIResultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 
 /**
  * AI Task Service
@@ -41,10 +53,34 @@ public class AITaskService {
     private final SyllabusVersionRepository syllabusVersionRepository;
     private final CLORepository cloRepository;
     private final AssessmentSchemeRepository assessmentSchemeRepository;
+    private final SyllabusContentReader syllabusContentReader;
     
     // ✅ Redis template for task status caching (stateless, scalable)
     private final RedisTemplate<String, TaskStatusDTO> taskStatusRedisTemplate;
     
+    private final BulkheadRegistry bulkheadRegistry;
+    
+    // Payload lớn (COMPARE_VERSIONS / SUMMARIZE_SYLLABUS) đi qua Redis, queue chỉ mang reference
+    private final AIPayloadClaimCheck payloadClaimCheck;
+    
+    // TTL trạng thái task trong Redis đọc từ system_settings (đổi được lúc chạy)
+    private final SystemSettingRegistry systemSettingRegistry;
+    
+    // Token bucket theo user / action + hàng đợi công bằng trước RabbitMQ
+    private final AITaskRateLimiter rateLimiter;
+    private final AITaskScheduler taskScheduler;
+    
+    /**
+     * Ghi status chỉ khi rank mới lớn hơn rank đã lưu (KEYS[1] = task:{id}:rank, KEYS[2] = task:{id})
+     * → message bị giao lại / đến trễ không ghi đè kết quả mới hơn
+     */
+    private static final byte[] APPLY_IF_NEWER_SCRIPT = (
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '-1') "
+            + "if tonumber(ARGV[1]) <= current then return 0 end "
+            + "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) "
+            + "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) "
+            + "return 1").getBytes(StandardCharsets.UTF_8);
+    
     // =============================================
     // 1. MAP_CLO_PLO - Kiểm tra tuân thủ CLO-PLO
     // =============================================
@@ -58,6 +94,7 @@ public class AITaskService {
      * @return taskId để polling
      */
     public String requestCloPloMapping(UUID syllabusId, UUID curriculumId, String userId) {
+        rateLimiter.acquire(userId, "MAP_CLO_PLO");
         String messageId = UUID.randomUUID().toString();
         
         // Prepare payload - handle null curriculumId
@@ -89,23 +126,11 @@ public class AITaskService {
                 .priority("HIGH")
                 .build();
         
-        // Save to Redis with 30-minute TTL
-        taskStatusRedisTemplate.opsForValue().set(
-                "task:" + messageId,
-                initialStatus,
-                Duration.ofMinutes(30)
-        );
+        // Save to Redis (TTL: ai.task_status_ttl_minutes)
+        saveTaskStatus(messageId, initialStatus, pendingStatusTtl());
         
         // Gửi vào queue với priority
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.EXCHANGE_DIRECT,
-                RabbitMQConfig.ROUTING_KEY_PROCESS,
-                message,
-                msg -> {
-                    msg.getMessageProperties().setPriority(5); // HIGH priority
-                    return msg;
-                }
-        );
+        submit(RabbitMQConfig.ROUTING_KEY_PROCESS, message, 5); // HIGH priority
         
         log.info("[Sent] Message to AI Queue: Syllabus ID #{}", syllabusId);
         
@@ -122,6 +147,7 @@ public class AITaskService {
     @Transactional(readOnly = true)
     public String requestCompareVersions(UUID oldVersionId, UUID newVersionId, 
                                          UUID subjectId, String userId) {
+        rateLimiter.acquire(userId, "COMPARE_VERSIONS");
         String messageId = UUID.randomUUID().toString();
         
         // Query cả 2 versions từ database (bao gồm cả deleted versions để so sánh)
@@ -163,21 +189,9 @@ public class AITaskService {
                 .priority("MEDIUM")
                 .build();
         
-        taskStatusRedisTemplate.opsForValue().set(
-                "task:" + messageId,
-                initialStatus,
-                Duration.ofMinutes(30)
-        );
-        
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.EXCHANGE_DIRECT,
-                RabbitMQConfig.ROUTING_KEY_PROCESS,
-                message,
-                msg -> {
-                    msg.getMessageProperties().setPriority(3); // MEDIUM priority
-                    return msg;
-                }
-        );
+        saveTaskStatus(messageId, initialStatus, pendingStatusTtl());
+        
+        submit(RabbitMQConfig.ROUTING_KEY_PROCESS, message, 3); // MEDIUM priority
         
         log.info("Sent COMPARE_VERSIONS request: messageId={}, oldVersion={} (v{}), newVersion={} (v{})", 
                  messageId, oldVersionId, oldVersion.getVersionNo(), newVersionId, newVersion.getVersionNo());
@@ -211,16 +225,22 @@ public class AITaskService {
     // 3. SUMMARIZE_SYLLABUS - Tóm tắt cho sinh viên
     // =============================================
     
+    // Các key content mà payload tóm tắt dùng; phần còn lại của tài liệu không được đọc
+    private static final List<String> SUMMARIZE_CONTENT_KEYS = List.of("subject_code", "clos", "assessmentMethods",
+            "description", "objectives", "teachingMethods", "courseOutline", "prerequisites", "references",
+            "textbooks", "studentDuties");
+
     /**
      * Request AI tóm tắt đề cương
      */
     public String requestSummarize(UUID syllabusId, String userId) {
+        rateLimiter.acquire(userId, "SUMMARIZE_SYLLABUS");
         String messageId = UUID.randomUUID().toString();
         
         log.info("🔍 [SUMMARIZE] Searching for syllabusVersion with ID: {}", syllabusId);
         
-        // Query syllabus data from database (chỉ lấy chưa xóa)
-        SyllabusVersion syllabus = syllabusVersionRepository.findByIdAndNotDeleted(syllabusId)
+        // Query syllabus data from database (chỉ lấy chưa xóa) - chỉ các key content cần cho bản tóm tắt
+        SyllabusContentSections syllabus = syllabusContentReader.readSections(syllabusId, SUMMARIZE_CONTENT_KEYS)
                 .orElseThrow(() -> new RuntimeException("Syllabus not found or deleted: " + syllabusId));
         
         // Query CLOs from database (separate table) - REAL DATA!
@@ -230,15 +250,15 @@ public class AITaskService {
         List<AssessmentScheme> assessments = assessmentSchemeRepository.findBySyllabusVersionId(syllabusId);
         
         // Build FULL syllabus_data payload
-        Map<String, Object> content = syllabus.getContent();
+        Map<String, Object> content = syllabus.sections();
         Map<String, Object> syllabusData = new HashMap<>();
         
         // Basic info
-        syllabusData.put("course_name", syllabus.getSnapSubjectNameVi());
+        syllabusData.put("course_name", syllabus.subjectNameVi());
         syllabusData.put("course_code", content != null ? content.get("subject_code") : "");
-        syllabusData.put("credit_count", syllabus.getSnapCreditCount());
-        syllabusData.put("theory_hours", syllabus.getTheoryHours() != null ? syllabus.getTheoryHours() : 0);
-        syllabusData.put("practice_hours", syllabus.getPracticeHours() != null ? syllabus.getPracticeHours() : 0);
+        syllabusData.put("credit_count", syllabus.creditCount());
+        syllabusData.put("theory_hours", syllabus.theoryHours() != null ? syllabus.theoryHours() : 0);
+        syllabusData.put("practice_hours", syllabus.practiceHours() != null ? syllabus.practiceHours() : 0);
         
         // CLOs from database table or JSONB content
         List<Map<String, Object>> cloList = new ArrayList<>();
@@ -336,21 +356,9 @@ public class AITaskService {
                 .priority("LOW")
                 .build();
         
-        taskStatusRedisTemplate.opsForValue().set(
-                "task:" + messageId,
-                initialStatus,
-                Duration.ofMinutes(30)
-        );
-        
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.EXCHANGE_DIRECT,
-                RabbitMQConfig.ROUTING_KEY_SUMMARIZE,
-                message,
-                msg -> {
-                    msg.getMessageProperties().setPriority(1); // LOW priority
-                    return msg;
-                }
-        );
+        saveTaskStatus(messageId, initialStatus, pendingStatusTtl());
+        
+        submit(RabbitMQConfig.ROUTING_KEY_SUMMARIZE, message, 1); // LOW priority
         
         String courseName = syllabusData.getOrDefault("course_name", "Unknown").toString();
         log.info("Sent SUMMARIZE_SYLLABUS request: messageId={}, syllabusId={}, course={}", 
@@ -373,12 +381,18 @@ public class AITaskService {
      */
     public TaskStatusDTO getTaskStatus(String taskId) {
         // Query from Redis
-        TaskStatusDTO cachedStatus = taskStatusRedisTemplate.opsForValue()
-                .get("task:" + taskId);
+        TaskStatusDTO cachedStatus = bulkheadRegistry.get(BulkheadRegistry.REDIS)
+                .execute(() -> taskStatusRedisTemplate.opsForValue().get("task:" + taskId));
         
         if (cachedStatus != null) {
             log.debug("✅ Task status found in Redis: taskId={}, status={}", 
                      taskId, cachedStatus.getStatus());
+            if ("QUEUED".equals(cachedStatus.getStatus())) {
+                // Vị trí / ETA tính tại thời điểm polling từ hàng đợi công bằng
+                Integer position = taskScheduler.queuePosition(taskId, cachedStatus.getAction());
+                cachedStatus.setQueuePosition(position);
+                cachedStatus.setEtaSeconds(taskScheduler.estimateEtaSeconds(cachedStatus.getAction(), position));
+            }
             return cachedStatus;
         }
         
@@ -398,41 +412,105 @@ public class AITaskService {
     /**
      * Update task status (được gọi khi nhận response từ AI service)
      * 
-     * ✅ FIXED: Update Redis instead of in-memory HashMap
-     * 
      * Called by AIResultListener when receiving results from ai_result_queue
+     * 
+     * - Nhiều update của cùng task trong batch → chỉ giữ update có rank cao nhất
+     * - Ghi tất cả trong một Redis pipeline; mỗi lệnh là script so sánh rank nên
+     *   giao lại message (redelivery) hay progress đến trễ đều không làm status đi lùi
+     * 
+     * @return số update thực sự được ghi
      */
-    public void updateTaskStatus(String taskId, String status, int progress, 
-                                  Map<String, Object> result, String errorMessage) {
-        
-        // Build status update
-        TaskStatusDTO.TaskStatusDTOBuilder statusBuilder = TaskStatusDTO.builder()
-                .taskId(taskId)
-                .status(status)
-                .progress(progress)
-                .timestamp(System.currentTimeMillis());
-        
-        if (result != null) {
-            statusBuilder.result(result);
+    public int applyResults(List<AIResultMessage> results) {
+        Map<String, AIResultMessage> latest = new LinkedHashMap<>();
+        for (AIResultMessage result : results) {
+            latest.merge(result.getMessageId(), result, (a, b) -> b.rank() > a.rank() ? b : a);
         }
-        if (errorMessage != null) {
-            statusBuilder.errorMessage(errorMessage);
+        if (latest.isEmpty()) {
+            return 0;
         }
         
-        TaskStatusDTO statusUpdate = statusBuilder.build();
-        
-        // Update Redis with extended TTL (2 hours for completed tasks)
-        Duration ttl = "SUCCESS".equals(status) || "ERROR".equals(status) 
-                ? Duration.ofHours(2)  // Keep completed tasks longer
-                : Duration.ofMinutes(30); // In-progress tasks expire faster
-        
-        taskStatusRedisTemplate.opsForValue().set(
-                "task:" + taskId,
-                statusUpdate,
-                ttl
-        );
-        
-        log.info("✅ Updated task status in Redis: taskId={}, status={}, progress={}", 
-                 taskId, status, progress);
+        @SuppressWarnings("unchecked")
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) taskStatusRedisTemplate.getKeySerializer();
+        @SuppressWarnings("unchecked")
+        RedisSerializer<TaskStatusDTO> valueSerializer = (RedisSerializer<TaskStatusDTO>) taskStatusRedisTemplate.getValueSerializer();
+        
+        List<Object> replies = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                taskStatusRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (AIResultMessage result : latest.values()) {
+                        String key = "task:" + result.getMessageId();
+                        connection.scriptingCommands().eval(APPLY_IF_NEWER_SCRIPT, ReturnType.INTEGER, 2,
+                                keySerializer.serialize(key + ":rank"),
+                                keySerializer.serialize(key),
+                                String.valueOf(result.rank()).getBytes(StandardCharsets.UTF_8),
+                                valueSerializer.serialize(toStatus(result)),
+                                String.valueOf(statusTtl(result).toMillis()).getBytes(StandardCharsets.UTF_8));
+                    }
+                    return null;
+                }));
+        
+        // Task xong → giải phóng chỗ của AI Worker cho task kế tiếp trong hàng đợi
+        taskScheduler.release(latest.values());
+        
+        int applied = 0;
+        int index = 0;
+        for (AIResultMessage result : latest.values()) {
+            Object reply = replies.get(index++);
+            if (reply instanceof Long written && written == 1L) {
+                applied++;
+                log.info("✅ Updated task status in Redis: taskId={}, status={}, progress={}",
+                         result.getMessageId(), result.getStatus(), result.getProgress());
+            } else {
+                log.info("⏭️ Skipped stale/duplicate AI result: taskId={}, status={}, progress={}",
+                         result.getMessageId(), result.getStatus(), result.getProgress());
+            }
+        }
+        return applied;
+    }
+    
+    private TaskStatusDTO toStatus(AIResultMessage result) {
+        boolean success = AIResultMessage.STATUS_SUCCESS.equals(result.getStatus());
+        boolean error = AIResultMessage.STATUS_ERROR.equals(result.getStatus());
+        return TaskStatusDTO.builder()
+                .taskId(result.getMessageId())
+                .action(result.getAction())
+                .status(result.getStatus())
+                .progress(error ? 0 : result.getProgress() != null ? result.getProgress() : success ? 100 : 0)
+                .result(success ? result.getResult() : null)
+                .errorMessage(error ? result.getErrorMessage() : null)
+                .processingTimeMs(result.getProcessingTimeMs())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+    
+    /**
+     * Task đã xong giữ ai.task_result_ttl_minutes (mặc định 2 giờ), task đang chạy hết hạn sau
+     * ai.task_status_ttl_minutes (mặc định 30 phút)
+     */
+    private Duration statusTtl(AIResultMessage result) {
+        return result.isTerminal()
+                ? Duration.ofMinutes(systemSettingRegistry.get(SystemSettings.AI_TASK_RESULT_TTL_MINUTES))
+                : pendingStatusTtl();
+    }
+    
+    private Duration pendingStatusTtl() {
+        return Duration.ofMinutes(systemSettingRegistry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES));
+    }
+    
+    // =============================================
+    // HELPERS - Redis / RabbitMQ qua bulkhead
+    // =============================================
+    
+    private void saveTaskStatus(String taskId, TaskStatusDTO status, Duration ttl) {
+        bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() ->
+                taskStatusRedisTemplate.opsForValue().set("task:" + taskId, status, ttl));
+    }
+    
+    /**
+     * Payload vượt ngưỡng được thay bằng claim-check reference rồi đưa vào hàng đợi công bằng
+     * (AITaskScheduler nhả lên RabbitMQ theo capacity của AI Worker)
+     */
+    private void submit(String routingKey, AIMessageRequest message, int priority) {
+        message.setPayload(payloadClaimCheck.externalize(message.getAction(), message.getPayload()));
+        taskScheduler.submit(routingKey, message, priority);
     }
 }
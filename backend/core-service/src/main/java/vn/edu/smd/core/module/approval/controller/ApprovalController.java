@@ -6,10 +6,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
 import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.approval.dto.ApprovalRequest;
 import vn.edu.smd.core.module.approval.dto.ApprovalResponse;
 import vn.edu.smd.core.module.approval.service.ApprovalService;
@@ -24,6 +27,7 @@ import java.util.UUID;
 public class ApprovalController {
 
     private final ApprovalService approvalService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all approval history with pagination", description = "Get list of all approval history with pagination")
     @GetMapping
@@ -73,4 +77,13 @@ public class ApprovalController {
         List<ApprovalResponse> approvals = approvalService.getPendingApprovalsForUser(userId);
         return ResponseEntity.ok(ApiResponse.success(approvals));
     }
+
+    @Operation(summary = "Stream pending approvals for user",
+            description = "Stream approvals of a user as a JSON array, or as NDJSON when Accept is application/x-ndjson")
+    @GetMapping("/users/{userId}/pending-approvals/stream")
+    public ResponseEntity<StreamingResponseBody> streamPendingApprovalsForUser(
+            @PathVariable UUID userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ndjsonExporter.stream("approvals", accept, () -> approvalService.streamPendingApprovalsForUser(userId));
+    }
 }
@@ -16,6 +16,7 @@ import vn.edu.smd.core.repository.SyllabusVersionRepository;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -54,6 +55,11 @@ public class ApprovalService {
                 .collect(Collectors.toList());
     }
 
+    /** Bản streaming của getPendingApprovalsForUser (actor fetch sẵn), gọi bên trong transaction của NdjsonExporter */
+    public Stream<ApprovalResponse> streamPendingApprovalsForUser(UUID userId) {
+        return approvalRepository.streamByActorId(userId).map(this::mapToResponse);
+    }
+
     public ApprovalResponse getApprovalById(UUID id) {
         ApprovalHistory approval = approvalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ApprovalHistory", "id", id));
@@ -7,10 +7,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
 import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.auditlog.dto.AuditLogRequest; // Đã import DTO mới
 import vn.edu.smd.core.module.auditlog.dto.AuditLogResponse;
 import vn.edu.smd.core.module.auditlog.service.AuditLogService;
@@ -25,6 +28,7 @@ import java.util.UUID;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
+    private final NdjsonExporter ndjsonExporter;
 
     // 🔥 API POST LOG MỚI
     @Operation(summary = "Create manual audit log", description = "Manually create an audit log from client side")
@@ -61,6 +65,17 @@ public class AuditLogController {
         return ResponseEntity.ok(ApiResponse.success(auditLogs));
     }
 
+    @Operation(summary = "Stream audit logs by entity",
+            description = "Stream audit logs of an entity as a JSON array, or as NDJSON when Accept is application/x-ndjson")
+    @GetMapping("/entity/{entityName}/{entityId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamAuditLogsByEntity(
+            @PathVariable String entityName,
+            @PathVariable UUID entityId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ndjsonExporter.stream("audit-logs", accept,
+                () -> auditLogService.streamAuditLogsByEntity(entityName, entityId));
+    }
+
     @Operation(summary = "Get audit logs by actor", description = "Get audit logs for a specific user")
     @GetMapping("/actor/{actorId}")
     public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getAuditLogsByActor(@PathVariable UUID actorId) {
@@ -2,13 +2,15 @@ package vn.edu.smd.core.module.auditlog.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.partition.PartitionedTable;
+import vn.edu.smd.core.common.partition.RetentionWindow;
 import vn.edu.smd.core.entity.AuditLog;
 import vn.edu.smd.core.entity.User;
 import vn.edu.smd.core.module.auditlog.dto.AuditLogRequest; // Import file DTO vừa tạo
@@ -19,11 +21,11 @@ import vn.edu.smd.shared.enums.AuditStatus; // Import Enum của bạn
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +33,7 @@ public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
     private final UserRepository userRepository;
+    private final RetentionWindow retentionWindow;
 
     // =================================================================
     // 🔥 HÀM MỚI: XỬ LÝ GHI LOG TỪ FRONTEND (AN TOÀN TUYỆT ĐỐI)
@@ -100,85 +103,71 @@ public class AuditLogService {
 
     @Transactional(readOnly = true)
     public Page<AuditLogResponse> getAllAuditLogs(Pageable pageable) {
-        return auditLogRepository.findAll(pageable).map(this::mapToResponse);
+        return auditLogRepository.findByCreatedAtGreaterThanEqual(since(), pageable).map(this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public AuditLogResponse getAuditLogById(UUID id) {
-        AuditLog auditLog = auditLogRepository.findById(id)
+        AuditLog auditLog = auditLogRepository.findByIdAndCreatedAtGreaterThanEqual(id, since())
                 .orElseThrow(() -> new ResourceNotFoundException("AuditLog", "id", id));
         return mapToResponse(auditLog);
     }
 
     @Transactional(readOnly = true)
     public List<AuditLogResponse> getAuditLogsByEntity(String entityName, UUID entityId) {
-        return auditLogRepository.findByEntityNameAndEntityIdOrderByCreatedAtDesc(entityName, entityId).stream()
+        return auditLogRepository.findByEntityNameAndEntityIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        entityName, entityId, since()).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /** Bản streaming của getAuditLogsByEntity, gọi bên trong transaction của NdjsonExporter */
+    public Stream<AuditLogResponse> streamAuditLogsByEntity(String entityName, UUID entityId) {
+        return auditLogRepository.streamByEntityNameAndEntityIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        entityName, entityId, since())
+                .map(this::mapToResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<AuditLogResponse> getAuditLogsByActor(UUID actorId) {
-        return auditLogRepository.findByActorIdOrderByCreatedAtDesc(actorId).stream()
+        return auditLogRepository.findByActorIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(actorId, since()).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<AuditLogResponse> getAuditLogsByUser(UUID userId, Pageable pageable) {
-        List<AuditLog> logs = auditLogRepository.findByActorIdOrderByCreatedAtDesc(userId);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), logs.size());
-        
-        if (start > logs.size()) {
-             return new PageImpl<>(List.of(), pageable, logs.size());
-        }
-
-        List<AuditLogResponse> pageContent = logs.subList(start, end).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(pageContent, pageable, logs.size());
+        return auditLogRepository.findByActorIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(userId, since(),
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(this::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<AuditLogResponse> searchAuditLogs(String entityName, String action, 
                                                    String startDate, String endDate, 
                                                    Pageable pageable) {
-        List<AuditLog> allLogs = auditLogRepository.findAll();
-        
-        List<AuditLog> filteredLogs = allLogs.stream()
-                .filter(log -> entityName == null || entityName.isEmpty() || log.getEntityName().equals(entityName))
-                .filter(log -> action == null || action.isEmpty() || log.getAction().equals(action))
-                .filter(log -> {
-                    if (startDate != null && !startDate.isEmpty()) {
-                        LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_DATE_TIME);
-                        return log.getCreatedAt().isAfter(start) || log.getCreatedAt().isEqual(start);
-                    }
-                    return true;
-                })
-                .filter(log -> {
-                    if (endDate != null && !endDate.isEmpty()) {
-                        LocalDateTime end = LocalDateTime.parse(endDate, DateTimeFormatter.ISO_DATE_TIME);
-                        return log.getCreatedAt().isBefore(end) || log.getCreatedAt().isEqual(end);
-                    }
-                    return true;
-                })
-                .sorted(Comparator.comparing(AuditLog::getCreatedAt).reversed())
-                .collect(Collectors.toList());
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredLogs.size());
-        
-        if (start > filteredLogs.size()) {
-             return new PageImpl<>(List.of(), pageable, filteredLogs.size());
+        // Lọc, sắp xếp và phân trang trong DB; khoảng created_at luôn có cận để chỉ quét các partition liên quan
+        LocalDateTime from = since();
+        if (startDate != null && !startDate.isEmpty()) {
+            LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_DATE_TIME);
+            if (start.isAfter(from)) {
+                from = start;
+            }
         }
+        LocalDateTime to = endDate != null && !endDate.isEmpty()
+                ? LocalDateTime.parse(endDate, DateTimeFormatter.ISO_DATE_TIME)
+                : LocalDateTime.now().plusDays(1); // dư một ngày cho lệch đồng hồ giữa các instance
+
+        return auditLogRepository.search(from, to,
+                        entityName != null ? entityName : "",
+                        action != null ? action : "",
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .map(this::mapToResponse);
+    }
 
-        List<AuditLogResponse> pageContent = filteredLogs.subList(start, end).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageImpl<>(pageContent, pageable, filteredLogs.size());
+    /** Chỉ đọc các partition còn trong thời gian lưu (partition pruning) */
+    private LocalDateTime since() {
+        return retentionWindow.since(PartitionedTable.AUDIT_LOGS);
     }
 
     // --- HELPER METHODS ---
@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.clo.dto.CloRequest;
 import vn.edu.smd.core.module.clo.dto.CloResponse;
 import vn.edu.smd.core.module.clo.service.CloService;
+import vn.edu.smd.core.repository.projection.CloRow;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class CloController {
 
     private final CloService cloService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all course outcomes", description = "Get list of all course outcomes")
     @GetMapping
@@ -72,4 +78,17 @@ public class CloController {
         List<CloResponse> outcomes = cloService.getClosBySyllabus(syllabusId);
         return ResponseEntity.ok(ApiResponse.success(outcomes));
     }
+
+    @Operation(summary = "Get paged CLOs by syllabus", description = "Get one page of CLO rows for a syllabus, ordered by code")
+    @GetMapping("/syllabus/{syllabusVersionId}/page")
+    public ResponseEntity<ApiResponse<PageResponse<CloRow>>> getCloPageBySyllabus(@PathVariable UUID syllabusVersionId,
+                                                                                 Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(cloService.getCloRowsBySyllabus(syllabusVersionId, pageable)));
+    }
+
+    @Operation(summary = "Export all CLOs", description = "Stream every course learning outcome as NDJSON (one JSON object per line)")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourseOutcomes() {
+        return ndjsonExporter.export("course-outcomes", cloService::streamAllCloRows);
+    }
 }
@@ -1,8 +1,11 @@
 package vn.edu.smd.core.module.clo.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.CLO;
@@ -11,11 +14,13 @@ import vn.edu.smd.core.module.clo.dto.CloRequest;
 import vn.edu.smd.core.module.clo.dto.CloResponse;
 import vn.edu.smd.core.repository.CLORepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.CloRow;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -97,6 +102,20 @@ public class CloService {
         cloRepository.deleteById(id);
     }
 
+    // Sắp theo mã CLO
+    @Transactional(readOnly = true)
+    public PageResponse<CloRow> getCloRowsBySyllabus(UUID syllabusVersionId, Pageable pageable) {
+        if (!syllabusRepository.existsById(syllabusVersionId)) {
+            throw new ResourceNotFoundException("SyllabusVersion", "id", syllabusVersionId);
+        }
+        return PageResponse.of(cloRepository.findRowsBySyllabusVersionId(syllabusVersionId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    public Stream<CloRow> streamAllCloRows() {
+        return cloRepository.streamAllRows();
+    }
+
     private CloResponse mapToResponse(CLO clo) {
         CloResponse response = new CloResponse();
         response.setId(clo.getId());
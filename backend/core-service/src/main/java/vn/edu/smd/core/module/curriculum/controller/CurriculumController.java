@@ -8,8 +8,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloAttainmentResponse;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloCoverageResponse;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloSuggestionResponse;
 import vn.edu.smd.core.module.curriculum.dto.CurriculumRequest;
 import vn.edu.smd.core.module.curriculum.dto.CurriculumResponse;
 import vn.edu.smd.core.module.curriculum.service.CurriculumService;
@@ -34,9 +40,8 @@ public class CurriculumController {
 
     @Operation(summary = "Get all curriculums", description = "Get list of all curriculums without pagination")
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<CurriculumResponse>>> getAllCurriculumsNoPaging() {
-        List<CurriculumResponse> curriculums = curriculumService.getAllCurriculums();
-        return ResponseEntity.ok(ApiResponse.success(curriculums));
+    public ResponseEntity<ApiResponse<List<CurriculumResponse>>> getAllCurriculumsNoPaging(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, curriculumService.getCurriculumSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get curriculum by ID", description = "Get curriculum details by ID")
@@ -60,6 +65,33 @@ public class CurriculumController {
         return ResponseEntity.ok(ApiResponse.success(curriculums));
     }
 
+    @Operation(summary = "Suggest CLO-PLO mappings for curriculum",
+            description = "Suggest CLO-PLO mappings for every syllabus in the curriculum using its PLO catalog")
+    @GetMapping("/{id}/plo-mapping-suggestions")
+    public ResponseEntity<ApiResponse<CurriculumPloSuggestionResponse>> suggestPloMappings(@PathVariable UUID id) {
+        CurriculumPloSuggestionResponse suggestions = curriculumService.suggestPloMappings(id);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+
+    @Operation(summary = "Get PLO coverage matrix of curriculum",
+            description = "Subject x PLO coverage of published syllabi with gap and redundancy analysis")
+    @GetMapping("/{id}/plo-coverage")
+    public ResponseEntity<ApiResponse<CurriculumPloCoverageResponse>> getPloCoverage(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "2") int minSubjects,
+            @RequestParam(defaultValue = "4") int maxHighSubjects) {
+        CurriculumPloCoverageResponse coverage = curriculumService.getPloCoverage(id, minSubjects, maxHighSubjects);
+        return ResponseEntity.ok(ApiResponse.success(coverage));
+    }
+
+    @Operation(summary = "Get PLO / PI attainment rollup of curriculum",
+            description = "Weighted PLO and performance-indicator contribution of published syllabi, from assessment weights and mapping levels")
+    @GetMapping("/{id}/plo-attainment")
+    public ResponseEntity<ApiResponse<CurriculumPloAttainmentResponse>> getPloAttainment(@PathVariable UUID id) {
+        CurriculumPloAttainmentResponse attainment = curriculumService.getPloAttainment(id);
+        return ResponseEntity.ok(ApiResponse.success(attainment));
+    }
+
     @Operation(summary = "Create curriculum", description = "Create new curriculum")
     @PostMapping
     public ResponseEntity<ApiResponse<CurriculumResponse>> createCurriculum(@Valid @RequestBody CurriculumRequest request) {
@@ -0,0 +1,47 @@
+package vn.edu.smd.core.module.curriculum.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Đóng góp của chương trình cho từng PLO / PI, tính từ trọng số đánh giá của đề cương PUBLISHED
+ * (1.0 = toàn bộ điểm của một môn đo PLO / PI ở mức H)
+ */
+@Data
+public class CurriculumPloAttainmentResponse {
+    private UUID curriculumId;
+    private String curriculumCode;
+    private Integer subjectCount;
+    private Integer publishedSubjectCount;
+    private List<PloAttainment> plos;
+    private List<SubjectAttainment> subjects;
+
+    @Data
+    public static class PloAttainment {
+        private String ploCode;
+        private Double directWeight; // qua ánh xạ CLO → PLO
+        private Double piWeight;     // qua các PI của PLO
+        private Double share;        // tỉ lệ directWeight trong chương trình
+        private Integer subjectCount;
+        private List<PiAttainment> pis;
+    }
+
+    @Data
+    public static class PiAttainment {
+        private String piCode;
+        private Double weight;
+        private Integer subjectCount;
+    }
+
+    @Data
+    public static class SubjectAttainment {
+        private UUID subjectId;
+        private String subjectCode;
+        private UUID syllabusId;
+        private Double mappedWeight;      // phần điểm môn có ánh xạ CLO (0..1)
+        private Map<String, Double> plos; // ploCode -> đóng góp trực tiếp
+    }
+}
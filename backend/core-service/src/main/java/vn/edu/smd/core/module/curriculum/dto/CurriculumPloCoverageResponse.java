@@ -0,0 +1,41 @@
+package vn.edu.smd.core.module.curriculum.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class CurriculumPloCoverageResponse {
+    private UUID curriculumId;
+    private String curriculumCode;
+    private Integer subjectCount;
+    private Integer minSubjects;
+    private Integer maxHighSubjects;
+    private List<String> ploCodes;
+    private List<PloCoverage> plos;
+    private List<SubjectCoverage> subjects;
+    private List<String> gaps;
+    private List<String> redundancies;
+
+    @Data
+    public static class PloCoverage {
+        private String ploCode;
+        private Integer subjectCount;
+        private Integer highCount;
+        private Integer mediumCount;
+        private Integer lowCount;
+        private Double score;
+        private String status; // GAP, REDUNDANT, OK
+        private List<String> subjectCodes;
+    }
+
+    @Data
+    public static class SubjectCoverage {
+        private UUID subjectId;
+        private String subjectCode;
+        private UUID syllabusId;
+        private Map<String, String> levels; // ploCode -> H / M / L
+    }
+}
@@ -0,0 +1,25 @@
+package vn.edu.smd.core.module.curriculum.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class CurriculumPloSuggestionResponse {
+    private UUID curriculumId;
+    private String curriculumCode;
+    private List<String> ploCodes;
+    private List<SyllabusSuggestion> syllabi;
+
+    @Data
+    public static class SyllabusSuggestion {
+        private UUID syllabusId;
+        private String subjectCode;
+        private String versionNo;
+        private String status;
+        private Integer cloCount;
+        private List<Map<String, Object>> mappings;
+    }
+}
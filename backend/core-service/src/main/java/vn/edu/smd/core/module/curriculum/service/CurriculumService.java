@@ -1,5 +1,6 @@
 package vn.edu.smd.core.module.curriculum.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,16 +8,38 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
+import vn.edu.smd.core.entity.CLO;
 import vn.edu.smd.core.entity.Curriculum;
 import vn.edu.smd.core.entity.Faculty;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloAttainmentResponse;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloCoverageResponse;
+import vn.edu.smd.core.module.curriculum.dto.CurriculumPloSuggestionResponse;
 import vn.edu.smd.core.module.curriculum.dto.CurriculumRequest;
 import vn.edu.smd.core.module.curriculum.dto.CurriculumResponse;
+import vn.edu.smd.core.module.faculty.service.FacultyService;
 import vn.edu.smd.core.repository.CurriculumRepository;
+import vn.edu.smd.core.repository.CLORepository;
 import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.service.PloAttainmentService;
+import vn.edu.smd.core.service.PloCoverageService;
+import vn.edu.smd.core.service.PloMappingService;
+import vn.edu.smd.core.service.coverage.PloAttainmentRollup;
+import vn.edu.smd.core.service.coverage.PloCoverageMatrix;
+import vn.edu.smd.core.service.matching.PloMatcher;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,36 +47,54 @@ public class CurriculumService {
 
     private final CurriculumRepository curriculumRepository;
     private final FacultyRepository facultyRepository;
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final CLORepository cloRepository;
+    private final PloMappingService ploMappingService;
+    private final PloCoverageService ploCoverageService;
+    private final PloAttainmentService ploAttainmentService;
+    private final FacultyService facultyService;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<CurriculumResponse> curriculums;
+
+    @PostConstruct
+    void registerReferenceData() {
+        // Response chứa mã / tên khoa → đổi khoa cũng phải nạp lại
+        curriculums = referenceDataRegistry.register(ReferenceDataRegistry.CURRICULUMS,
+                Set.of(ReferenceDataRegistry.CURRICULUMS, ReferenceDataRegistry.FACULTIES),
+                () -> curriculumRepository.findAll().stream().map(this::mapToResponse).toList(),
+                CurriculumResponse::getId);
+    }
 
     public Page<CurriculumResponse> getAllCurriculums(Pageable pageable) {
         return curriculumRepository.findAll(pageable).map(this::mapToResponse);
     }
 
+    // =============================================
+    // LOOKUP (snapshot trong bộ nhớ, không chạm DB)
+    // =============================================
+
+    public ReferenceSnapshot<CurriculumResponse> getCurriculumSnapshot() {
+        return curriculums.snapshot();
+    }
+
     public List<CurriculumResponse> getAllCurriculums() {
-        return curriculumRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return curriculums.snapshot().getItems();
     }
 
     public CurriculumResponse getCurriculumById(UUID id) {
-        Curriculum curriculum = curriculumRepository.findById(id)
+        return curriculums.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
-        return mapToResponse(curriculum);
     }
 
     public CurriculumResponse getCurriculumByCode(String code) {
-        Curriculum curriculum = curriculumRepository.findByCode(code)
+        return curriculums.snapshot().findFirst(curriculum -> Objects.equals(curriculum.getCode(), code))
                 .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "code", code));
-        return mapToResponse(curriculum);
     }
 
     public List<CurriculumResponse> getCurriculumsByFaculty(UUID facultyId) {
-        if (!facultyRepository.existsById(facultyId)) {
-            throw new ResourceNotFoundException("Faculty", "id", facultyId);
-        }
-        return curriculumRepository.findByFacultyId(facultyId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        facultyService.getFacultyById(facultyId);
+        return curriculums.snapshot().filter(curriculum -> facultyId.equals(curriculum.getFacultyId()));
     }
 
     @Transactional
@@ -76,6 +117,7 @@ public class CurriculumService {
                 .build();
 
         Curriculum savedCurriculum = curriculumRepository.save(curriculum);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.CURRICULUMS);
         return mapToResponse(savedCurriculum);
     }
 
@@ -101,6 +143,7 @@ public class CurriculumService {
         curriculum.setTotalCredits(request.getTotalCredits());
 
         Curriculum updatedCurriculum = curriculumRepository.save(curriculum);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.CURRICULUMS);
         return mapToResponse(updatedCurriculum);
     }
 
@@ -110,6 +153,170 @@ public class CurriculumService {
             throw new ResourceNotFoundException("Curriculum", "id", id);
         }
         curriculumRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.CURRICULUMS);
+    }
+
+    /**
+     * Gợi ý ánh xạ CLO → PLO cho mọi đề cương (chưa xóa) thuộc curriculum.
+     * Load toàn bộ đề cương + CLO bằng 2 query, sau đó chấm điểm song song.
+     */
+    @Transactional(readOnly = true)
+    public CurriculumPloSuggestionResponse suggestPloMappings(UUID id) {
+        Curriculum curriculum = curriculumRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
+
+        List<SyllabusVersion> syllabi = syllabusVersionRepository.findByCurriculumIdAndNotDeleted(id);
+        Map<UUID, List<Map<String, Object>>> closBySyllabus = new LinkedHashMap<>();
+        syllabi.forEach(syllabus -> closBySyllabus.put(syllabus.getId(), new ArrayList<>()));
+        if (!syllabi.isEmpty()) {
+            List<CLO> clos = cloRepository.findBySyllabusVersionIdInOrderByCodeAsc(new ArrayList<>(closBySyllabus.keySet()));
+            for (CLO clo : clos) {
+                Map<String, Object> cloMap = new HashMap<>();
+                cloMap.put("code", clo.getCode());
+                cloMap.put("description", clo.getDescription());
+                cloMap.put("bloomLevel", clo.getBloomLevel() != null ? clo.getBloomLevel() : "Remember");
+                closBySyllabus.get(clo.getSyllabusVersion().getId()).add(cloMap);
+            }
+        }
+
+        PloMatcher matcher = ploMappingService.getMatcher(id);
+        Map<UUID, List<Map<String, Object>>> suggestions = ploMappingService.suggestPloMappingsInParallel(matcher, closBySyllabus);
+
+        CurriculumPloSuggestionResponse response = new CurriculumPloSuggestionResponse();
+        response.setCurriculumId(curriculum.getId());
+        response.setCurriculumCode(curriculum.getCode());
+        response.setPloCodes(matcher.getPloCodes());
+        List<CurriculumPloSuggestionResponse.SyllabusSuggestion> items = new ArrayList<>();
+        for (SyllabusVersion syllabus : syllabi) {
+            CurriculumPloSuggestionResponse.SyllabusSuggestion item = new CurriculumPloSuggestionResponse.SyllabusSuggestion();
+            item.setSyllabusId(syllabus.getId());
+            item.setSubjectCode(syllabus.getSubject().getCode());
+            item.setVersionNo(syllabus.getVersionNo());
+            item.setStatus(syllabus.getStatus() != null ? syllabus.getStatus().name() : null);
+            item.setCloCount(closBySyllabus.get(syllabus.getId()).size());
+            item.setMappings(suggestions.get(syllabus.getId()));
+            items.add(item);
+        }
+        response.setSyllabi(items);
+        return response;
+    }
+
+    /**
+     * Ma trận độ phủ PLO của curriculum (đề cương PUBLISHED), kèm PLO thiếu hụt / trùng lặp
+     * @param minSubjects     PLO có ít hơn số môn này đóng góp (hoặc không môn nào ở mức H / M) là thiếu hụt
+     * @param maxHighSubjects PLO có nhiều hơn số môn này đóng góp ở mức H là trùng lặp
+     */
+    @Transactional(readOnly = true)
+    public CurriculumPloCoverageResponse getPloCoverage(UUID id, int minSubjects, int maxHighSubjects) {
+        Curriculum curriculum = curriculumRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
+        if (minSubjects < 0 || maxHighSubjects < 0) {
+            throw new BadRequestException("minSubjects và maxHighSubjects không được âm");
+        }
+
+        PloCoverageMatrix matrix = ploCoverageService.getMatrix(id);
+        List<String> gaps = matrix.gaps(minSubjects).stream().map(PloCoverageMatrix.PloCoverage::ploCode).toList();
+        List<String> redundancies = matrix.redundancies(maxHighSubjects).stream()
+                .map(PloCoverageMatrix.PloCoverage::ploCode).toList();
+
+        List<CurriculumPloCoverageResponse.PloCoverage> plos = new ArrayList<>();
+        for (PloCoverageMatrix.PloCoverage coverage : matrix.coverage()) {
+            CurriculumPloCoverageResponse.PloCoverage item = new CurriculumPloCoverageResponse.PloCoverage();
+            item.setPloCode(coverage.ploCode());
+            item.setSubjectCount(coverage.subjects());
+            item.setHighCount(coverage.high());
+            item.setMediumCount(coverage.medium());
+            item.setLowCount(coverage.low());
+            item.setScore(Math.round(coverage.score() * 1000) / 1000.0);
+            item.setStatus(gaps.contains(coverage.ploCode()) ? "GAP"
+                    : redundancies.contains(coverage.ploCode()) ? "REDUNDANT" : "OK");
+            item.setSubjectCodes(matrix.subjectsCovering(coverage.ploCode(), PloCoverageMatrix.LOW));
+            plos.add(item);
+        }
+
+        List<CurriculumPloCoverageResponse.SubjectCoverage> subjects = new ArrayList<>();
+        for (PloCoverageMatrix.SubjectRef subject : matrix.getSubjects()) {
+            CurriculumPloCoverageResponse.SubjectCoverage item = new CurriculumPloCoverageResponse.SubjectCoverage();
+            item.setSubjectId(subject.subjectId());
+            item.setSubjectCode(subject.subjectCode());
+            item.setSyllabusId(subject.syllabusId());
+            item.setLevels(matrix.subjectLevels(subject.subjectId()));
+            subjects.add(item);
+        }
+
+        CurriculumPloCoverageResponse response = new CurriculumPloCoverageResponse();
+        response.setCurriculumId(curriculum.getId());
+        response.setCurriculumCode(curriculum.getCode());
+        response.setSubjectCount(matrix.getSubjects().size());
+        response.setMinSubjects(minSubjects);
+        response.setMaxHighSubjects(maxHighSubjects);
+        response.setPloCodes(matrix.getPloCodes());
+        response.setPlos(plos);
+        response.setSubjects(subjects);
+        response.setGaps(gaps);
+        response.setRedundancies(redundancies);
+        return response;
+    }
+
+    /**
+     * Đóng góp PLO / PI của curriculum theo trọng số đánh giá (đề cương PUBLISHED mới nhất của mỗi môn)
+     */
+    @Transactional(readOnly = true)
+    public CurriculumPloAttainmentResponse getPloAttainment(UUID id) {
+        Curriculum curriculum = curriculumRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", id));
+
+        PloAttainmentRollup rollup = ploAttainmentService.getRollup(id);
+        Map<String, List<CurriculumPloAttainmentResponse.PiAttainment>> pisByPlo = new HashMap<>();
+        for (PloAttainmentRollup.PiAttainment attainment : rollup.pis()) {
+            CurriculumPloAttainmentResponse.PiAttainment item = new CurriculumPloAttainmentResponse.PiAttainment();
+            item.setPiCode(attainment.piCode());
+            item.setWeight(round(attainment.weight()));
+            item.setSubjectCount(attainment.subjects());
+            pisByPlo.computeIfAbsent(attainment.ploCode(), code -> new ArrayList<>()).add(item);
+        }
+
+        List<CurriculumPloAttainmentResponse.PloAttainment> plos = new ArrayList<>();
+        for (PloAttainmentRollup.PloAttainment attainment : rollup.plos()) {
+            CurriculumPloAttainmentResponse.PloAttainment item = new CurriculumPloAttainmentResponse.PloAttainment();
+            item.setPloCode(attainment.ploCode());
+            item.setDirectWeight(round(attainment.directWeight()));
+            item.setPiWeight(round(attainment.piWeight()));
+            item.setShare(round(attainment.share()));
+            item.setSubjectCount(attainment.subjects());
+            item.setPis(pisByPlo.getOrDefault(attainment.ploCode(), List.of()));
+            plos.add(item);
+        }
+
+        List<CurriculumPloAttainmentResponse.SubjectAttainment> subjects = new ArrayList<>();
+        int published = 0;
+        for (PloCoverageMatrix.SubjectRef subject : rollup.getSubjects()) {
+            CurriculumPloAttainmentResponse.SubjectAttainment item = new CurriculumPloAttainmentResponse.SubjectAttainment();
+            item.setSubjectId(subject.subjectId());
+            item.setSubjectCode(subject.subjectCode());
+            item.setSyllabusId(subject.syllabusId());
+            item.setMappedWeight(round(rollup.mappedWeight(subject.subjectId())));
+            Map<String, Double> contributions = new LinkedHashMap<>();
+            rollup.subjectPlos(subject.subjectId()).forEach((code, weight) -> contributions.put(code, round(weight)));
+            item.setPlos(contributions);
+            subjects.add(item);
+            if (subject.syllabusId() != null) {
+                published++;
+            }
+        }
+
+        CurriculumPloAttainmentResponse response = new CurriculumPloAttainmentResponse();
+        response.setCurriculumId(curriculum.getId());
+        response.setCurriculumCode(curriculum.getCode());
+        response.setSubjectCount(rollup.getSubjects().size());
+        response.setPublishedSubjectCount(published);
+        response.setPlos(plos);
+        response.setSubjects(subjects);
+        return response;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
     }
 
     private CurriculumResponse mapToResponse(Curriculum curriculum) {
@@ -8,7 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.module.faculty.dto.FacultyRequest;
 import vn.edu.smd.core.module.faculty.dto.FacultyResponse;
@@ -34,9 +37,8 @@ public class FacultyController {
 
     @Operation(summary = "Get all faculties", description = "Get list of all faculties without pagination")
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<FacultyResponse>>> getAllFacultiesNoPaging() {
-        List<FacultyResponse> faculties = facultyService.getAllFaculties();
-        return ResponseEntity.ok(ApiResponse.success(faculties));
+    public ResponseEntity<ApiResponse<List<FacultyResponse>>> getAllFacultiesNoPaging(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, facultyService.getFacultySnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get faculty by ID", description = "Get faculty details by ID")
@@ -1,5 +1,6 @@
 package vn.edu.smd.core.module.faculty.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,6 +8,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.Department;
 import vn.edu.smd.core.entity.Faculty;
 import vn.edu.smd.core.module.department.dto.DepartmentResponse;
@@ -18,6 +22,8 @@ import vn.edu.smd.core.repository.FacultyRepository;
 import vn.edu.smd.core.repository.SubjectRepository;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,27 +34,42 @@ public class FacultyService {
     private final FacultyRepository facultyRepository;
     private final DepartmentRepository departmentRepository;
     private final SubjectRepository subjectRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<FacultyResponse> faculties;
+
+    @PostConstruct
+    void registerReferenceData() {
+        faculties = referenceDataRegistry.register(ReferenceDataRegistry.FACULTIES,
+                Set.of(ReferenceDataRegistry.FACULTIES),
+                () -> facultyRepository.findAll().stream().map(this::mapToResponse).toList(),
+                FacultyResponse::getId);
+    }
 
     public Page<FacultyResponse> getAllFaculties(Pageable pageable) {
         return facultyRepository.findAll(pageable).map(this::mapToResponse);
     }
 
+    // =============================================
+    // LOOKUP (snapshot trong bộ nhớ, không chạm DB)
+    // =============================================
+
+    public ReferenceSnapshot<FacultyResponse> getFacultySnapshot() {
+        return faculties.snapshot();
+    }
+
     public List<FacultyResponse> getAllFaculties() {
-        return facultyRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return faculties.snapshot().getItems();
     }
 
     public FacultyResponse getFacultyById(UUID id) {
-        Faculty faculty = facultyRepository.findById(id)
+        return faculties.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Faculty", "id", id));
-        return mapToResponse(faculty);
     }
 
     public FacultyResponse getFacultyByCode(String code) {
-        Faculty faculty = facultyRepository.findByCode(code)
+        return faculties.snapshot().findFirst(faculty -> Objects.equals(faculty.getCode(), code))
                 .orElseThrow(() -> new ResourceNotFoundException("Faculty", "code", code));
-        return mapToResponse(faculty);
     }
 
     @Transactional
@@ -63,6 +84,7 @@ public class FacultyService {
                 .build();
 
         Faculty savedFaculty = facultyRepository.save(faculty);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.FACULTIES);
         return mapToResponse(savedFaculty);
     }
 
@@ -80,6 +102,7 @@ public class FacultyService {
         faculty.setName(request.getName());
 
         Faculty updatedFaculty = facultyRepository.save(faculty);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.FACULTIES);
         return mapToResponse(updatedFaculty);
     }
 
@@ -89,6 +112,7 @@ public class FacultyService {
             throw new ResourceNotFoundException("Faculty", "id", id);
         }
         facultyRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.FACULTIES);
     }
 
     public List<DepartmentResponse> getDepartmentsOfFaculty(UUID id) {
@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.lessondetail.dto.LessonDetailRequest;
 import vn.edu.smd.core.module.lessondetail.dto.LessonDetailResponse;
 import vn.edu.smd.core.module.lessondetail.service.LessonDetailService;
+import vn.edu.smd.core.repository.projection.LessonDetailRow;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class LessonDetailController {
 
     private final LessonDetailService lessonDetailService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all lesson details", description = "Get list of all lesson details")
     @GetMapping
@@ -65,4 +71,18 @@ public class LessonDetailController {
         List<LessonDetailResponse> details = lessonDetailService.getDetailsByPlanId(planId);
         return ResponseEntity.ok(ApiResponse.success(details));
     }
+
+    @Operation(summary = "Get paged details by syllabus",
+            description = "Get one page of lesson detail rows across all lesson plans of a syllabus, ordered by week and session")
+    @GetMapping("/syllabus/{syllabusId}/page")
+    public ResponseEntity<ApiResponse<PageResponse<LessonDetailRow>>> getDetailPageBySyllabusId(@PathVariable UUID syllabusId,
+                                                                                               Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(lessonDetailService.getDetailRowsBySyllabusId(syllabusId, pageable)));
+    }
+
+    @Operation(summary = "Export all lesson details", description = "Stream every lesson detail as NDJSON (one JSON object per line)")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDetails() {
+        return ndjsonExporter.export("lesson-details", lessonDetailService::streamAllDetailRows);
+    }
 }
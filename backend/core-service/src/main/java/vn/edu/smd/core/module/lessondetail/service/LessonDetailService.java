@@ -1,8 +1,11 @@
 package vn.edu.smd.core.module.lessondetail.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.LessonDetail;
 import vn.edu.smd.core.entity.LessonPlan;
@@ -10,10 +13,13 @@ import vn.edu.smd.core.module.lessondetail.dto.LessonDetailRequest;
 import vn.edu.smd.core.module.lessondetail.dto.LessonDetailResponse;
 import vn.edu.smd.core.repository.LessonDetailRepository;
 import vn.edu.smd.core.repository.LessonPlanRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.LessonDetailRow;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +27,7 @@ public class LessonDetailService {
 
     private final LessonDetailRepository lessonDetailRepository;
     private final LessonPlanRepository lessonPlanRepository;
+    private final SyllabusVersionRepository syllabusVersionRepository;
 
     public List<LessonDetailResponse> getAllDetails() {
         return lessonDetailRepository.findAll().stream()
@@ -84,6 +91,21 @@ public class LessonDetailService {
                 .collect(Collectors.toList());
     }
 
+    // Danh sách phân trang theo đề cương: projection, không load entity / quan hệ lazy; thứ tự tuần → buổi
+    @Transactional(readOnly = true)
+    public PageResponse<LessonDetailRow> getDetailRowsBySyllabusId(UUID syllabusId, Pageable pageable) {
+        if (!syllabusVersionRepository.existsById(syllabusId)) {
+            throw new ResourceNotFoundException("SyllabusVersion", "id", syllabusId);
+        }
+        return PageResponse.of(lessonDetailRepository.findRowsBySyllabusVersionId(syllabusId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    // Stream của repository: chỉ dùng trong transaction và phải đóng sau khi đọc (NdjsonExporter lo cả hai)
+    public Stream<LessonDetailRow> streamAllDetailRows() {
+        return lessonDetailRepository.streamAllRows();
+    }
+
     private LessonDetailResponse mapToResponse(LessonDetail detail) {
         LessonDetailResponse response = new LessonDetailResponse();
         response.setId(detail.getId());
@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.lessonplan.dto.LessonPlanRequest;
 import vn.edu.smd.core.module.lessonplan.dto.LessonPlanResponse;
 import vn.edu.smd.core.module.lessonplan.service.LessonPlanService;
+import vn.edu.smd.core.repository.projection.LessonPlanRow;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class LessonPlanController {
 
     private final LessonPlanService lessonPlanService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all lesson plans", description = "Get list of all lesson plans")
     @GetMapping
@@ -65,4 +71,17 @@ public class LessonPlanController {
         List<LessonPlanResponse> plans = lessonPlanService.getPlansBySyllabusId(syllabusId);
         return ResponseEntity.ok(ApiResponse.success(plans));
     }
+
+    @Operation(summary = "Get paged plans by syllabus", description = "Get one page of lesson plan rows for a syllabus, ordered by week")
+    @GetMapping("/syllabus/{syllabusId}/page")
+    public ResponseEntity<ApiResponse<PageResponse<LessonPlanRow>>> getPlanPageBySyllabusId(@PathVariable UUID syllabusId,
+                                                                                           Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(lessonPlanService.getPlanRowsBySyllabusId(syllabusId, pageable)));
+    }
+
+    @Operation(summary = "Export all lesson plans", description = "Stream every lesson plan as NDJSON (one JSON object per line)")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlans() {
+        return ndjsonExporter.export("lesson-plans", lessonPlanService::streamAllPlanRows);
+    }
 }
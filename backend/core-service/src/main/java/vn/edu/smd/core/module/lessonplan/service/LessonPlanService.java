@@ -1,8 +1,11 @@
 package vn.edu.smd.core.module.lessonplan.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.LessonPlan;
 import vn.edu.smd.core.entity.SyllabusVersion;
@@ -10,10 +13,12 @@ import vn.edu.smd.core.module.lessonplan.dto.LessonPlanRequest;
 import vn.edu.smd.core.module.lessonplan.dto.LessonPlanResponse;
 import vn.edu.smd.core.repository.LessonPlanRepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.LessonPlanRow;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -84,6 +89,20 @@ public class LessonPlanService {
                 .collect(Collectors.toList());
     }
 
+    // Thứ tự cố định theo tuần (sort từ client bị bỏ qua)
+    @Transactional(readOnly = true)
+    public PageResponse<LessonPlanRow> getPlanRowsBySyllabusId(UUID syllabusId, Pageable pageable) {
+        if (!syllabusVersionRepository.existsById(syllabusId)) {
+            throw new ResourceNotFoundException("SyllabusVersion", "id", syllabusId);
+        }
+        return PageResponse.of(lessonPlanRepository.findRowsBySyllabusVersionId(syllabusId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    public Stream<LessonPlanRow> streamAllPlanRows() {
+        return lessonPlanRepository.streamAllRows();
+    }
+
     private LessonPlanResponse mapToResponse(LessonPlan plan) {
         LessonPlanResponse response = new LessonPlanResponse();
         response.setId(plan.getId());
@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.materialresource.dto.MaterialResourceRequest;
 import vn.edu.smd.core.module.materialresource.dto.MaterialResourceResponse;
 import vn.edu.smd.core.module.materialresource.service.MaterialResourceService;
+import vn.edu.smd.core.repository.projection.MaterialResourceRow;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class MaterialResourceController {
 
     private final MaterialResourceService materialResourceService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all materials", description = "Get list of all material resources")
     @GetMapping
@@ -65,4 +71,17 @@ public class MaterialResourceController {
         List<MaterialResourceResponse> materials = materialResourceService.getMaterialsBySyllabusId(syllabusId);
         return ResponseEntity.ok(ApiResponse.success(materials));
     }
+
+    @Operation(summary = "Get paged materials by syllabus", description = "Get one page of material rows for a syllabus")
+    @GetMapping("/syllabus/{syllabusId}/page")
+    public ResponseEntity<ApiResponse<PageResponse<MaterialResourceRow>>> getMaterialPageBySyllabusId(@PathVariable UUID syllabusId,
+                                                                                                     Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(materialResourceService.getMaterialRowsBySyllabusId(syllabusId, pageable)));
+    }
+
+    @Operation(summary = "Export all materials", description = "Stream every material resource as NDJSON (one JSON object per line)")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMaterials() {
+        return ndjsonExporter.export("materials", materialResourceService::streamAllMaterialRows);
+    }
 }
@@ -1,8 +1,11 @@
 package vn.edu.smd.core.module.materialresource.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.MaterialResource;
 import vn.edu.smd.core.entity.SyllabusVersion;
@@ -10,10 +13,12 @@ import vn.edu.smd.core.module.materialresource.dto.MaterialResourceRequest;
 import vn.edu.smd.core.module.materialresource.dto.MaterialResourceResponse;
 import vn.edu.smd.core.repository.MaterialResourceRepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.MaterialResourceRow;
 
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -88,6 +93,20 @@ public class MaterialResourceService {
                 .collect(Collectors.toList());
     }
 
+    // Trang tài liệu của một đề cương, đọc thẳng các cột cần thiết
+    @Transactional(readOnly = true)
+    public PageResponse<MaterialResourceRow> getMaterialRowsBySyllabusId(UUID syllabusId, Pageable pageable) {
+        if (!syllabusVersionRepository.existsById(syllabusId)) {
+            throw new ResourceNotFoundException("SyllabusVersion", "id", syllabusId);
+        }
+        return PageResponse.of(materialResourceRepository.findRowsBySyllabusVersionId(syllabusId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    public Stream<MaterialResourceRow> streamAllMaterialRows() {
+        return materialResourceRepository.streamAllRows();
+    }
+
     private MaterialResourceResponse mapToResponse(MaterialResource material) {
         MaterialResourceResponse response = new MaterialResourceResponse();
         response.setId(material.getId());
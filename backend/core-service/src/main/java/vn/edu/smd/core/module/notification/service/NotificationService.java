@@ -6,6 +6,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.partition.PartitionedTable;
+import vn.edu.smd.core.common.partition.RetentionWindow;
 import vn.edu.smd.core.entity.Notification;
 import vn.edu.smd.core.entity.User;
 import vn.edu.smd.core.module.notification.dto.NotificationRequest;
@@ -26,12 +28,13 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final vn.edu.smd.core.service.FCMService fcmService;
+    private final RetentionWindow retentionWindow;
 
     public List<NotificationResponse> getUserNotifications() {
         User currentUser = getCurrentUser();
         System.out.println("🔍 Getting notifications for user: " + currentUser.getId()); // Debug log
         
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(currentUser);
+        List<Notification> notifications = notificationRepository.findByUserAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(currentUser, since());
         System.out.println("📨 Found " + notifications.size() + " notifications"); // Debug log
         
         return notifications.stream()
@@ -40,14 +43,14 @@ public class NotificationService {
     }
 
     public NotificationResponse getNotificationById(UUID id) {
-        Notification notification = notificationRepository.findById(id)
+        Notification notification = notificationRepository.findByIdAndCreatedAtGreaterThanEqual(id, since())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
         return mapToResponse(notification);
     }
 
     @Transactional
     public NotificationResponse markAsRead(UUID id) {
-        Notification notification = notificationRepository.findById(id)
+        Notification notification = notificationRepository.findByIdAndCreatedAtGreaterThanEqual(id, since())
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
         
         notification.setIsRead(true);
@@ -60,19 +63,12 @@ public class NotificationService {
     @Transactional
     public void markAllAsRead() {
         User currentUser = getCurrentUser();
-        List<Notification> unreadNotifications = notificationRepository.findByUserAndIsReadFalse(currentUser);
-        
-        unreadNotifications.forEach(notification -> {
-            notification.setIsRead(true);
-            notification.setReadAt(LocalDateTime.now());
-        });
-        
-        notificationRepository.saveAll(unreadNotifications);
+        notificationRepository.markAllAsRead(currentUser, since(), LocalDateTime.now());
     }
 
     @Transactional
     public void deleteNotification(UUID id) {
-        if (!notificationRepository.existsById(id)) {
+        if (!notificationRepository.existsByIdAndCreatedAtGreaterThanEqual(id, since())) {
             throw new ResourceNotFoundException("Notification", "id", id);
         }
         notificationRepository.deleteById(id);
@@ -80,7 +76,7 @@ public class NotificationService {
 
     public Long getUnreadCount() {
         User currentUser = getCurrentUser();
-        return notificationRepository.countByUserAndIsReadFalse(currentUser);
+        return notificationRepository.countByUserAndIsReadFalseAndCreatedAtGreaterThanEqual(currentUser, since());
     }
 
     @Transactional
@@ -157,6 +153,11 @@ public class NotificationService {
         return response;
     }
 
+    /** Chỉ đọc các partition còn trong thời gian lưu (partition pruning) */
+    private LocalDateTime since() {
+        return retentionWindow.since(PartitionedTable.NOTIFICATIONS);
+    }
+
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
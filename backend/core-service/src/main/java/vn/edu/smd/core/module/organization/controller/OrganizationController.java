@@ -6,7 +6,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.module.organization.dto.OrganizationRequest;
 import vn.edu.smd.core.module.organization.dto.OrganizationResponse;
 import vn.edu.smd.core.module.organization.service.OrganizationService;
@@ -24,9 +27,8 @@ public class OrganizationController {
 
     @Operation(summary = "Get all organizations", description = "Get list of all organizations")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrganizationResponse>>> getAllOrganizations() {
-        List<OrganizationResponse> organizations = organizationService.getAllOrganizations();
-        return ResponseEntity.ok(ApiResponse.success(organizations));
+    public ResponseEntity<ApiResponse<List<OrganizationResponse>>> getAllOrganizations(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, organizationService.getOrganizationSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get organization by ID", description = "Get organization details by ID")
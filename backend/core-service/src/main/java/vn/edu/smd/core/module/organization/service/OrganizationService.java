@@ -1,34 +1,50 @@
 package vn.edu.smd.core.module.organization.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.Organization;
 import vn.edu.smd.core.module.organization.dto.OrganizationRequest;
 import vn.edu.smd.core.module.organization.dto.OrganizationResponse;
 import vn.edu.smd.core.repository.OrganizationRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<OrganizationResponse> organizations;
+
+    @PostConstruct
+    void registerReferenceData() {
+        organizations = referenceDataRegistry.register(ReferenceDataRegistry.ORGANIZATIONS,
+                Set.of(ReferenceDataRegistry.ORGANIZATIONS),
+                () -> organizationRepository.findAll().stream().map(this::mapToResponse).toList(),
+                OrganizationResponse::getId);
+    }
+
+    public ReferenceSnapshot<OrganizationResponse> getOrganizationSnapshot() {
+        return organizations.snapshot();
+    }
 
     public List<OrganizationResponse> getAllOrganizations() {
-        return organizationRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return organizations.snapshot().getItems();
     }
 
     public OrganizationResponse getOrganizationById(UUID id) {
-        Organization organization = organizationRepository.findById(id)
+        return organizations.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization", "id", id));
-        return mapToResponse(organization);
     }
 
     @Transactional
@@ -42,6 +58,7 @@ public class OrganizationService {
         organization.setWebsite(request.getWebsite());
 
         Organization savedOrganization = organizationRepository.save(organization);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ORGANIZATIONS);
         return mapToResponse(savedOrganization);
     }
 
@@ -58,6 +75,7 @@ public class OrganizationService {
         organization.setWebsite(request.getWebsite());
 
         Organization updatedOrganization = organizationRepository.save(organization);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ORGANIZATIONS);
         return mapToResponse(updatedOrganization);
     }
 
@@ -67,6 +85,7 @@ public class OrganizationService {
             throw new ResourceNotFoundException("Organization", "id", id);
         }
         organizationRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ORGANIZATIONS);
     }
 
     private OrganizationResponse mapToResponse(Organization organization) {
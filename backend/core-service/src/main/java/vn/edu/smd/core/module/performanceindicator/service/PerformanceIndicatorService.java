@@ -1,6 +1,7 @@
 package vn.edu.smd.core.module.performanceindicator.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
@@ -8,6 +9,7 @@ import vn.edu.smd.core.entity.PLO;
 import vn.edu.smd.core.entity.PerformanceIndicator;
 import vn.edu.smd.core.module.performanceindicator.dto.PerformanceIndicatorRequest;
 import vn.edu.smd.core.module.performanceindicator.dto.PerformanceIndicatorResponse;
+import vn.edu.smd.core.module.plo.event.PloCatalogChangedEvent;
 import vn.edu.smd.core.repository.PLORepository;
 import vn.edu.smd.core.repository.PerformanceIndicatorRepository;
 
@@ -21,6 +23,7 @@ public class PerformanceIndicatorService {
 
     private final PerformanceIndicatorRepository piRepository;
     private final PLORepository ploRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<PerformanceIndicatorResponse> getPisByPlo(UUID ploId) {
         if (!ploRepository.existsById(ploId)) {
@@ -49,6 +52,7 @@ public class PerformanceIndicatorService {
                 .build();
 
         PerformanceIndicator savedPi = piRepository.save(pi);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(plo.getId(), null));
         return mapToResponse(savedPi);
     }
 
@@ -65,15 +69,16 @@ public class PerformanceIndicatorService {
         pi.setDescription(request.getDescription());
 
         PerformanceIndicator updatedPi = piRepository.save(pi);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(plo.getId(), null));
         return mapToResponse(updatedPi);
     }
 
     @Transactional
     public void deletePi(UUID id) {
-        if (!piRepository.existsById(id)) {
-            throw new ResourceNotFoundException("PerformanceIndicator", "id", id);
-        }
-        piRepository.deleteById(id);
+        PerformanceIndicator pi = piRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("PerformanceIndicator", "id", id));
+        piRepository.delete(pi);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(pi.getPlo().getId(), null));
     }
 
     private PerformanceIndicatorResponse mapToResponse(PerformanceIndicator pi) {
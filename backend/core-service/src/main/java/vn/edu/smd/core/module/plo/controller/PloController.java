@@ -4,12 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.plo.dto.PloRequest;
 import vn.edu.smd.core.module.plo.dto.PloResponse;
 import vn.edu.smd.core.module.plo.service.PloService;
+import vn.edu.smd.core.repository.projection.PloRow;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 public class PloController {
 
     private final PloService ploService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all PLOs", description = "Get list of all PLOs")
     @GetMapping
@@ -65,4 +71,17 @@ public class PloController {
         ploService.deletePlo(id);
         return ResponseEntity.ok(ApiResponse.success("PLO deleted successfully", null));
     }
+
+    @Operation(summary = "Get paged PLOs by subject", description = "Get one page of PLO rows for a subject, ordered by code")
+    @GetMapping("/subject/{subjectId}/page")
+    public ResponseEntity<ApiResponse<PageResponse<PloRow>>> getPloPageBySubject(@PathVariable UUID subjectId,
+                                                                                Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(ploService.getPloRowsBySubject(subjectId, pageable)));
+    }
+
+    @Operation(summary = "Export all PLOs", description = "Stream every PLO as NDJSON (one JSON object per line)")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlos() {
+        return ndjsonExporter.export("plos", ploService::streamAllPloRows);
+    }
 }
@@ -0,0 +1,9 @@
+package vn.edu.smd.core.module.plo.event;
+
+import java.util.UUID;
+
+/**
+ * Phát ra khi PLO hoặc PI của PLO được tạo / sửa / xóa - dùng để làm mới các cache dựng từ danh mục PLO
+ */
+public record PloCatalogChangedEvent(UUID ploId, UUID subjectId) {
+}
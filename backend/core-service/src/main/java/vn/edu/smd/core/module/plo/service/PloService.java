@@ -1,22 +1,29 @@
 package vn.edu.smd.core.module.plo.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
-import vn.edu.smd.core.entity.Subject;
 import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.entity.Subject;
 import vn.edu.smd.core.module.plo.dto.PloRequest;
 import vn.edu.smd.core.module.plo.dto.PloResponse;
-import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.module.plo.event.PloCatalogChangedEvent;
 import vn.edu.smd.core.repository.PLORepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.repository.projection.PloRow;
 import vn.edu.smd.shared.enums.PloCategory;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +31,7 @@ public class PloService {
 
     private final PLORepository ploRepository;
     private final SubjectRepository subjectRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<PloResponse> getAllPlos() {
@@ -66,6 +74,7 @@ public class PloService {
                 .build();
 
         PLO savedPlo = ploRepository.save(plo);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(savedPlo.getId(), subject.getId()));
         return mapToResponse(savedPlo);
     }
 
@@ -91,6 +100,7 @@ public class PloService {
         }
 
         PLO updatedPlo = ploRepository.save(plo);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(updatedPlo.getId(), subject.getId()));
         return mapToResponse(updatedPlo);
     }
 
@@ -100,6 +110,21 @@ public class PloService {
             throw new ResourceNotFoundException("PLO", "id", id);
         }
         ploRepository.deleteById(id);
+        eventPublisher.publishEvent(new PloCatalogChangedEvent(id, null));
+    }
+
+    // PLO gắn với môn học (không phải đề cương) nên phân trang theo môn
+    @Transactional(readOnly = true)
+    public PageResponse<PloRow> getPloRowsBySubject(UUID subjectId, Pageable pageable) {
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new ResourceNotFoundException("Subject", "id", subjectId);
+        }
+        return PageResponse.of(ploRepository.findRowsBySubjectId(subjectId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    public Stream<PloRow> streamAllPloRows() {
+        return ploRepository.streamAllRows();
     }
 
     private PloResponse mapToResponse(PLO plo) {
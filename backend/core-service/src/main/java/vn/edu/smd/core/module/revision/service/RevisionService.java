@@ -2,12 +2,14 @@ package vn.edu.smd.core.module.revision.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.*;
 import vn.edu.smd.core.module.revision.dto.*;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
 import vn.edu.smd.core.repository.*;
 import vn.edu.smd.core.service.RevisionNotificationService;
 import vn.edu.smd.shared.enums.FeedbackStatus;
@@ -38,6 +40,7 @@ public class RevisionService {
     private final SyllabusErrorReportRepository feedbackRepository;
     private final UserRepository userRepository;
     private final RevisionNotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Admin starts a revision session
@@ -267,6 +270,7 @@ public class RevisionService {
         syllabus.setVersionNumber(currentVersion + 1);
         syllabus.setVersionNo("V" + (currentVersion + 1) + ".0");
         syllabusVersionRepository.save(syllabus);
+        eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(syllabus.getId(), syllabus.getSubject().getId()));
         
         // Mark session as completed
         session.setRepublishedBy(admin);
@@ -6,7 +6,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.module.role.dto.RoleRequest;
 import vn.edu.smd.core.module.role.dto.RoleResponse;
 import vn.edu.smd.core.module.role.service.RoleService;
@@ -24,9 +27,8 @@ public class RoleController {
 
     @Operation(summary = "Get all roles", description = "Get list of all roles")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RoleResponse>>> getAllRoles() {
-        List<RoleResponse> roles = roleService.getAllRoles();
-        return ResponseEntity.ok(ApiResponse.success(roles));
+    public ResponseEntity<ApiResponse<List<RoleResponse>>> getAllRoles(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, roleService.getRoleSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get role by ID", description = "Get role details by ID")
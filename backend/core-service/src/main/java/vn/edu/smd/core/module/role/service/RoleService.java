@@ -1,35 +1,50 @@
 package vn.edu.smd.core.module.role.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.Role;
 import vn.edu.smd.core.module.role.dto.RoleRequest;
 import vn.edu.smd.core.module.role.dto.RoleResponse;
 import vn.edu.smd.core.repository.RoleRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<RoleResponse> roles;
+
+    @PostConstruct
+    void registerReferenceData() {
+        roles = referenceDataRegistry.register(ReferenceDataRegistry.ROLES, Set.of(ReferenceDataRegistry.ROLES),
+                () -> roleRepository.findAll().stream().map(this::mapToResponse).toList(),
+                RoleResponse::getId);
+    }
+
+    public ReferenceSnapshot<RoleResponse> getRoleSnapshot() {
+        return roles.snapshot();
+    }
 
     public List<RoleResponse> getAllRoles() {
-        return roleRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return roles.snapshot().getItems();
     }
 
     public RoleResponse getRoleById(UUID id) {
-        Role role = roleRepository.findById(id)
+        return roles.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
-        return mapToResponse(role);
     }
 
     @Transactional
@@ -43,6 +58,7 @@ public class RoleService {
         role.setDescription(request.getDescription());
 
         Role savedRole = roleRepository.save(role);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ROLES);
         return mapToResponse(savedRole);
     }
 
@@ -59,6 +75,7 @@ public class RoleService {
         role.setDescription(request.getDescription());
 
         Role updatedRole = roleRepository.save(role);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ROLES);
         return mapToResponse(updatedRole);
     }
 
@@ -68,6 +85,7 @@ public class RoleService {
             throw new ResourceNotFoundException("Role", "id", id);
         }
         roleRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.ROLES);
     }
 
     private RoleResponse mapToResponse(Role role) {
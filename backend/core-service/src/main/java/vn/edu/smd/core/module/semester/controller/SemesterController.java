@@ -8,7 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.module.semester.dto.SemesterRequest;
 import vn.edu.smd.core.module.semester.dto.SemesterResponse;
@@ -32,6 +35,12 @@ public class SemesterController {
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(semesters)));
     }
 
+    @Operation(summary = "Get all semesters", description = "Get list of all semesters without pagination")
+    @GetMapping("/all")
+    public ResponseEntity<ApiResponse<List<SemesterResponse>>> getAllSemestersNoPaging(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, semesterService.getSemesterSnapshot(), ReferenceSnapshot::getItems);
+    }
+
     @Operation(summary = "Get semester by ID", description = "Get semester details by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SemesterResponse>> getSemesterById(@PathVariable UUID id) {
@@ -1,5 +1,6 @@
 package vn.edu.smd.core.module.semester.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,43 +8,61 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.Semester;
 import vn.edu.smd.core.module.semester.dto.SemesterRequest;
 import vn.edu.smd.core.module.semester.dto.SemesterResponse;
 import vn.edu.smd.core.repository.SemesterRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class SemesterService {
 
     private final SemesterRepository semesterRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
+    private ReferenceDataset<SemesterResponse> semesters;
+
+    @PostConstruct
+    void registerReferenceData() {
+        semesters = referenceDataRegistry.register(ReferenceDataRegistry.SEMESTERS,
+                Set.of(ReferenceDataRegistry.SEMESTERS),
+                () -> semesterRepository.findAll().stream().map(this::mapToResponse).toList(),
+                SemesterResponse::getId);
+    }
+
+    @Transactional(readOnly = true)
     public Page<SemesterResponse> getAllSemesters(Pageable pageable) {
         return semesterRepository.findAll(pageable)
                 .map(this::mapToResponse);
     }
 
+    // =============================================
+    // LOOKUP (snapshot trong bộ nhớ, không chạm DB)
+    // =============================================
+
+    public ReferenceSnapshot<SemesterResponse> getSemesterSnapshot() {
+        return semesters.snapshot();
+    }
+
     public List<SemesterResponse> getAllSemesters() {
-        return semesterRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return semesters.snapshot().getItems();
     }
 
     public SemesterResponse getSemesterById(UUID id) {
-        Semester semester = semesterRepository.findById(id)
+        return semesters.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Semester not found with id: " + id));
-        return mapToResponse(semester);
     }
 
     public SemesterResponse getCurrentSemester() {
-        Semester semester = semesterRepository.findByIsActiveTrue()
+        return semesters.snapshot().findFirst(semester -> Boolean.TRUE.equals(semester.getIsActive()))
                 .orElseThrow(() -> new ResourceNotFoundException("No active semester found"));
-        return mapToResponse(semester);
     }
 
     @Transactional
@@ -63,6 +82,7 @@ public class SemesterService {
                 .build();
 
         semester = semesterRepository.save(semester);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SEMESTERS);
         return mapToResponse(semester);
     }
 
@@ -88,6 +108,7 @@ public class SemesterService {
         }
 
         semester = semesterRepository.save(semester);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SEMESTERS);
         return mapToResponse(semester);
     }
 
@@ -97,6 +118,7 @@ public class SemesterService {
             throw new ResourceNotFoundException("Semester not found with id: " + id);
         }
         semesterRepository.deleteById(id);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SEMESTERS);
     }
 
     private SemesterResponse mapToResponse(Semester semester) {
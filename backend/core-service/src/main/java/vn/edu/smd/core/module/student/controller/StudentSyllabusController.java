@@ -6,6 +6,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.student.dto.*;
 import vn.edu.smd.core.module.student.service.PdfService;
 import vn.edu.smd.core.module.student.service.StudentSyllabusService;
@@ -20,12 +22,20 @@ public class StudentSyllabusController {
 
     private final StudentSyllabusService service;
     private final PdfService pdfService;
+    private final NdjsonExporter ndjsonExporter;
 
     @GetMapping
     public List<StudentSyllabusSummaryDto> getAll() {
         return service.getAll();
     }
 
+    // Như getAll nhưng ghi dần từng phần tử (mảng JSON, hoặc NDJSON nếu Accept: application/x-ndjson)
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ndjsonExporter.stream("student-syllabi", accept, service::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<StudentSyllabusDetailDto> getById(@PathVariable UUID id) {  // Thêm ResponseEntity để handle error nếu cần
         return ResponseEntity.ok(service.getById(id));
@@ -18,4 +18,6 @@ public class StudentSyllabusSummaryDto {
     private boolean tracked;
     private String status;  // ✅ Frontend expects this
     private String publishedAt;  // ✅ YYYY-MM-DD format
+    private Integer cloCount;  // Từ cột sinh tự động, không cần load content
+    private Integer assessmentCount;
 }
\ No newline at end of file
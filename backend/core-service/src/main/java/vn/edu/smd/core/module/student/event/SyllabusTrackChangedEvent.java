@@ -0,0 +1,9 @@
+package vn.edu.smd.core.module.student.event;
+
+import java.util.UUID;
+
+/**
+ * Phát ra khi sinh viên theo dõi / bỏ theo dõi một đề cương - dùng để cập nhật follower index sau commit
+ */
+public record SyllabusTrackChangedEvent(UUID studentId, UUID syllabusId, boolean tracked) {
+}
@@ -1,8 +1,10 @@
 package vn.edu.smd.core.module.student.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.StudentSyllabusTracker;
+import vn.edu.smd.core.repository.projection.SyllabusFollowRow;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +19,9 @@ public interface StudentSyllabusTrackerRepository extends JpaRepository<StudentS
 
     // 🔥 THÊM DÒNG NÀY: Để tìm tất cả sinh viên đang theo dõi một đề cương cụ thể
     List<StudentSyllabusTracker> findBySyllabusId(UUID syllabusId);
-}
\ No newline at end of file
+
+    // Toàn bộ cặp theo dõi dạng projection (dựng follower index, không JOIN sang users)
+    @Query("SELECT new vn.edu.smd.core.repository.projection.SyllabusFollowRow(t.studentId, t.syllabusId) "
+            + "FROM StudentSyllabusTracker t")
+    List<SyllabusFollowRow> findAllFollowRows();
+}
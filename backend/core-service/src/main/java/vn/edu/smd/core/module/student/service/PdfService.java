@@ -1,39 +1,97 @@
 package vn.edu.smd.core.module.student.service;
 
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
 import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 
+/**
+ * Render PDF đề cương (Thymeleaf → HTML → openhtmltopdf)
+ *
+ * - Font TimesVN được đọc từ classpath một lần, các lần render dùng chung bản trong bộ nhớ
+ * - PDF được cache trong Redis theo sha256 của HTML đã render: nội dung đề cương không đổi
+ *   thì tải lại / export hàng loạt không phải render lại, nội dung đổi thì key tự đổi theo
+ */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class PdfService {
 
-    @Autowired
-    private SpringTemplateEngine templateEngine;
+    private static final String FONT_FAMILY = "TimesVN";
+    private static final List<String> FONT_PATHS = List.of(
+            "fonts/TIMES.TTF", "fonts/TIMESBD.TTF", "fonts/TIMESI.TTF", "fonts/TIMESBI.TTF");
+    private static final String CACHE_KEY_PREFIX = "pdf:syllabus:";
+
+    private final SpringTemplateEngine templateEngine;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.pdf.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${app.pdf.cache.ttl-minutes:1440}")
+    private long cacheTtlMinutes = 1440;
+
+    @Value("${app.pdf.cache.max-bytes:5242880}")
+    private int cacheMaxBytes = 5 * 1024 * 1024;
+
+    private volatile List<byte[]> fonts;
 
     public byte[] generateSyllabusPdf(StudentSyllabusDetailDto data) {
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            Context context = new Context();
-            context.setVariable("syllabus", data);
+        String html = renderHtml(data);
+        String cacheKey = CACHE_KEY_PREFIX + sha256(html);
 
-            String html = templateEngine.process("syllabus-pdf", context);
+        byte[] cached = readCache(cacheKey);
+        if (cached != null) {
+            meterRegistry.counter("smd.pdf.cache", "result", "hit").increment();
+            return cached;
+        }
+        meterRegistry.counter("smd.pdf.cache", "result", "miss").increment();
 
+        // Render PDF tốn CPU/heap - giới hạn số bản render đồng thời
+        byte[] pdf = bulkheadRegistry.get(BulkheadRegistry.PDF).execute(() -> renderPdf(html));
+        writeCache(cacheKey, pdf);
+        return pdf;
+    }
+
+    private String renderHtml(StudentSyllabusDetailDto data) {
+        Context context = new Context();
+        context.setVariable("syllabus", data);
+        return templateEngine.process("syllabus-pdf", context);
+    }
+
+    private byte[] renderPdf(String html) {
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
             PdfRendererBuilder builder = new PdfRendererBuilder();
             builder.useFastMode();
 
-            String fontFamily = "TimesVN";
-
-            // Nạp font bằng InputStream thay vì File
-            addFont(builder, "fonts/TIMES.TTF", fontFamily);
-            addFont(builder, "fonts/TIMESBD.TTF", fontFamily);
-            addFont(builder, "fonts/TIMESI.TTF", fontFamily);
-            addFont(builder, "fonts/TIMESBI.TTF", fontFamily);
+            for (byte[] font : fonts()) {
+                builder.useFont(() -> new ByteArrayInputStream(font), FONT_FAMILY);
+            }
 
             builder.withHtmlContent(html, "");
             builder.toStream(os);
@@ -41,26 +99,84 @@ public class PdfService {
 
             return os.toByteArray();
         } catch (Exception e) {
-            System.err.println("❌ PDF Generation Error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ PDF Generation Error: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to generate PDF: " + e.getMessage(), e);
         }
     }
 
-    private void addFont(PdfRendererBuilder builder, String path, String fontFamily) {
-        try {
+    // =============================================
+    // FONTS
+    // =============================================
+
+    private List<byte[]> fonts() {
+        List<byte[]> loaded = fonts;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = fonts;
+                if (loaded == null) {
+                    loaded = loadFonts();
+                    fonts = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static List<byte[]> loadFonts() {
+        List<byte[]> loaded = new ArrayList<>();
+        for (String path : FONT_PATHS) {
             ClassPathResource resource = new ClassPathResource(path);
-            if (resource.exists()) {
-                builder.useFont(() -> {
-                    try {
-                        return resource.getInputStream();
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                }, fontFamily);
+            if (!resource.exists()) {
+                log.warn("⚠️ PDF font {} not found on classpath", path);
+                continue;
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            try (InputStream in = resource.getInputStream()) {
+                loaded.add(in.readAllBytes());
+            } catch (IOException e) {
+                log.warn("⚠️ Cannot read PDF font {}: {}", path, e.getMessage());
+            }
+        }
+        return List.copyOf(loaded);
+    }
+
+    // =============================================
+    // ARTIFACT CACHE
+    // =============================================
+
+    private byte[] readCache(String key) {
+        if (!cacheEnabled) {
+            return null;
+        }
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        try {
+            return bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey)));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.debug("PDF cache read skipped: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCache(String key, byte[] pdf) {
+        if (!cacheEnabled || pdf.length > cacheMaxBytes) {
+            return;
+        }
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                            connection.stringCommands().setEx(rawKey, Duration.ofMinutes(cacheTtlMinutes).toSeconds(), pdf)));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.debug("PDF cache write skipped: {}", e.getMessage());
+        }
+    }
+
+    private static String sha256(String html) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-}
\ No newline at end of file
+}
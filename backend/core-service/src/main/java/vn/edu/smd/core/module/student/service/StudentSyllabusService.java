@@ -6,15 +6,22 @@ import vn.edu.smd.core.module.student.dto.ReportIssueDto; // 👈 Nhớ import D
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface StudentSyllabusService {
     
     // Lấy danh sách tóm tắt
     List<StudentSyllabusSummaryDto> getAll();
 
+    // Như getAll nhưng trả Stream để ghi dần ra response (phải gọi trong transaction)
+    Stream<StudentSyllabusSummaryDto> streamAll();
+
     // Lấy chi tiết
     StudentSyllabusDetailDto getById(UUID id);
 
+    // Chi tiết theo Version ID, không gắn với sinh viên nào (dùng cho export PDF hàng loạt)
+    StudentSyllabusDetailDto getPublishedDetail(UUID versionId);
+
     // Chức năng: Theo dõi / Bỏ theo dõi
     void toggleTrack(UUID id);
 
@@ -3,6 +3,7 @@ package vn.edu.smd.core.module.student.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,11 +11,14 @@ import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.entity.*;
 import vn.edu.smd.core.module.notification.service.NotificationService;
 import vn.edu.smd.core.module.student.dto.ReportIssueDto;
+import vn.edu.smd.core.module.student.event.SyllabusTrackChangedEvent;
 import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
 import vn.edu.smd.core.module.student.dto.StudentSyllabusSummaryDto;
 import vn.edu.smd.core.module.student.service.StudentSyllabusService;
 import vn.edu.smd.core.module.student.repository.StudentSyllabusTrackerRepository;
 import vn.edu.smd.core.repository.*;
+import vn.edu.smd.core.repository.projection.PublishedSyllabusListRow;
+import vn.edu.smd.core.service.SyllabusFollowerService;
 import vn.edu.smd.shared.enums.ErrorReportSection;
 import vn.edu.smd.shared.enums.FeedbackType;
 import vn.edu.smd.shared.enums.SyllabusStatus;
@@ -23,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -39,6 +44,8 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
     private final StudentSyllabusTrackerRepository trackerRepository;
     private final SyllabusErrorReportRepository errorReportRepository;
     private final UserRepository userRepository;
+    private final SyllabusFollowerService syllabusFollowerService;
+    private final ApplicationEventPublisher eventPublisher;
     private final NotificationService notificationService;
     private final ObjectMapper objectMapper;
     private final vn.edu.smd.core.module.studentfeedback.service.StudentFeedbackService studentFeedbackService;
@@ -57,41 +64,24 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
     @Override
     @Transactional(readOnly = true)
     public List<StudentSyllabusSummaryDto> getAll() {
-        User student = getCurrentStudent();
-        
-        // Lấy danh sách ID các bản version đã theo dõi
-        Set<UUID> trackedVersionIds = trackerRepository.findByStudentId(student.getId()).stream()
-                .map(StudentSyllabusTracker::getSyllabusId)
-                .collect(Collectors.toSet());
-
-        // 1. Lấy tất cả các bản ghi Published
-        List<SyllabusVersion> allPublished = versionRepository.findByStatusAndNotDeleted(SyllabusStatus.PUBLISHED);
-
-        // 2. Sắp xếp: Mới nhất lên đầu (để khi lọc trùng sẽ lấy bản mới nhất)
-        allPublished.sort((v1, v2) -> {
-            if (v1.getPublishedAt() == null && v2.getPublishedAt() == null) return 0;
-            if (v1.getPublishedAt() == null) return 1;
-            if (v2.getPublishedAt() == null) return -1;
-            return v2.getPublishedAt().compareTo(v1.getPublishedAt());
-        });
-
-        // 3. Lọc trùng: Chỉ giữ lại 1 Version mới nhất cho mỗi Subject
-        // Map<SubjectId, SyllabusVersion>
-        Map<UUID, SyllabusVersion> uniqueSubjectMap = new LinkedHashMap<>();
-        
-        for (SyllabusVersion v : allPublished) {
-            if (v.getSubject() != null) {
-                // putIfAbsent chỉ thêm vào nếu key chưa tồn tại
-                // Vì danh sách đã sort mới nhất lên đầu, nên bản đầu tiên thêm vào chính là bản mới nhất
-                uniqueSubjectMap.putIfAbsent(v.getSubject().getId(), v);
-            }
+        try (Stream<StudentSyllabusSummaryDto> summaries = streamAll()) {
+            return summaries.collect(Collectors.toList());
         }
+    }
 
-        // 4. Convert sang DTO
-        return uniqueSubjectMap.values().stream()
-                .map(version -> mapToSummaryDto(version, trackedVersionIds))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    @Override
+    public Stream<StudentSyllabusSummaryDto> streamAll() {
+        User student = getCurrentStudent();
+        
+        // Lấy danh sách ID các bản version đã theo dõi (từ follower index, không query bảng tracker)
+        Set<UUID> trackedVersionIds = syllabusFollowerService.syllabiFollowedBy(student.getId());
+
+        // Các bản Published, mới nhất lên đầu → bản đầu tiên gặp của mỗi Subject chính là bản mới nhất;
+        // chỉ cần nhớ tập Subject ID đã gặp thay vì giữ cả danh sách version
+        Set<UUID> seenSubjectIds = new HashSet<>();
+        return versionRepository.streamListRowsByStatusNewestFirst(SyllabusStatus.PUBLISHED)
+                .filter(row -> seenSubjectIds.add(row.subjectId()))
+                .map(row -> mapToSummaryDto(row, trackedVersionIds));
     }
 
     @Override
@@ -121,6 +111,17 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
         return mapToDetailDto(version, subject, student.getId());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public StudentSyllabusDetailDto getPublishedDetail(UUID versionId) {
+        SyllabusVersion version = versionRepository.findByIdAndNotDeleted(versionId)
+                .orElseThrow(() -> new BadRequestException("Đề cương không tồn tại!"));
+        if (version.getStatus() != SyllabusStatus.PUBLISHED) {
+            throw new BadRequestException("Đề cương chưa được xuất bản!");
+        }
+        return mapToDetailDto(version, version.getSubject(), null);
+    }
+
     @Override
     @Transactional
     public void toggleTrack(UUID syllabusId) {
@@ -143,6 +144,7 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
             
             if (existing.isPresent()) {
                 trackerRepository.delete(existing.get());
+                eventPublisher.publishEvent(new SyllabusTrackChangedEvent(student.getId(), syllabusId, false));
                 log.info("🗑️ [ToggleTrack] Đã bỏ theo dõi: {}", syllabusId);
             } else {
                 StudentSyllabusTracker tracker = new StudentSyllabusTracker();
@@ -150,6 +152,7 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
                 tracker.setSyllabusId(syllabusId);
                 tracker.setCreatedAt(LocalDateTime.now());
                 trackerRepository.save(tracker);
+                eventPublisher.publishEvent(new SyllabusTrackChangedEvent(student.getId(), syllabusId, true));
                 log.info("⭐ [ToggleTrack] Đã theo dõi: {}", syllabusId);
             }
         } catch (Exception e) {
@@ -207,36 +210,34 @@ public class StudentSyllabusServiceImpl implements StudentSyllabusService {
     // CÁC HÀM HELPER
     // =================================================================
 
-    private StudentSyllabusSummaryDto mapToSummaryDto(SyllabusVersion version, Set<UUID> trackedIds) {
-        Subject s = version.getSubject();
-        if (s == null) return null;
-
-        String deptName = (s.getDepartment() != null) ? s.getDepartment().getName() : "Chưa phân bộ môn";
-        String facultyName = (s.getDepartment() != null && s.getDepartment().getFaculty() != null)
-                ? s.getDepartment().getFaculty().getName() : "Chưa phân khoa";
-        String programName = (s.getCurriculum() != null) ? s.getCurriculum().getName() : "Chương trình chuẩn";
-        String termName = (version.getAcademicTerm() != null) ? version.getAcademicTerm().getName() : "HK1 2024-2025";
-        String publishedAtStr = (version.getPublishedAt() != null) ? version.getPublishedAt().toLocalDate().toString() : null;
+    private StudentSyllabusSummaryDto mapToSummaryDto(PublishedSyllabusListRow row, Set<UUID> trackedIds) {
+        String deptName = (row.departmentName() != null) ? row.departmentName() : "Chưa phân bộ môn";
+        String facultyName = (row.facultyName() != null) ? row.facultyName() : "Chưa phân khoa";
+        String programName = (row.curriculumName() != null) ? row.curriculumName() : "Chương trình chuẩn";
+        String termName = (row.termName() != null) ? row.termName() : "HK1 2024-2025";
+        String publishedAtStr = (row.publishedAt() != null) ? row.publishedAt().toLocalDate().toString() : null;
 
         return StudentSyllabusSummaryDto.builder()
-                .id(version.getId()) // Trả về VersionID để frontend gọi getDetail/PDF đúng đích danh
-                .code(s.getCode())
-                .nameVi(s.getCurrentNameVi())
+                .id(row.syllabusId()) // Trả về VersionID để frontend gọi getDetail/PDF đúng đích danh
+                .code(row.subjectCode())
+                .nameVi(row.subjectNameVi())
                 .term(termName)
-                .credits(s.getDefaultCredits())
+                .credits(row.credits())
                 .faculty(facultyName)
                 .program(programName)
                 .lecturerName("Bộ môn " + deptName)
-                .majorShort(s.getCode().length() >= 2 ? s.getCode().substring(0, 2) : "GEN")
+                .majorShort(row.subjectCode().length() >= 2 ? row.subjectCode().substring(0, 2) : "GEN")
                 .progress(100)
-                .tracked(trackedIds.contains(version.getId()))
+                .tracked(trackedIds.contains(row.syllabusId()))
                 .status("PUBLISHED")
                 .publishedAt(publishedAtStr)
+                .cloCount(row.cloCount())
+                .assessmentCount(row.assessmentCount())
                 .build();
     }
 
     private StudentSyllabusDetailDto mapToDetailDto(SyllabusVersion version, Subject subject, UUID studentId) {
-        boolean isTracked = trackerRepository.findByStudentIdAndSyllabusId(studentId, version.getId()).isPresent();
+        boolean isTracked = syllabusFollowerService.isFollowing(studentId, version.getId());
         
         List<StudentSyllabusDetailDto.CloDto> cloDtos = new ArrayList<>();
         List<StudentSyllabusDetailDto.AssessmentDto> assessmentDtos = new ArrayList<>();
@@ -6,10 +6,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vn.edu.smd.core.common.dto.ApiResponse;
 import vn.edu.smd.core.common.dto.PageResponse;
+import vn.edu.smd.core.common.web.NdjsonExporter;
 import vn.edu.smd.core.module.subject.dto.SubjectRequest;
 import vn.edu.smd.core.module.subject.dto.SubjectResponse;
 import vn.edu.smd.core.module.subject.service.SubjectService;
@@ -24,6 +27,7 @@ import java.util.UUID;
 public class SubjectController {
 
     private final SubjectService subjectService;
+    private final NdjsonExporter ndjsonExporter;
 
     @Operation(summary = "Get all subjects with pagination", description = "Get list of subjects with pagination")
     @GetMapping
@@ -39,6 +43,14 @@ public class SubjectController {
         return ResponseEntity.ok(ApiResponse.success(subjects));
     }
 
+    @Operation(summary = "Stream all subjects",
+            description = "Stream every subject as a JSON array, or as NDJSON when Accept is application/x-ndjson")
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllSubjects(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ndjsonExporter.stream("subjects", accept, subjectService::streamAllSubjects);
+    }
+
     @Operation(summary = "Get subject by ID", description = "Get subject details by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SubjectResponse>> getSubjectById(@PathVariable UUID id) {
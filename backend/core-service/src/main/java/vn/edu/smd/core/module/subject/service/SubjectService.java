@@ -45,6 +45,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -103,6 +104,18 @@ public class SubjectService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Như getAllSubjects() nhưng ghi dần ra response: môn học đọc theo Stream (fetch size 500),
+     * chỉ giữ sẵn bảng mã tiên quyết (projection) trong bộ nhớ. Gọi bên trong transaction của NdjsonExporter
+     */
+    public Stream<SubjectResponse> streamAllSubjects() {
+        Map<UUID, String> prerequisitesMap = new HashMap<>();
+        relationshipRepository.findCodeRowsByType(SubjectRelationType.PREREQUISITE)
+                .forEach(row -> prerequisitesMap.merge(row.subjectId(), row.relatedCode(), (a, b) -> a + ", " + b));
+        return subjectRepository.streamAllWithDepartmentAndFaculty()
+                .map(subject -> mapToResponse(subject, prerequisitesMap.get(subject.getId())));
+    }
+
     @Transactional(readOnly = true)
     public SubjectResponse getSubjectById(UUID id) {
         Subject subject = subjectRepository.findById(id)
@@ -6,7 +6,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.module.subjectcomponent.dto.SubjectComponentRequest;
 import vn.edu.smd.core.module.subjectcomponent.dto.SubjectComponentResponse;
 import vn.edu.smd.core.module.subjectcomponent.service.SubjectComponentService;
@@ -24,9 +27,8 @@ public class SubjectComponentController {
 
     @Operation(summary = "Get all subject components", description = "Get list of all subject components")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<SubjectComponentResponse>>> getAllComponents() {
-        List<SubjectComponentResponse> components = subjectComponentService.getAllComponents();
-        return ResponseEntity.ok(ApiResponse.success(components));
+    public ResponseEntity<ApiResponse<List<SubjectComponentResponse>>> getAllComponents(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, subjectComponentService.getSubjectComponentSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get component by ID", description = "Get subject component details by ID")
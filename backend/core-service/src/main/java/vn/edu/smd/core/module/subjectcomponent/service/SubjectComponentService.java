@@ -1,9 +1,13 @@
 package vn.edu.smd.core.module.subjectcomponent.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.SubjectComponent;
 import vn.edu.smd.core.entity.SyllabusVersion;
 import vn.edu.smd.core.module.subjectcomponent.dto.SubjectComponentRequest;
@@ -12,6 +16,7 @@ import vn.edu.smd.core.repository.SubjectComponentRepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,17 +26,29 @@ public class SubjectComponentService {
 
     private final SubjectComponentRepository subjectComponentRepository;
     private final SyllabusVersionRepository syllabusVersionRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<SubjectComponentResponse> subjectComponents;
+
+    @PostConstruct
+    void registerReferenceData() {
+        subjectComponents = referenceDataRegistry.register(ReferenceDataRegistry.SUBJECT_COMPONENTS,
+                Set.of(ReferenceDataRegistry.SUBJECT_COMPONENTS),
+                () -> subjectComponentRepository.findAll().stream().map(this::mapToResponse).toList(),
+                SubjectComponentResponse::getId);
+    }
+
+    public ReferenceSnapshot<SubjectComponentResponse> getSubjectComponentSnapshot() {
+        return subjectComponents.snapshot();
+    }
 
     public List<SubjectComponentResponse> getAllComponents() {
-        return subjectComponentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return subjectComponents.snapshot().getItems();
     }
 
     public SubjectComponentResponse getComponentById(UUID id) {
-        SubjectComponent component = subjectComponentRepository.findById(id)
+        return subjectComponents.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SubjectComponent", "id", id));
-        return mapToResponse(component);
     }
 
     @Transactional
@@ -48,6 +65,7 @@ public class SubjectComponentService {
                 .build();
 
         SubjectComponent saved = subjectComponentRepository.save(component);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SUBJECT_COMPONENTS);
         return mapToResponse(saved);
     }
 
@@ -66,6 +84,7 @@ public class SubjectComponentService {
         component.setDisplayOrder(request.getDisplayOrder());
 
         SubjectComponent updated = subjectComponentRepository.save(component);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SUBJECT_COMPONENTS);
         return mapToResponse(updated);
     }
 
@@ -74,6 +93,7 @@ public class SubjectComponentService {
         SubjectComponent component = subjectComponentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("SubjectComponent", "id", id));
         subjectComponentRepository.delete(component);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.SUBJECT_COMPONENTS);
     }
 
     public List<SubjectComponentResponse> getComponentsBySyllabusId(UUID syllabusId) {
@@ -1,16 +1,20 @@
 package vn.edu.smd.core.module.syllabus.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import vn.edu.smd.core.common.dto.ApiResponse;
 import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.module.syllabus.dto.*;
+import vn.edu.smd.core.module.syllabus.service.SyllabusBulkDecisionService;
+import vn.edu.smd.core.module.syllabus.service.SyllabusContentPatchService;
 import vn.edu.smd.core.module.syllabus.service.SyllabusService;
 
 import java.util.List;
@@ -24,6 +28,8 @@ import java.util.UUID;
 public class SyllabusController {
 
     private final SyllabusService syllabusService;
+    private final SyllabusBulkDecisionService syllabusBulkDecisionService;
+    private final SyllabusContentPatchService syllabusContentPatchService;
 
     @Operation(summary = "Get all syllabi", description = "Get list of syllabi with pagination and filtering")
     @GetMapping
@@ -50,7 +56,9 @@ public class SyllabusController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SyllabusResponse>> getSyllabusById(@PathVariable UUID id) {
         SyllabusResponse syllabus = syllabusService.getSyllabusById(id);
-        return ResponseEntity.ok(ApiResponse.success(syllabus));
+        return ResponseEntity.ok()
+                .eTag(SyllabusContentPatchService.etagOf(syllabus.getContentRevision()))
+                .body(ApiResponse.success(syllabus));
     }
 
     @Operation(summary = "Create syllabus", description = "Create new syllabus")
@@ -73,7 +81,31 @@ public class SyllabusController {
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<SyllabusResponse>> updateSyllabus(@PathVariable UUID id, @Valid @RequestBody SyllabusRequest request) {
         SyllabusResponse syllabus = syllabusService.updateSyllabus(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Syllabus updated successfully", syllabus));
+        return ResponseEntity.ok()
+                .eTag(SyllabusContentPatchService.etagOf(syllabus.getContentRevision()))
+                .body(ApiResponse.success("Syllabus updated successfully", syllabus));
+    }
+
+    @Operation(summary = "Autosave syllabus content (JSON Patch)",
+               description = "Apply an RFC 6902 JSON Patch to the content document; requires If-Match with the content ETag, returns the new ETag")
+    @PatchMapping(value = "/{id}/content", consumes = SyllabusContentPatchService.JSON_PATCH)
+    public ResponseEntity<ApiResponse<SyllabusContentPatchResponse>> patchContent(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        SyllabusContentPatchResponse result = syllabusContentPatchService.patchContent(id, ifMatch, patch, false);
+        return ResponseEntity.ok().eTag(result.getEtag()).body(ApiResponse.success(result));
+    }
+
+    @Operation(summary = "Autosave syllabus content (JSON Merge Patch)",
+               description = "Apply an RFC 7396 JSON Merge Patch to the content document; requires If-Match with the content ETag, returns the new ETag")
+    @PatchMapping(value = "/{id}/content", consumes = SyllabusContentPatchService.MERGE_PATCH)
+    public ResponseEntity<ApiResponse<SyllabusContentPatchResponse>> mergePatchContent(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        SyllabusContentPatchResponse result = syllabusContentPatchService.patchContent(id, ifMatch, patch, true);
+        return ResponseEntity.ok().eTag(result.getEtag()).body(ApiResponse.success(result));
     }
 
     @Operation(summary = "Delete syllabus", description = "Delete syllabus (only DRAFT status)")
@@ -115,6 +147,26 @@ public class SyllabusController {
         return ResponseEntity.ok(ApiResponse.success("Syllabus rejected", syllabus));
     }
 
+    @Operation(summary = "Bulk approve syllabi",
+               description = "Approve many syllabi in one transaction; each moves to its next approval stage, invalid ones are reported per item")
+    @PatchMapping("/bulk/approve")
+    public ResponseEntity<ApiResponse<BulkSyllabusDecisionResponse>> bulkApproveSyllabi(
+            @Valid @RequestBody BulkSyllabusDecisionRequest request) {
+        BulkSyllabusDecisionResponse result = syllabusBulkDecisionService.approve(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Approved %d/%d syllabi", result.getSucceeded(), result.getRequested()), result));
+    }
+
+    @Operation(summary = "Bulk reject syllabi",
+               description = "Reject many syllabi with one reason in one transaction, invalid ones are reported per item")
+    @PatchMapping("/bulk/reject")
+    public ResponseEntity<ApiResponse<BulkSyllabusDecisionResponse>> bulkRejectSyllabi(
+            @Valid @RequestBody BulkSyllabusDecisionRequest request) {
+        BulkSyllabusDecisionResponse result = syllabusBulkDecisionService.reject(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("Rejected %d/%d syllabi", result.getSucceeded(), result.getRequested()), result));
+    }
+
     @Operation(summary = "Clone syllabus", description = "Create new version by cloning existing syllabus")
     @PostMapping("/{id}/clone")
     public ResponseEntity<ApiResponse<SyllabusResponse>> cloneSyllabus(@PathVariable UUID id) {
@@ -0,0 +1,74 @@
+package vn.edu.smd.core.module.syllabus.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusExportJobResponse;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusExportRequest;
+import vn.edu.smd.core.module.syllabus.service.SyllabusPdfExportService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Tag(name = "Syllabus Export", description = "Bulk PDF export of published syllabi")
+@RestController
+@RequestMapping("/api/syllabus-exports")
+@RequiredArgsConstructor
+public class SyllabusExportController {
+
+    private static final String JOB_ID_HEADER = "X-Export-Job-Id";
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final SyllabusPdfExportService exportService;
+
+    @Operation(summary = "Start bulk PDF export",
+            description = "Render every published syllabus of a curriculum or faculty into a ZIP in the background")
+    @PostMapping
+    public ResponseEntity<ApiResponse<SyllabusExportJobResponse>> startExport(@RequestBody SyllabusExportRequest request) {
+        SyllabusExportJobResponse job = exportService.startExport(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Export job started", job));
+    }
+
+    @Operation(summary = "Get bulk PDF export progress", description = "Poll progress of an export job")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<SyllabusExportJobResponse>> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success(exportService.getJob(jobId)));
+    }
+
+    @Operation(summary = "Download bulk PDF export", description = "Download the ZIP of a completed export job")
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable UUID jobId) {
+        return zipResponse(exportService.openDownload(jobId));
+    }
+
+    @Operation(summary = "Stream bulk PDF export",
+            description = "Render and stream the ZIP directly; progress is available under the X-Export-Job-Id header")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(required = false) UUID curriculumId,
+                                                        @RequestParam(required = false) UUID facultyId) {
+        SyllabusExportRequest request = new SyllabusExportRequest();
+        request.setCurriculumId(curriculumId);
+        request.setFacultyId(facultyId);
+        return zipResponse(exportService.streamExport(request));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> zipResponse(SyllabusPdfExportService.ExportDownload download) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_ZIP);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(download.filename(), StandardCharsets.UTF_8).build());
+        headers.set(JOB_ID_HEADER, download.jobId().toString());
+        if (download.sizeBytes() != null) {
+            headers.setContentLength(download.sizeBytes());
+        }
+        return new ResponseEntity<>(download.body(), headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,16 @@
+package vn.edu.smd.core.module.syllabus.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkSyllabusDecisionRequest {
+
+    @NotEmpty(message = "Syllabus ids are required")
+    private List<UUID> syllabusIds;
+
+    private String comment; // Góp ý khi duyệt / lý do khi từ chối (bắt buộc), dùng chung cho cả lô
+}
@@ -0,0 +1,29 @@
+package vn.edu.smd.core.module.syllabus.dto;
+
+import lombok.Data;
+import vn.edu.smd.shared.enums.DecisionType;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkSyllabusDecisionResponse {
+    private UUID batchId; // approval_history.batch_id của các bản ghi trong lô
+    private DecisionType action;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> items = new ArrayList<>();
+
+    @Data
+    public static class ItemResult {
+        private UUID syllabusId;
+        private String subjectCode;
+        private SyllabusStatus fromStatus;
+        private SyllabusStatus toStatus;
+        private boolean success;
+        private String error;
+    }
+}
@@ -0,0 +1,15 @@
+package vn.edu.smd.core.module.syllabus.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class SyllabusContentPatchResponse {
+    private UUID id;
+    private String etag;
+    private Long contentRevision;
+    private boolean changed;     // false = patch không làm đổi nội dung, không ghi DB
+    private LocalDateTime savedAt;
+}
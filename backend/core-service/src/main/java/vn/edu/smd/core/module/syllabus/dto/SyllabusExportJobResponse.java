@@ -0,0 +1,24 @@
+package vn.edu.smd.core.module.syllabus.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SyllabusExportJobResponse {
+    private UUID jobId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private String scope;  // CURRICULUM / FACULTY + code
+    private Integer total;
+    private Integer completed;
+    private Integer failed;
+    private Integer progressPercent;
+    private Long sizeBytes;
+    private String downloadUrl;
+    private String error;
+    private List<String> failedSubjects;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,11 @@
+package vn.edu.smd.core.module.syllabus.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class SyllabusExportRequest {
+    private UUID curriculumId; // Xuất mọi đề cương PUBLISHED của chương trình
+    private UUID facultyId;    // hoặc của khoa (chọn một trong hai)
+}
@@ -30,6 +30,7 @@ public class SyllabusResponse {
     
     private String[] keywords;
     private Map<String, Object> content;
+    private Long contentRevision; // ETag của nội dung cho autosave (PATCH /content)
     
     // Subject type and component
     private String courseType;        // REQUIRED, ELECTIVE
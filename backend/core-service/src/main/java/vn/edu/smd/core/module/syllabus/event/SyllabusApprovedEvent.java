@@ -0,0 +1,19 @@
+package vn.edu.smd.core.module.syllabus.event;
+
+import vn.edu.smd.core.common.outbox.DomainEvent;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.UUID;
+
+/**
+ * Đề cương được duyệt qua một cấp (fromStatus → toStatus) - phát qua outbox, thông báo cho cấp kế tiếp
+ * và sinh viên theo dõi sau commit
+ */
+public record SyllabusApprovedEvent(UUID syllabusVersionId, UUID actorId,
+                                    SyllabusStatus fromStatus, SyllabusStatus toStatus) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return syllabusVersionId;
+    }
+}
@@ -0,0 +1,10 @@
+package vn.edu.smd.core.module.syllabus.event;
+
+import java.util.UUID;
+
+/**
+ * Phát ra khi đề cương được xuất bản / xuất bản lại / gỡ bỏ - dùng để làm mới các dữ liệu
+ * dựng từ đề cương PUBLISHED (vd ma trận độ phủ PLO của curriculum)
+ */
+public record SyllabusPublicationChangedEvent(UUID syllabusVersionId, UUID subjectId) {
+}
@@ -0,0 +1,18 @@
+package vn.edu.smd.core.module.syllabus.event;
+
+import vn.edu.smd.core.common.outbox.DomainEvent;
+
+import java.util.UUID;
+
+/**
+ * Admin xuất hành đề cương đã phê duyệt (APPROVED → PUBLISHED) - phát qua outbox, báo sinh viên theo dõi sau commit
+ *
+ * Khác SyllabusPublicationChangedEvent (làm mới cache trong bộ nhớ, không lưu outbox).
+ */
+public record SyllabusPublishedEvent(UUID syllabusVersionId, UUID actorId) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return syllabusVersionId;
+    }
+}
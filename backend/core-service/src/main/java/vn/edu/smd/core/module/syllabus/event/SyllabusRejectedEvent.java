@@ -0,0 +1,18 @@
+package vn.edu.smd.core.module.syllabus.event;
+
+import vn.edu.smd.core.common.outbox.DomainEvent;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.UUID;
+
+/**
+ * Đề cương bị từ chối ở cấp fromStatus - phát qua outbox, báo giảng viên (và HOD / AA tuỳ cấp) sau commit
+ */
+public record SyllabusRejectedEvent(UUID syllabusVersionId, UUID actorId,
+                                    SyllabusStatus fromStatus, String reason) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return syllabusVersionId;
+    }
+}
@@ -0,0 +1,17 @@
+package vn.edu.smd.core.module.syllabus.event;
+
+import vn.edu.smd.core.common.outbox.DomainEvent;
+
+import java.util.UUID;
+
+/**
+ * Giảng viên gửi đề cương đi phê duyệt (→ PENDING_HOD) - phát qua outbox, xử lý sau commit:
+ * cập nhật phân công, báo HOD, gửi yêu cầu AI kiểm tra CLO-PLO
+ */
+public record SyllabusSubmittedEvent(UUID syllabusVersionId, UUID actorId) implements DomainEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return syllabusVersionId;
+    }
+}
@@ -0,0 +1,599 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.exception.UnauthorizedException;
+import vn.edu.smd.core.entity.ApprovalHistory;
+import vn.edu.smd.core.entity.Notification;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.entity.TeachingAssignment;
+import vn.edu.smd.core.entity.User;
+import vn.edu.smd.core.module.syllabus.dto.BulkSyllabusDecisionRequest;
+import vn.edu.smd.core.module.syllabus.dto.BulkSyllabusDecisionResponse;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
+import vn.edu.smd.core.repository.ApprovalHistoryRepository;
+import vn.edu.smd.core.repository.NotificationRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.TeachingAssignmentRepository;
+import vn.edu.smd.core.repository.UserRepository;
+import vn.edu.smd.core.security.UserPrincipal;
+import vn.edu.smd.core.service.FCMService;
+import vn.edu.smd.core.service.SyllabusFollowerService;
+import vn.edu.smd.shared.enums.AssignmentStatus;
+import vn.edu.smd.shared.enums.DecisionType;
+import vn.edu.smd.shared.enums.NotificationType;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Duyệt / từ chối hàng loạt đề cương trong một transaction
+ *
+ * - Một query nạp cả lô (kèm môn học, học kỳ, giảng viên), mỗi đề cương được kiểm tra riêng:
+ *   đề cương không hợp lệ chỉ bị bỏ qua và báo lỗi trong kết quả, các đề cương còn lại vẫn được chuyển
+ * - approval_history (cùng batch_id) và trạng thái teaching assignment được ghi theo JDBC batch
+ *   (hibernate.jdbc.batch_size) thay vì từng câu lệnh
+ * - Thông báo gộp: mỗi người nhận (AA / Hiệu trưởng / Admin / giảng viên / Trưởng bộ môn / sinh viên theo dõi)
+ *   nhận một thông báo liệt kê mọi đề cương liên quan, người nhận theo vai trò được tra một lần cho cả lô
+ * - Chuyển trạng thái giống approveSyllabus / rejectSyllabus của SyllabusService
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyllabusBulkDecisionService {
+
+    private static final Set<SyllabusStatus> REJECTABLE_STATUSES = EnumSet.of(
+            SyllabusStatus.PENDING_HOD, SyllabusStatus.PENDING_HOD_REVISION,
+            SyllabusStatus.PENDING_AA, SyllabusStatus.PENDING_PRINCIPAL);
+
+    private static final String BULK_NOTIFICATION_TYPE = "SYLLABUS_BULK_DECISION";
+
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final TeachingAssignmentRepository teachingAssignmentRepository;
+    private final ApprovalHistoryRepository approvalHistoryRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final SyllabusFollowerService syllabusFollowerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FCMService fcmService;
+
+    @Value("${app.bulk-decision.max-items:200}")
+    private int maxItems = 200;
+
+    // Số đề cương tối đa liệt kê trong nội dung một thông báo gộp
+    @Value("${app.bulk-decision.max-listed-per-notification:30}")
+    private int maxListedPerNotification = 30;
+
+    /**
+     * Loại thông báo gửi cho cán bộ, cùng type / đường dẫn với thông báo khi duyệt từng đề cương
+     */
+    enum Notice {
+        AA_REVIEW("SYLLABUS_AA_REVIEW", "[Chờ duyệt] %d đề cương đã được Bộ môn thông qua",
+                "Đã được Trưởng bộ môn phê duyệt, chờ Phòng Đào tạo rà soát",
+                "/admin/aa-syllabus-review", "/admin/aa-syllabus-review", "Kiểm duyệt ngay"),
+        PRINCIPAL_REVIEW("SYLLABUS_PRINCIPAL_REVIEW", "[Chờ duyệt] %d đề cương đã được Phòng Đào tạo thông qua",
+                "Đã được Phòng Đào tạo thông qua, chờ Hiệu trưởng phê duyệt",
+                "/principal/syllabi/%s", "/principal/syllabi", "Xem và duyệt"),
+        ADMIN_PUBLISH("SYLLABUS_ADMIN_PUBLISH", "[Chờ xuất bản] %d đề cương đã được Hiệu trưởng phê duyệt",
+                "Đã được Hiệu trưởng phê duyệt, chờ xuất bản",
+                "/admin/syllabi/%s", "/admin/syllabi", "Xuất bản"),
+        ADMIN_REPUBLISH(NotificationType.PUBLICATION.name(), "[Đã duyệt] %d đề cương chỉnh sửa chờ xuất bản lại",
+                "Trưởng bộ môn đã phê duyệt phiên bản chỉnh sửa, chờ xuất bản lại",
+                "/admin/syllabi/%s/republish", "/admin/syllabi", "Xuất bản lại"),
+        REJECTED_LECTURER("SYLLABUS_REJECTED", "[Yêu cầu chỉnh sửa] %d đề cương bị từ chối phê duyệt",
+                "Bị từ chối, vui lòng chỉnh sửa theo yêu cầu và gửi lại để phê duyệt",
+                "/lecturer/syllabi/edit/%s", "/lecturer/syllabi", "Chỉnh sửa ngay"),
+        REJECTED_HOD("SYLLABUS_REJECTED_NOTIFICATION", "[Thông báo] %d đề cương của Bộ môn bị từ chối",
+                "Bị từ chối và trả về cho giảng viên chỉnh sửa",
+                "/hod/syllabi/%s", "/hod/syllabi", "Xem chi tiết"),
+        REJECTED_AA("SYLLABUS_REJECTED_NOTIFICATION", "[Thông báo] %d đề cương bị Hiệu trưởng từ chối",
+                "Bị Hiệu trưởng từ chối và trả về cho giảng viên chỉnh sửa",
+                "/aa/syllabi/%s", "/aa/syllabi", "Xem chi tiết");
+
+        final String type;
+        final String title;
+        final String heading;
+        final String itemUrl;
+        final String listUrl;
+        final String actionLabel;
+
+        Notice(String type, String title, String heading, String itemUrl, String listUrl, String actionLabel) {
+            this.type = type;
+            this.title = title;
+            this.heading = heading;
+            this.itemUrl = itemUrl;
+            this.listUrl = listUrl;
+            this.actionLabel = actionLabel;
+        }
+    }
+
+    record Transition(SyllabusVersion syllabus, SyllabusStatus from, SyllabusStatus to) {
+    }
+
+    private record AssignmentKey(UUID subjectId, UUID academicTermId) {
+    }
+
+    // ==========================================
+    // APPROVE / REJECT
+    // ==========================================
+
+    @Transactional
+    public BulkSyllabusDecisionResponse approve(BulkSyllabusDecisionRequest request) {
+        List<UUID> ids = validateIds(request);
+        User actor = getCurrentUser();
+        String comment = request.getComment();
+
+        UUID batchId = UUID.randomUUID();
+        BulkSyllabusDecisionResponse response = newResponse(batchId, DecisionType.APPROVED, ids.size());
+        Map<UUID, SyllabusVersion> syllabi = loadSyllabi(ids);
+        List<Transition> transitions = new ArrayList<>();
+        List<ApprovalHistory> histories = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (UUID id : ids) {
+            SyllabusVersion syllabus = syllabi.get(id);
+            String error = validateLoaded(syllabus);
+            SyllabusStatus from = syllabus != null ? syllabus.getStatus() : null;
+            SyllabusStatus to = from != null ? SyllabusService.nextApprovalStatus(from) : null;
+            if (error == null && to == null) {
+                error = "Cannot approve in current status: " + from;
+            }
+            if (error != null) {
+                response.getItems().add(failure(id, syllabus, error));
+                continue;
+            }
+
+            syllabus.setStatus(to);
+            syllabus.setUpdatedBy(actor);
+            if (to == SyllabusStatus.PUBLISHED) {
+                syllabus.setPublishedAt(now);
+            }
+            histories.add(history(batchId, syllabus, actor, DecisionType.APPROVED, comment, from));
+            transitions.add(new Transition(syllabus, from, to));
+            response.getItems().add(success(syllabus, from, to));
+        }
+
+        approvalHistoryRepository.saveAll(histories);
+
+        // HOD duyệt (PENDING_HOD -> PENDING_AA): phân công giảng dạy chuyển COMPLETED
+        List<Transition> hodApproved = transitions.stream()
+                .filter(t -> t.from() == SyllabusStatus.PENDING_HOD && t.to() == SyllabusStatus.PENDING_AA)
+                .toList();
+        Map<AssignmentKey, TeachingAssignment> assignments = loadAssignments(hodApproved);
+        int completedAssignments = 0;
+        for (Transition transition : hodApproved) {
+            TeachingAssignment assignment = assignments.get(assignmentKey(transition.syllabus()));
+            if (assignment != null) {
+                assignment.setStatus(AssignmentStatus.COMPLETED);
+                completedAssignments++;
+            }
+        }
+        if (completedAssignments > 0) {
+            log.info("Bulk approval: {} teaching assignments set to COMPLETED", completedAssignments);
+        }
+
+        Map<UUID, Digest> digests = new LinkedHashMap<>();
+        Map<String, List<User>> usersByRole = new HashMap<>();
+        for (Transition transition : transitions) {
+            Notice notice = approvalNotice(transition);
+            if (notice == null) {
+                continue;
+            }
+            String roleCode = notice == Notice.AA_REVIEW ? "AA"
+                    : notice == Notice.PRINCIPAL_REVIEW ? "PRINCIPAL" : "ADMIN";
+            for (User recipient : usersByRole.computeIfAbsent(roleCode, userRepository::findByRoleName)) {
+                digest(digests, recipient).add(notice, transition.syllabus());
+            }
+        }
+
+        for (Transition transition : transitions) {
+            if (transition.to() == SyllabusStatus.PUBLISHED) {
+                eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(
+                        transition.syllabus().getId(), transition.syllabus().getSubject().getId()));
+            }
+        }
+
+        sendNotifications(batchId, actor, DecisionType.APPROVED, null, digests, transitions);
+        return finish(response);
+    }
+
+    @Transactional
+    public BulkSyllabusDecisionResponse reject(BulkSyllabusDecisionRequest request) {
+        List<UUID> ids = validateIds(request);
+        String reason = request.getComment();
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new BadRequestException("Lý do từ chối không được để trống");
+        }
+        User actor = getCurrentUser();
+
+        UUID batchId = UUID.randomUUID();
+        BulkSyllabusDecisionResponse response = newResponse(batchId, DecisionType.REJECTED, ids.size());
+        Map<UUID, SyllabusVersion> syllabi = loadSyllabi(ids);
+        List<Transition> transitions = new ArrayList<>();
+        List<ApprovalHistory> histories = new ArrayList<>();
+
+        for (UUID id : ids) {
+            SyllabusVersion syllabus = syllabi.get(id);
+            String error = validateLoaded(syllabus);
+            SyllabusStatus from = syllabus != null ? syllabus.getStatus() : null;
+            if (error == null && !REJECTABLE_STATUSES.contains(from)) {
+                error = "Cannot reject in current status: " + from;
+            }
+            if (error != null) {
+                response.getItems().add(failure(id, syllabus, error));
+                continue;
+            }
+
+            syllabus.setStatus(SyllabusStatus.REJECTED);
+            syllabus.setUnpublishReason(reason);
+            syllabus.setUpdatedBy(actor);
+            histories.add(history(batchId, syllabus, actor, DecisionType.REJECTED, reason, from));
+            transitions.add(new Transition(syllabus, from, SyllabusStatus.REJECTED));
+            response.getItems().add(success(syllabus, from, SyllabusStatus.REJECTED));
+        }
+
+        approvalHistoryRepository.saveAll(histories);
+
+        // Giảng viên biên soạn luôn được báo; AA / Hiệu trưởng từ chối thì báo thêm Trưởng bộ môn (người phân công),
+        // Hiệu trưởng từ chối thì báo thêm Phòng Đào tạo
+        List<Transition> needHod = transitions.stream()
+                .filter(t -> t.from() == SyllabusStatus.PENDING_AA || t.from() == SyllabusStatus.PENDING_PRINCIPAL)
+                .toList();
+        Map<AssignmentKey, TeachingAssignment> assignments = loadAssignments(needHod);
+        Map<UUID, Digest> digests = new LinkedHashMap<>();
+        List<User> aaUsers = null;
+        for (Transition transition : transitions) {
+            SyllabusVersion syllabus = transition.syllabus();
+            if (syllabus.getCreatedBy() != null) {
+                digest(digests, syllabus.getCreatedBy()).add(Notice.REJECTED_LECTURER, syllabus);
+            }
+            if (transition.from() == SyllabusStatus.PENDING_AA || transition.from() == SyllabusStatus.PENDING_PRINCIPAL) {
+                TeachingAssignment assignment = assignments.get(assignmentKey(syllabus));
+                if (assignment != null && assignment.getAssignedBy() != null) {
+                    digest(digests, assignment.getAssignedBy()).add(Notice.REJECTED_HOD, syllabus);
+                }
+            }
+            if (transition.from() == SyllabusStatus.PENDING_PRINCIPAL) {
+                if (aaUsers == null) {
+                    aaUsers = userRepository.findByRoleName("AA");
+                }
+                for (User aaUser : aaUsers) {
+                    digest(digests, aaUser).add(Notice.REJECTED_AA, syllabus);
+                }
+            }
+        }
+
+        sendNotifications(batchId, actor, DecisionType.REJECTED, reason, digests, List.of());
+        return finish(response);
+    }
+
+    // ==========================================
+    // LOAD & VALIDATE
+    // ==========================================
+
+    private List<UUID> validateIds(BulkSyllabusDecisionRequest request) {
+        if (request == null || request.getSyllabusIds() == null || request.getSyllabusIds().isEmpty()) {
+            throw new BadRequestException("Danh sách đề cương không được để trống");
+        }
+        List<UUID> ids = request.getSyllabusIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            throw new BadRequestException("Danh sách đề cương không được để trống");
+        }
+        if (ids.size() > maxItems) {
+            throw new BadRequestException("Mỗi lần chỉ xử lý tối đa " + maxItems + " đề cương (nhận " + ids.size() + ")");
+        }
+        return ids;
+    }
+
+    private Map<UUID, SyllabusVersion> loadSyllabi(List<UUID> ids) {
+        return syllabusVersionRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(SyllabusVersion::getId, Function.identity()));
+    }
+
+    private static String validateLoaded(SyllabusVersion syllabus) {
+        if (syllabus == null) {
+            return "Syllabus not found";
+        }
+        if (Boolean.TRUE.equals(syllabus.getIsDeleted())) {
+            return "Syllabus has been deleted";
+        }
+        return null;
+    }
+
+    private Map<AssignmentKey, TeachingAssignment> loadAssignments(List<Transition> transitions) {
+        Set<UUID> subjectIds = transitions.stream()
+                .filter(t -> t.syllabus().getAcademicTerm() != null)
+                .map(t -> t.syllabus().getSubject().getId())
+                .collect(Collectors.toSet());
+        if (subjectIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<AssignmentKey, TeachingAssignment> assignments = new HashMap<>();
+        for (TeachingAssignment assignment : teachingAssignmentRepository.findBySubjectIdIn(subjectIds)) {
+            assignments.putIfAbsent(new AssignmentKey(assignment.getSubject().getId(),
+                    assignment.getAcademicTerm().getId()), assignment);
+        }
+        return assignments;
+    }
+
+    private static AssignmentKey assignmentKey(SyllabusVersion syllabus) {
+        return syllabus.getAcademicTerm() == null ? null
+                : new AssignmentKey(syllabus.getSubject().getId(), syllabus.getAcademicTerm().getId());
+    }
+
+    private static Notice approvalNotice(Transition transition) {
+        return switch (transition.to()) {
+            case PENDING_AA -> Notice.AA_REVIEW;
+            case PENDING_PRINCIPAL -> Notice.PRINCIPAL_REVIEW;
+            case APPROVED -> Notice.ADMIN_PUBLISH;
+            case PENDING_ADMIN_REPUBLISH -> Notice.ADMIN_REPUBLISH;
+            default -> null;
+        };
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        return userRepository.findByIdWithRoles(userPrincipal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
+    }
+
+    // ==========================================
+    // NOTIFICATIONS (một thông báo gộp cho mỗi người nhận)
+    // ==========================================
+
+    /**
+     * Các đề cương một người nhận cần được báo, theo từng loại thông báo
+     */
+    static final class Digest {
+        final User recipient;
+        final Map<Notice, List<SyllabusVersion>> sections = new EnumMap<>(Notice.class);
+
+        Digest(User recipient) {
+            this.recipient = recipient;
+        }
+
+        void add(Notice notice, SyllabusVersion syllabus) {
+            List<SyllabusVersion> section = sections.computeIfAbsent(notice, key -> new ArrayList<>());
+            if (!section.contains(syllabus)) {
+                section.add(syllabus);
+            }
+        }
+
+        List<SyllabusVersion> syllabi() {
+            return sections.values().stream().flatMap(List::stream).distinct().toList();
+        }
+    }
+
+    private static Digest digest(Map<UUID, Digest> digests, User recipient) {
+        return digests.computeIfAbsent(recipient.getId(), key -> new Digest(recipient));
+    }
+
+    private void sendNotifications(UUID batchId, User actor, DecisionType action, String reason,
+                                   Map<UUID, Digest> digests, List<Transition> transitions) {
+        List<Notification> staffNotifications = new ArrayList<>();
+        for (Digest digest : digests.values()) {
+            staffNotifications.add(staffNotification(batchId, actor, action, reason, digest));
+        }
+        List<Notification> studentNotifications = studentNotifications(batchId, transitions);
+
+        List<Notification> all = new ArrayList<>(staffNotifications.size() + studentNotifications.size());
+        all.addAll(staffNotifications);
+        all.addAll(studentNotifications);
+        if (all.isEmpty()) {
+            return;
+        }
+        notificationRepository.saveAll(all);
+        log.info("✅ [BulkDecision] Batch {}: {} thông báo cán bộ, {} thông báo sinh viên",
+                batchId, staffNotifications.size(), studentNotifications.size());
+
+        // 🔔 Push: mỗi cán bộ một push cho cả lô (sinh viên không nhận push, giống luồng từng đề cương)
+        for (Notification notification : staffNotifications) {
+            try {
+                Map<String, String> fcmData = new HashMap<>();
+                fcmData.put("notificationId", notification.getId().toString());
+                fcmData.put("type", notification.getType());
+                fcmData.put("actionUrl", String.valueOf(notification.getPayload().get("actionUrl")));
+                fcmData.put("batchId", batchId.toString());
+                fcmService.sendNotificationToUser(notification.getUser(), notification.getTitle(),
+                        fcmService.shortenBody(notification.getMessage(), 100), fcmData);
+            } catch (Exception fcmError) {
+                log.warn("Failed to send FCM for bulk decision to user {}: {}",
+                        notification.getUser().getId(), fcmError.getMessage());
+            }
+        }
+    }
+
+    private Notification staffNotification(UUID batchId, User actor, DecisionType action, String reason, Digest digest) {
+        List<SyllabusVersion> syllabi = digest.syllabi();
+        Notice single = digest.sections.size() == 1 ? digest.sections.keySet().iterator().next() : null;
+        Notice first = digest.sections.keySet().iterator().next();
+
+        String title = single != null
+                ? String.format(single.title, syllabi.size())
+                : String.format("[Thông báo] %d đề cương vừa được xử lý", syllabi.size());
+        String actionUrl = syllabi.size() == 1
+                ? String.format(first.itemUrl, syllabi.get(0).getId())
+                : first.listUrl;
+
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("%s đã %s %d đề cương.",
+                actor.getFullName(), action == DecisionType.APPROVED ? "phê duyệt" : "từ chối", syllabi.size()));
+        if (reason != null) {
+            message.append("\n\nLý do: ").append(reason);
+        }
+        digest.sections.forEach((notice, section) -> {
+            message.append("\n\n").append(notice.heading).append(':');
+            appendSyllabusLines(message, section, null);
+        });
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("batchId", batchId.toString());
+        payload.put("syllabusIds", syllabi.stream().map(s -> s.getId().toString()).toList());
+        payload.put("count", syllabi.size());
+        payload.put("actionUrl", actionUrl);
+        payload.put("actionLabel", single != null ? single.actionLabel : "Xem chi tiết");
+        if (reason != null) {
+            payload.put("rejectionReason", reason);
+        }
+
+        return Notification.builder()
+                .user(digest.recipient)
+                .title(title)
+                .message(message.toString())
+                .type(single != null ? single.type : BULK_NOTIFICATION_TYPE)
+                .payload(payload)
+                .isRead(false)
+                .relatedEntityType("SYLLABUS")
+                .relatedEntityId(syllabi.size() == 1 ? syllabi.get(0).getId() : null)
+                .build();
+    }
+
+    /**
+     * Sinh viên theo dõi nhiều đề cương trong lô nhận một thông báo liệt kê các đề cương đó
+     * (chỉ các stage mà approveSyllabus cũng báo cho sinh viên)
+     */
+    private List<Notification> studentNotifications(UUID batchId, List<Transition> transitions) {
+        Map<UUID, List<Transition>> byStudent = new LinkedHashMap<>();
+        for (Transition transition : transitions) {
+            if (studentStagePhrase(transition.to()) == null) {
+                continue;
+            }
+            for (UUID studentId : syllabusFollowerService.followersOf(transition.syllabus().getId())) {
+                byStudent.computeIfAbsent(studentId, key -> new ArrayList<>()).add(transition);
+            }
+        }
+
+        List<Notification> notifications = new ArrayList<>(byStudent.size());
+        LocalDateTime now = LocalDateTime.now();
+        byStudent.forEach((studentId, followed) -> {
+            SyllabusVersion first = followed.get(0).syllabus();
+            String title;
+            StringBuilder message = new StringBuilder();
+            if (followed.size() == 1) {
+                title = "Đề cương " + studentStagePhrase(followed.get(0).to());
+                message.append(String.format("Đề cương môn %s - %s %s.", first.getSnapSubjectCode(),
+                        first.getSnapSubjectNameVi(), studentStagePhrase(followed.get(0).to())));
+            } else {
+                title = String.format("%d đề cương bạn theo dõi vừa được cập nhật", followed.size());
+                message.append("Các đề cương bạn theo dõi vừa được cập nhật trạng thái phê duyệt:");
+                appendSyllabusLines(message, followed.stream().map(Transition::syllabus).toList(),
+                        followed.stream().collect(Collectors.toMap(t -> t.syllabus().getId(), Transition::to)));
+            }
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("batchId", batchId.toString());
+            payload.put("syllabusIds", followed.stream().map(t -> t.syllabus().getId().toString()).toList());
+            payload.put("actionUrl", followed.size() == 1 ? "/student/syllabi/" + first.getId() : "/student/syllabi");
+            payload.put("actionLabel", "Xem chi tiết");
+
+            notifications.add(Notification.builder()
+                    .user(userRepository.getReferenceById(studentId))
+                    .type("SYSTEM")
+                    .title(title)
+                    .message(message.toString())
+                    .payload(payload)
+                    .isRead(false)
+                    .createdAt(now)
+                    .build());
+        });
+        return notifications;
+    }
+
+    private static String studentStagePhrase(SyllabusStatus status) {
+        return switch (status) {
+            case PENDING_AA -> "đã được Trưởng bộ môn phê duyệt";
+            case PENDING_PRINCIPAL -> "đã được Phòng Đào tạo thông qua";
+            case APPROVED -> "đã được Hiệu trưởng phê duyệt";
+            case PUBLISHED -> "đã chính thức được xuất hành";
+            default -> null;
+        };
+    }
+
+    private void appendSyllabusLines(StringBuilder message, List<SyllabusVersion> syllabi, Map<UUID, SyllabusStatus> stages) {
+        int listed = Math.min(syllabi.size(), maxListedPerNotification);
+        for (int i = 0; i < listed; i++) {
+            SyllabusVersion syllabus = syllabi.get(i);
+            message.append("\n- ").append(syllabus.getSnapSubjectCode()).append(" - ").append(syllabus.getSnapSubjectNameVi());
+            if (stages != null) {
+                message.append(": ").append(studentStagePhrase(stages.get(syllabus.getId())));
+            }
+        }
+        if (syllabi.size() > listed) {
+            message.append(String.format("\n... và %d đề cương khác", syllabi.size() - listed));
+        }
+    }
+
+    // ==========================================
+    // RESULT HELPERS
+    // ==========================================
+
+    private static ApprovalHistory history(UUID batchId, SyllabusVersion syllabus, User actor, DecisionType action,
+                                           String comment, SyllabusStatus from) {
+        return ApprovalHistory.builder()
+                .syllabusVersion(syllabus)
+                .actor(actor)
+                .action(action)
+                .comment(comment)
+                .actorRole(SyllabusService.determineActorRole(from))
+                .batchId(batchId)
+                .build();
+    }
+
+    private static BulkSyllabusDecisionResponse newResponse(UUID batchId, DecisionType action, int requested) {
+        BulkSyllabusDecisionResponse response = new BulkSyllabusDecisionResponse();
+        response.setBatchId(batchId);
+        response.setAction(action);
+        response.setRequested(requested);
+        return response;
+    }
+
+    private static BulkSyllabusDecisionResponse.ItemResult success(SyllabusVersion syllabus, SyllabusStatus from,
+                                                                   SyllabusStatus to) {
+        BulkSyllabusDecisionResponse.ItemResult item = new BulkSyllabusDecisionResponse.ItemResult();
+        item.setSyllabusId(syllabus.getId());
+        item.setSubjectCode(syllabus.getSnapSubjectCode());
+        item.setFromStatus(from);
+        item.setToStatus(to);
+        item.setSuccess(true);
+        return item;
+    }
+
+    private static BulkSyllabusDecisionResponse.ItemResult failure(UUID id, SyllabusVersion syllabus, String error) {
+        BulkSyllabusDecisionResponse.ItemResult item = new BulkSyllabusDecisionResponse.ItemResult();
+        item.setSyllabusId(id);
+        if (syllabus != null) {
+            item.setSubjectCode(syllabus.getSnapSubjectCode());
+            item.setFromStatus(syllabus.getStatus());
+        }
+        item.setSuccess(false);
+        item.setError(error);
+        return item;
+    }
+
+    private BulkSyllabusDecisionResponse finish(BulkSyllabusDecisionResponse response) {
+        long succeeded = response.getItems().stream().filter(BulkSyllabusDecisionResponse.ItemResult::isSuccess).count();
+        response.setSucceeded((int) succeeded);
+        response.setFailed(response.getItems().size() - (int) succeeded);
+        log.info("✅ [BulkDecision] {} batch {}: {}/{} đề cương thành công",
+                response.getAction(), response.getBatchId(), response.getSucceeded(), response.getRequested());
+        return response;
+    }
+}
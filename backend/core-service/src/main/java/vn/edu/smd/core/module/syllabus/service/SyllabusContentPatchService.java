@@ -0,0 +1,173 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.PreconditionFailedException;
+import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.exception.UnauthorizedException;
+import vn.edu.smd.core.common.jsonpatch.JsonDocumentPatcher;
+import vn.edu.smd.core.common.jsonpatch.JsonbEdit;
+import vn.edu.smd.core.common.jsonpatch.JsonbEditSql;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusContentPatchResponse;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.SyllabusContentState;
+import vn.edu.smd.core.security.UserPrincipal;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Autosave nội dung đề cương bằng JSON Patch (RFC 6902) / JSON Merge Patch (RFC 7396)
+ *
+ * - ETag = content_revision của phiên bản; PATCH bắt buộc If-Match, lệch → 412 kèm ETag hiện tại
+ * - Patch được áp trong bộ nhớ để kiểm tra (path tồn tại, test...), rồi ghi xuống DB bằng một câu UPDATE
+ *   chỉ chứa các đoạn thay đổi (jsonb_set / jsonb_insert / #-) và điều kiện content_revision cũ,
+ *   không ghi lại các cột text khác, không dựng lại SyllabusResponse
+ * - Patch nhiều thao tác (hoặc các đoạn thay đổi lớn hơn cả tài liệu) thì ghi cả tài liệu một lần
+ * - Chỉ áp dụng cho DRAFT / REVISION_IN_PROGRESS; bản REJECTED phải lưu qua PUT để tạo phiên bản mới
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyllabusContentPatchService {
+
+    public static final String JSON_PATCH = "application/json-patch+json";
+    public static final String MERGE_PATCH = "application/merge-patch+json";
+
+    private static final List<SyllabusStatus> PATCHABLE_STATUSES =
+            List.of(SyllabusStatus.DRAFT, SyllabusStatus.REVISION_IN_PROGRESS);
+
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.syllabus-autosave.max-partial-edits:50}")
+    private int maxPartialEdits = 50;
+
+    public static String etagOf(Long contentRevision) {
+        return "\"r" + (contentRevision != null ? contentRevision : 0L) + "\"";
+    }
+
+    @Transactional
+    public SyllabusContentPatchResponse patchContent(UUID id, String ifMatch, JsonNode patch, boolean mergePatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new BadRequestException("Thiếu header If-Match (ETag của nội dung đề cương)");
+        }
+        SyllabusContentState state = syllabusVersionRepository.findContentStateById(id)
+                .filter(s -> !Boolean.TRUE.equals(s.isDeleted()))
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", id));
+        if (!PATCHABLE_STATUSES.contains(state.status())) {
+            throw new BadRequestException(state.status() == SyllabusStatus.REJECTED
+                    ? "Đề cương bị từ chối phải được lưu toàn bộ (PUT) để tạo phiên bản mới"
+                    : "Chỉ có thể lưu nháp đề cương ở trạng thái Bản nháp hoặc Đang chỉnh sửa");
+        }
+        long revision = state.contentRevision() != null ? state.contentRevision() : 0L;
+        String currentEtag = etagOf(revision);
+        if (!ifMatchSatisfied(ifMatch, currentEtag)) {
+            throw new PreconditionFailedException("Nội dung đề cương đã được lưu từ phiên khác, vui lòng tải lại", currentEtag);
+        }
+
+        JsonNode original = objectMapper.valueToTree(state.content());
+        JsonDocumentPatcher.Result result = mergePatch
+                ? JsonDocumentPatcher.applyMergePatch(original, patch)
+                : JsonDocumentPatcher.applyJsonPatch(original, patch);
+        if (!result.changed(original)) {
+            return response(id, revision, false, null);
+        }
+
+        List<JsonbEdit> edits = result.edits();
+        String document = result.document().toString();
+        if (edits.size() > maxPartialEdits || editSize(edits) >= document.length()) {
+            edits = List.of(JsonbEdit.set(List.of(), result.document()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (writeContent(id, revision, edits, now) == 0) {
+            // Phiên khác vừa lưu / đổi trạng thái giữa lúc đọc và ghi
+            String latest = syllabusVersionRepository.findContentStateById(id)
+                    .map(s -> etagOf(s.contentRevision()))
+                    .orElse(null);
+            throw new PreconditionFailedException("Nội dung đề cương đã được lưu từ phiên khác, vui lòng tải lại", latest);
+        }
+        log.debug("💾 Autosave syllabus {}: revision {} → {}, {} edit(s), {} bytes document",
+                id, revision, revision + 1, edits.size(), document.length());
+        return response(id, revision + 1, true, now);
+    }
+
+    private int writeContent(UUID id, long expectedRevision, List<JsonbEdit> edits, LocalDateTime now) {
+        JsonbEditSql.Expression expression = JsonbEditSql.render("content", edits);
+        Query query = entityManager.createNativeQuery("UPDATE core_service.syllabus_versions SET content = "
+                + expression.sql()
+                + ", content_revision = content_revision + 1, updated_at = :updatedAt, updated_by = :updatedBy"
+                + " WHERE id = :id AND content_revision = :revision AND is_deleted = false"
+                + " AND CAST(status AS TEXT) IN (:statuses)");
+        for (int i = 0; i < expression.parameters().size(); i++) {
+            query.setParameter(JsonbEditSql.Expression.parameterName(i), expression.parameters().get(i));
+        }
+        query.setParameter("updatedAt", now);
+        query.setParameter("updatedBy", currentUserId());
+        query.setParameter("id", id);
+        query.setParameter("revision", expectedRevision);
+        query.setParameter("statuses", PATCHABLE_STATUSES.stream().map(Enum::name).toList());
+        // Báo Hibernate bảng syllabus_versions đã đổi (cache / query space của SyllabusVersion)
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(SyllabusVersion.class);
+        return query.executeUpdate();
+    }
+
+    /** If-Match: danh sách ETag (strong / weak) hoặc "*" */
+    static boolean ifMatchSatisfied(String ifMatch, String currentEtag) {
+        for (String candidate : ifMatch.split(",")) {
+            String etag = candidate.trim();
+            if (etag.startsWith("W/")) {
+                etag = etag.substring(2);
+            }
+            if ("*".equals(etag) || currentEtag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int editSize(List<JsonbEdit> edits) {
+        int size = 0;
+        for (JsonbEdit edit : edits) {
+            size += String.join(",", edit.path()).length() + (edit.value() != null ? edit.value().toString().length() : 0);
+        }
+        return size;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        return principal.getId();
+    }
+
+    private static SyllabusContentPatchResponse response(UUID id, long revision, boolean changed, LocalDateTime savedAt) {
+        SyllabusContentPatchResponse response = new SyllabusContentPatchResponse();
+        response.setId(id);
+        response.setEtag(etagOf(revision));
+        response.setContentRevision(revision);
+        response.setChanged(changed);
+        response.setSavedAt(savedAt);
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.repository.projection.SyllabusContentSections;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Đọc một phần tài liệu content (jsonb) của đề cương mà không load entity SyllabusVersion
+ *
+ * - Chỉ các key cấp 1 được yêu cầu được cắt ra trong DB (jsonb_build_object + ->) rồi gửi về,
+ *   phần còn lại của tài liệu (courseOutline, tài liệu tham khảo...) không rời khỏi PostgreSQL
+ * - Các giá trị đếm được (số CLO, số hình thức đánh giá, tổng trọng số, số mục tiêu) đã có sẵn
+ *   ở cột sinh tự động V58 trên SyllabusVersion, không cần đọc content
+ */
+@Service
+@RequiredArgsConstructor
+public class SyllabusContentReader {
+
+    // jsonb_build_object nhận tối đa 100 đối số = 50 cặp key / value
+    static final int MAX_KEYS = 50;
+
+    private static final TypeReference<Map<String, Object>> SECTIONS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Phiên bản chưa xóa kèm các key cần dùng của content; rỗng nếu không tồn tại / đã xóa
+     */
+    @Transactional(readOnly = true)
+    public Optional<SyllabusContentSections> readSections(UUID syllabusId, List<String> keys) {
+        Query query = entityManager.createNativeQuery(sectionsSql(keys));
+        for (int i = 0; i < keys.size(); i++) {
+            query.setParameter(keyParameter(i), keys.get(i));
+        }
+        query.setParameter("id", syllabusId);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        return Optional.of(new SyllabusContentSections(syllabusId, (String) row[0], toInteger(row[1]),
+                toInteger(row[2]), toInteger(row[3]), parse((String) row[4])));
+    }
+
+    /**
+     * SELECT ..., jsonb_build_object(:k0, content -> :k0, :k1, content -> :k1, ...) - key là tham số, không nối chuỗi
+     */
+    static String sectionsSql(List<String> keys) {
+        if (keys.isEmpty() || keys.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("Expected 1.." + MAX_KEYS + " content keys, got " + keys.size());
+        }
+        StringBuilder sections = new StringBuilder("jsonb_build_object(");
+        for (int i = 0; i < keys.size(); i++) {
+            String key = "CAST(:" + keyParameter(i) + " AS text)";
+            if (i > 0) {
+                sections.append(", ");
+            }
+            sections.append(key).append(", s.content -> ").append(key);
+        }
+        sections.append(')');
+        return "SELECT s.snap_subject_name_vi, s.snap_credit_count, s.theory_hours, s.practice_hours, "
+                + "CASE WHEN s.content IS NULL THEN NULL ELSE CAST(" + sections + " AS text) END "
+                + "FROM core_service.syllabus_versions s WHERE s.id = :id AND s.is_deleted = false";
+    }
+
+    private static String keyParameter(int index) {
+        return "k" + index;
+    }
+
+    private Map<String, Object> parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, SECTIONS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid jsonb returned by PostgreSQL", e);
+        }
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
+    }
+}
@@ -0,0 +1,445 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.RateLimitExceededException;
+import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.entity.Curriculum;
+import vn.edu.smd.core.entity.Faculty;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.module.student.service.PdfService;
+import vn.edu.smd.core.module.student.service.StudentSyllabusService;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusExportJobResponse;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusExportRequest;
+import vn.edu.smd.core.repository.CurriculumRepository;
+import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Xuất PDF hàng loạt mọi đề cương PUBLISHED của một chương trình / khoa thành một file ZIP
+ *
+ * - PDF được render song song trên pool giới hạn (app.pdf-export.parallelism), mỗi bản vẫn đi qua
+ *   bulkhead PDF và cache PDF của PdfService (đề cương không đổi thì không render lại)
+ * - Ghi ZIP theo thứ tự mã môn với cửa sổ trượt: chỉ tối đa 2 × parallelism PDF nằm trong bộ nhớ
+ * - Job chạy nền ghi ZIP ra file tạm rồi tải qua /download; hoặc stream thẳng ra response.
+ *   Cả hai đều có job id để poll tiến độ.
+ * - Job lưu trong bộ nhớ của instance (file tạm nằm trên máy chạy job), tự xoá sau retention-minutes
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyllabusPdfExportService {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final CurriculumRepository curriculumRepository;
+    private final FacultyRepository facultyRepository;
+    private final StudentSyllabusService studentSyllabusService;
+    private final PdfService pdfService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.pdf-export.parallelism:2}")
+    private int parallelism = 2;
+
+    @Value("${app.pdf-export.max-running-jobs:2}")
+    private int maxRunningJobs = 2;
+
+    @Value("${app.pdf-export.max-syllabi:500}")
+    private int maxSyllabi = 500;
+
+    @Value("${app.pdf-export.retention-minutes:60}")
+    private long retentionMinutes = 60;
+
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private volatile ExecutorService renderExecutor;
+    private volatile ExecutorService jobExecutor;
+
+    /**
+     * File ZIP để tải về (job đã xong hoặc stream trực tiếp)
+     */
+    public record ExportDownload(UUID jobId, String filename, Long sizeBytes, StreamingResponseBody body) {
+    }
+
+    // =============================================
+    // PUBLIC API
+    // =============================================
+
+    /**
+     * Tạo job chạy nền ghi ZIP ra file tạm; poll bằng getJob, xong thì tải bằng openDownload
+     */
+    public SyllabusExportJobResponse startExport(SyllabusExportRequest request) {
+        ExportJob job = createJob(request);
+        try {
+            Path file = Files.createTempFile("smd-syllabus-export-", ".zip");
+            job.file = file;
+            jobExecutor().execute(() -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    writeZip(job, out);
+                    job.sizeBytes = Files.size(file);
+                    finish(job, null);
+                } catch (Exception e) {
+                    finish(job, e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            finish(job, e);
+            throw new IllegalStateException("Không tạo được job xuất PDF: " + e.getMessage(), e);
+        }
+        return toResponse(job);
+    }
+
+    /**
+     * Stream ZIP thẳng ra response trong lúc render (không ghi file tạm); tiến độ vẫn poll được theo job id
+     */
+    public ExportDownload streamExport(SyllabusExportRequest request) {
+        ExportJob job = createJob(request);
+        StreamingResponseBody body = out -> {
+            try {
+                writeZip(job, out);
+                finish(job, null);
+            } catch (IOException | RuntimeException e) {
+                finish(job, e);
+                throw e;
+            }
+        };
+        return new ExportDownload(job.id, job.filename, null, body);
+    }
+
+    public SyllabusExportJobResponse getJob(UUID jobId) {
+        return toResponse(findOwnedJob(jobId));
+    }
+
+    public ExportDownload openDownload(UUID jobId) {
+        ExportJob job = findOwnedJob(jobId);
+        if (!STATUS_COMPLETED.equals(job.status) || job.file == null || !Files.exists(job.file)) {
+            throw new BadRequestException("Job xuất PDF chưa hoàn tất hoặc không có file để tải (status: " + job.status + ")");
+        }
+        Path file = job.file;
+        return new ExportDownload(job.id, job.filename, job.sizeBytes, out -> Files.copy(file, out));
+    }
+
+    /**
+     * Xoá job (và file tạm) đã kết thúc quá retention-minutes
+     */
+    @Scheduled(fixedDelayString = "${app.pdf-export.cleanup-interval-ms:300000}")
+    public void cleanupExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (jobExecutor != null) {
+            jobExecutor.shutdownNow();
+        }
+        if (renderExecutor != null) {
+            renderExecutor.shutdownNow();
+        }
+        jobs.values().forEach(job -> deleteQuietly(job.file));
+    }
+
+    // =============================================
+    // ZIP WRITER
+    // =============================================
+
+    /**
+     * Render song song, ghi ZIP tuần tự theo thứ tự items; PDF lỗi được liệt kê trong _errors.txt
+     */
+    void writeZip(ExportJob job, OutputStream out) throws IOException {
+        ExecutorService executor = renderExecutor();
+        int window = Math.max(1, parallelism) * 2;
+        Deque<PendingPdf> pending = new ArrayDeque<>();
+        Iterator<ExportItem> items = job.items.iterator();
+        Set<String> entryNames = new HashSet<>();
+
+        try (ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8)) {
+            // PDF đã nén sẵn, nén thêm chỉ tốn CPU
+            zip.setLevel(Deflater.BEST_SPEED);
+            while (items.hasNext() || !pending.isEmpty()) {
+                while (items.hasNext() && pending.size() < window) {
+                    ExportItem item = items.next();
+                    pending.add(new PendingPdf(item, executor.submit(() -> render(item))));
+                }
+                PendingPdf next = pending.poll();
+                byte[] pdf = await(job, next);
+                if (pdf != null) {
+                    zip.putNextEntry(new ZipEntry(entryName(next.item(), entryNames)));
+                    zip.write(pdf);
+                    zip.closeEntry();
+                    job.completed.incrementAndGet();
+                }
+            }
+            if (!job.failedSubjects.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("_errors.txt"));
+                zip.write(String.join("\n", job.failedSubjects).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Client ngắt kết nối / lỗi ghi → huỷ các bản đang render
+            pending.forEach(p -> p.pdf().cancel(true));
+            throw e;
+        }
+    }
+
+    private byte[] render(ExportItem item) {
+        return Timer.builder("smd.pdf.export.render").register(meterRegistry)
+                .record(() -> pdfService.generateSyllabusPdf(studentSyllabusService.getPublishedDetail(item.versionId())));
+    }
+
+    private byte[] await(ExportJob job, PendingPdf pending) throws IOException {
+        try {
+            return pending.pdf().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF export interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            job.failed.incrementAndGet();
+            job.failedSubjects.add(pending.item().subjectCode() + " (" + pending.item().versionNo() + "): " + cause.getMessage());
+            log.warn("⚠️ [PdfExport] Job {} failed to render {}: {}", job.id, pending.item().subjectCode(), cause.getMessage());
+            return null;
+        }
+    }
+
+    private static String entryName(ExportItem item, Set<String> used) {
+        String base = (item.subjectCode() + "_" + item.versionNo()).replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+        String name = base + ".pdf";
+        for (int i = 2; !used.add(name); i++) {
+            name = base + "-" + i + ".pdf";
+        }
+        return name;
+    }
+
+    // =============================================
+    // JOBS
+    // =============================================
+
+    private ExportJob createJob(SyllabusExportRequest request) {
+        ExportScope scope = resolveScope(request);
+        if (runningJobs.incrementAndGet() > maxRunningJobs) {
+            runningJobs.decrementAndGet();
+            throw new RateLimitExceededException("Đang có quá nhiều yêu cầu xuất PDF, vui lòng thử lại sau", 30);
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID(), currentUsername(), scope.label(), scope.filename(), scope.items());
+        jobs.put(job.id, job);
+        log.info("📦 [PdfExport] Job {} started by {}: {} ({} syllabi)", job.id, job.owner, job.scope, job.items.size());
+        return job;
+    }
+
+    private void finish(ExportJob job, Exception error) {
+        synchronized (job) {
+            if (job.finishedAt != null) {
+                return;
+            }
+            job.finishedAt = LocalDateTime.now();
+        }
+        runningJobs.decrementAndGet();
+        if (error == null) {
+            job.status = STATUS_COMPLETED;
+            log.info("✅ [PdfExport] Job {} completed: {}/{} PDFs, {} failed",
+                    job.id, job.completed.get(), job.items.size(), job.failed.get());
+        } else {
+            job.status = STATUS_FAILED;
+            job.error = error.getMessage();
+            deleteQuietly(job.file);
+            log.warn("❌ [PdfExport] Job {} failed after {}/{} PDFs: {}",
+                    job.id, job.completed.get(), job.items.size(), error.getMessage());
+        }
+        meterRegistry.counter("smd.pdf.export.jobs", "status", job.status).increment();
+    }
+
+    private ExportJob findOwnedJob(UUID jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.owner.equals(currentUsername())) {
+            throw new ResourceNotFoundException("Export job", "id", jobId);
+        }
+        return job;
+    }
+
+    private ExportScope resolveScope(SyllabusExportRequest request) {
+        if (request == null || (request.getCurriculumId() == null) == (request.getFacultyId() == null)) {
+            throw new BadRequestException("Chọn đúng một trong curriculumId hoặc facultyId");
+        }
+
+        String label;
+        String code;
+        List<SyllabusVersion> versions;
+        if (request.getCurriculumId() != null) {
+            Curriculum curriculum = curriculumRepository.findById(request.getCurriculumId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Curriculum", "id", request.getCurriculumId()));
+            code = curriculum.getCode();
+            label = "CURRICULUM " + code;
+            versions = syllabusVersionRepository.findByCurriculumIdAndStatus(curriculum.getId(), SyllabusStatus.PUBLISHED);
+        } else {
+            Faculty faculty = facultyRepository.findById(request.getFacultyId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Faculty", "id", request.getFacultyId()));
+            code = faculty.getCode();
+            label = "FACULTY " + code;
+            versions = syllabusVersionRepository.findByFacultyIdAndStatus(faculty.getId(), SyllabusStatus.PUBLISHED);
+        }
+
+        // Mỗi môn chỉ lấy bản PUBLISHED mới nhất
+        Map<UUID, SyllabusVersion> latestBySubject = new LinkedHashMap<>();
+        Comparator<SyllabusVersion> byPublishedAt = Comparator.comparing(SyllabusVersion::getPublishedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (SyllabusVersion version : versions) {
+            latestBySubject.merge(version.getSubject().getId(), version,
+                    (current, candidate) -> byPublishedAt.compare(candidate, current) > 0 ? candidate : current);
+        }
+        if (latestBySubject.isEmpty()) {
+            throw new BadRequestException("Không có đề cương đã xuất bản nào để xuất");
+        }
+        if (latestBySubject.size() > maxSyllabi) {
+            throw new BadRequestException("Số đề cương (" + latestBySubject.size() + ") vượt quá giới hạn xuất một lần (" + maxSyllabi + ")");
+        }
+
+        List<ExportItem> items = latestBySubject.values().stream()
+                .map(version -> new ExportItem(version.getId(), version.getSubject().getCode(), version.getVersionNo()))
+                .toList();
+        return new ExportScope(label, "syllabi_" + code + ".zip", items);
+    }
+
+    private SyllabusExportJobResponse toResponse(ExportJob job) {
+        int total = job.items.size();
+        int done = job.completed.get() + job.failed.get();
+        SyllabusExportJobResponse response = new SyllabusExportJobResponse();
+        response.setJobId(job.id);
+        response.setStatus(job.status);
+        response.setScope(job.scope);
+        response.setTotal(total);
+        response.setCompleted(job.completed.get());
+        response.setFailed(job.failed.get());
+        response.setProgressPercent(total == 0 ? 100 : done * 100 / total);
+        response.setSizeBytes(job.sizeBytes);
+        response.setError(job.error);
+        response.setFailedSubjects(List.copyOf(job.failedSubjects));
+        response.setCreatedAt(job.createdAt);
+        response.setFinishedAt(job.finishedAt);
+        if (STATUS_COMPLETED.equals(job.status) && job.file != null) {
+            response.setDownloadUrl("/api/syllabus-exports/" + job.id + "/download");
+        }
+        return response;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ [PdfExport] Cannot delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private ExecutorService renderExecutor() {
+        if (renderExecutor == null) {
+            synchronized (this) {
+                if (renderExecutor == null) {
+                    renderExecutor = newPool(Math.max(1, parallelism), "pdf-export-render-");
+                }
+            }
+        }
+        return renderExecutor;
+    }
+
+    private ExecutorService jobExecutor() {
+        if (jobExecutor == null) {
+            synchronized (this) {
+                if (jobExecutor == null) {
+                    jobExecutor = newPool(Math.max(1, maxRunningJobs), "pdf-export-job-");
+                }
+            }
+        }
+        return jobExecutor;
+    }
+
+    private static ExecutorService newPool(int threads, String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    record ExportItem(UUID versionId, String subjectCode, String versionNo) {
+    }
+
+    private record ExportScope(String label, String filename, List<ExportItem> items) {
+    }
+
+    private record PendingPdf(ExportItem item, Future<byte[]> pdf) {
+    }
+
+    static final class ExportJob {
+        final UUID id;
+        final String owner;
+        final String scope;
+        final String filename;
+        final List<ExportItem> items;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final Queue<String> failedSubjects = new ConcurrentLinkedQueue<>();
+        volatile String status = STATUS_RUNNING;
+        volatile String error;
+        volatile Path file;
+        volatile Long sizeBytes;
+        volatile LocalDateTime finishedAt;
+
+        ExportJob(UUID id, String owner, String scope, String filename, List<ExportItem> items) {
+            this.id = id;
+            this.owner = owner;
+            this.scope = scope;
+            this.filename = filename;
+            this.items = items;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package vn.edu.smd.core.module.syllabus.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -12,12 +14,21 @@ import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.dto.PageResponse;
 import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.outbox.DomainEventOutbox;
+import vn.edu.smd.core.common.settings.SettingKey;
+import vn.edu.smd.core.common.settings.SystemSettingRegistry;
+import vn.edu.smd.core.common.settings.SystemSettings;
 import vn.edu.smd.core.entity.*;
 import vn.edu.smd.core.module.ai.service.AITaskService;
-import vn.edu.smd.core.module.student.repository.StudentSyllabusTrackerRepository; // Import Repo Tracker
 import vn.edu.smd.core.module.syllabus.dto.*;
+import vn.edu.smd.core.module.syllabus.event.SyllabusApprovedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublishedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusRejectedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusSubmittedEvent;
 import vn.edu.smd.core.repository.*;
 import vn.edu.smd.core.security.UserPrincipal;
+import vn.edu.smd.core.service.SyllabusFollowerService;
 import vn.edu.smd.shared.enums.SyllabusStatus;
 import vn.edu.smd.shared.enums.AssignmentStatus;
 import vn.edu.smd.shared.enums.ActorRoleType;
@@ -49,13 +60,17 @@ public class SyllabusService {
     private final NotificationRepository notificationRepository;
 
     // --- Merge Conflict Resolved: Include ALL required dependencies ---
-    // Từ Ours: Repo theo dõi để gửi thông báo
-    private final StudentSyllabusTrackerRepository studentSyllabusTrackerRepository;
+    // Từ Ours: Follower index để gửi thông báo cho sinh viên theo dõi
+    private final SyllabusFollowerService syllabusFollowerService;
     
     // Từ Theirs: Service và Repo cho logic nghiệp vụ
     private final vn.edu.smd.core.service.PloMappingService ploMappingService;
     private final ApprovalHistoryRepository approvalHistoryRepository;
     private final SyllabusVersionHistoryRepository syllabusVersionHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // Side effect của luồng phê duyệt (thông báo, FCM, AI, phân công) chạy sau commit qua outbox
+    private final DomainEventOutbox domainEventOutbox;
+    private final SystemSettingRegistry systemSettingRegistry;
     
     // FCM Service for push notifications
     private final vn.edu.smd.core.service.FCMService fcmService;
@@ -106,27 +121,9 @@ public class SyllabusService {
                 .map(role -> role.getCode())
                 .orElse("");
         
-        return switch (primaryRole) {
-            case "PRINCIPAL" -> List.of(SyllabusStatus.PENDING_PRINCIPAL.name(), SyllabusStatus.APPROVED.name());
-            case "AA" -> List.of(
-                SyllabusStatus.PENDING_AA.name(), 
-                SyllabusStatus.PENDING_PRINCIPAL.name(), 
-                SyllabusStatus.REJECTED.name()
-            );
-            case "HOD" -> List.of(
-                SyllabusStatus.PENDING_HOD.name(), 
-                SyllabusStatus.PENDING_AA.name(), 
-                SyllabusStatus.REJECTED.name()
-            );
-            case "LECTURER" -> List.of(
-                SyllabusStatus.DRAFT.name(), SyllabusStatus.PENDING_HOD.name(),
-                SyllabusStatus.PENDING_AA.name(), SyllabusStatus.PENDING_PRINCIPAL.name(),
-                SyllabusStatus.APPROVED.name(), SyllabusStatus.PUBLISHED.name(),
-                SyllabusStatus.REJECTED.name(), SyllabusStatus.REVISION_IN_PROGRESS.name()
-            );
-            case "ADMIN" -> List.of(); 
-            default -> List.of();
-        };
+        // Bộ lọc mặc định theo vai trò: system_settings syllabus.default_statuses.<ROLE> (ADMIN: không lọc)
+        SettingKey<List<String>> key = SystemSettings.defaultStatusesFor(primaryRole);
+        return key != null ? systemSettingRegistry.get(key) : List.of();
     }
 
     private boolean matchesSearchCriteria(SyllabusVersion syllabus, String search, 
@@ -204,12 +201,14 @@ public class SyllabusService {
             syllabus.setEffectiveDate(request.getEffectiveDate());
         }
         
-        syllabus.setUpdatedBy(getCurrentUser());
+        User currentUser = getCurrentUser();
+        syllabus.setUpdatedBy(currentUser);
         
         SyllabusVersion savedSyllabus = syllabusVersionRepository.save(syllabus);
+        eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(savedSyllabus.getId(), savedSyllabus.getSubject().getId()));
         
-        // 3. Gửi thông báo (Gọi hàm đã sửa ở dưới)
-        notifyStudentsOnPublish(savedSyllabus);
+        // 3. Thông báo sinh viên sau commit (onSyllabusPublished)
+        domainEventOutbox.emit(new SyllabusPublishedEvent(savedSyllabus.getId(), currentUser != null ? currentUser.getId() : null));
         
         return mapToResponse(savedSyllabus);
     }    
@@ -427,6 +426,7 @@ public class SyllabusService {
             syllabus.setEffectiveDate(request.getEffectiveDate());
             syllabus.setKeywords(request.getKeywords());
             syllabus.setContent(request.getContent());
+            syllabus.setContentRevision(syllabus.getContentRevision() + 1); // ETag autosave cũ hết hiệu lực
             syllabus.setDescription(request.getDescription());
             syllabus.setUpdatedBy(currentUser);
 
@@ -479,27 +479,8 @@ public class SyllabusService {
         log.info("✅ Submitted syllabus {} (version {}) for approval", 
                  savedSyllabus.getId(), savedSyllabus.getVersionNo());
         
-        // Update teaching assignment status to SUBMITTED
-        updateTeachingAssignmentStatusBySyllabus(savedSyllabus, AssignmentStatus.SUBMITTED);
-        
-        sendNotificationToHod(savedSyllabus);
-        
-        try {
-            String messageId = aiTaskService.requestCloPloMapping(
-                savedSyllabus.getId(),
-                syllabus.getSubject() != null && syllabus.getSubject().getCurriculum() != null 
-                    ? syllabus.getSubject().getCurriculum().getId() 
-                    : null,
-                currentUser.getId().toString()
-            );
-            
-            log.info("[Sent] Message to AI Queue: Syllabus ID #{} | Message ID: {}", 
-                     savedSyllabus.getId(), messageId);
-            
-        } catch (Exception e) {
-            log.error("❌ Failed to send message to AI Queue for Syllabus ID #{}: {}", 
-                      savedSyllabus.getId(), e.getMessage());
-        }
+        // Cập nhật phân công, báo HOD, gửi AI kiểm tra CLO-PLO: sau commit (onSyllabusSubmitted)
+        domainEventOutbox.emit(new SyllabusSubmittedEvent(savedSyllabus.getId(), currentUser != null ? currentUser.getId() : null));
         
         return mapToResponse(savedSyllabus);
     }
@@ -513,14 +494,10 @@ public class SyllabusService {
         User currentUser = getCurrentUser();
         SyllabusStatus currentStatus = syllabus.getStatus();
         
-        SyllabusStatus nextStatus = switch (currentStatus) {
-            case PENDING_HOD -> SyllabusStatus.PENDING_AA;
-            case PENDING_HOD_REVISION -> SyllabusStatus.PENDING_ADMIN_REPUBLISH; // Post-publication revision approved by HOD
-            case PENDING_AA -> SyllabusStatus.PENDING_PRINCIPAL;
-            case PENDING_PRINCIPAL -> SyllabusStatus.APPROVED;
-            case APPROVED -> SyllabusStatus.PUBLISHED;
-            default -> throw new BadRequestException("Cannot approve in current status: " + syllabus.getStatus());
-        };
+        SyllabusStatus nextStatus = nextApprovalStatus(currentStatus);
+        if (nextStatus == null) {
+            throw new BadRequestException("Cannot approve in current status: " + syllabus.getStatus());
+        }
 
         SyllabusStatus previousStatus = syllabus.getStatus();
         syllabus.setStatus(nextStatus);
@@ -544,36 +521,13 @@ public class SyllabusService {
                 .build();
         approvalHistoryRepository.save(approvalHistory);
         
-        // When HOD approves (PENDING_HOD -> PENDING_AA), update assignment to COMPLETED
-        if (currentStatus == SyllabusStatus.PENDING_HOD && nextStatus == SyllabusStatus.PENDING_AA) {
-            updateTeachingAssignmentStatusBySyllabus(savedSyllabus, AssignmentStatus.COMPLETED);
-            // Send notification to AA
-            sendNotificationToAA(savedSyllabus, currentUser);
-        }
-        
-        // When HOD approves revision (PENDING_HOD_REVISION -> PENDING_ADMIN_REPUBLISH), send notification to Admin
-        // DO NOT update teaching assignment as it's already COMPLETED from first publication
-        if (currentStatus == SyllabusStatus.PENDING_HOD_REVISION && nextStatus == SyllabusStatus.PENDING_ADMIN_REPUBLISH) {
-            sendNotificationToAdminForRepublish(savedSyllabus, currentUser);
-        }
-        
-        // When AA approves (PENDING_AA -> PENDING_PRINCIPAL), send notification to Principal
-        if (currentStatus == SyllabusStatus.PENDING_AA && nextStatus == SyllabusStatus.PENDING_PRINCIPAL) {
-            sendNotificationToPrincipal(savedSyllabus, currentUser);
-        }
-        
-        // When Principal approves (PENDING_PRINCIPAL -> APPROVED), send notification to Admin
-        if (currentStatus == SyllabusStatus.PENDING_PRINCIPAL && nextStatus == SyllabusStatus.APPROVED) {
-            sendNotificationToAdmin(savedSyllabus, currentUser);
-        }
-        
-        // Gửi thông báo cho sinh viên dựa vào stage phê duyệt
         if (nextStatus == SyllabusStatus.PUBLISHED) {
-            notifyStudentsOnPublish(savedSyllabus);
-        } else {
-            notifyStudentsOnApprovalStages(savedSyllabus, previousStatus, nextStatus);
+            eventPublisher.publishEvent(new SyllabusPublicationChangedEvent(savedSyllabus.getId(), savedSyllabus.getSubject().getId()));
         }
         
+        // Thông báo cấp kế tiếp / sinh viên, cập nhật phân công: sau commit (onSyllabusApproved)
+        domainEventOutbox.emit(new SyllabusApprovedEvent(savedSyllabus.getId(), currentUser.getId(), previousStatus, nextStatus));
+        
         return mapToResponse(savedSyllabus);
     }
 
@@ -606,18 +560,8 @@ public class SyllabusService {
                 .build();
         approvalHistoryRepository.save(approvalHistory);
         
-        // Send notification to primary lecturer
-        sendRejectionNotificationToLecturer(savedSyllabus, currentUser, rejectionReason, actorRole);
-        
-        // If AA rejects, also send notification to HOD
-        if (currentStatus == SyllabusStatus.PENDING_AA) {
-            sendRejectionNotificationToHOD(savedSyllabus, currentUser, rejectionReason);
-        }
-        
-        // If Principal rejects, send notification to Lecturer + HOD + AA
-        if (currentStatus == SyllabusStatus.PENDING_PRINCIPAL) {
-            sendRejectionNotificationToAA(savedSyllabus, currentUser, rejectionReason);
-        }
+        // Thông báo giảng viên (và HOD / AA tuỳ cấp từ chối): sau commit (onSyllabusRejected)
+        domainEventOutbox.emit(new SyllabusRejectedEvent(savedSyllabus.getId(), currentUser.getId(), currentStatus, rejectionReason));
         
         return mapToResponse(savedSyllabus);
     }
@@ -701,25 +645,128 @@ public class SyllabusService {
         return mapToResponse(syllabusVersionRepository.save(cloned));
     }
 
+    // ==========================================
+    // SIDE EFFECTS SAU COMMIT (domain event qua DomainEventOutbox)
+    // ==========================================
+    // Chạy trên luồng dispatch của outbox, transaction riêng; event có thể được giao lại nên
+    // thông báo có thể trùng khi lần trước lỗi giữa chừng (chấp nhận được, không mất thông báo)
+
+    @EventListener
+    @Transactional
+    public void onSyllabusSubmitted(SyllabusSubmittedEvent event) {
+        SyllabusVersion syllabus = syllabusVersionRepository.findById(event.syllabusVersionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", event.syllabusVersionId()));
+
+        // Update teaching assignment status to SUBMITTED
+        updateTeachingAssignmentStatusBySyllabus(syllabus, AssignmentStatus.SUBMITTED);
+
+        sendNotificationToHod(syllabus);
+
+        try {
+            String messageId = aiTaskService.requestCloPloMapping(
+                syllabus.getId(),
+                syllabus.getSubject() != null && syllabus.getSubject().getCurriculum() != null
+                    ? syllabus.getSubject().getCurriculum().getId()
+                    : null,
+                event.actorId() != null ? event.actorId().toString() : null
+            );
+
+            log.info("[Sent] Message to AI Queue: Syllabus ID #{} | Message ID: {}",
+                     syllabus.getId(), messageId);
+
+        } catch (Exception e) {
+            log.error("❌ Failed to send message to AI Queue for Syllabus ID #{}: {}",
+                      syllabus.getId(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onSyllabusApproved(SyllabusApprovedEvent event) {
+        SyllabusVersion syllabus = syllabusVersionRepository.findById(event.syllabusVersionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", event.syllabusVersionId()));
+        User approver = event.actorId() != null ? userRepository.findById(event.actorId()).orElse(null) : null;
+        SyllabusStatus from = event.fromStatus();
+        SyllabusStatus to = event.toStatus();
+
+        // When HOD approves (PENDING_HOD -> PENDING_AA), update assignment to COMPLETED
+        if (from == SyllabusStatus.PENDING_HOD && to == SyllabusStatus.PENDING_AA) {
+            updateTeachingAssignmentStatusBySyllabus(syllabus, AssignmentStatus.COMPLETED);
+            // Send notification to AA
+            sendNotificationToAA(syllabus, approver);
+        }
+
+        // When HOD approves revision (PENDING_HOD_REVISION -> PENDING_ADMIN_REPUBLISH), send notification to Admin
+        // DO NOT update teaching assignment as it's already COMPLETED from first publication
+        if (from == SyllabusStatus.PENDING_HOD_REVISION && to == SyllabusStatus.PENDING_ADMIN_REPUBLISH) {
+            sendNotificationToAdminForRepublish(syllabus, approver);
+        }
+
+        // When AA approves (PENDING_AA -> PENDING_PRINCIPAL), send notification to Principal
+        if (from == SyllabusStatus.PENDING_AA && to == SyllabusStatus.PENDING_PRINCIPAL) {
+            sendNotificationToPrincipal(syllabus, approver);
+        }
+
+        // When Principal approves (PENDING_PRINCIPAL -> APPROVED), send notification to Admin
+        if (from == SyllabusStatus.PENDING_PRINCIPAL && to == SyllabusStatus.APPROVED) {
+            sendNotificationToAdmin(syllabus, approver);
+        }
+
+        // Gửi thông báo cho sinh viên dựa vào stage phê duyệt
+        if (to == SyllabusStatus.PUBLISHED) {
+            notifyStudentsOnPublish(syllabus);
+        } else {
+            notifyStudentsOnApprovalStages(syllabus, from, to);
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onSyllabusRejected(SyllabusRejectedEvent event) {
+        SyllabusVersion syllabus = syllabusVersionRepository.findById(event.syllabusVersionId())
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", event.syllabusVersionId()));
+        User rejector = event.actorId() != null ? userRepository.findById(event.actorId()).orElse(null) : null;
+
+        // Send notification to primary lecturer
+        sendRejectionNotificationToLecturer(syllabus, rejector, event.reason(), determineActorRole(event.fromStatus()));
+
+        // If AA rejects, also send notification to HOD
+        if (event.fromStatus() == SyllabusStatus.PENDING_AA) {
+            sendRejectionNotificationToHOD(syllabus, rejector, event.reason());
+        }
+
+        // If Principal rejects, send notification to Lecturer + HOD + AA
+        if (event.fromStatus() == SyllabusStatus.PENDING_PRINCIPAL) {
+            sendRejectionNotificationToAA(syllabus, rejector, event.reason());
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onSyllabusPublished(SyllabusPublishedEvent event) {
+        syllabusVersionRepository.findById(event.syllabusVersionId())
+                .ifPresent(this::notifyStudentsOnPublish);
+    }
+
     // --- HELPERS (Bao gồm hàm gửi thông báo cho sinh viên) ---
     
     // ✅ HÀM NOTIFICATION KHI XUẤT HÀNH (PUBLIC để có thể gọi từ AdminSyllabusService)
     public void notifyStudentsOnPublish(SyllabusVersion syllabus) {
         try {
-            log.info("📌 [NotifyStudents] Bắt đầu tìm trackers cho syllabus: {}", syllabus.getId());
+            log.info("📌 [NotifyStudents] Bắt đầu tìm người theo dõi cho syllabus: {}", syllabus.getId());
             
-            // Tìm tất cả Tracker có syllabusId này (với EAGER fetch để tránh lazy loading issues)
-            List<StudentSyllabusTracker> trackers = studentSyllabusTrackerRepository.findBySyllabusId(syllabus.getId());
+            // Lấy id sinh viên theo dõi từ follower index (không query bảng tracker, không load User)
+            List<UUID> followerIds = syllabusFollowerService.followersOf(syllabus.getId());
             
-            log.info("📌 [NotifyStudents] Tìm thấy {} trackers cho syllabus: {}", trackers.size(), syllabus.getId());
+            log.info("📌 [NotifyStudents] Tìm thấy {} người theo dõi cho syllabus: {}", followerIds.size(), syllabus.getId());
             
-            if (trackers.isEmpty()) {
+            if (followerIds.isEmpty()) {
                 log.info("ℹ️  Không có sinh viên nào theo dõi đề cương {}", syllabus.getId());
                 return;
             }
 
-            String title = "Đề cương đã xuất hành";
-            String message = String.format("Đề cương môn %s - %s đã chính thức được xuất hành.", 
+            String title = systemSettingRegistry.get(SystemSettings.NOTIFY_PUBLISHED_TITLE);
+            String message = String.format(systemSettingRegistry.get(SystemSettings.NOTIFY_PUBLISHED_MESSAGE),
                     syllabus.getSnapSubjectCode(), syllabus.getSnapSubjectNameVi());
 
             Map<String, Object> payload = new HashMap<>();
@@ -729,17 +776,10 @@ public class SyllabusService {
 
             List<Notification> notifications = new ArrayList<>();
             
-            for (StudentSyllabusTracker tracker : trackers) {
+            for (UUID studentId : followerIds) {
                 try {
-                    // Lấy user từ tracker (EAGER load từ annotation)
-                    User student = tracker.getStudent();
-                    
-                    if (student == null) {
-                        log.warn("⚠️  [NotifyStudents] Student NULL cho tracker: {}", tracker.getId());
-                        continue;
-                    }
-                    
-                    log.info("📌 [NotifyStudents] Tạo notification cho student: {} ({})", student.getId(), student.getFullName());
+                    // Chỉ cần tham chiếu theo id để gắn khóa ngoại, không load User
+                    User student = userRepository.getReferenceById(studentId);
                     
                     Notification notification = Notification.builder()
                             .user(student)
@@ -752,7 +792,7 @@ public class SyllabusService {
                             .build();
                     notifications.add(notification);
                 } catch (Exception e) {
-                    log.error("❌ [NotifyStudents] Lỗi tạo notification cho tracker {}: {}", tracker.getId(), e.getMessage(), e);
+                    log.error("❌ [NotifyStudents] Lỗi tạo notification cho student {}: {}", studentId, e.getMessage(), e);
                 }
             }
 
@@ -771,13 +811,13 @@ public class SyllabusService {
     // ✅ HÀM NOTIFICATION KHI CẬP NHẬT ĐỀ CƯƠNG
     private void notifyStudentsOnUpdate(SyllabusVersion syllabus) {
         try {
-            log.info("📌 [NotifyUpdate] Bắt đầu tìm trackers cho syllabus: {}", syllabus.getId());
+            log.info("📌 [NotifyUpdate] Bắt đầu tìm người theo dõi cho syllabus: {}", syllabus.getId());
             
-            List<StudentSyllabusTracker> trackers = studentSyllabusTrackerRepository.findBySyllabusId(syllabus.getId());
+            List<UUID> followerIds = syllabusFollowerService.followersOf(syllabus.getId());
             
-            log.info("📌 [NotifyUpdate] Tìm thấy {} trackers", trackers.size());
+            log.info("📌 [NotifyUpdate] Tìm thấy {} người theo dõi", followerIds.size());
             
-            if (trackers.isEmpty()) {
+            if (followerIds.isEmpty()) {
                 log.info("ℹ️  Không có sinh viên nào theo dõi đề cương {}", syllabus.getId());
                 return;
             }
@@ -793,23 +833,21 @@ public class SyllabusService {
 
             List<Notification> notifications = new ArrayList<>();
             
-            for (StudentSyllabusTracker tracker : trackers) {
+            for (UUID studentId : followerIds) {
                 try {
-                    User student = tracker.getStudent();
-                    if (student != null) {
-                        Notification notification = Notification.builder()
-                                .user(student)
-                                .type("SYSTEM") 
-                                .title(title)
-                                .message(message)
-                                .payload(payload)
-                                .isRead(false)
-                                .createdAt(java.time.LocalDateTime.now())
-                                .build();
-                        notifications.add(notification);
-                    }
+                    User student = userRepository.getReferenceById(studentId);
+                    Notification notification = Notification.builder()
+                            .user(student)
+                            .type("SYSTEM") 
+                            .title(title)
+                            .message(message)
+                            .payload(payload)
+                            .isRead(false)
+                            .createdAt(java.time.LocalDateTime.now())
+                            .build();
+                    notifications.add(notification);
                 } catch (Exception e) {
-                    log.error("❌ Lỗi tạo notification update cho tracker {}: {}", tracker.getId(), e.getMessage());
+                    log.error("❌ Lỗi tạo notification update cho student {}: {}", studentId, e.getMessage());
                 }
             }
 
@@ -828,11 +866,11 @@ public class SyllabusService {
         try {
             log.info("📌 [NotifyApprovalStage] Stage: {} → {}", previousStatus, nextStatus);
             
-            List<StudentSyllabusTracker> trackers = studentSyllabusTrackerRepository.findBySyllabusId(syllabus.getId());
+            List<UUID> followerIds = syllabusFollowerService.followersOf(syllabus.getId());
             
-            log.info("📌 [NotifyApprovalStage] Tìm thấy {} trackers", trackers.size());
+            log.info("📌 [NotifyApprovalStage] Tìm thấy {} người theo dõi", followerIds.size());
             
-            if (trackers.isEmpty()) {
+            if (followerIds.isEmpty()) {
                 return;
             }
 
@@ -868,23 +906,21 @@ public class SyllabusService {
 
             List<Notification> notifications = new ArrayList<>();
             
-            for (StudentSyllabusTracker tracker : trackers) {
+            for (UUID studentId : followerIds) {
                 try {
-                    User student = tracker.getStudent();
-                    if (student != null) {
-                        Notification notification = Notification.builder()
-                                .user(student)
-                                .type("SYSTEM")
-                                .title(title)
-                                .message(message)
-                                .payload(payload)
-                                .isRead(false)
-                                .createdAt(java.time.LocalDateTime.now())
-                                .build();
-                        notifications.add(notification);
-                    }
+                    User student = userRepository.getReferenceById(studentId);
+                    Notification notification = Notification.builder()
+                            .user(student)
+                            .type("SYSTEM")
+                            .title(title)
+                            .message(message)
+                            .payload(payload)
+                            .isRead(false)
+                            .createdAt(java.time.LocalDateTime.now())
+                            .build();
+                    notifications.add(notification);
                 } catch (Exception e) {
-                    log.error("❌ Lỗi tạo notification stage cho tracker {}: {}", tracker.getId(), e.getMessage());
+                    log.error("❌ Lỗi tạo notification stage cho student {}: {}", studentId, e.getMessage());
                 }
             }
 
@@ -901,13 +937,13 @@ public class SyllabusService {
     // ✅ HÀM NOTIFICATION KHI GỠ BỎ ĐỀ CƯƠNG
     public void notifyStudentsOnUnpublish(SyllabusVersion syllabus, String reason) {
         try {
-            log.info("📌 [NotifyUnpublish] Bắt đầu tìm trackers cho syllabus: {}", syllabus.getId());
+            log.info("📌 [NotifyUnpublish] Bắt đầu tìm người theo dõi cho syllabus: {}", syllabus.getId());
             
-            List<StudentSyllabusTracker> trackers = studentSyllabusTrackerRepository.findBySyllabusId(syllabus.getId());
+            List<UUID> followerIds = syllabusFollowerService.followersOf(syllabus.getId());
             
-            log.info("📌 [NotifyUnpublish] Tìm thấy {} trackers", trackers.size());
+            log.info("📌 [NotifyUnpublish] Tìm thấy {} người theo dõi", followerIds.size());
             
-            if (trackers.isEmpty()) {
+            if (followerIds.isEmpty()) {
                 log.info("ℹ️  Không có sinh viên nào theo dõi đề cương {}", syllabus.getId());
                 return;
             }
@@ -926,23 +962,21 @@ public class SyllabusService {
 
             List<Notification> notifications = new ArrayList<>();
             
-            for (StudentSyllabusTracker tracker : trackers) {
+            for (UUID studentId : followerIds) {
                 try {
-                    User student = tracker.getStudent();
-                    if (student != null) {
-                        Notification notification = Notification.builder()
-                                .user(student)
-                                .type("SYSTEM")
-                                .title(title)
-                                .message(message)
-                                .payload(payload)
-                                .isRead(false)
-                                .createdAt(java.time.LocalDateTime.now())
-                                .build();
-                        notifications.add(notification);
-                    }
+                    User student = userRepository.getReferenceById(studentId);
+                    Notification notification = Notification.builder()
+                            .user(student)
+                            .type("SYSTEM")
+                            .title(title)
+                            .message(message)
+                            .payload(payload)
+                            .isRead(false)
+                            .createdAt(java.time.LocalDateTime.now())
+                            .build();
+                    notifications.add(notification);
                 } catch (Exception e) {
-                    log.error("❌ Lỗi tạo notification unpublish cho tracker {}: {}", tracker.getId(), e.getMessage());
+                    log.error("❌ Lỗi tạo notification unpublish cho student {}: {}", studentId, e.getMessage());
                 }
             }
 
@@ -993,6 +1027,7 @@ public class SyllabusService {
         response.setEffectiveDate(syllabus.getEffectiveDate());
         response.setKeywords(syllabus.getKeywords());
         response.setContent(syllabus.getContent());
+        response.setContentRevision(syllabus.getContentRevision());
 
         Subject subject = syllabus.getSubject();
         if (subject != null) {
@@ -1540,16 +1575,36 @@ public class SyllabusService {
     /**
      * Auto-suggest PLO mappings based on CLO descriptions and Bloom's levels
      * Delegates to PloMappingService for intelligent keyword matching
+     * (dùng danh mục PLO của curriculum chứa môn học của đề cương)
      */
-    public List<Map<String, Object>> suggestPloMappings(List<Map<String, Object>> clos) {
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> suggestPloMappings(UUID syllabusId, List<Map<String, Object>> clos) {
+        SyllabusVersion syllabus = syllabusVersionRepository.findById(syllabusId)
+                .orElseThrow(() -> new ResourceNotFoundException("Syllabus", "id", syllabusId));
+        Curriculum curriculum = syllabus.getSubject().getCurriculum();
         log.info("Suggesting PLO mappings for {} CLOs", clos.size());
-        return ploMappingService.suggestPloMappings(clos);
+        return ploMappingService.suggestPloMappings(curriculum != null ? curriculum.getId() : null, clos);
     }
     
+    /**
+     * Next workflow status when a syllabus in the given status is approved (null = cannot approve)
+     * Dùng chung cho approve từng đề cương và duyệt hàng loạt (SyllabusBulkDecisionService)
+     */
+    static SyllabusStatus nextApprovalStatus(SyllabusStatus status) {
+        return switch (status) {
+            case PENDING_HOD -> SyllabusStatus.PENDING_AA;
+            case PENDING_HOD_REVISION -> SyllabusStatus.PENDING_ADMIN_REPUBLISH; // Post-publication revision approved by HOD
+            case PENDING_AA -> SyllabusStatus.PENDING_PRINCIPAL;
+            case PENDING_PRINCIPAL -> SyllabusStatus.APPROVED;
+            case APPROVED -> SyllabusStatus.PUBLISHED;
+            default -> null;
+        };
+    }
+
     /**
      * Determine actor role based on current syllabus status
      */
-    private ActorRoleType determineActorRole(SyllabusStatus status) {
+    static ActorRoleType determineActorRole(SyllabusStatus status) {
         return switch (status) {
             case PENDING_HOD, PENDING_HOD_REVISION -> ActorRoleType.HOD;
             case PENDING_AA -> ActorRoleType.AA;
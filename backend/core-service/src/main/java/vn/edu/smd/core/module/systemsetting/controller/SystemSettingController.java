@@ -0,0 +1,43 @@
+package vn.edu.smd.core.module.systemsetting.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.module.systemsetting.dto.SystemSettingRequest;
+import vn.edu.smd.core.module.systemsetting.dto.SystemSettingResponse;
+import vn.edu.smd.core.module.systemsetting.service.SystemSettingService;
+
+import java.util.List;
+
+@Tag(name = "System Settings", description = "Runtime configuration (system_settings) APIs")
+@RestController
+@RequestMapping("/api/system-settings")
+@RequiredArgsConstructor
+public class SystemSettingController {
+
+    private final SystemSettingService systemSettingService;
+
+    @Operation(summary = "Get all settings", description = "Stored settings plus settings read by the code with their defaults")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SystemSettingResponse>>> getAllSettings() {
+        return ResponseEntity.ok(ApiResponse.success(systemSettingService.getAllSettings()));
+    }
+
+    @Operation(summary = "Get setting by key")
+    @GetMapping("/{key}")
+    public ResponseEntity<ApiResponse<SystemSettingResponse>> getSetting(@PathVariable String key) {
+        return ResponseEntity.ok(ApiResponse.success(systemSettingService.getSetting(key)));
+    }
+
+    @Operation(summary = "Update setting", description = "Create or update a setting (admin); applied on every instance without redeploy")
+    @PutMapping("/{key}")
+    public ResponseEntity<ApiResponse<SystemSettingResponse>> updateSetting(@PathVariable String key,
+                                                                           @Valid @RequestBody SystemSettingRequest request) {
+        SystemSettingResponse setting = systemSettingService.updateSetting(key, request);
+        return ResponseEntity.ok(ApiResponse.success("Setting updated successfully", setting));
+    }
+}
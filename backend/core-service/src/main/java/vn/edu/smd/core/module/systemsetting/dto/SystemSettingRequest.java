@@ -0,0 +1,15 @@
+package vn.edu.smd.core.module.systemsetting.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class SystemSettingRequest {
+    /** jsonb của dòng, dạng {"value": ...} */
+    @NotNull(message = "Value is required")
+    private Map<String, Object> value;
+
+    private String description;
+}
@@ -0,0 +1,21 @@
+package vn.edu.smd.core.module.systemsetting.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class SystemSettingResponse {
+    private String key;
+    /** jsonb đang lưu trong DB (null nếu khoá chưa có dòng) */
+    private Map<String, Object> value;
+    private String description;
+    /** Khoá được code đọc (khai báo trong SystemSettings) */
+    private boolean known;
+    /** Giá trị code đang dùng: giá trị đã lưu, hoặc mặc định khi chưa có dòng / dòng không hợp lệ */
+    private Object effectiveValue;
+    private Object defaultValue;
+    private String updatedByName;
+    private LocalDateTime updatedAt;
+}
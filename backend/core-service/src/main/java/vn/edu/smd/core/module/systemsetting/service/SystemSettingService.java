@@ -0,0 +1,140 @@
+package vn.edu.smd.core.module.systemsetting.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.exception.UnauthorizedException;
+import vn.edu.smd.core.common.settings.SettingKey;
+import vn.edu.smd.core.common.settings.SystemSettingRegistry;
+import vn.edu.smd.core.common.settings.SystemSettings;
+import vn.edu.smd.core.entity.SystemSetting;
+import vn.edu.smd.core.entity.User;
+import vn.edu.smd.core.module.systemsetting.dto.SystemSettingRequest;
+import vn.edu.smd.core.module.systemsetting.dto.SystemSettingResponse;
+import vn.edu.smd.core.repository.SystemSettingRepository;
+import vn.edu.smd.core.repository.UserRepository;
+import vn.edu.smd.core.security.UserPrincipal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Quản trị system_settings: danh sách khoá (cả khoá code đọc nhưng chưa có dòng) và cập nhật giá trị
+ *
+ * Khoá khai báo trong SystemSettings được kiểm tra kiểu / miền giá trị trước khi lưu; sau commit
+ * SystemSettingRegistry làm mới snapshot trên mọi instance.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SystemSettingService {
+
+    private final SystemSettingRepository systemSettingRepository;
+    private final SystemSettingRegistry systemSettingRegistry;
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public List<SystemSettingResponse> getAllSettings() {
+        Map<String, SystemSetting> rows = systemSettingRepository.findAll().stream()
+                .collect(Collectors.toMap(SystemSetting::getKey, Function.identity()));
+        List<SystemSettingResponse> responses = new ArrayList<>();
+        for (SettingKey<?> key : SystemSettings.catalog()) {
+            responses.add(mapToResponse(key.name(), rows.remove(key.name()), key));
+        }
+        rows.values().forEach(row -> responses.add(mapToResponse(row.getKey(), row, null)));
+        responses.sort(Comparator.comparing(SystemSettingResponse::getKey));
+        return responses;
+    }
+
+    @Transactional(readOnly = true)
+    public SystemSettingResponse getSetting(String key) {
+        SettingKey<?> settingKey = SystemSettings.find(key);
+        SystemSetting row = systemSettingRepository.findByKey(key).orElse(null);
+        if (row == null && settingKey == null) {
+            throw new ResourceNotFoundException("SystemSetting", "key", key);
+        }
+        return mapToResponse(key, row, settingKey);
+    }
+
+    @Transactional
+    public SystemSettingResponse updateSetting(String key, SystemSettingRequest request) {
+        User admin = requireAdmin();
+        if (key == null || key.isBlank() || key.length() > 100) {
+            throw new BadRequestException("Khoá cấu hình không hợp lệ");
+        }
+        SettingKey<?> settingKey = SystemSettings.find(key);
+        if (settingKey != null) {
+            try {
+                settingKey.parse(request.getValue());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        }
+
+        SystemSetting setting = systemSettingRepository.findByKey(key)
+                .orElseGet(() -> SystemSetting.builder().key(key).build());
+        setting.setValue(request.getValue());
+        if (request.getDescription() != null) {
+            setting.setDescription(request.getDescription());
+        }
+        setting.setUpdatedBy(admin);
+        SystemSetting saved = systemSettingRepository.save(setting);
+
+        systemSettingRegistry.invalidate(key);
+        log.info("⚙️ System setting {} updated by {}", key, admin.getEmail());
+        return mapToResponse(key, saved, settingKey);
+    }
+
+    private SystemSettingResponse mapToResponse(String key, SystemSetting row, SettingKey<?> settingKey) {
+        SystemSettingResponse response = new SystemSettingResponse();
+        response.setKey(key);
+        response.setKnown(settingKey != null);
+        if (row != null) {
+            response.setValue(row.getValue());
+            response.setDescription(row.getDescription());
+            response.setUpdatedByName(row.getUpdatedBy() != null ? row.getUpdatedBy().getFullName() : null);
+            response.setUpdatedAt(row.getUpdatedAt());
+        }
+        if (settingKey != null) {
+            response.setDefaultValue(settingKey.defaultValue());
+            response.setEffectiveValue(effectiveValue(settingKey, row));
+        }
+        return response;
+    }
+
+    /** Giá trị code sẽ dùng theo dòng vừa đọc (snapshot của registry có thể chưa kịp làm mới) */
+    private static Object effectiveValue(SettingKey<?> key, SystemSetting row) {
+        if (row == null) {
+            return key.defaultValue();
+        }
+        try {
+            return key.parse(row.getValue());
+        } catch (IllegalArgumentException e) {
+            return key.defaultValue();
+        }
+    }
+
+    private User requireAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        User user = userRepository.findByIdWithRoles(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", principal.getId()));
+        Set<String> roleCodes = user.getRoles().stream().map(role -> role.getCode()).collect(Collectors.toSet());
+        if (!roleCodes.contains("ADMIN")) {
+            throw new UnauthorizedException("Chỉ quản trị viên được thay đổi cấu hình hệ thống");
+        }
+        return user;
+    }
+}
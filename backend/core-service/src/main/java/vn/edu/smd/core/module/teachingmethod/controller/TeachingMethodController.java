@@ -6,7 +6,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import vn.edu.smd.core.common.dto.ApiResponse;
+import vn.edu.smd.core.common.refdata.ReferenceDataResponses;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.module.teachingmethod.dto.TeachingMethodRequest;
 import vn.edu.smd.core.module.teachingmethod.dto.TeachingMethodResponse;
 import vn.edu.smd.core.module.teachingmethod.service.TeachingMethodService;
@@ -24,9 +27,8 @@ public class TeachingMethodController {
 
     @Operation(summary = "Get all teaching methods", description = "Get list of all teaching methods")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TeachingMethodResponse>>> getAllMethods() {
-        List<TeachingMethodResponse> methods = teachingMethodService.getAllMethods();
-        return ResponseEntity.ok(ApiResponse.success(methods));
+    public ResponseEntity<ApiResponse<List<TeachingMethodResponse>>> getAllMethods(WebRequest webRequest) {
+        return ReferenceDataResponses.ok(webRequest, teachingMethodService.getTeachingMethodSnapshot(), ReferenceSnapshot::getItems);
     }
 
     @Operation(summary = "Get method by ID", description = "Get teaching method details by ID")
@@ -1,9 +1,13 @@
 package vn.edu.smd.core.module.teachingmethod.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
+import vn.edu.smd.core.common.refdata.ReferenceDataRegistry;
+import vn.edu.smd.core.common.refdata.ReferenceDataset;
+import vn.edu.smd.core.common.refdata.ReferenceSnapshot;
 import vn.edu.smd.core.entity.TeachingMethod;
 import vn.edu.smd.core.entity.SyllabusVersion;
 import vn.edu.smd.core.module.teachingmethod.dto.TeachingMethodRequest;
@@ -12,6 +16,7 @@ import vn.edu.smd.core.repository.TeachingMethodRepository;
 import vn.edu.smd.core.repository.SyllabusVersionRepository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,17 +26,29 @@ public class TeachingMethodService {
 
     private final TeachingMethodRepository teachingMethodRepository;
     private final SyllabusVersionRepository syllabusVersionRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    private ReferenceDataset<TeachingMethodResponse> teachingMethods;
+
+    @PostConstruct
+    void registerReferenceData() {
+        teachingMethods = referenceDataRegistry.register(ReferenceDataRegistry.TEACHING_METHODS,
+                Set.of(ReferenceDataRegistry.TEACHING_METHODS),
+                () -> teachingMethodRepository.findAll().stream().map(this::mapToResponse).toList(),
+                TeachingMethodResponse::getId);
+    }
+
+    public ReferenceSnapshot<TeachingMethodResponse> getTeachingMethodSnapshot() {
+        return teachingMethods.snapshot();
+    }
 
     public List<TeachingMethodResponse> getAllMethods() {
-        return teachingMethodRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return teachingMethods.snapshot().getItems();
     }
 
     public TeachingMethodResponse getMethodById(UUID id) {
-        TeachingMethod method = teachingMethodRepository.findById(id)
+        return teachingMethods.snapshot().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TeachingMethod", "id", id));
-        return mapToResponse(method);
     }
 
     @Transactional
@@ -47,6 +64,7 @@ public class TeachingMethodService {
                 .build();
 
         TeachingMethod saved = teachingMethodRepository.save(method);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.TEACHING_METHODS);
         return mapToResponse(saved);
     }
 
@@ -64,6 +82,7 @@ public class TeachingMethodService {
         method.setPercentage(request.getPercentage());
 
         TeachingMethod updated = teachingMethodRepository.save(method);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.TEACHING_METHODS);
         return mapToResponse(updated);
     }
 
@@ -72,6 +91,7 @@ public class TeachingMethodService {
         TeachingMethod method = teachingMethodRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TeachingMethod", "id", id));
         teachingMethodRepository.delete(method);
+        referenceDataRegistry.invalidate(ReferenceDataRegistry.TEACHING_METHODS);
     }
 
     public List<TeachingMethodResponse> getMethodsBySyllabusId(UUID syllabusId) {
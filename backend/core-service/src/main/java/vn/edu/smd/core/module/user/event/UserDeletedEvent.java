@@ -0,0 +1,9 @@
+package vn.edu.smd.core.module.user.event;
+
+import java.util.UUID;
+
+/**
+ * Phát ra khi tài khoản bị xóa - các chỉ mục giữ id người dùng (vd: follower index) bỏ id này sau commit
+ */
+public record UserDeletedEvent(UUID userId) {
+}
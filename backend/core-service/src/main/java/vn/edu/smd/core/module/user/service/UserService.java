@@ -1,6 +1,7 @@
 package vn.edu.smd.core.module.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,6 +12,7 @@ import vn.edu.smd.core.common.exception.BadRequestException;
 import vn.edu.smd.core.common.exception.ResourceNotFoundException;
 import vn.edu.smd.core.entity.*;
 import vn.edu.smd.core.module.user.dto.*;
+import vn.edu.smd.core.module.user.event.UserDeletedEvent;
 import vn.edu.smd.core.repository.*;
 import vn.edu.smd.shared.enums.AuthProvider;
 import vn.edu.smd.shared.enums.RoleScope;
@@ -31,6 +33,7 @@ public class UserService {
     private final FacultyRepository facultyRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- 1. GET ALL (QUAY VỀ BẢN ĐƠN GIẢN) ---
 
@@ -154,6 +157,7 @@ public class UserService {
             throw new ResourceNotFoundException("User", "id", id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 
     // --- 3. STATUS & ROLES ---
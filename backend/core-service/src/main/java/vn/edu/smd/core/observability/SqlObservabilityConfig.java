@@ -0,0 +1,45 @@
+package vn.edu.smd.core.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL Observability Configuration
+ *
+ * Bọc DataSource bằng datasource-proxy để đếm statement, thời gian JDBC
+ * và số row đọc được cho từng HTTP request.
+ *
+ * Tắt bằng: app.observability.sql.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.observability.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlObservabilityConfig {
+
+    /**
+     * static để BeanPostProcessor được tạo sớm, trước DataSource
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlStatementListener listener = new SqlStatementListener();
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
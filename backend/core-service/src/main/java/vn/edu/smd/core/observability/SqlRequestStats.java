@@ -0,0 +1,68 @@
+package vn.edu.smd.core.observability;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statistics của một HTTP request
+ *
+ * Được SqlStatementListener cộng dồn trên thread đang xử lý request,
+ * sau đó SqlStatementMetricsFilter đọc ra để publish metrics.
+ */
+public class SqlRequestStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statementCount;
+    private long jdbcTimeNanos;
+    private long rowsFetched;
+
+    /**
+     * Số lần thực thi của từng câu SQL (theo text đã chuẩn hoá)
+     */
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statementCount++;
+        jdbcTimeNanos += elapsedNanos;
+        statementCounts.merge(normalize(sql), 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rowsFetched++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcTimeNanos() {
+        return jdbcTimeNanos;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public Map<String, Integer> getStatementCounts() {
+        return statementCounts;
+    }
+
+    /**
+     * Câu SQL bị lặp lại nhiều nhất trong request (ứng viên N+1)
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return statementCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    /**
+     * Hibernate đã dùng placeholder "?" nên chỉ cần gom khoảng trắng
+     * để các câu giống nhau được đếm chung một key.
+     */
+    private static String normalize(String sql) {
+        return sql == null ? "" : WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,61 @@
+package vn.edu.smd.core.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener ghi nhận statement, thời gian JDBC và số row đã đọc
+ * vào SqlRequestStats của request hiện tại.
+ *
+ * Thời gian đo bằng System.nanoTime() giữa beforeQuery / afterQuery
+ * (ExecutionInfo.getElapsedTime() chỉ có độ phân giải mili giây, câu SQL ngắn bị tính = 0).
+ */
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = SqlStatementListener.class.getName() + ".startNanos";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatementRecorder.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlStatementRecorder.current();
+        if (stats == null) {
+            return;
+        }
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        // Batch: thời gian tính một lần cho cả batch, mỗi câu SQL vẫn được đếm
+        long elapsed = start != null ? System.nanoTime() - start : 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            stats.recordStatement(queryInfo.getQuery(), elapsed);
+            elapsed = 0;
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // no-op
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof ResultSet)
+                || !"next".equals(executionContext.getMethod().getName())) {
+            return;
+        }
+        SqlRequestStats stats = SqlStatementRecorder.current();
+        if (stats != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            stats.recordRow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package vn.edu.smd.core.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publish SQL statistics theo endpoint lên Micrometer (/actuator/prometheus)
+ *
+ * Metrics (tag: method, uri):
+ * - smd.sql.statements: số statement mỗi request
+ * - smd.sql.time: tổng thời gian JDBC mỗi request
+ * - smd.sql.rows: số row đã đọc mỗi request
+ * - smd.sql.n_plus_one: số request có một câu SQL lặp lại >= ngưỡng (nghi N+1)
+ *
+ * Stats của request được gắn vào attribute STATS_ATTRIBUTE để test có thể kiểm tra.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.observability.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".STATS";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.observability.sql.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementRecorder.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats stats = SqlStatementRecorder.end();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            publish(request, stats);
+        }
+    }
+
+    private void publish(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats == null || stats.getStatementCount() == 0) {
+            return;
+        }
+
+        String uri = resolveUri(request);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("smd.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+
+        Timer.builder("smd.sql.time")
+                .description("Total JDBC execution time per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcTimeNanos(), TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("smd.sql.rows")
+                .description("Result set rows fetched per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRowsFetched());
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= nPlusOneThreshold) {
+            Counter.builder("smd.sql.n_plus_one")
+                    .description("Requests where a single statement repeated above the N+1 threshold")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("⚠️ Possible N+1 on {} {}: statement executed {} times ({} total) - {}",
+                    request.getMethod(), uri, repeated.getValue(), stats.getStatementCount(),
+                    abbreviate(repeated.getKey()));
+        }
+    }
+
+    /**
+     * Dùng URI pattern (vd: /api/subjects/{id}) thay vì URI thật để tránh bùng nổ tag
+     */
+    private String resolveUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private String abbreviate(String sql) {
+        return sql.length() > 200 ? sql.substring(0, 200) + "..." : sql;
+    }
+}
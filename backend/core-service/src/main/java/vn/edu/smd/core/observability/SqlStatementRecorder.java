@@ -0,0 +1,31 @@
+package vn.edu.smd.core.observability;
+
+/**
+ * Giữ SqlRequestStats của request hiện tại trong ThreadLocal
+ *
+ * Statement chạy ngoài một HTTP request (scheduler, RabbitMQ listener, Flyway)
+ * không có context nên sẽ bị bỏ qua.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlRequestStats end() {
+        SqlRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+}
@@ -0,0 +1,196 @@
+package vn.edu.smd.core.observability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo thời gian giữ connection của từng transaction theo method @Transactional
+ *
+ * Spring Boot tự gắn mọi TransactionExecutionListener vào transaction manager; chỉ tính transaction
+ * mới (không tính transaction tham gia vào transaction ngoài hay savepoint).
+ *
+ * Metrics:
+ * - smd.tx.duration (name, outcome, read_only): thời gian từ begin tới commit / rollback
+ * - smd.tx.outbound_calls (name, target): lời gọi Redis / RabbitMQ / FCM / PDF trong lúc giữ connection
+ * - smd.tx.slow (name): transaction vượt slow-threshold-ms
+ * - Pool (chờ connection, active / idle / pending): hikaricp.connections.* do Spring Boot publish
+ *
+ * Watchdog chụp stack trace của thread đang giữ transaction chậm ngay khi vượt ngưỡng (thấy được
+ * nó đang kẹt ở đâu), tối đa max-stack-traces-per-minute lần mỗi phút.
+ *
+ * Tắt bằng: app.observability.transactions.enabled=false
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.observability.transactions.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionMetricsListener implements TransactionExecutionListener {
+
+    static final String PROGRAMMATIC = "programmatic";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<DataSource> dataSource;
+    private final Map<TransactionExecution, TransactionStats> active = new ConcurrentHashMap<>();
+
+    @Value("${app.observability.transactions.slow-threshold-ms:2000}")
+    private long slowThresholdMs = 2000;
+
+    @Value("${app.observability.transactions.max-stack-traces-per-minute:10}")
+    private int maxStackTracesPerMinute = 10;
+
+    @Value("${app.observability.transactions.stack-depth:40}")
+    private int stackDepth = 40;
+
+    // Chỉ watchdog (một thread scheduler) đọc / ghi
+    private long windowStartNanos = System.nanoTime();
+    private int stackTracesInWindow;
+
+    public TransactionMetricsListener(MeterRegistry meterRegistry, ObjectProvider<DataSource> dataSource) {
+        this.meterRegistry = meterRegistry;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isNewTransaction() || transaction.isNested()) {
+            return;
+        }
+        TransactionStats stats = new TransactionStats(shortName(transaction.getTransactionName()),
+                transaction.isReadOnly(), System.nanoTime(), Thread.currentThread());
+        active.put(transaction, stats);
+        TransactionRecorder.push(stats);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction, "rollback");
+    }
+
+    private void finish(TransactionExecution transaction, String outcome) {
+        TransactionStats stats = active.remove(transaction);
+        if (stats == null) {
+            return;
+        }
+        TransactionRecorder.remove(stats);
+        long elapsedNanos = System.nanoTime() - stats.getStartNanos();
+
+        Timer.builder("smd.tx.duration")
+                .description("Time a transaction held its database connection, per transactional method")
+                .tags("name", stats.getName(), "outcome", outcome, "read_only", String.valueOf(stats.isReadOnly()))
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        stats.getOutboundCalls().forEach((target, count) -> Counter.builder("smd.tx.outbound_calls")
+                .description("Outbound calls (Redis, RabbitMQ, FCM, PDF) made while holding a database connection")
+                .tags("name", stats.getName(), "target", target)
+                .register(meterRegistry)
+                .increment(count));
+
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMs)) {
+            Counter.builder("smd.tx.slow")
+                    .description("Transactions that held a connection longer than the slow threshold")
+                    .tag("name", stats.getName())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("🐢 Slow transaction {} ({}) held a connection for {} ms, outbound calls inside: {}",
+                    stats.getName(), outcome, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    stats.getOutboundCalls().isEmpty() ? "none" : stats.getOutboundCalls());
+        }
+    }
+
+    /**
+     * Chụp stack trace của transaction vừa vượt ngưỡng trong lúc nó vẫn đang chạy
+     */
+    @Scheduled(fixedDelayString = "${app.observability.transactions.check-interval-ms:1000}")
+    public void sampleSlowTransactions() {
+        long now = System.nanoTime();
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        for (TransactionStats stats : active.values()) {
+            if (stats.isReported() || now - stats.getStartNanos() < thresholdNanos) {
+                continue;
+            }
+            stats.markReported();
+            if (!takeStackTraceBudget(now)) {
+                continue;
+            }
+            log.warn("🐢 Transaction {} on thread {} has held a connection for {} ms (pool: {}), currently at:{}",
+                    stats.getName(), stats.getThread().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(now - stats.getStartNanos()), poolState(),
+                    format(stats.getThread().getStackTrace()));
+        }
+    }
+
+    int activeCount() {
+        return active.size();
+    }
+
+    // ==========================================
+    // HELPER METHODS
+    // ==========================================
+
+    private boolean takeStackTraceBudget(long now) {
+        if (now - windowStartNanos >= TimeUnit.MINUTES.toNanos(1)) {
+            windowStartNanos = now;
+            stackTracesInWindow = 0;
+        }
+        return stackTracesInWindow++ < maxStackTracesPerMinute;
+    }
+
+    private String format(StackTraceElement[] stack) {
+        StringBuilder builder = new StringBuilder();
+        int depth = Math.min(stack.length, Math.max(1, stackDepth));
+        for (int i = 0; i < depth; i++) {
+            builder.append("\n\tat ").append(stack[i]);
+        }
+        if (stack.length > depth) {
+            builder.append("\n\t... ").append(stack.length - depth).append(" more");
+        }
+        return builder.toString();
+    }
+
+    private String poolState() {
+        try {
+            HikariPoolMXBean pool = dataSource.getObject().unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool == null) {
+                return "n/a";
+            }
+            return "active=" + pool.getActiveConnections() + ", idle=" + pool.getIdleConnections()
+                    + ", waiting=" + pool.getThreadsAwaitingConnection();
+        } catch (SQLException | RuntimeException e) {
+            return "n/a";
+        }
+    }
+
+    /**
+     * vn.edu.smd...SyllabusService.approveSyllabus → SyllabusService.approveSyllabus (tag ngắn, số giá trị hữu hạn)
+     */
+    static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isBlank()) {
+            return PROGRAMMATIC;
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
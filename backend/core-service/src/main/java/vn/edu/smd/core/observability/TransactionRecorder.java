@@ -0,0 +1,54 @@
+package vn.edu.smd.core.observability;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Giữ các transaction đang mở của thread hiện tại trong ThreadLocal
+ *
+ * Dạng ngăn xếp vì REQUIRES_NEW treo transaction ngoài và mở transaction mới trên cùng thread
+ * (cả hai connection đều đang bị giữ). Lời gọi ra ngoài (Redis, RabbitMQ, FCM, PDF) được gán
+ * cho transaction trong cùng.
+ */
+public final class TransactionRecorder {
+
+    private static final ThreadLocal<Deque<TransactionStats>> CURRENT = new ThreadLocal<>();
+
+    private TransactionRecorder() {
+    }
+
+    static void push(TransactionStats stats) {
+        Deque<TransactionStats> stack = CURRENT.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            CURRENT.set(stack);
+        }
+        stack.push(stats);
+    }
+
+    static void remove(TransactionStats stats) {
+        Deque<TransactionStats> stack = CURRENT.get();
+        if (stack == null) {
+            return;
+        }
+        stack.remove(stats);
+        if (stack.isEmpty()) {
+            CURRENT.remove();
+        }
+    }
+
+    public static TransactionStats current() {
+        Deque<TransactionStats> stack = CURRENT.get();
+        return stack != null ? stack.peek() : null;
+    }
+
+    /**
+     * Gọi trước mỗi lời gọi I/O ra ngoài; không làm gì nếu thread không giữ transaction nào
+     */
+    public static void recordOutboundCall(String target) {
+        TransactionStats stats = current();
+        if (stats != null) {
+            stats.recordOutboundCall(target);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package vn.edu.smd.core.observability;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thông tin của một transaction đang mở (một connection đang bị giữ)
+ *
+ * outboundCalls chỉ được ghi bởi thread sở hữu transaction; reported được watchdog đọc / ghi.
+ */
+public class TransactionStats {
+
+    private final String name;
+    private final boolean readOnly;
+    private final long startNanos;
+    private final Thread thread;
+    private final Map<String, Integer> outboundCalls = new LinkedHashMap<>();
+    private volatile boolean reported;
+
+    public TransactionStats(String name, boolean readOnly, long startNanos, Thread thread) {
+        this.name = name;
+        this.readOnly = readOnly;
+        this.startNanos = startNanos;
+        this.thread = thread;
+    }
+
+    public void recordOutboundCall(String target) {
+        outboundCalls.merge(target, 1, Integer::sum);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public Map<String, Integer> getOutboundCalls() {
+        return Collections.unmodifiableMap(outboundCalls);
+    }
+
+    public boolean isReported() {
+        return reported;
+    }
+
+    public void markReported() {
+        reported = true;
+    }
+}
@@ -1,11 +1,17 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.ApprovalHistory;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for ApprovalHistory entity
@@ -16,6 +22,10 @@ public interface ApprovalHistoryRepository extends JpaRepository<ApprovalHistory
     List<ApprovalHistory> findBySyllabusVersionId(UUID syllabusVersionId);
     
     List<ApprovalHistory> findByActorId(UUID actorId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM ApprovalHistory a JOIN FETCH a.actor u WHERE u.id = :actorId ORDER BY a.createdAt DESC")
+    Stream<ApprovalHistory> streamByActorId(@Param("actorId") UUID actorId);
     
     List<ApprovalHistory> findBySyllabusVersionIdOrderByCreatedAtDesc(UUID syllabusVersionId);
 }
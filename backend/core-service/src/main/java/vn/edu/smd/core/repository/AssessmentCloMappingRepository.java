@@ -3,8 +3,10 @@ package vn.edu.smd.core.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.AssessmentCloMapping;
+import vn.edu.smd.core.repository.projection.AssessmentCloWeightRow;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,4 +49,16 @@ public interface AssessmentCloMappingRepository extends JpaRepository<Assessment
 
     @Query("SELECT m FROM AssessmentCloMapping m WHERE m.assessmentScheme.id IN :ids")
     List<AssessmentCloMapping> findByAssessmentSchemeIdIn(@Param("ids") List<UUID> ids);
+
+    /**
+     * Thành phần đánh giá (kèm cha, trọng số) và các CLO nó đo của nhiều đề cương - một query cho rollup PLO / PI
+     */
+    @Query("SELECT new vn.edu.smd.core.repository.projection.AssessmentCloWeightRow("
+            + "a.syllabusVersion.id, a.id, parent.id, a.weightPercent, c.id, m.contributionPercent) "
+            + "FROM AssessmentScheme a "
+            + "LEFT JOIN a.parent parent "
+            + "LEFT JOIN AssessmentCloMapping m ON m.assessmentScheme = a "
+            + "LEFT JOIN m.clo c "
+            + "WHERE a.syllabusVersion.id IN :syllabusIds")
+    List<AssessmentCloWeightRow> findWeightRowsBySyllabusIds(@Param("syllabusIds") Collection<UUID> syllabusIds);
 }
\ No newline at end of file
@@ -1,25 +1,59 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.AuditLog;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for AuditLog entity
+ *
+ * Bảng audit_logs được partition theo tháng trên created_at (V57): mọi truy vấn đều giới hạn
+ * created_at để PostgreSQL loại bỏ các partition ngoài khoảng (partition pruning).
  */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
-    
-    List<AuditLog> findByEntityNameAndEntityId(String entityName, UUID entityId);
-    
-    List<AuditLog> findByActorId(UUID actorId);
-    
-    List<AuditLog> findByEntityName(String entityName);
-    
-    List<AuditLog> findByEntityNameAndEntityIdOrderByCreatedAtDesc(String entityName, UUID entityId);
-    
-    List<AuditLog> findByActorIdOrderByCreatedAtDesc(UUID actorId);
+
+    Page<AuditLog> findByCreatedAtGreaterThanEqual(LocalDateTime since, Pageable pageable);
+
+    Optional<AuditLog> findByIdAndCreatedAtGreaterThanEqual(UUID id, LocalDateTime since);
+
+    List<AuditLog> findByEntityNameAndEntityIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            String entityName, UUID entityId, LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AuditLog> streamByEntityNameAndEntityIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            String entityName, UUID entityId, LocalDateTime since);
+
+    List<AuditLog> findByActorIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(UUID actorId, LocalDateTime since);
+
+    Page<AuditLog> findByActorIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            UUID actorId, LocalDateTime since, Pageable pageable);
+
+    /**
+     * Tìm kiếm trong khoảng [from, to]; entityName / action rỗng = không lọc
+     * (dùng chuỗi rỗng thay cho NULL để tham số luôn có kiểu khi gửi xuống PostgreSQL)
+     */
+    @Query("SELECT a FROM AuditLog a " +
+           "WHERE a.createdAt >= :from AND a.createdAt <= :to " +
+           "AND (:entityName = '' OR a.entityName = :entityName) " +
+           "AND (:action = '' OR a.action = :action) " +
+           "ORDER BY a.createdAt DESC")
+    Page<AuditLog> search(@Param("from") LocalDateTime from,
+                          @Param("to") LocalDateTime to,
+                          @Param("entityName") String entityName,
+                          @Param("action") String action,
+                          Pageable pageable);
 }
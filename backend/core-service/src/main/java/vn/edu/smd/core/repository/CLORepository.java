@@ -1,12 +1,21 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.CLO;
+import vn.edu.smd.core.repository.projection.CloRow;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for CLO entity
@@ -21,4 +30,17 @@ public interface CLORepository extends JpaRepository<CLO, UUID> {
     boolean existsBySyllabusVersionIdAndCode(UUID syllabusVersionId, String code);
 
     List<CLO> findBySyllabusVersionIdOrderByCodeAsc(UUID syllabusVersionId);
+
+    List<CLO> findBySyllabusVersionIdInOrderByCodeAsc(List<UUID> syllabusVersionIds);
+
+    @Query(value = "SELECT new vn.edu.smd.core.repository.projection.CloRow(c.id, c.syllabusVersion.id, c.code, c.description, "
+            + "c.bloomLevel, c.weight, c.updatedAt) "
+            + "FROM CLO c WHERE c.syllabusVersion.id = :syllabusVersionId ORDER BY c.code, c.id",
+            countQuery = "SELECT COUNT(c) FROM CLO c WHERE c.syllabusVersion.id = :syllabusVersionId")
+    Page<CloRow> findRowsBySyllabusVersionId(@Param("syllabusVersionId") UUID syllabusVersionId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.CloRow(c.id, c.syllabusVersion.id, c.code, c.description, "
+            + "c.bloomLevel, c.weight, c.updatedAt) FROM CLO c")
+    Stream<CloRow> streamAllRows();
 }
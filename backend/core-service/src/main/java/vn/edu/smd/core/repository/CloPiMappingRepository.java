@@ -1,10 +1,14 @@
 package vn.edu.smd.core.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.CloPiMapping;
+import vn.edu.smd.core.repository.projection.CloOutcomeEdgeRow;
 import vn.edu.smd.shared.enums.MappingLevel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -54,4 +58,13 @@ public interface CloPiMappingRepository extends JpaRepository<CloPiMapping, UUID
      * Count mappings for CLO
      */
     long countByCloId(UUID cloId);
+
+    /**
+     * Cạnh CLO → PI (kèm mã PLO cha của PI) của nhiều đề cương - một query cho rollup PLO / PI
+     */
+    @Query("SELECT new vn.edu.smd.core.repository.projection.CloOutcomeEdgeRow("
+            + "c.syllabusVersion.id, c.id, p.code, pi.code, m.level) "
+            + "FROM CloPiMapping m JOIN m.clo c JOIN m.pi pi JOIN pi.plo p "
+            + "WHERE c.syllabusVersion.id IN :syllabusIds")
+    List<CloOutcomeEdgeRow> findEdgeRowsBySyllabusIds(@Param("syllabusIds") Collection<UUID> syllabusIds);
 }
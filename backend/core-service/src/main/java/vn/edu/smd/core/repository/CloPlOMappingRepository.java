@@ -2,9 +2,15 @@ package vn.edu.smd.core.repository;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.CloPlOMapping;
+import vn.edu.smd.core.repository.projection.CloOutcomeEdgeRow;
+import vn.edu.smd.core.repository.projection.CloPloCoverageRow;
+import vn.edu.smd.shared.enums.SyllabusStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,4 +30,39 @@ public interface CloPlOMappingRepository extends JpaRepository<CloPlOMapping, UU
     void deleteByPloId(UUID ploId);
 
     List<CloPlOMapping> findByCloIdIn(List<UUID> cloIds);
+
+    /**
+     * Ánh xạ CLO-PLO của mọi đề cương có trạng thái :status trong curriculum (một query, không load entity)
+     */
+    @Query("SELECT new vn.edu.smd.core.repository.projection.CloPloCoverageRow("
+            + "sub.id, sub.code, sv.id, sv.publishedAt, p.code, m.mappingLevel) "
+            + "FROM SyllabusVersion sv JOIN sv.subject sub "
+            + "LEFT JOIN CLO c ON c.syllabusVersion = sv "
+            + "LEFT JOIN CloPlOMapping m ON m.clo = c "
+            + "LEFT JOIN m.plo p "
+            + "WHERE sub.curriculum.id = :curriculumId AND sv.status = :status AND sv.isDeleted = false")
+    List<CloPloCoverageRow> findCoverageRowsByCurriculumId(@Param("curriculumId") UUID curriculumId,
+                                                           @Param("status") SyllabusStatus status);
+
+    /**
+     * Như findCoverageRowsByCurriculumId nhưng chỉ cho một môn (làm mới một hàng của ma trận)
+     */
+    @Query("SELECT new vn.edu.smd.core.repository.projection.CloPloCoverageRow("
+            + "sub.id, sub.code, sv.id, sv.publishedAt, p.code, m.mappingLevel) "
+            + "FROM SyllabusVersion sv JOIN sv.subject sub "
+            + "LEFT JOIN CLO c ON c.syllabusVersion = sv "
+            + "LEFT JOIN CloPlOMapping m ON m.clo = c "
+            + "LEFT JOIN m.plo p "
+            + "WHERE sub.id = :subjectId AND sv.status = :status AND sv.isDeleted = false")
+    List<CloPloCoverageRow> findCoverageRowsBySubjectId(@Param("subjectId") UUID subjectId,
+                                                        @Param("status") SyllabusStatus status);
+
+    /**
+     * Cạnh CLO → PLO của nhiều đề cương - một query cho rollup PLO / PI
+     */
+    @Query("SELECT new vn.edu.smd.core.repository.projection.CloOutcomeEdgeRow("
+            + "c.syllabusVersion.id, c.id, p.code, m.mappingLevel) "
+            + "FROM CloPlOMapping m JOIN m.clo c JOIN m.plo p "
+            + "WHERE c.syllabusVersion.id IN :syllabusIds")
+    List<CloOutcomeEdgeRow> findEdgeRowsBySyllabusIds(@Param("syllabusIds") Collection<UUID> syllabusIds);
 }
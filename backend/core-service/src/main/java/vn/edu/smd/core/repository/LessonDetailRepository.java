@@ -1,13 +1,35 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.LessonDetail;
+import vn.edu.smd.core.repository.projection.LessonDetailRow;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LessonDetailRepository extends JpaRepository<LessonDetail, UUID> {
     List<LessonDetail> findByLessonPlanId(UUID lessonPlanId);
+
+    @Query(value = "SELECT new vn.edu.smd.core.repository.projection.LessonDetailRow(d.id, p.id, p.weekNumber, d.sessionNumber, "
+            + "d.content, d.activity, d.durationMinutes, d.materials, d.updatedAt) "
+            + "FROM LessonDetail d JOIN d.lessonPlan p WHERE p.syllabusVersion.id = :syllabusVersionId "
+            + "ORDER BY p.weekNumber, d.sessionNumber, d.id",
+            countQuery = "SELECT COUNT(d) FROM LessonDetail d WHERE d.lessonPlan.syllabusVersion.id = :syllabusVersionId")
+    Page<LessonDetailRow> findRowsBySyllabusVersionId(@Param("syllabusVersionId") UUID syllabusVersionId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.LessonDetailRow(d.id, p.id, p.weekNumber, d.sessionNumber, "
+            + "d.content, d.activity, d.durationMinutes, d.materials, d.updatedAt) "
+            + "FROM LessonDetail d JOIN d.lessonPlan p")
+    Stream<LessonDetailRow> streamAllRows();
 }
@@ -1,13 +1,33 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.LessonPlan;
+import vn.edu.smd.core.repository.projection.LessonPlanRow;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LessonPlanRepository extends JpaRepository<LessonPlan, UUID> {
     List<LessonPlan> findBySyllabusVersionId(UUID syllabusVersionId);
+
+    @Query(value = "SELECT new vn.edu.smd.core.repository.projection.LessonPlanRow(p.id, p.syllabusVersion.id, p.weekNumber, p.topic, "
+            + "p.objectives, p.teachingMethod, p.assessmentMethod, p.updatedAt) "
+            + "FROM LessonPlan p WHERE p.syllabusVersion.id = :syllabusVersionId ORDER BY p.weekNumber, p.id",
+            countQuery = "SELECT COUNT(p) FROM LessonPlan p WHERE p.syllabusVersion.id = :syllabusVersionId")
+    Page<LessonPlanRow> findRowsBySyllabusVersionId(@Param("syllabusVersionId") UUID syllabusVersionId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.LessonPlanRow(p.id, p.syllabusVersion.id, p.weekNumber, p.topic, "
+            + "p.objectives, p.teachingMethod, p.assessmentMethod, p.updatedAt) FROM LessonPlan p")
+    Stream<LessonPlanRow> streamAllRows();
 }
@@ -1,13 +1,33 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.MaterialResource;
+import vn.edu.smd.core.repository.projection.MaterialResourceRow;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MaterialResourceRepository extends JpaRepository<MaterialResource, UUID> {
     List<MaterialResource> findBySyllabusVersionId(UUID syllabusVersionId);
+
+    @Query(value = "SELECT new vn.edu.smd.core.repository.projection.MaterialResourceRow(m.id, m.syllabusVersion.id, m.resourceType, m.title, "
+            + "m.author, m.publisher, m.year, m.url, m.isRequired, m.updatedAt) "
+            + "FROM MaterialResource m WHERE m.syllabusVersion.id = :syllabusVersionId ORDER BY m.resourceType, m.title, m.id",
+            countQuery = "SELECT COUNT(m) FROM MaterialResource m WHERE m.syllabusVersion.id = :syllabusVersionId")
+    Page<MaterialResourceRow> findRowsBySyllabusVersionId(@Param("syllabusVersionId") UUID syllabusVersionId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.MaterialResourceRow(m.id, m.syllabusVersion.id, m.resourceType, m.title, "
+            + "m.author, m.publisher, m.year, m.url, m.isRequired, m.updatedAt) FROM MaterialResource m")
+    Stream<MaterialResourceRow> streamAllRows();
 }
@@ -1,30 +1,37 @@
 package vn.edu.smd.core.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.Notification;
 import vn.edu.smd.core.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository for Notification entity
+ *
+ * Bảng notifications được partition theo tháng trên created_at (V57): các truy vấn đều nhận mốc
+ * "since" (đầu tháng cũ nhất còn lưu - RetentionWindow) để PostgreSQL chỉ quét các partition liên quan.
  */
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-    
-    List<Notification> findByUserId(UUID userId);
-    
-    List<Notification> findByUserIdAndIsRead(UUID userId, Boolean isRead);
-    
-    List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
-    
-    long countByUserIdAndIsRead(UUID userId, Boolean isRead);
-    
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
-    
-    List<Notification> findByUserAndIsReadFalse(User user);
-    
-    Long countByUserAndIsReadFalse(User user);
+
+    Optional<Notification> findByIdAndCreatedAtGreaterThanEqual(UUID id, LocalDateTime since);
+
+    boolean existsByIdAndCreatedAtGreaterThanEqual(UUID id, LocalDateTime since);
+
+    List<Notification> findByUserAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(User user, LocalDateTime since);
+
+    Long countByUserAndIsReadFalseAndCreatedAtGreaterThanEqual(User user, LocalDateTime since);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+           "WHERE n.user = :user AND n.isRead = false AND n.createdAt >= :since")
+    int markAllAsRead(@Param("user") User user, @Param("since") LocalDateTime since, @Param("readAt") LocalDateTime readAt);
 }
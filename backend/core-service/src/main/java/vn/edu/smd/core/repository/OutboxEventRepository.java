@@ -0,0 +1,54 @@
+package vn.edu.smd.core.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import vn.edu.smd.core.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for OutboxEvent entity
+ *
+ * Các lệnh cập nhật trạng thái chạy trên luồng dispatch (ngoài transaction nghiệp vụ) nên tự mở transaction.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<UUID> findDueIds(@Param("status") OutboxEvent.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Nhận xử lý event: lần đầu (attempts = 0, ngay sau commit) hoặc khi đã tới hạn thử lại / hết lease.
+     * Trả về 0 nếu luồng / instance khác đã nhận trước.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil "
+            + "WHERE e.id = :id AND e.status = :pending AND (e.attempts = 0 OR e.nextAttemptAt <= :now)")
+    int claim(@Param("id") UUID id, @Param("pending") OutboxEvent.Status pending,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.processedAt = :processedAt, e.lastError = null WHERE e.id = :id")
+    int markProcessed(@Param("id") UUID id, @Param("status") OutboxEvent.Status status,
+                      @Param("processedAt") LocalDateTime processedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") UUID id, @Param("status") OutboxEvent.Status status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxEvent.Status status, @Param("before") LocalDateTime before);
+}
@@ -1,14 +1,22 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.repository.projection.PloRow;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for PLO entity
@@ -21,9 +29,22 @@ public interface PLORepository extends JpaRepository<PLO, UUID> {
     List<PLO> findAll();
     
     @EntityGraph(attributePaths = {"subject"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PLO> findBySubjectId(UUID subjectId);
     
     Optional<PLO> findBySubjectIdAndCode(UUID subjectId, String code);
     
     boolean existsBySubjectIdAndCode(UUID subjectId, String code);
+
+    @Query("SELECT p FROM PLO p WHERE p.subject.curriculum.id = :curriculumId ORDER BY p.code")
+    List<PLO> findByCurriculumId(@Param("curriculumId") UUID curriculumId);
+
+    @Query(value = "SELECT new vn.edu.smd.core.repository.projection.PloRow(p.id, p.subject.id, p.code, p.description, p.category, p.updatedAt) "
+            + "FROM PLO p WHERE p.subject.id = :subjectId ORDER BY p.code, p.id",
+            countQuery = "SELECT COUNT(p) FROM PLO p WHERE p.subject.id = :subjectId")
+    Page<PloRow> findRowsBySubjectId(@Param("subjectId") UUID subjectId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.PloRow(p.id, p.subject.id, p.code, p.description, p.category, p.updatedAt) FROM PLO p")
+    Stream<PloRow> streamAllRows();
 }
@@ -1,8 +1,11 @@
 package vn.edu.smd.core.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.PerformanceIndicator;
+import vn.edu.smd.core.repository.projection.PiCatalogRow;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,4 +41,13 @@ public interface PerformanceIndicatorRepository extends JpaRepository<Performanc
      * Count performance indicators for a PLO
      */
     long countByPloId(UUID ploId);
+
+    /**
+     * Danh mục (mã PLO, mã PI) của curriculum, không trùng lặp
+     */
+    @Query("SELECT DISTINCT new vn.edu.smd.core.repository.projection.PiCatalogRow(p.code, pi.code) "
+            + "FROM PerformanceIndicator pi JOIN pi.plo p "
+            + "WHERE p.subject.curriculum.id = :curriculumId "
+            + "ORDER BY p.code, pi.code")
+    List<PiCatalogRow> findCatalogRowsByCurriculumId(@Param("curriculumId") UUID curriculumId);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.SubjectRelationship;
+import vn.edu.smd.core.repository.projection.PrerequisiteCodeRow;
 import vn.edu.smd.shared.enums.SubjectRelationType;
 
 import java.util.List;
@@ -22,6 +23,10 @@ public interface SubjectRelationshipRepository extends JpaRepository<SubjectRela
     
     @Query("SELECT sr FROM SubjectRelationship sr JOIN FETCH sr.relatedSubject JOIN FETCH sr.subject WHERE sr.subject.id IN :subjectIds AND sr.type = :type")
     List<SubjectRelationship> findBySubjectIdsAndTypeWithRelatedSubject(@Param("subjectIds") List<UUID> subjectIds, @Param("type") SubjectRelationType type);
+
+    @Query("SELECT new vn.edu.smd.core.repository.projection.PrerequisiteCodeRow(sr.subject.id, sr.relatedSubject.code) "
+            + "FROM SubjectRelationship sr WHERE sr.type = :type")
+    List<PrerequisiteCodeRow> findCodeRowsByType(@Param("type") SubjectRelationType type);
     
     List<SubjectRelationship> findBySubjectId(UUID subjectId);
     
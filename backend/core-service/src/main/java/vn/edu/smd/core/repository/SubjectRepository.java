@@ -1,13 +1,17 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.Subject;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Subject entity
@@ -17,7 +21,12 @@ public interface SubjectRepository extends JpaRepository<Subject, UUID> {
     
     @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.department d LEFT JOIN FETCH d.faculty")
     List<Subject> findAllWithDepartmentAndFaculty();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.department d LEFT JOIN FETCH d.faculty")
+    Stream<Subject> streamAllWithDepartmentAndFaculty();
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Subject> findByCode(String code);
     
     List<Subject> findByDepartmentId(UUID departmentId);
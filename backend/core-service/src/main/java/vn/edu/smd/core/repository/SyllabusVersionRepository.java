@@ -1,16 +1,25 @@
 package vn.edu.smd.core.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vn.edu.smd.core.entity.SyllabusVersion;
 import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.repository.projection.PublishedSyllabusListRow;
+import vn.edu.smd.core.repository.projection.PublishedSyllabusRow;
+import vn.edu.smd.core.repository.projection.SyllabusContentState;
 import vn.edu.smd.shared.enums.SyllabusStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface SyllabusVersionRepository extends JpaRepository<SyllabusVersion, UUID> {
@@ -35,9 +44,35 @@ public interface SyllabusVersionRepository extends JpaRepository<SyllabusVersion
     @Query("SELECT s FROM SyllabusVersion s WHERE s.isDeleted = false")
     List<SyllabusVersion> findAllActive();
 
+    @Query("SELECT s FROM SyllabusVersion s JOIN FETCH s.subject sub WHERE sub.curriculum.id = :curriculumId AND s.isDeleted = false ORDER BY sub.code")
+    List<SyllabusVersion> findByCurriculumIdAndNotDeleted(@Param("curriculumId") UUID curriculumId);
+
     @Query("SELECT s FROM SyllabusVersion s WHERE s.status = :status AND s.isDeleted = false")
     List<SyllabusVersion> findByStatusAndNotDeleted(@Param("status") SyllabusStatus status);
 
+    /**
+     * Mới xuất bản trước; chỉ các cột danh sách của sinh viên (môn, bộ môn, khoa, chương trình, học kỳ)
+     * và số CLO / hình thức đánh giá từ cột sinh tự động - không đọc tài liệu content
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new vn.edu.smd.core.repository.projection.PublishedSyllabusListRow("
+            + "s.id, sub.id, sub.code, sub.currentNameVi, sub.defaultCredits, d.name, f.name, c.name, t.name, "
+            + "s.publishedAt, s.contentCloCount, s.contentAssessmentCount) "
+            + "FROM SyllabusVersion s JOIN s.subject sub LEFT JOIN sub.department d LEFT JOIN d.faculty f "
+            + "LEFT JOIN sub.curriculum c LEFT JOIN s.academicTerm t "
+            + "WHERE s.status = :status AND s.isDeleted = false ORDER BY s.publishedAt DESC NULLS LAST")
+    Stream<PublishedSyllabusListRow> streamListRowsByStatusNewestFirst(@Param("status") SyllabusStatus status);
+
+    @Query("SELECT s FROM SyllabusVersion s JOIN FETCH s.subject sub WHERE sub.curriculum.id = :curriculumId "
+            + "AND s.status = :status AND s.isDeleted = false ORDER BY sub.code, s.publishedAt DESC")
+    List<SyllabusVersion> findByCurriculumIdAndStatus(@Param("curriculumId") UUID curriculumId,
+                                                      @Param("status") SyllabusStatus status);
+
+    @Query("SELECT s FROM SyllabusVersion s JOIN FETCH s.subject sub WHERE sub.department.faculty.id = :facultyId "
+            + "AND s.status = :status AND s.isDeleted = false ORDER BY sub.code, s.publishedAt DESC")
+    List<SyllabusVersion> findByFacultyIdAndStatus(@Param("facultyId") UUID facultyId,
+                                                   @Param("status") SyllabusStatus status);
+
     // ==========================================
     // CÁC HÀM MỚI ĐƯỢC THÊM ĐỂ FIX LỖI BUILD
     // ==========================================
@@ -68,4 +103,26 @@ public interface SyllabusVersionRepository extends JpaRepository<SyllabusVersion
 
     // Find first syllabus by subject, status, ordered by creation date
     Optional<SyllabusVersion> findFirstBySubjectIdAndStatusOrderByCreatedAtDesc(UUID subjectId, SyllabusStatus status);
+
+    // Duyệt / từ chối hàng loạt: một query cho cả lô, kèm môn học, học kỳ và giảng viên biên soạn
+    @EntityGraph(attributePaths = {"subject", "academicTerm", "createdBy"})
+    List<SyllabusVersion> findByIdIn(Collection<UUID> ids);
+
+    // Autosave: chỉ đọc nội dung + trạng thái + content_revision
+    @Query("SELECT new vn.edu.smd.core.repository.projection.SyllabusContentState("
+            + "s.id, s.status, s.isDeleted, s.contentRevision, s.content) FROM SyllabusVersion s WHERE s.id = :id")
+    Optional<SyllabusContentState> findContentStateById(@Param("id") UUID id);
+
+    // Rollup PLO / PI: các đề cương theo trạng thái của curriculum / của một môn (không load entity)
+    @Query("SELECT new vn.edu.smd.core.repository.projection.PublishedSyllabusRow(sub.id, s.id, s.publishedAt) "
+            + "FROM SyllabusVersion s JOIN s.subject sub "
+            + "WHERE sub.curriculum.id = :curriculumId AND s.status = :status AND s.isDeleted = false")
+    List<PublishedSyllabusRow> findPublishedRowsByCurriculumId(@Param("curriculumId") UUID curriculumId,
+                                                               @Param("status") SyllabusStatus status);
+
+    @Query("SELECT new vn.edu.smd.core.repository.projection.PublishedSyllabusRow(sub.id, s.id, s.publishedAt) "
+            + "FROM SyllabusVersion s JOIN s.subject sub "
+            + "WHERE sub.id = :subjectId AND s.status = :status AND s.isDeleted = false")
+    List<PublishedSyllabusRow> findPublishedRowsBySubjectId(@Param("subjectId") UUID subjectId,
+                                                            @Param("status") SyllabusStatus status);
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import vn.edu.smd.core.entity.TeachingAssignment;
 import vn.edu.smd.shared.enums.AssignmentStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -85,4 +86,10 @@ public interface TeachingAssignmentRepository extends JpaRepository<TeachingAssi
      * Count assignments by status
      */
     long countByStatus(AssignmentStatus status);
+
+    /**
+     * Find assignments of many subjects at once (with the assigning HOD), used by bulk approval
+     */
+    @EntityGraph(attributePaths = {"assignedBy"})
+    List<TeachingAssignment> findBySubjectIdIn(Collection<UUID> subjectIds);
 }
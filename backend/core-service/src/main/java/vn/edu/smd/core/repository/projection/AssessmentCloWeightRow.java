@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Một thành phần đánh giá của đề cương kèm một CLO mà nó đo (JPQL constructor expression)
+ *
+ * Thành phần chưa ánh xạ CLO nào vẫn có một dòng với cloId / contributionPercent = null.
+ */
+public record AssessmentCloWeightRow(
+        UUID syllabusId,
+        UUID assessmentId,
+        UUID parentId,
+        BigDecimal weightPercent,
+        UUID cloId,
+        BigDecimal contributionPercent
+) {
+}
@@ -0,0 +1,30 @@
+package vn.edu.smd.core.repository.projection;
+
+import vn.edu.smd.shared.enums.MappingLevel;
+
+import java.util.UUID;
+
+/**
+ * Một cạnh CLO → PI hoặc CLO → PLO của đề cương (JPQL constructor expression)
+ *
+ * Cạnh CLO → PLO có piCode = null. PLO / PI được định danh theo mã vì mỗi môn có danh mục PLO riêng
+ * nhưng dùng chung bộ mã của chương trình.
+ */
+public record CloOutcomeEdgeRow(
+        UUID syllabusId,
+        UUID cloId,
+        String ploCode,
+        String piCode,
+        String level
+) {
+
+    /** CLO → PI (clo_pi_mappings.level là enum) */
+    public CloOutcomeEdgeRow(UUID syllabusId, UUID cloId, String ploCode, String piCode, MappingLevel level) {
+        this(syllabusId, cloId, ploCode, piCode, level != null ? level.name() : null);
+    }
+
+    /** CLO → PLO (clo_plo_mappings.mapping_level là chuỗi H / M / L) */
+    public CloOutcomeEdgeRow(UUID syllabusId, UUID cloId, String ploCode, String level) {
+        this(syllabusId, cloId, ploCode, null, level);
+    }
+}
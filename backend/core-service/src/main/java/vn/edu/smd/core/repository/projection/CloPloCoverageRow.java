@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng ánh xạ CLO-PLO của đề cương đã xuất bản (JPQL constructor expression, không load entity)
+ *
+ * Đề cương chưa có ánh xạ nào vẫn có một dòng với ploCode / mappingLevel = null.
+ */
+public record CloPloCoverageRow(
+        UUID subjectId,
+        String subjectCode,
+        UUID syllabusId,
+        LocalDateTime publishedAt,
+        String ploCode,
+        String mappingLevel
+) {
+}
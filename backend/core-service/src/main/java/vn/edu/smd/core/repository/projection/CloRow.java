@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng CLO cho danh sách / export (JPQL constructor expression, không load entity)
+ */
+public record CloRow(
+        UUID id,
+        UUID syllabusVersionId,
+        String code,
+        String description,
+        String bloomLevel,
+        BigDecimal weight,
+        LocalDateTime updatedAt
+) {
+}
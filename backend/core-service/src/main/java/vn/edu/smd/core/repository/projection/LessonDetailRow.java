@@ -0,0 +1,22 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng chi tiết buổi học cho danh sách / export (JPQL constructor expression, không load entity)
+ *
+ * weekNumber lấy từ kế hoạch cha để client sắp xếp / nhóm mà không cần gọi thêm API.
+ */
+public record LessonDetailRow(
+        UUID id,
+        UUID lessonPlanId,
+        Integer weekNumber,
+        Integer sessionNumber,
+        String content,
+        String activity,
+        Integer durationMinutes,
+        String materials,
+        LocalDateTime updatedAt
+) {
+}
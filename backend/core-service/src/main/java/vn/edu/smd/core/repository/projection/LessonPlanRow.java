@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng kế hoạch giảng dạy cho danh sách / export (JPQL constructor expression, không load entity)
+ */
+public record LessonPlanRow(
+        UUID id,
+        UUID syllabusVersionId,
+        Integer weekNumber,
+        String topic,
+        String objectives,
+        String teachingMethod,
+        String assessmentMethod,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,21 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng tài liệu học tập cho danh sách / export (JPQL constructor expression, không load entity)
+ */
+public record MaterialResourceRow(
+        UUID id,
+        UUID syllabusVersionId,
+        String resourceType,
+        String title,
+        String author,
+        String publisher,
+        Integer year,
+        String url,
+        Boolean isRequired,
+        LocalDateTime updatedAt
+) {
+}
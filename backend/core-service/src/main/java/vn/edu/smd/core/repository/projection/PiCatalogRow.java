@@ -0,0 +1,10 @@
+package vn.edu.smd.core.repository.projection;
+
+/**
+ * Mã PI kèm mã PLO cha trong danh mục của chương trình (JPQL constructor expression)
+ */
+public record PiCatalogRow(
+        String ploCode,
+        String piCode
+) {
+}
@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import vn.edu.smd.shared.enums.PloCategory;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng PLO cho danh sách / export (JPQL constructor expression, không load entity)
+ */
+public record PloRow(
+        UUID id,
+        UUID subjectId,
+        String code,
+        String description,
+        PloCategory category,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,12 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Môn học kèm mã một môn liên quan (tiên quyết...) của nó (JPQL constructor expression)
+ */
+public record PrerequisiteCodeRow(
+        UUID subjectId,
+        String relatedCode
+) {
+}
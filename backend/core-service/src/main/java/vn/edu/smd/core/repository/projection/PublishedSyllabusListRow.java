@@ -0,0 +1,25 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một dòng danh sách đề cương đã xuất bản của sinh viên (JPQL constructor expression, không đọc cột content)
+ *
+ * cloCount / assessmentCount lấy từ cột sinh tự động V58, null trên DB chưa chạy migration.
+ */
+public record PublishedSyllabusListRow(
+        UUID syllabusId,
+        UUID subjectId,
+        String subjectCode,
+        String subjectNameVi,
+        Integer credits,
+        String departmentName,
+        String facultyName,
+        String curriculumName,
+        String termName,
+        LocalDateTime publishedAt,
+        Integer cloCount,
+        Integer assessmentCount
+) {
+}
@@ -0,0 +1,14 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Một đề cương PUBLISHED của môn (JPQL constructor expression) - dùng để chọn bản xuất bản mới nhất của mỗi môn
+ */
+public record PublishedSyllabusRow(
+        UUID subjectId,
+        UUID syllabusId,
+        LocalDateTime publishedAt
+) {
+}
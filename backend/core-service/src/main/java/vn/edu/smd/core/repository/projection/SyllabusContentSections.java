@@ -0,0 +1,19 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Vài cột snapshot của phiên bản đề cương + chỉ các key cấp 1 được yêu cầu của content
+ *
+ * @param sections key → sub-document (null nếu key không có); null khi cột content là NULL
+ */
+public record SyllabusContentSections(
+        UUID id,
+        String subjectNameVi,
+        Integer creditCount,
+        Integer theoryHours,
+        Integer practiceHours,
+        Map<String, Object> sections
+) {
+}
@@ -0,0 +1,18 @@
+package vn.edu.smd.core.repository.projection;
+
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Nội dung + trạng thái của một phiên bản đề cương cho autosave (không load entity và các quan hệ)
+ */
+public record SyllabusContentState(
+        UUID id,
+        SyllabusStatus status,
+        Boolean isDeleted,
+        Long contentRevision,
+        Map<String, Object> content
+) {
+}
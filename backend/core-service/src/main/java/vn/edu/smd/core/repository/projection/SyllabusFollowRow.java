@@ -0,0 +1,9 @@
+package vn.edu.smd.core.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Một cặp (sinh viên, đề cương) của student_syllabus_tracker - chỉ lấy 2 cột, không load User
+ */
+public record SyllabusFollowRow(UUID studentId, UUID syllabusId) {
+}
@@ -0,0 +1,110 @@
+package vn.edu.smd.core.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Kiểm tra header principal do gateway ký sau khi đã xác thực JWT
+ *
+ * Định dạng: base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+ * payload  : userId|ROLE_A,ROLE_B|scope|expEpochSeconds|email
+ *
+ * Header hợp lệ → tạo UserPrincipal trực tiếp, không cần đọc user từ PostgreSQL.
+ * Header sai chữ ký / hết hạn / sai định dạng → trả null, filter quay về đường JWT cũ.
+ */
+@Slf4j
+@Component
+public class GatewayPrincipalVerifier {
+
+    public static final String HEADER = "X-SMD-Principal";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${app.jwt.gateway-principal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jwt.gateway-principal.secret:${app.jwt.secret:}}")
+    private String secret;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled || !StringUtils.hasText(secret)) {
+            enabled = false;
+            log.info("Gateway principal header is disabled, every request is authenticated from its JWT");
+            return;
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * @return principal đã xác minh, hoặc null nếu header thiếu / không tin cậy được
+     */
+    public UserPrincipal verify(String header) {
+        if (!enabled || !StringUtils.hasText(header)) {
+            return null;
+        }
+        int dot = header.indexOf('.');
+        if (dot <= 0 || dot == header.length() - 1) {
+            log.warn("⚠️ Malformed {} header", HEADER);
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(header.substring(0, dot));
+            byte[] signature = Base64.getUrlDecoder().decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                log.warn("⚠️ Invalid {} signature", HEADER);
+                return null;
+            }
+            return parse(new String(payload, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Malformed {} header: {}", HEADER, e.getMessage());
+            return null;
+        }
+    }
+
+    private UserPrincipal parse(String payload) {
+        String[] parts = payload.split("\\|", 5);
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("expected 5 fields");
+        }
+        long expiresAt = Long.parseLong(parts[3]);
+        if (expiresAt * 1000 <= System.currentTimeMillis()) {
+            log.debug("Expired {} header", HEADER);
+            return null;
+        }
+        if (!JwtTokenProvider.SCOPE_ACCESS.equals(parts[2])) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = parts[1].isEmpty() ? List.of() : Arrays.stream(parts[1].split(","))
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        return new UserPrincipal(UUID.fromString(parts[0]), parts[4], null, authorities);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute " + HMAC_ALGORITHM, e);
+        }
+    }
+}
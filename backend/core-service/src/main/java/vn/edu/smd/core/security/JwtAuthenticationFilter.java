@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +16,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -22,8 +24,23 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Endpoint không cần xác thực
+     */
+    private static final List<String> PUBLIC_PATH_PREFIXES = List.of(
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/forgot-password",
+            "/api/auth/reset-password",
+            "/api/auth/refresh",
+            "/api/auth/debug-password",
+            "/api/ai/",
+            "/api/academic-terms/",
+            "/api/semesters/");
+
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final GatewayPrincipalVerifier gatewayPrincipalVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,26 +48,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // ⭐ QUAN TRỌNG: Chỉ bypass những endpoint không cần auth
             String requestPath = request.getRequestURI();
-            if (requestPath.contains("/api/auth/login") || 
-                requestPath.contains("/api/auth/register") ||
-                requestPath.contains("/api/auth/forgot-password") ||
-                requestPath.contains("/api/auth/reset-password") ||
-                requestPath.contains("/api/auth/refresh") ||
-                requestPath.contains("/api/auth/debug-password") ||
-                requestPath.startsWith("/api/ai/") ||
-                requestPath.startsWith("/api/academic-terms/") ||
-                requestPath.startsWith("/api/semesters/")) {
+            if (isPublicPath(requestPath)) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String jwt = getJwtFromRequest(request);
+            // Gateway đã xác thực JWT và ký sẵn principal → không cần parse token / đọc DB
+            UserDetails userDetails = gatewayPrincipalVerifier.verify(request.getHeader(GatewayPrincipalVerifier.HEADER));
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userId = tokenProvider.getUserIdFromToken(jwt);
-                
-                UserDetails userDetails = customUserDetailsService.loadUserById(UUID.fromString(userId));
+            if (userDetails == null) {
+                String jwt = getJwtFromRequest(request);
+                Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+                if (claims != null && !JwtTokenProvider.SCOPE_REFRESH.equals(claims.get(JwtTokenProvider.CLAIM_SCOPE))) {
+                    userDetails = customUserDetailsService.loadUserById(UUID.fromString(claims.getSubject()));
+                }
+            }
 
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -66,6 +80,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean isPublicPath(String requestPath) {
+        for (String prefix : PUBLIC_PATH_PREFIXES) {
+            if (requestPath.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
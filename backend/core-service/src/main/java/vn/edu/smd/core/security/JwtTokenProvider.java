@@ -7,15 +7,27 @@ import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    /**
+     * Claims bổ sung để gateway dựng principal mà không cần đọc DB.
+     * Token cũ (chưa có các claim này) vẫn hợp lệ: core-service tự nạp user như trước.
+     */
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_SCOPE = "scope";
+    public static final String SCOPE_ACCESS = "access";
+    public static final String SCOPE_REFRESH = "refresh";
+
     @Value("${app.jwt.secret:}")
     private String jwtSecret;
 
@@ -75,8 +87,15 @@ public class JwtTokenProvider {
             Date now = new Date();
             Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
+            List<String> roles = userPrincipal.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
+
             String token = Jwts.builder()
                     .setSubject(userPrincipal.getId().toString())
+                    .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                    .claim(CLAIM_ROLES, roles)
+                    .claim(CLAIM_SCOPE, SCOPE_ACCESS)
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
                     .signWith(key, SignatureAlgorithm.HS512)
@@ -99,6 +118,7 @@ public class JwtTokenProvider {
 
             return Jwts.builder()
                     .setSubject(userPrincipal.getId().toString())
+                    .claim(CLAIM_SCOPE, SCOPE_REFRESH)
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
                     .signWith(key, SignatureAlgorithm.HS512)
@@ -127,12 +147,21 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    /**
+     * Parse + kiểm tra chữ ký / hạn dùng trong một lần
+     *
+     * @return claims của token hợp lệ, null nếu token không hợp lệ
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                     .setSigningKey(key)
                     .build()
-                    .parseClaimsJws(authToken);
-            return true;
+                    .parseClaimsJws(authToken)
+                    .getBody();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -146,6 +175,6 @@ public class JwtTokenProvider {
         } catch (Exception ex) {
             log.error("Unexpected JWT validation error", ex);
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import vn.edu.smd.core.common.bulkhead.Bulkhead;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
 import vn.edu.smd.core.entity.User;
 import vn.edu.smd.core.repository.UserRepository;
 
@@ -26,6 +29,7 @@ import java.util.Map;
 public class FCMService {
 
     private final UserRepository userRepository;
+    private final BulkheadRegistry bulkheadRegistry;
 
     @Value("${firebase.enabled:true}")
     private boolean firebaseEnabled;
@@ -83,8 +87,8 @@ public class FCMService {
                             .build())
                     .build();
 
-            // Send message
-            String response = FirebaseMessaging.getInstance().send(message);
+            // Send message (giới hạn số lời gọi Firebase đồng thời)
+            String response = sendThroughBulkhead(message);
             
             log.info("✅ Sent FCM to user {} ({}): {}", 
                     user.getId(), user.getFullName(), response);
@@ -100,6 +104,8 @@ public class FCMService {
                 user.setFcmTokenUpdatedAt(null);
                 userRepository.save(user);
             }
+        } catch (BulkheadFullException e) {
+            log.warn("⚠️ FCM bulkhead full, skipping push notification for user {}", user.getId());
         } catch (Exception e) {
             log.error("❌ Unexpected error sending FCM to user {}: {}", 
                     user.getId(), e.getMessage(), e);
@@ -127,6 +133,16 @@ public class FCMService {
         );
     }
 
+    private String sendThroughBulkhead(Message message) throws FirebaseMessagingException {
+        Bulkhead bulkhead = bulkheadRegistry.get(BulkheadRegistry.FCM);
+        bulkhead.acquire();
+        try {
+            return FirebaseMessaging.getInstance().send(message);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
     /**
      * Kiểm tra error code có phải token invalid không
      */
@@ -0,0 +1,203 @@
+package vn.edu.smd.core.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.module.plo.event.PloCatalogChangedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
+import vn.edu.smd.core.repository.AssessmentCloMappingRepository;
+import vn.edu.smd.core.repository.CloPiMappingRepository;
+import vn.edu.smd.core.repository.CloPlOMappingRepository;
+import vn.edu.smd.core.repository.PLORepository;
+import vn.edu.smd.core.repository.PerformanceIndicatorRepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.projection.AssessmentCloWeightRow;
+import vn.edu.smd.core.repository.projection.CloOutcomeEdgeRow;
+import vn.edu.smd.core.repository.projection.PublishedSyllabusRow;
+import vn.edu.smd.core.service.coverage.PloAttainmentRollup;
+import vn.edu.smd.core.service.coverage.PloCoverageMatrix;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rollup đóng góp PLO / PI theo curriculum, tính từ trọng số đánh giá của các đề cương PUBLISHED
+ *
+ * - Nạp cả đồ thị đánh giá → CLO → PI / PLO của curriculum bằng một số query cố định (danh mục, đề cương,
+ *   trọng số đánh giá, cạnh CLO-PI, cạnh CLO-PLO) thay vì duyệt từng đề cương / từng cấp
+ * - Mỗi môn lấy đề cương PUBLISHED mới nhất (publishedAt lớn nhất)
+ * - Cache theo curriculum; xuất bản / gỡ đề cương chỉ tính lại hàng của môn đó,
+ *   đổi danh mục PLO / PI thì xóa cache, TTL phòng trường hợp sửa trực tiếp trong DB
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PloAttainmentService {
+
+    private static final Comparator<PublishedSyllabusRow> BY_PUBLISHED_AT = Comparator.comparing(
+            PublishedSyllabusRow::publishedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+
+    private final SubjectRepository subjectRepository;
+    private final PLORepository ploRepository;
+    private final PerformanceIndicatorRepository performanceIndicatorRepository;
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final AssessmentCloMappingRepository assessmentCloMappingRepository;
+    private final CloPiMappingRepository cloPiMappingRepository;
+    private final CloPlOMappingRepository cloPlOMappingRepository;
+
+    @Value("${app.plo-attainment.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes = 60;
+
+    private final Map<UUID, CachedRollup> rollups = new ConcurrentHashMap<>();
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    /**
+     * Lấy rollup của curriculum từ cache; dựng lại khi chưa có, hết TTL hoặc danh mục PLO / PI đổi
+     */
+    public PloAttainmentRollup getRollup(UUID curriculumId) {
+        long version = dataVersion.get();
+        CachedRollup cached = rollups.get(curriculumId);
+        if (cached != null && !cached.isExpired(cacheTtlMinutes)) {
+            return cached.rollup;
+        }
+
+        PloAttainmentRollup rollup = buildRollup(curriculumId);
+        // Có đề cương được xuất bản / danh mục đổi trong lúc dựng → không ghi cache, lần sau dựng lại
+        if (dataVersion.get() == version) {
+            rollups.put(curriculumId, new CachedRollup(rollup, System.nanoTime()));
+        }
+        return rollup;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSyllabusPublicationChanged(SyllabusPublicationChangedEvent event) {
+        dataVersion.incrementAndGet();
+        if (event.subjectId() == null || rollups.isEmpty()) {
+            return;
+        }
+        PloCoverageMatrix.SubjectRef subject = null;
+        PloAttainmentRollup.SyllabusGraph graph = null;
+        for (Map.Entry<UUID, CachedRollup> entry : rollups.entrySet()) {
+            PloAttainmentRollup rollup = entry.getValue().rollup;
+            if (!rollup.containsSubject(event.subjectId())) {
+                continue;
+            }
+            if (subject == null) {
+                PloCoverageMatrix.SubjectRef current = rollup.getSubjects().stream()
+                        .filter(ref -> ref.subjectId().equals(event.subjectId()))
+                        .findFirst().orElseThrow();
+                UUID syllabusId = latestSyllabusIds(syllabusVersionRepository.findPublishedRowsBySubjectId(
+                        event.subjectId(), SyllabusStatus.PUBLISHED)).get(event.subjectId());
+                subject = new PloCoverageMatrix.SubjectRef(current.subjectId(), current.subjectCode(), syllabusId);
+                graph = syllabusId != null ? loadGraphs(List.of(syllabusId)).get(syllabusId) : null;
+            }
+            PloCoverageMatrix.SubjectRef subjectRef = subject;
+            PloAttainmentRollup.SyllabusGraph subjectGraph = graph;
+            rollups.computeIfPresent(entry.getKey(), (curriculumId, cached) -> new CachedRollup(
+                    cached.rollup.withSubject(subjectRef, subjectGraph), cached.builtAtNanos));
+            log.debug("Refreshed PLO attainment of subject {} in curriculum {}", event.subjectId(), entry.getKey());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPloCatalogChanged(PloCatalogChangedEvent event) {
+        dataVersion.incrementAndGet();
+        rollups.clear();
+        log.debug("PLO catalog changed (plo {}), cleared cached PLO attainment rollups", event.ploId());
+    }
+
+    private PloAttainmentRollup buildRollup(UUID curriculumId) {
+        long start = System.nanoTime();
+        List<Subject> subjects = subjectRepository.findByCurriculumId(curriculumId);
+        List<String> ploCodes = ploRepository.findByCurriculumId(curriculumId).stream()
+                .map(PLO::getCode)
+                .distinct()
+                .toList();
+        List<PloAttainmentRollup.PiKey> piCatalog = performanceIndicatorRepository.findCatalogRowsByCurriculumId(curriculumId)
+                .stream()
+                .map(row -> new PloAttainmentRollup.PiKey(row.ploCode(), row.piCode()))
+                .toList();
+        Map<UUID, UUID> syllabusBySubject = latestSyllabusIds(
+                syllabusVersionRepository.findPublishedRowsByCurriculumId(curriculumId, SyllabusStatus.PUBLISHED));
+        Map<UUID, PloAttainmentRollup.SyllabusGraph> graphsBySyllabus = loadGraphs(syllabusBySubject.values());
+
+        List<PloCoverageMatrix.SubjectRef> subjectRefs = new ArrayList<>(subjects.size());
+        Map<UUID, PloAttainmentRollup.SyllabusGraph> graphsBySubject = new HashMap<>();
+        subjects.stream()
+                .sorted(Comparator.comparing(Subject::getCode, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(subject -> {
+                    UUID syllabusId = syllabusBySubject.get(subject.getId());
+                    subjectRefs.add(new PloCoverageMatrix.SubjectRef(subject.getId(), subject.getCode(), syllabusId));
+                    if (syllabusId != null && graphsBySyllabus.containsKey(syllabusId)) {
+                        graphsBySubject.put(subject.getId(), graphsBySyllabus.get(syllabusId));
+                    }
+                });
+
+        PloAttainmentRollup rollup = PloAttainmentRollup.of(ploCodes, piCatalog, subjectRefs, graphsBySubject);
+        log.info("Built PLO attainment rollup for curriculum {}: {} subjects, {} syllabi, {} PLOs in {} ms",
+                curriculumId, subjectRefs.size(), graphsBySubject.size(), rollup.getPloCodes().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return rollup;
+    }
+
+    /**
+     * Đồ thị của các đề cương: 3 query cho cả lô (trọng số đánh giá, cạnh CLO-PI, cạnh CLO-PLO)
+     */
+    private Map<UUID, PloAttainmentRollup.SyllabusGraph> loadGraphs(Collection<UUID> syllabusIds) {
+        if (syllabusIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, PloAttainmentRollup.SyllabusGraph.Builder> builders = new HashMap<>();
+        for (UUID syllabusId : syllabusIds) {
+            builders.put(syllabusId, PloAttainmentRollup.SyllabusGraph.builder());
+        }
+        Set<UUID> seenAssessments = new HashSet<>();
+        for (AssessmentCloWeightRow row : assessmentCloMappingRepository.findWeightRowsBySyllabusIds(syllabusIds)) {
+            PloAttainmentRollup.SyllabusGraph.Builder builder = builders.get(row.syllabusId());
+            if (seenAssessments.add(row.assessmentId())) {
+                builder.assessment(row.assessmentId(), row.parentId(), row.weightPercent());
+            }
+            if (row.cloId() != null) {
+                builder.assessmentClo(row.assessmentId(), row.cloId(), row.contributionPercent());
+            }
+        }
+        for (CloOutcomeEdgeRow row : cloPiMappingRepository.findEdgeRowsBySyllabusIds(syllabusIds)) {
+            builders.get(row.syllabusId()).cloPi(row.cloId(), row.ploCode(), row.piCode(), row.level());
+        }
+        for (CloOutcomeEdgeRow row : cloPlOMappingRepository.findEdgeRowsBySyllabusIds(syllabusIds)) {
+            builders.get(row.syllabusId()).cloPlo(row.cloId(), row.ploCode(), row.level());
+        }
+
+        Map<UUID, PloAttainmentRollup.SyllabusGraph> graphs = new HashMap<>();
+        builders.forEach((syllabusId, builder) -> graphs.put(syllabusId, builder.build()));
+        return graphs;
+    }
+
+    /**
+     * Đề cương PUBLISHED mới nhất của mỗi môn (một môn có thể còn vài phiên bản PUBLISHED)
+     */
+    private static Map<UUID, UUID> latestSyllabusIds(List<PublishedSyllabusRow> rows) {
+        Map<UUID, PublishedSyllabusRow> latest = new HashMap<>();
+        for (PublishedSyllabusRow row : rows) {
+            latest.merge(row.subjectId(), row, (a, b) -> BY_PUBLISHED_AT.compare(a, b) >= 0 ? a : b);
+        }
+        Map<UUID, UUID> result = new HashMap<>();
+        latest.forEach((subjectId, row) -> result.put(subjectId, row.syllabusId()));
+        return result;
+    }
+
+    private record CachedRollup(PloAttainmentRollup rollup, long builtAtNanos) {
+        boolean isExpired(long ttlMinutes) {
+            return System.nanoTime() - builtAtNanos > TimeUnit.MINUTES.toNanos(ttlMinutes);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package vn.edu.smd.core.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.module.plo.event.PloCatalogChangedEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
+import vn.edu.smd.core.repository.CloPlOMappingRepository;
+import vn.edu.smd.core.repository.PLORepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.repository.projection.CloPloCoverageRow;
+import vn.edu.smd.core.service.coverage.PloCoverageMatrix;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ma trận độ phủ PLO theo curriculum, dựng từ ánh xạ CLO-PLO của các đề cương PUBLISHED
+ *
+ * - Dựng bằng 3 query (môn, PLO, ánh xạ dạng projection) thay vì duyệt từng đề cương / CLO
+ * - Mỗi môn lấy đề cương PUBLISHED mới nhất (publishedAt lớn nhất)
+ * - Cache theo curriculum; xuất bản / gỡ đề cương chỉ làm mới hàng của môn đó,
+ *   đổi danh mục PLO thì xóa cache, TTL phòng trường hợp sửa trực tiếp trong DB
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PloCoverageService {
+
+    private static final Comparator<CloPloCoverageRow> BY_PUBLISHED_AT = Comparator.comparing(
+            CloPloCoverageRow::publishedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+
+    private final CloPlOMappingRepository cloPlOMappingRepository;
+    private final SubjectRepository subjectRepository;
+    private final PLORepository ploRepository;
+
+    @Value("${app.plo-coverage.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes = 60;
+
+    private final Map<UUID, CachedMatrix> matrices = new ConcurrentHashMap<>();
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    /**
+     * Lấy ma trận của curriculum từ cache; dựng lại khi chưa có, hết TTL hoặc danh mục PLO đổi
+     */
+    public PloCoverageMatrix getMatrix(UUID curriculumId) {
+        long version = dataVersion.get();
+        CachedMatrix cached = matrices.get(curriculumId);
+        if (cached != null && !cached.isExpired(cacheTtlMinutes)) {
+            return cached.matrix;
+        }
+
+        PloCoverageMatrix matrix = buildMatrix(curriculumId);
+        // Có đề cương được xuất bản / PLO đổi trong lúc dựng → không ghi cache, lần sau dựng lại
+        if (dataVersion.get() == version) {
+            matrices.put(curriculumId, new CachedMatrix(matrix, System.nanoTime()));
+        }
+        return matrix;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSyllabusPublicationChanged(SyllabusPublicationChangedEvent event) {
+        dataVersion.incrementAndGet();
+        if (event.subjectId() == null || matrices.isEmpty()) {
+            return;
+        }
+        List<CloPloCoverageRow> rows = null;
+        for (Map.Entry<UUID, CachedMatrix> entry : matrices.entrySet()) {
+            if (!entry.getValue().matrix.containsSubject(event.subjectId())) {
+                continue;
+            }
+            if (rows == null) {
+                rows = cloPlOMappingRepository.findCoverageRowsBySubjectId(event.subjectId(), SyllabusStatus.PUBLISHED);
+            }
+            PloCoverageMatrix.SubjectRef current = entry.getValue().matrix.getSubjects().stream()
+                    .filter(subject -> subject.subjectId().equals(event.subjectId()))
+                    .findFirst().orElseThrow();
+            List<CloPloCoverageRow> subjectRows = rows;
+            matrices.computeIfPresent(entry.getKey(), (curriculumId, cached) -> new CachedMatrix(
+                    cached.matrix.withSubject(subjectRef(current.subjectId(), current.subjectCode(), subjectRows),
+                            toMappings(subjectRows)),
+                    cached.builtAtNanos));
+            log.debug("Refreshed PLO coverage row of subject {} in curriculum {}", event.subjectId(), entry.getKey());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPloCatalogChanged(PloCatalogChangedEvent event) {
+        dataVersion.incrementAndGet();
+        matrices.clear();
+        log.debug("PLO catalog changed (plo {}), cleared cached PLO coverage matrices", event.ploId());
+    }
+
+    private PloCoverageMatrix buildMatrix(UUID curriculumId) {
+        long start = System.nanoTime();
+        List<Subject> subjects = subjectRepository.findByCurriculumId(curriculumId);
+        List<String> ploCodes = ploRepository.findByCurriculumId(curriculumId).stream()
+                .map(PLO::getCode)
+                .distinct()
+                .toList();
+        List<CloPloCoverageRow> rows = cloPlOMappingRepository.findCoverageRowsByCurriculumId(
+                curriculumId, SyllabusStatus.PUBLISHED);
+
+        Map<UUID, List<CloPloCoverageRow>> rowsBySubject = new HashMap<>();
+        for (CloPloCoverageRow row : rows) {
+            rowsBySubject.computeIfAbsent(row.subjectId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<PloCoverageMatrix.SubjectRef> subjectRefs = new ArrayList<>(subjects.size());
+        List<PloCoverageMatrix.Mapping> mappings = new ArrayList<>(rows.size());
+        subjects.stream()
+                .sorted(Comparator.comparing(Subject::getCode, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(subject -> {
+                    List<CloPloCoverageRow> latest = latestSyllabusRows(rowsBySubject.getOrDefault(subject.getId(), List.of()));
+                    subjectRefs.add(subjectRef(subject.getId(), subject.getCode(), latest));
+                    mappings.addAll(toMappings(latest));
+                });
+
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(ploCodes, subjectRefs, mappings);
+        log.info("Built PLO coverage matrix for curriculum {}: {} subjects, {} PLOs, {} mappings in {} ms",
+                curriculumId, subjectRefs.size(), matrix.getPloCodes().size(), mappings.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return matrix;
+    }
+
+    /**
+     * Chỉ giữ các dòng của đề cương PUBLISHED mới nhất (một môn có thể còn vài phiên bản PUBLISHED)
+     */
+    private static List<CloPloCoverageRow> latestSyllabusRows(List<CloPloCoverageRow> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        UUID latestSyllabusId = rows.stream().max(BY_PUBLISHED_AT).orElseThrow().syllabusId();
+        return rows.stream().filter(row -> row.syllabusId().equals(latestSyllabusId)).toList();
+    }
+
+    private static PloCoverageMatrix.SubjectRef subjectRef(UUID subjectId, String subjectCode, List<CloPloCoverageRow> rows) {
+        List<CloPloCoverageRow> latest = latestSyllabusRows(rows);
+        return new PloCoverageMatrix.SubjectRef(subjectId, subjectCode,
+                latest.isEmpty() ? null : latest.get(0).syllabusId());
+    }
+
+    private static List<PloCoverageMatrix.Mapping> toMappings(List<CloPloCoverageRow> rows) {
+        List<PloCoverageMatrix.Mapping> mappings = new ArrayList<>();
+        for (CloPloCoverageRow row : latestSyllabusRows(rows)) {
+            if (row.ploCode() != null) {
+                mappings.add(new PloCoverageMatrix.Mapping(row.subjectId(), row.ploCode(), row.mappingLevel()));
+            }
+        }
+        return mappings;
+    }
+
+    private record CachedMatrix(PloCoverageMatrix matrix, long builtAtNanos) {
+        boolean isExpired(long ttlMinutes) {
+            return System.nanoTime() - builtAtNanos > TimeUnit.MINUTES.toNanos(ttlMinutes);
+        }
+    }
+}
@@ -1,173 +1,273 @@
 package vn.edu.smd.core.service;
 
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.module.plo.event.PloCatalogChangedEvent;
+import vn.edu.smd.core.repository.PLORepository;
+import vn.edu.smd.core.service.matching.PloMatcher;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Service for intelligent CLO-PLO mapping suggestions
  * Based on keyword matching and Bloom's taxonomy level
+ *
+ * - Từ khóa của PLO lấy từ danh mục PLO trong DB theo curriculum (PLO.subject.curriculum)
+ * - Mỗi curriculum có một PloMatcher (Aho–Corasick) được cache, build lại khi PLO thay đổi
+ * - Curriculum chưa có PLO / không biết curriculum: dùng bộ PLO1-PLO8 mặc định
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class PloMappingService {
-    
-    private static final Logger log = LoggerFactory.getLogger(PloMappingService.class);
-    
-    // PLO definitions with keywords (from database PLO1-PLO8)
-    private static final Map<String, PloDefinition> PLO_DEFINITIONS = Map.of(
-        "PLO1", new PloDefinition("PLO1", "Áp dụng kiến thức toán học, khoa học và kỹ thuật",
-            Arrays.asList("toán", "khoa học", "kỹ thuật", "lý thuyết", "kiến thức", "công thức", "thuật toán")),
-        "PLO2", new PloDefinition("PLO2", "Phân tích, thiết kế và đánh giá hệ thống phần mềm",
-            Arrays.asList("phân tích", "thiết kế", "đánh giá", "hệ thống", "kiến trúc", "mô hình", "yêu cầu")),
-        "PLO3", new PloDefinition("PLO3", "Thiết kế và quản lý cơ sở dữ liệu",
-            Arrays.asList("cơ sở dữ liệu", "dữ liệu", "database", "sql", "query", "quản lý", "lưu trữ")),
-        "PLO4", new PloDefinition("PLO4", "Lập trình thành thạo với nhiều ngôn ngữ",
-            Arrays.asList("lập trình", "code", "ngôn ngữ", "java", "python", "c++", "thuật toán", "cài đặt")),
-        "PLO5", new PloDefinition("PLO5", "Làm việc nhóm hiệu quả",
-            Arrays.asList("nhóm", "team", "cộng tác", "phối hợp", "chia sẻ", "dự án")),
-        "PLO6", new PloDefinition("PLO6", "Giao tiếp chuyên nghiệp",
-            Arrays.asList("giao tiếp", "thuyết trình", "báo cáo", "văn bản", "trình bày", "presentation")),
-        "PLO7", new PloDefinition("PLO7", "Tuân thủ đạo đức nghề nghiệp",
-            Arrays.asList("đạo đức", "trách nhiệm", "bảo mật", "an toàn", "quyền riêng tư", "ethics")),
-        "PLO8", new PloDefinition("PLO8", "Học hỏi liên tục và thích ứng",
-            Arrays.asList("học hỏi", "nghiên cứu", "tự học", "công nghệ mới", "cập nhật", "phát triển"))
+
+    // PLO definitions with keywords (seed PLO1-PLO8, dùng khi curriculum chưa khai báo PLO)
+    static final Map<String, List<String>> DEFAULT_PLO_KEYWORDS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_PLO_KEYWORDS.put("PLO1", Arrays.asList("toán", "khoa học", "kỹ thuật", "lý thuyết", "kiến thức", "công thức", "thuật toán"));
+        DEFAULT_PLO_KEYWORDS.put("PLO2", Arrays.asList("phân tích", "thiết kế", "đánh giá", "hệ thống", "kiến trúc", "mô hình", "yêu cầu"));
+        DEFAULT_PLO_KEYWORDS.put("PLO3", Arrays.asList("cơ sở dữ liệu", "dữ liệu", "database", "sql", "query", "quản lý", "lưu trữ"));
+        DEFAULT_PLO_KEYWORDS.put("PLO4", Arrays.asList("lập trình", "code", "ngôn ngữ", "java", "python", "c++", "thuật toán", "cài đặt"));
+        DEFAULT_PLO_KEYWORDS.put("PLO5", Arrays.asList("nhóm", "team", "cộng tác", "phối hợp", "chia sẻ", "dự án"));
+        DEFAULT_PLO_KEYWORDS.put("PLO6", Arrays.asList("giao tiếp", "thuyết trình", "báo cáo", "văn bản", "trình bày", "presentation"));
+        DEFAULT_PLO_KEYWORDS.put("PLO7", Arrays.asList("đạo đức", "trách nhiệm", "bảo mật", "an toàn", "quyền riêng tư", "ethics"));
+        DEFAULT_PLO_KEYWORDS.put("PLO8", Arrays.asList("học hỏi", "nghiên cứu", "tự học", "công nghệ mới", "cập nhật", "phát triển"));
+    }
+
+    // Hư từ không dùng làm từ khóa khi tách từ mô tả PLO
+    private static final Set<String> STOP_WORDS = Set.of(
+        "và", "các", "của", "cho", "với", "trong", "để", "một", "những", "có", "được", "là",
+        "theo", "về", "từ", "khi", "này", "đó", "hoặc", "cũng", "như", "vào", "ra", "trên",
+        "the", "and", "of", "to", "in", "for", "a", "an", "with", "on", "or", "by"
     );
-    
+
+    // Cụm từ xuất hiện trong gần như mọi PLO, không phân biệt được PLO nào
+    private static final Set<String> GENERIC_PHRASES = Set.of(
+        "sinh viên", "người học", "học viên", "khả năng", "student", "students", "ability"
+    );
+
+    // Từ khóa có mặt ở hơn tỉ lệ này số mã PLO của curriculum bị loại (khi có từ 3 mã trở lên)
+    private static final double MAX_KEYWORD_PLO_SHARE = 0.5;
+
+    // Mọi ký tự không phải chữ, số, khoảng trắng, '+' hay '#' (c++, c#) đều ngắt cụm từ
+    private static final Pattern PUNCTUATION = Pattern.compile("[^\\p{L}\\p{N}+#\\s]+");
+
+    private static final PloMatcher DEFAULT_MATCHER = PloMatcher.compile(DEFAULT_PLO_KEYWORDS);
+
+    private final PLORepository ploRepository;
+
+    @Value("${app.plo-matching.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes = 60;
+
+    @Value("${app.plo-matching.parallelism:0}")
+    private int parallelism;
+
+    private final Map<UUID, CachedMatcher> matchers = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile ExecutorService suggestionExecutor;
+
     /**
-     * Auto-suggest PLO mappings for a list of CLOs
+     * Auto-suggest PLO mappings for a list of CLOs (bộ PLO mặc định)
      * @param clos List of CLO objects with code, description, bloomLevel
      * @return List of PLO mapping suggestions with contribution level
      */
     public List<Map<String, Object>> suggestPloMappings(List<Map<String, Object>> clos) {
-        List<Map<String, Object>> mappings = new ArrayList<>();
-        
-        for (Map<String, Object> clo : clos) {
-            String cloCode = (String) clo.get("code");
-            String description = (String) clo.get("description");
-            String bloomLevel = (String) clo.getOrDefault("bloomLevel", "Remember");
-            
-            if (description == null || description.isEmpty()) {
-                log.warn("CLO {} has no description, skipping PLO mapping", cloCode);
-                continue;
-            }
-            
-            // Find matching PLOs based on keywords
-            List<PloMatch> matches = findMatchingPlos(description, bloomLevel);
-            
-            // Convert top matches to mappings
-            for (PloMatch match : matches) {
-                Map<String, Object> mapping = new HashMap<>();
-                mapping.put("cloCode", cloCode);
-                mapping.put("ploCode", match.ploCode);
-                mapping.put("contributionLevel", match.contributionLevel);
-                mapping.put("confidence", match.confidence); // For debugging
-                mappings.add(mapping);
-                
-                log.info("Mapped {} -> {} (level: {}, confidence: {:.2f})", 
-                    cloCode, match.ploCode, match.contributionLevel, match.confidence);
-            }
-        }
-        
-        return mappings;
+        return suggest(DEFAULT_MATCHER, clos);
+    }
+
+    /**
+     * Auto-suggest PLO mappings dựa trên danh mục PLO của curriculum
+     */
+    public List<Map<String, Object>> suggestPloMappings(UUID curriculumId, List<Map<String, Object>> clos) {
+        return suggest(getMatcher(curriculumId), clos);
     }
-    
+
+    /**
+     * Gợi ý cho nhiều đề cương cùng curriculum song song (dữ liệu CLO đã được load sẵn,
+     * các task chỉ dùng CPU nên không giữ connection DB)
+     * @param matcher        matcher của curriculum (lấy một lần qua getMatcher)
+     * @param closBySyllabus syllabusId → danh sách CLO
+     * @return syllabusId → danh sách gợi ý (giữ thứ tự input)
+     */
+    public Map<UUID, List<Map<String, Object>>> suggestPloMappingsInParallel(
+            PloMatcher matcher, Map<UUID, List<Map<String, Object>>> closBySyllabus) {
+        ExecutorService executor = executor();
+
+        Map<UUID, CompletableFuture<List<Map<String, Object>>>> futures = new LinkedHashMap<>();
+        closBySyllabus.forEach((syllabusId, clos) ->
+                futures.put(syllabusId, CompletableFuture.supplyAsync(() -> matcher.suggest(clos), executor)));
+
+        Map<UUID, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        futures.forEach((syllabusId, future) -> result.put(syllabusId, future.join()));
+        log.info("✅ Suggested PLO mappings for {} syllabi ({} PLOs, {} keywords)",
+                result.size(), matcher.getPloCodes().size(), matcher.getKeywordCount());
+        return result;
+    }
+
     /**
-     * Find PLOs that match the CLO description
-     * Returns top 2-3 matches with contribution levels
+     * Lấy matcher của curriculum từ cache; build lại khi danh mục PLO đổi hoặc hết TTL
+     * (TTL phòng trường hợp PLO bị sửa trực tiếp trong DB, không qua API)
      */
-    private List<PloMatch> findMatchingPlos(String cloDescription, String bloomLevel) {
-        String descLower = cloDescription.toLowerCase();
-        List<PloMatch> allMatches = new ArrayList<>();
-        
-        // Calculate match score for each PLO
-        for (Map.Entry<String, PloDefinition> entry : PLO_DEFINITIONS.entrySet()) {
-            PloDefinition plo = entry.getValue();
-            double score = calculateMatchScore(descLower, plo.keywords);
-            
-            if (score > 0.1) { // Minimum threshold
-                allMatches.add(new PloMatch(
-                    plo.code, 
-                    score,
-                    determineContributionLevel(score, bloomLevel)
-                ));
+    public PloMatcher getMatcher(UUID curriculumId) {
+        if (curriculumId == null) {
+            return DEFAULT_MATCHER;
+        }
+        long version = catalogVersion.get();
+        CachedMatcher cached = matchers.get(curriculumId);
+        if (cached != null && cached.version == version && !cached.isExpired(cacheTtlMinutes)) {
+            return cached.matcher;
+        }
+
+        PloMatcher matcher = buildMatcher(curriculumId);
+        // Chỉ ghi cache nếu danh mục không đổi trong lúc build, tránh giữ matcher cũ
+        if (catalogVersion.get() == version) {
+            matchers.put(curriculumId, new CachedMatcher(matcher, version, System.nanoTime()));
+        }
+        return matcher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPloCatalogChanged(PloCatalogChangedEvent event) {
+        catalogVersion.incrementAndGet();
+        matchers.clear();
+        log.debug("PLO catalog changed (plo {}), cleared cached PLO matchers", event.ploId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (suggestionExecutor != null) {
+            suggestionExecutor.shutdown();
+        }
+    }
+
+    private List<Map<String, Object>> suggest(PloMatcher matcher, List<Map<String, Object>> clos) {
+        List<Map<String, Object>> mappings = matcher.suggest(clos);
+        if (log.isDebugEnabled()) {
+            for (Map<String, Object> mapping : mappings) {
+                log.debug("Mapped {} -> {} (level: {}, confidence: {})", mapping.get("cloCode"),
+                        mapping.get("ploCode"), mapping.get("contributionLevel"),
+                        String.format("%.2f", (Double) mapping.get("confidence")));
             }
         }
-        
-        // Sort by score descending and take top 2-3
-        allMatches.sort((a, b) -> Double.compare(b.confidence, a.confidence));
-        return allMatches.stream().limit(3).collect(Collectors.toList());
+        return mappings;
+    }
+
+    private PloMatcher buildMatcher(UUID curriculumId) {
+        List<PLO> plos = ploRepository.findByCurriculumId(curriculumId);
+        if (plos.isEmpty()) {
+            log.debug("Curriculum {} has no PLOs, using default PLO keywords", curriculumId);
+            return DEFAULT_MATCHER;
+        }
+
+        PloMatcher matcher = PloMatcher.compile(buildKeywordSets(plos), true);
+        log.info("Built PLO matcher for curriculum {}: {} PLOs, {} keywords",
+                curriculumId, matcher.getPloCodes().size(), matcher.getKeywordCount());
+        return matcher;
     }
-    
+
     /**
-     * Calculate match score based on keyword presence
+     * Mỗi mô tả khác nhau của một mã PLO thành một bộ từ khóa riêng (nhiều môn trong cùng
+     * curriculum có thể khai báo cùng mã); bỏ các từ khóa có mặt ở đa số mã PLO.
      */
-    private double calculateMatchScore(String description, List<String> keywords) {
-        int matchCount = 0;
-        for (String keyword : keywords) {
-            if (description.contains(keyword)) {
-                matchCount++;
+    static List<PloMatcher.PloKeywords> buildKeywordSets(List<PLO> plos) {
+        Map<String, Set<String>> descriptionsByCode = new LinkedHashMap<>();
+        for (PLO plo : plos) {
+            String description = PloMatcher.normalize(plo.getDescription());
+            if (!description.isEmpty()) {
+                descriptionsByCode.computeIfAbsent(plo.getCode(), code -> new LinkedHashSet<>()).add(description);
             }
         }
-        return (double) matchCount / keywords.size();
+
+        Map<String, List<List<String>>> keywordSetsByCode = new LinkedHashMap<>();
+        Map<String, Set<String>> codesByKeyword = new HashMap<>();
+        descriptionsByCode.forEach((code, descriptions) -> {
+            for (String description : descriptions) {
+                List<String> keywords = extractKeywords(description);
+                keywordSetsByCode.computeIfAbsent(code, c -> new ArrayList<>()).add(keywords);
+                keywords.forEach(keyword -> codesByKeyword.computeIfAbsent(keyword, k -> new HashSet<>()).add(code));
+            }
+        });
+
+        int codeCount = keywordSetsByCode.size();
+        List<PloMatcher.PloKeywords> result = new ArrayList<>();
+        keywordSetsByCode.forEach((code, keywordSets) -> {
+            for (List<String> keywords : keywordSets) {
+                List<String> distinctive = keywords.stream()
+                        .filter(keyword -> codeCount < 3
+                                || codesByKeyword.get(keyword).size() <= codeCount * MAX_KEYWORD_PLO_SHARE)
+                        .toList();
+                result.add(new PloMatcher.PloKeywords(code, distinctive));
+            }
+        });
+        return result;
     }
-    
+
     /**
-     * Determine contribution level (M/I/R) based on score and Bloom's level
-     * M = Main (chính), I = Important (quan trọng), R = Related (liên quan)
+     * Tách từ khóa từ mô tả PLO: cụm 2 tiếng liền nhau (tiếng Việt, vd "dữ liệu", "thiết kế")
+     * và từ tiếng Anh / thuật ngữ ASCII từ 3 ký tự (vd "java", "sql").
+     * Cụm 2 tiếng chỉ được ghép trong cùng một đoạn (không vượt qua dấu câu).
      */
-    private String determineContributionLevel(double score, String bloomLevel) {
-        // High Bloom levels (Analyze, Evaluate, Create) + high score = Main
-        if (isHighBloom(bloomLevel) && score >= 0.4) {
-            return "M";
+    static List<String> extractKeywords(String description) {
+        String normalized = PloMatcher.normalize(description);
+        if (normalized.isEmpty()) {
+            return List.of();
         }
-        // Medium score or mid Bloom = Important
-        if (score >= 0.25 || isMidBloom(bloomLevel)) {
-            return "I";
+        Set<String> keywords = new LinkedHashSet<>();
+        for (String segment : PUNCTUATION.split(normalized)) {
+            String[] tokens = segment.trim().split(" ");
+            for (int i = 0; i < tokens.length; i++) {
+                String token = tokens[i];
+                if (token.isEmpty() || STOP_WORDS.contains(token)) {
+                    continue;
+                }
+                if (token.length() >= 3 && token.chars().allMatch(c -> c < 128) && !GENERIC_PHRASES.contains(token)) {
+                    keywords.add(token);
+                }
+                if (i + 1 < tokens.length && !tokens[i + 1].isEmpty() && !STOP_WORDS.contains(tokens[i + 1])) {
+                    String bigram = token + " " + tokens[i + 1];
+                    if (!GENERIC_PHRASES.contains(bigram)) {
+                        keywords.add(bigram);
+                    }
+                }
+            }
         }
-        // Low score = Related
-        return "R";
-    }
-    
-    private boolean isHighBloom(String level) {
-        return level != null && (
-            level.equalsIgnoreCase("Analyze") ||
-            level.equalsIgnoreCase("Evaluate") ||
-            level.equalsIgnoreCase("Create")
-        );
-    }
-    
-    private boolean isMidBloom(String level) {
-        return level != null && (
-            level.equalsIgnoreCase("Apply") ||
-            level.equalsIgnoreCase("Understand")
-        );
+        return new ArrayList<>(keywords);
     }
-    
-    // Helper classes
-    private static class PloDefinition {
-        String code;
-        String description;
-        List<String> keywords;
-        
-        PloDefinition(String code, String description, List<String> keywords) {
-            this.code = code;
-            this.description = description;
-            this.keywords = keywords;
+
+    private ExecutorService executor() {
+        if (suggestionExecutor == null) {
+            synchronized (this) {
+                if (suggestionExecutor == null) {
+                    int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+                    AtomicInteger counter = new AtomicInteger();
+                    suggestionExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "plo-matching-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
         }
+        return suggestionExecutor;
     }
-    
-    private static class PloMatch {
-        String ploCode;
-        double confidence;
-        String contributionLevel;
-        
-        PloMatch(String ploCode, double confidence, String contributionLevel) {
-            this.ploCode = ploCode;
-            this.confidence = confidence;
-            this.contributionLevel = contributionLevel;
+
+    private record CachedMatcher(PloMatcher matcher, long version, long builtAtNanos) {
+        boolean isExpired(long ttlMinutes) {
+            return System.nanoTime() - builtAtNanos > TimeUnit.MINUTES.toNanos(ttlMinutes);
         }
     }
 }
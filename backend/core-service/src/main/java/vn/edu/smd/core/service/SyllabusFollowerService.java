@@ -0,0 +1,235 @@
+package vn.edu.smd.core.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.module.student.event.SyllabusTrackChangedEvent;
+import vn.edu.smd.core.module.student.repository.StudentSyllabusTrackerRepository;
+import vn.edu.smd.core.module.user.event.UserDeletedEvent;
+import vn.edu.smd.core.service.follow.FollowerIndex;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Follower index của đề cương (ai đang theo dõi đề cương nào) - thay cho query student_syllabus_tracker
+ * mỗi lần gửi thông báo / tính cờ tracked
+ *
+ * - Nạp lần đầu từ bản lưu trong Redis (kiểm tra số cặp khớp với bảng), lệch / không có thì dựng từ DB
+ *   bằng một query projection 2 cột
+ * - toggleTrack / xóa tài khoản cập nhật index sau commit và phát lên kênh Redis cho các instance khác
+ * - Bản lưu Redis được ghi lại định kỳ khi có thay đổi; quá max-age thì dựng lại từ DB
+ * - Lỗi Redis chỉ log: index trong bộ nhớ vẫn đúng với các thay đổi của instance này
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyllabusFollowerService implements MessageListener {
+
+    public static final String CHANNEL = "smd:follow:changes";
+    private static final String INDEX_KEY = "smd:follow:index";
+
+    private final StudentSyllabusTrackerRepository trackerRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.follower-index.pubsub.enabled:true}")
+    private boolean pubSubEnabled = true;
+
+    @Value("${app.follower-index.persist.enabled:true}")
+    private boolean persistEnabled = true;
+
+    @Value("${app.follower-index.max-age-minutes:360}")
+    private long maxAgeMinutes = 360;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile FollowerIndex index;
+    private volatile long loadedAtNanos;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("smd.follower_index.follows", this, service -> service.index == null ? 0 : service.index.size())
+                .register(meterRegistry);
+        Gauge.builder("smd.follower_index.bytes", this, service -> service.index == null ? 0 : service.index.sizeInBytes())
+                .register(meterRegistry);
+    }
+
+    // =============================================
+    // READS
+    // =============================================
+
+    public boolean isFollowing(UUID studentId, UUID syllabusId) {
+        return studentId != null && syllabusId != null && index().isFollowing(studentId, syllabusId);
+    }
+
+    public Set<UUID> syllabiFollowedBy(UUID studentId) {
+        return index().followedBy(studentId);
+    }
+
+    public List<UUID> followersOf(UUID syllabusId) {
+        return index().followersOf(syllabusId);
+    }
+
+    // =============================================
+    // UPDATES
+    // =============================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrackChanged(SyllabusTrackChangedEvent event) {
+        apply(event.tracked() ? 'F' : 'U', event.studentId(), event.syllabusId());
+        broadcast((event.tracked() ? "F" : "U") + "|" + event.studentId() + "|" + event.syllabusId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply('R', event.userId(), null);
+        broadcast("R|" + event.userId() + "|-");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 4 || nodeId.equals(parts[3])) {
+            return;
+        }
+        try {
+            UUID syllabusId = "-".equals(parts[2]) ? null : UUID.fromString(parts[2]);
+            apply(parts[0].charAt(0), UUID.fromString(parts[1]), syllabusId);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Ignoring malformed follower index message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ghi bản lưu Redis nếu index đổi từ lần ghi trước
+     */
+    @Scheduled(fixedDelayString = "${app.follower-index.flush-interval-ms:5000}")
+    public void flush() {
+        FollowerIndex current = index;
+        if (!persistEnabled || current == null || !dirty.getAndSet(false)) {
+            return;
+        }
+        byte[] data = current.serialize();
+        byte[] rawKey = INDEX_KEY.getBytes(StandardCharsets.UTF_8);
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands().set(rawKey, data)));
+            log.debug("Persisted follower index: {} follows, {} bytes", current.size(), data.length);
+        } catch (BulkheadFullException | DataAccessException e) {
+            dirty.set(true);
+            log.warn("⚠️ Cannot persist follower index: {}", e.getMessage());
+        }
+    }
+
+    // Cùng khóa với load(): thay đổi đến trong lúc đang dựng index được áp lên index mới (follow / unfollow idempotent)
+    private synchronized void apply(char operation, UUID studentId, UUID syllabusId) {
+        FollowerIndex current = index;
+        if (current == null) {
+            // Chưa nạp: lần đọc đầu tiên sẽ nạp trạng thái mới nhất
+            return;
+        }
+        boolean changed = switch (operation) {
+            case 'F' -> current.follow(studentId, syllabusId);
+            case 'U' -> current.unfollow(studentId, syllabusId);
+            case 'R' -> current.removeStudent(studentId) > 0;
+            default -> false;
+        };
+        if (changed) {
+            dirty.set(true);
+        }
+    }
+
+    private void broadcast(String change) {
+        if (!pubSubEnabled) {
+            return;
+        }
+        try {
+            bulkheadRegistry.get(BulkheadRegistry.REDIS).run(() ->
+                    stringRedisTemplate.convertAndSend(CHANNEL, change + "|" + nodeId));
+        } catch (BulkheadFullException | DataAccessException e) {
+            log.warn("⚠️ Cannot broadcast follower index change: {}", e.getMessage());
+        }
+    }
+
+    // =============================================
+    // LOADING
+    // =============================================
+
+    private FollowerIndex index() {
+        FollowerIndex current = index;
+        if (current != null && !isExpired()) {
+            return current;
+        }
+        return load();
+    }
+
+    private synchronized FollowerIndex load() {
+        FollowerIndex current = index;
+        if (current != null && !isExpired()) {
+            return current;
+        }
+        long start = System.nanoTime();
+        long expected = trackerRepository.count();
+        FollowerIndex loaded = current == null ? readPersisted(expected) : null;
+        String source = "redis";
+        if (loaded == null) {
+            loaded = FollowerIndex.of(trackerRepository.findAllFollowRows().stream()
+                    .map(row -> new FollowerIndex.Follow(row.studentId(), row.syllabusId()))
+                    .toList());
+            source = "database";
+            dirty.set(true);
+        }
+        index = loaded;
+        loadedAtNanos = System.nanoTime();
+        log.info("👥 Loaded follower index from {}: {} follows, ~{} KB in {} ms", source, loaded.size(),
+                loaded.sizeInBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded;
+    }
+
+    private FollowerIndex readPersisted(long expectedFollows) {
+        if (!persistEnabled) {
+            return null;
+        }
+        byte[] rawKey = INDEX_KEY.getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] data = bulkheadRegistry.get(BulkheadRegistry.REDIS).execute(() ->
+                    stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey)));
+            if (data == null) {
+                return null;
+            }
+            FollowerIndex persisted = FollowerIndex.deserialize(data);
+            if (persisted.size() != expectedFollows) {
+                log.info("Persisted follower index is stale ({} follows, table has {}), rebuilding", persisted.size(), expectedFollows);
+                return null;
+            }
+            return persisted;
+        } catch (BulkheadFullException | DataAccessException | IOException e) {
+            log.warn("⚠️ Cannot read persisted follower index: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isExpired() {
+        return maxAgeMinutes > 0 && System.nanoTime() - loadedAtNanos > TimeUnit.MINUTES.toNanos(maxAgeMinutes);
+    }
+}
@@ -0,0 +1,480 @@
+package vn.edu.smd.core.service.coverage;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Rollup mức đóng góp của một chương trình đào tạo cho từng PLO và PI, tính từ trọng số đánh giá
+ *
+ * Trọng số: thành phần đánh giá gốc có weightPercent trên tổng điểm môn, thành phần con tính theo % của cha.
+ * CLO nhận Σ(trọng số hiệu dụng × contributionPercent) của các thành phần đo nó = phần điểm môn (0..1) dành cho CLO;
+ * đóng góp cho PI / PLO = phần điểm đó × hệ số mức (H = 1, M = 2/3, L = 1/3). Một CLO ánh xạ nhiều PI / PLO
+ * đóng góp đủ cho từng cái. Đơn vị: 1.0 = toàn bộ điểm của một môn đo PI / PLO ở mức H.
+ *
+ * - Mỗi đề cương là một SyllabusGraph (trọng số CLO + các cạnh trong mảng nguyên thủy); hàng của môn được tính
+ *   bằng một lượt duyệt tuyến tính qua các cạnh
+ * - Hàng của mọi môn nằm liên tiếp trong double[] (môn × PLO, môn × PI): tổng chương trình là cộng theo cột
+ * - Immutable: withSubject chỉ tính lại hàng của một môn (copy-on-write), đọc đồng thời không cần khóa
+ */
+public final class PloAttainmentRollup {
+
+    /** Hệ số theo chỉ số mức của PloCoverageMatrix.level (HIGH, MEDIUM, LOW) */
+    private static final double[] LEVEL_FACTORS = {1.0, 2.0 / 3, 1.0 / 3};
+
+    /** PI được định danh theo (mã PLO cha, mã PI) - mỗi môn có danh mục PLO riêng nhưng dùng chung bộ mã */
+    public record PiKey(String ploCode, String piCode) {
+    }
+
+    /**
+     * @param directWeight đóng góp qua ánh xạ CLO → PLO
+     * @param piWeight     đóng góp qua các PI của PLO (CLO → PI)
+     * @param subjects     số môn có đóng góp (trực tiếp hoặc qua PI)
+     * @param share        tỉ lệ directWeight trên tổng directWeight của chương trình
+     */
+    public record PloAttainment(String ploCode, double directWeight, double piWeight, int subjects, double share) {
+    }
+
+    public record PiAttainment(String ploCode, String piCode, double weight, int subjects) {
+    }
+
+    private final List<String> ploCodes;
+    private final Map<String, Integer> ploIndex;
+    private final List<PiKey> pis;
+    private final Map<PiKey, Integer> piIndex;
+    private final int[] piPlo;
+    private final List<PloCoverageMatrix.SubjectRef> subjects;
+    private final Map<UUID, Integer> subjectIndex;
+    private final SyllabusGraph[] graphs;
+    private final double[] direct;
+    private final double[] viaPi;
+    private final double[] piWeights;
+
+    private PloAttainmentRollup(List<String> ploCodes, List<PiKey> pis, List<PloCoverageMatrix.SubjectRef> subjects,
+                                SyllabusGraph[] graphs, double[] direct, double[] viaPi, double[] piWeights) {
+        this.ploCodes = ploCodes;
+        this.pis = pis;
+        this.subjects = subjects;
+        this.graphs = graphs;
+        this.ploIndex = indexOf(ploCodes);
+        this.piIndex = indexOf(pis);
+        this.piPlo = new int[pis.size()];
+        for (int pi = 0; pi < pis.size(); pi++) {
+            piPlo[pi] = ploIndex.get(pis.get(pi).ploCode());
+        }
+        Map<UUID, Integer> bySubject = new HashMap<>();
+        for (int i = 0; i < subjects.size(); i++) {
+            bySubject.put(subjects.get(i).subjectId(), i);
+        }
+        this.subjectIndex = bySubject;
+        this.direct = direct != null ? direct : new double[subjects.size() * ploCodes.size()];
+        this.viaPi = viaPi != null ? viaPi : new double[subjects.size() * ploCodes.size()];
+        this.piWeights = piWeights != null ? piWeights : new double[subjects.size() * pis.size()];
+    }
+
+    /**
+     * @param ploCodes  danh mục mã PLO (mã chỉ có trong ánh xạ được thêm vào cuối)
+     * @param piCatalog danh mục PI (PI chỉ có trong ánh xạ được thêm vào cuối)
+     * @param subjects  các môn của chương trình
+     * @param graphs    đồ thị đề cương PUBLISHED mới nhất theo subjectId; môn không có → không đóng góp
+     */
+    public static PloAttainmentRollup of(List<String> ploCodes, List<PiKey> piCatalog,
+                                         List<PloCoverageMatrix.SubjectRef> subjects, Map<UUID, SyllabusGraph> graphs) {
+        List<String> codes = new ArrayList<>(ploCodes);
+        Set<String> knownCodes = new HashSet<>(codes);
+        List<PiKey> piKeys = new ArrayList<>(piCatalog);
+        Set<PiKey> knownPis = new HashSet<>(piKeys);
+        for (PiKey pi : piCatalog) {
+            if (knownCodes.add(pi.ploCode())) {
+                codes.add(pi.ploCode());
+            }
+        }
+        SyllabusGraph[] subjectGraphs = new SyllabusGraph[subjects.size()];
+        for (int row = 0; row < subjects.size(); row++) {
+            SyllabusGraph graph = graphs.get(subjects.get(row).subjectId());
+            subjectGraphs[row] = graph;
+            if (graph == null) {
+                continue;
+            }
+            for (String code : graph.ploCodes) {
+                if (knownCodes.add(code)) {
+                    codes.add(code);
+                }
+            }
+            for (int e = 0; e < graph.piClo.length; e++) {
+                PiKey key = new PiKey(graph.piPloCodes[e], graph.piCodes[e]);
+                if (knownCodes.add(key.ploCode())) {
+                    codes.add(key.ploCode());
+                }
+                if (knownPis.add(key)) {
+                    piKeys.add(key);
+                }
+            }
+        }
+        PloAttainmentRollup rollup = new PloAttainmentRollup(List.copyOf(codes), List.copyOf(piKeys),
+                List.copyOf(subjects), subjectGraphs, null, null, null);
+        for (int row = 0; row < subjects.size(); row++) {
+            rollup.computeRow(row);
+        }
+        return rollup;
+    }
+
+    /**
+     * Thay đề cương của một môn (xuất bản / gỡ): môn và mọi mã đã có → copy mảng và tính lại một hàng,
+     * ngược lại dựng lại từ các đồ thị đang giữ (không cần đọc DB)
+     */
+    public PloAttainmentRollup withSubject(PloCoverageMatrix.SubjectRef subject, SyllabusGraph graph) {
+        Integer row = subjectIndex.get(subject.subjectId());
+        if (row == null || !knowsAllCodes(graph)) {
+            List<PloCoverageMatrix.SubjectRef> nextSubjects = new ArrayList<>(subjects);
+            Map<UUID, SyllabusGraph> nextGraphs = new HashMap<>();
+            for (int i = 0; i < subjects.size(); i++) {
+                if (graphs[i] != null) {
+                    nextGraphs.put(subjects.get(i).subjectId(), graphs[i]);
+                }
+            }
+            if (row == null) {
+                nextSubjects.add(subject);
+            } else {
+                nextSubjects.set(row, subject);
+            }
+            if (graph != null) {
+                nextGraphs.put(subject.subjectId(), graph);
+            } else {
+                nextGraphs.remove(subject.subjectId());
+            }
+            return of(ploCodes, pis, nextSubjects, nextGraphs);
+        }
+
+        List<PloCoverageMatrix.SubjectRef> nextSubjects = new ArrayList<>(subjects);
+        nextSubjects.set(row, subject);
+        SyllabusGraph[] nextGraphs = graphs.clone();
+        nextGraphs[row] = graph;
+        PloAttainmentRollup next = new PloAttainmentRollup(ploCodes, pis, List.copyOf(nextSubjects), nextGraphs,
+                direct.clone(), viaPi.clone(), piWeights.clone());
+        next.computeRow(row);
+        return next;
+    }
+
+    // =============================================
+    // QUERIES
+    // =============================================
+
+    /**
+     * Đóng góp của chương trình cho từng PLO, theo thứ tự danh mục
+     */
+    public List<PloAttainment> plos() {
+        int plos = ploCodes.size();
+        double[] directTotals = new double[plos];
+        double[] piTotals = new double[plos];
+        int[] contributing = new int[plos];
+        for (int row = 0; row < subjects.size(); row++) {
+            int base = row * plos;
+            for (int plo = 0; plo < plos; plo++) {
+                double d = direct[base + plo];
+                double p = viaPi[base + plo];
+                directTotals[plo] += d;
+                piTotals[plo] += p;
+                contributing[plo] += (d > 0 || p > 0) ? 1 : 0;
+            }
+        }
+        double total = 0;
+        for (double value : directTotals) {
+            total += value;
+        }
+        List<PloAttainment> result = new ArrayList<>(plos);
+        for (int plo = 0; plo < plos; plo++) {
+            result.add(new PloAttainment(ploCodes.get(plo), directTotals[plo], piTotals[plo], contributing[plo],
+                    total > 0 ? directTotals[plo] / total : 0));
+        }
+        return result;
+    }
+
+    /**
+     * Đóng góp của chương trình cho từng PI, theo thứ tự danh mục
+     */
+    public List<PiAttainment> pis() {
+        int piCount = pis.size();
+        double[] totals = new double[piCount];
+        int[] contributing = new int[piCount];
+        for (int row = 0; row < subjects.size(); row++) {
+            int base = row * piCount;
+            for (int pi = 0; pi < piCount; pi++) {
+                double value = piWeights[base + pi];
+                totals[pi] += value;
+                contributing[pi] += value > 0 ? 1 : 0;
+            }
+        }
+        List<PiAttainment> result = new ArrayList<>(piCount);
+        for (int pi = 0; pi < piCount; pi++) {
+            PiKey key = pis.get(pi);
+            result.add(new PiAttainment(key.ploCode(), key.piCode(), totals[pi], contributing[pi]));
+        }
+        return result;
+    }
+
+    /**
+     * Đóng góp trực tiếp (CLO → PLO) của một môn cho từng mã PLO mà môn đóng góp
+     */
+    public Map<String, Double> subjectPlos(UUID subjectId) {
+        Integer row = subjectIndex.get(subjectId);
+        Map<String, Double> result = new LinkedHashMap<>();
+        if (row == null) {
+            return result;
+        }
+        int base = row * ploCodes.size();
+        for (int plo = 0; plo < ploCodes.size(); plo++) {
+            if (direct[base + plo] > 0) {
+                result.put(ploCodes.get(plo), direct[base + plo]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Phần điểm môn (0..1) thuộc các thành phần đánh giá có ánh xạ CLO
+     */
+    public double mappedWeight(UUID subjectId) {
+        Integer row = subjectIndex.get(subjectId);
+        return row == null || graphs[row] == null ? 0 : graphs[row].mappedWeight;
+    }
+
+    public List<String> getPloCodes() {
+        return ploCodes;
+    }
+
+    public List<PloCoverageMatrix.SubjectRef> getSubjects() {
+        return subjects;
+    }
+
+    public boolean containsSubject(UUID subjectId) {
+        return subjectIndex.containsKey(subjectId);
+    }
+
+    // =============================================
+    // ROLLUP
+    // =============================================
+
+    private void computeRow(int row) {
+        int plos = ploCodes.size();
+        int piCount = pis.size();
+        int ploBase = row * plos;
+        int piBase = row * piCount;
+        Arrays.fill(direct, ploBase, ploBase + plos, 0);
+        Arrays.fill(viaPi, ploBase, ploBase + plos, 0);
+        Arrays.fill(piWeights, piBase, piBase + piCount, 0);
+        SyllabusGraph graph = graphs[row];
+        if (graph == null) {
+            return;
+        }
+
+        double[] cloWeights = graph.cloWeights;
+        int[] piTargets = new int[graph.piClo.length];
+        for (int e = 0; e < piTargets.length; e++) {
+            piTargets[e] = piIndex.get(new PiKey(graph.piPloCodes[e], graph.piCodes[e]));
+        }
+        int[] ploTargets = new int[graph.ploClo.length];
+        for (int e = 0; e < ploTargets.length; e++) {
+            ploTargets[e] = ploIndex.get(graph.ploCodes[e]);
+        }
+
+        for (int e = 0; e < piTargets.length; e++) {
+            piWeights[piBase + piTargets[e]] += cloWeights[graph.piClo[e]] * graph.piFactors[e];
+        }
+        for (int e = 0; e < ploTargets.length; e++) {
+            direct[ploBase + ploTargets[e]] += cloWeights[graph.ploClo[e]] * graph.ploFactors[e];
+        }
+        for (int pi = 0; pi < piCount; pi++) {
+            viaPi[ploBase + piPlo[pi]] += piWeights[piBase + pi];
+        }
+    }
+
+    private boolean knowsAllCodes(SyllabusGraph graph) {
+        if (graph == null) {
+            return true;
+        }
+        for (String code : graph.ploCodes) {
+            if (!ploIndex.containsKey(code)) {
+                return false;
+            }
+        }
+        for (int e = 0; e < graph.piClo.length; e++) {
+            if (!piIndex.containsKey(new PiKey(graph.piPloCodes[e], graph.piCodes[e]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> Map<T, Integer> indexOf(List<T> values) {
+        Map<T, Integer> index = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "PloAttainmentRollup[" + subjects.size() + " subjects × " + ploCodes.size() + " PLOs × "
+                + pis.size() + " PIs]";
+    }
+
+    // =============================================
+    // SYLLABUS GRAPH
+    // =============================================
+
+    /**
+     * Đồ thị đánh giá → CLO → PI / PLO của một đề cương, đã quy về trọng số CLO và các cạnh trong mảng nguyên thủy
+     */
+    public static final class SyllabusGraph {
+
+        private final double[] cloWeights;
+        private final double mappedWeight;
+        private final int[] piClo;
+        private final String[] piPloCodes;
+        private final String[] piCodes;
+        private final double[] piFactors;
+        private final int[] ploClo;
+        private final String[] ploCodes;
+        private final double[] ploFactors;
+
+        private SyllabusGraph(Builder builder) {
+            Map<UUID, Integer> clos = new HashMap<>();
+            this.piClo = new int[builder.piEdges.size()];
+            this.piPloCodes = new String[piClo.length];
+            this.piCodes = new String[piClo.length];
+            this.piFactors = new double[piClo.length];
+            for (int e = 0; e < piClo.length; e++) {
+                Edge edge = builder.piEdges.get(e);
+                piClo[e] = clos.computeIfAbsent(edge.cloId(), id -> clos.size());
+                piPloCodes[e] = edge.ploCode();
+                piCodes[e] = edge.piCode();
+                piFactors[e] = edge.factor();
+            }
+            this.ploClo = new int[builder.ploEdges.size()];
+            this.ploCodes = new String[ploClo.length];
+            this.ploFactors = new double[ploClo.length];
+            for (int e = 0; e < ploClo.length; e++) {
+                Edge edge = builder.ploEdges.get(e);
+                ploClo[e] = clos.computeIfAbsent(edge.cloId(), id -> clos.size());
+                ploCodes[e] = edge.ploCode();
+                ploFactors[e] = edge.factor();
+            }
+
+            // Thành phần có thành phần con được ánh xạ → bỏ ánh xạ của chính nó (tránh tính hai lần)
+            Set<UUID> mappedAncestors = new HashSet<>();
+            for (UUID assessmentId : builder.assessmentClos.keySet()) {
+                UUID parent = builder.parents.get(assessmentId);
+                for (int depth = 0; parent != null && depth < Builder.MAX_DEPTH; depth++) {
+                    mappedAncestors.add(parent);
+                    parent = builder.parents.get(parent);
+                }
+            }
+            this.cloWeights = new double[clos.size()];
+            double mapped = 0;
+            for (Map.Entry<UUID, List<CloShare>> entry : builder.assessmentClos.entrySet()) {
+                if (mappedAncestors.contains(entry.getKey())) {
+                    continue;
+                }
+                double weight = builder.effectiveWeight(entry.getKey());
+                mapped += weight;
+                for (CloShare share : entry.getValue()) {
+                    Integer clo = clos.get(share.cloId());
+                    if (clo != null) {
+                        cloWeights[clo] += weight * share.percent() / 100.0;
+                    }
+                }
+            }
+            this.mappedWeight = mapped;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public double mappedWeight() {
+            return mappedWeight;
+        }
+
+        private record Edge(UUID cloId, String ploCode, String piCode, double factor) {
+        }
+
+        private record CloShare(UUID cloId, double percent) {
+        }
+
+        public static final class Builder {
+
+            private static final int MAX_DEPTH = 16;
+
+            private final Map<UUID, UUID> parents = new HashMap<>();
+            private final Map<UUID, Double> weights = new HashMap<>();
+            private final Map<UUID, List<CloShare>> assessmentClos = new LinkedHashMap<>();
+            private final List<Edge> piEdges = new ArrayList<>();
+            private final List<Edge> ploEdges = new ArrayList<>();
+
+            private Builder() {
+            }
+
+            /**
+             * @param weightPercent % trên tổng điểm môn (thành phần gốc) hoặc % của thành phần cha
+             */
+            public Builder assessment(UUID assessmentId, UUID parentId, BigDecimal weightPercent) {
+                weights.put(assessmentId, weightPercent != null ? weightPercent.doubleValue() : 0);
+                if (parentId != null) {
+                    parents.put(assessmentId, parentId);
+                }
+                return this;
+            }
+
+            /**
+             * @param contributionPercent % điểm của thành phần dành cho CLO (null → 100)
+             */
+            public Builder assessmentClo(UUID assessmentId, UUID cloId, BigDecimal contributionPercent) {
+                assessmentClos.computeIfAbsent(assessmentId, id -> new ArrayList<>())
+                        .add(new CloShare(cloId, contributionPercent != null ? contributionPercent.doubleValue() : 100));
+                return this;
+            }
+
+            public Builder cloPi(UUID cloId, String ploCode, String piCode, String level) {
+                if (ploCode != null && piCode != null) {
+                    piEdges.add(new Edge(cloId, ploCode, piCode, LEVEL_FACTORS[PloCoverageMatrix.level(level)]));
+                }
+                return this;
+            }
+
+            public Builder cloPlo(UUID cloId, String ploCode, String level) {
+                if (ploCode != null) {
+                    ploEdges.add(new Edge(cloId, ploCode, null, LEVEL_FACTORS[PloCoverageMatrix.level(level)]));
+                }
+                return this;
+            }
+
+            public SyllabusGraph build() {
+                return new SyllabusGraph(this);
+            }
+
+            /** Tích weightPercent/100 theo chuỗi cha (cha không có trong đề cương → coi như gốc) */
+            private double effectiveWeight(UUID assessmentId) {
+                double weight = 1;
+                UUID current = assessmentId;
+                for (int depth = 0; current != null && depth < MAX_DEPTH; depth++) {
+                    Double percent = weights.get(current);
+                    if (percent == null) {
+                        break;
+                    }
+                    weight *= percent / 100.0;
+                    current = parents.get(current);
+                }
+                return weight;
+            }
+        }
+    }
+}
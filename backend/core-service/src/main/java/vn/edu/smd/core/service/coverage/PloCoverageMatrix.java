@@ -0,0 +1,310 @@
+package vn.edu.smd.core.service.coverage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ma trận độ phủ PLO của một chương trình đào tạo: môn học × mã PLO × mức đóng góp (H / M / L)
+ *
+ * Mỗi cặp (mức, PLO) là một bitset trên các môn học (long[] liên tiếp trong một mảng duy nhất),
+ * nên các truy vấn độ phủ / thiếu hụt / trùng lặp chỉ là OR / AND-NOT / bitCount trên vài word.
+ *
+ * - Một môn có thể ánh xạ cùng PLO ở nhiều mức (nhiều CLO): mỗi mức một bit, mức mạnh nhất dùng để chấm điểm
+ * - Immutable: withSubject trả về ma trận mới (copy-on-write), đọc đồng thời không cần khóa
+ */
+public final class PloCoverageMatrix {
+
+    public static final int HIGH = 0;
+    public static final int MEDIUM = 1;
+    public static final int LOW = 2;
+    private static final int LEVELS = 3;
+    private static final String[] LEVEL_CODES = {"H", "M", "L"};
+
+    /**
+     * Một môn trong ma trận (đề cương PUBLISHED mới nhất của môn, null nếu chưa có)
+     */
+    public record SubjectRef(UUID subjectId, String subjectCode, UUID syllabusId) {
+    }
+
+    /**
+     * Một ánh xạ CLO-PLO đã xuất bản, rút gọn về (môn, mã PLO, mức)
+     */
+    public record Mapping(UUID subjectId, String ploCode, String level) {
+    }
+
+    /**
+     * Độ phủ của một mã PLO: số môn đóng góp theo mức mạnh nhất của mỗi môn
+     *
+     * @param score điểm 0..1 = Σ(H=3, M=2, L=1) / (3 × số môn của chương trình)
+     */
+    public record PloCoverage(String ploCode, int subjects, int high, int medium, int low, double score) {
+    }
+
+    private final List<String> ploCodes;
+    private final Map<String, Integer> ploIndex;
+    private final List<SubjectRef> subjects;
+    private final Map<UUID, Integer> subjectIndex;
+    private final int words;
+    private final long[] bits;
+
+    private PloCoverageMatrix(List<String> ploCodes, List<SubjectRef> subjects, long[] bits) {
+        this.ploCodes = ploCodes;
+        this.subjects = subjects;
+        this.words = Math.max(1, (subjects.size() + 63) >>> 6);
+        this.bits = bits != null ? bits : new long[LEVELS * ploCodes.size() * words];
+        this.ploIndex = indexOf(ploCodes);
+        Map<UUID, Integer> bySubject = new HashMap<>();
+        for (int i = 0; i < subjects.size(); i++) {
+            bySubject.put(subjects.get(i).subjectId(), i);
+        }
+        this.subjectIndex = bySubject;
+    }
+
+    /**
+     * @param ploCodes danh mục mã PLO của chương trình (mã chỉ có trong ánh xạ được thêm vào cuối)
+     * @param subjects các môn của chương trình
+     * @param mappings ánh xạ của đề cương PUBLISHED; ánh xạ tới môn không có trong subjects bị bỏ qua
+     */
+    public static PloCoverageMatrix of(List<String> ploCodes, List<SubjectRef> subjects, Collection<Mapping> mappings) {
+        List<String> codes = new ArrayList<>(ploCodes);
+        Map<String, Integer> known = indexOf(codes);
+        for (Mapping mapping : mappings) {
+            if (mapping.ploCode() != null && !known.containsKey(mapping.ploCode())) {
+                known.put(mapping.ploCode(), codes.size());
+                codes.add(mapping.ploCode());
+            }
+        }
+        PloCoverageMatrix matrix = new PloCoverageMatrix(List.copyOf(codes), List.copyOf(subjects), null);
+        for (Mapping mapping : mappings) {
+            Integer subject = matrix.subjectIndex.get(mapping.subjectId());
+            if (subject != null && mapping.ploCode() != null) {
+                matrix.set(level(mapping.level()), matrix.ploIndex.get(mapping.ploCode()), subject);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Thay hàng của một môn (khi đề cương của môn được xuất bản)
+     *
+     * Môn và mã PLO đã có → chỉ copy mảng bit và ghi lại một cột bit; ngược lại dựng lại toàn bộ.
+     */
+    public PloCoverageMatrix withSubject(SubjectRef subject, Collection<Mapping> mappings) {
+        Integer row = subjectIndex.get(subject.subjectId());
+        boolean knownCodes = mappings.stream().allMatch(m -> m.ploCode() == null || ploIndex.containsKey(m.ploCode()));
+        if (row == null || !knownCodes) {
+            List<SubjectRef> nextSubjects = new ArrayList<>(subjects);
+            List<Mapping> nextMappings = new ArrayList<>();
+            for (Mapping mapping : mappings()) {
+                if (!mapping.subjectId().equals(subject.subjectId())) {
+                    nextMappings.add(mapping);
+                }
+            }
+            nextMappings.addAll(mappings);
+            if (row == null) {
+                nextSubjects.add(subject);
+            } else {
+                nextSubjects.set(row, subject);
+            }
+            return of(ploCodes, nextSubjects, nextMappings);
+        }
+
+        List<SubjectRef> nextSubjects = new ArrayList<>(subjects);
+        nextSubjects.set(row, subject);
+        PloCoverageMatrix next = new PloCoverageMatrix(ploCodes, List.copyOf(nextSubjects), bits.clone());
+        long mask = ~(1L << (row & 63));
+        int word = row >>> 6;
+        for (int column = 0; column < LEVELS * ploCodes.size(); column++) {
+            next.bits[column * words + word] &= mask;
+        }
+        for (Mapping mapping : mappings) {
+            if (mapping.ploCode() != null) {
+                next.set(level(mapping.level()), ploIndex.get(mapping.ploCode()), row);
+            }
+        }
+        return next;
+    }
+
+    // =============================================
+    // QUERIES
+    // =============================================
+
+    /**
+     * Độ phủ của từng mã PLO, theo thứ tự danh mục
+     */
+    public List<PloCoverage> coverage() {
+        List<PloCoverage> result = new ArrayList<>(ploCodes.size());
+        for (int plo = 0; plo < ploCodes.size(); plo++) {
+            result.add(coverage(plo));
+        }
+        return result;
+    }
+
+    /**
+     * PLO thiếu hụt: ít hơn minSubjects môn đóng góp, hoặc không môn nào đóng góp ở mức H / M
+     */
+    public List<PloCoverage> gaps(int minSubjects) {
+        List<PloCoverage> result = new ArrayList<>();
+        for (PloCoverage coverage : coverage()) {
+            if (coverage.subjects() < minSubjects || coverage.high() + coverage.medium() == 0) {
+                result.add(coverage);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * PLO trùng lặp: hơn maxHighSubjects môn cùng đóng góp ở mức H
+     */
+    public List<PloCoverage> redundancies(int maxHighSubjects) {
+        List<PloCoverage> result = new ArrayList<>();
+        for (PloCoverage coverage : coverage()) {
+            if (coverage.high() > maxHighSubjects) {
+                result.add(coverage);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Mức mạnh nhất (H / M / L) của một môn với từng mã PLO mà môn đóng góp
+     */
+    public Map<String, String> subjectLevels(UUID subjectId) {
+        Integer row = subjectIndex.get(subjectId);
+        Map<String, String> levels = new LinkedHashMap<>();
+        if (row == null) {
+            return levels;
+        }
+        for (int plo = 0; plo < ploCodes.size(); plo++) {
+            for (int level = 0; level < LEVELS; level++) {
+                if (get(level, plo, row)) {
+                    levels.put(ploCodes.get(plo), LEVEL_CODES[level]);
+                    break;
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Mã môn đóng góp cho một PLO ở mức từ minLevel trở lên (HIGH / MEDIUM / LOW)
+     */
+    public List<String> subjectsCovering(String ploCode, int minLevel) {
+        Integer plo = ploIndex.get(ploCode);
+        List<String> result = new ArrayList<>();
+        if (plo == null) {
+            return result;
+        }
+        for (int word = 0; word < words; word++) {
+            long covered = 0;
+            for (int level = 0; level <= minLevel; level++) {
+                covered |= bits[offset(level, plo) + word];
+            }
+            while (covered != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(covered);
+                result.add(subjects.get(row).subjectCode());
+                covered &= covered - 1;
+            }
+        }
+        return result;
+    }
+
+    public List<String> getPloCodes() {
+        return ploCodes;
+    }
+
+    public List<SubjectRef> getSubjects() {
+        return subjects;
+    }
+
+    public boolean containsSubject(UUID subjectId) {
+        return subjectIndex.containsKey(subjectId);
+    }
+
+    // =============================================
+    // BITS
+    // =============================================
+
+    private PloCoverage coverage(int plo) {
+        int high = 0;
+        int medium = 0;
+        int low = 0;
+        int highOffset = offset(HIGH, plo);
+        int mediumOffset = offset(MEDIUM, plo);
+        int lowOffset = offset(LOW, plo);
+        for (int word = 0; word < words; word++) {
+            long h = bits[highOffset + word];
+            long m = bits[mediumOffset + word] & ~h;
+            long l = bits[lowOffset + word] & ~h & ~m;
+            high += Long.bitCount(h);
+            medium += Long.bitCount(m);
+            low += Long.bitCount(l);
+        }
+        double score = subjects.isEmpty() ? 0 : (3.0 * high + 2.0 * medium + low) / (3.0 * subjects.size());
+        return new PloCoverage(ploCodes.get(plo), high + medium + low, high, medium, low, score);
+    }
+
+    private List<Mapping> mappings() {
+        List<Mapping> result = new ArrayList<>();
+        for (int level = 0; level < LEVELS; level++) {
+            for (int plo = 0; plo < ploCodes.size(); plo++) {
+                int base = offset(level, plo);
+                for (int word = 0; word < words; word++) {
+                    long value = bits[base + word];
+                    while (value != 0) {
+                        int row = (word << 6) + Long.numberOfTrailingZeros(value);
+                        result.add(new Mapping(subjects.get(row).subjectId(), ploCodes.get(plo), LEVEL_CODES[level]));
+                        value &= value - 1;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int offset(int level, int plo) {
+        return (level * ploCodes.size() + plo) * words;
+    }
+
+    private void set(int level, int plo, int row) {
+        bits[offset(level, plo) + (row >>> 6)] |= 1L << (row & 63);
+    }
+
+    private boolean get(int level, int plo, int row) {
+        return (bits[offset(level, plo) + (row >>> 6)] & (1L << (row & 63))) != 0;
+    }
+
+    /**
+     * H / M / L (không phân biệt hoa thường); giá trị khác hoặc null được tính là L
+     */
+    static int level(String code) {
+        if (code == null) {
+            return LOW;
+        }
+        return switch (code.trim().toUpperCase()) {
+            case "H", "HIGH" -> HIGH;
+            case "M", "MEDIUM" -> MEDIUM;
+            default -> LOW;
+        };
+    }
+
+    private static Map<String, Integer> indexOf(List<String> codes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < codes.size(); i++) {
+            index.put(codes.get(i), i);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "PloCoverageMatrix[" + subjects.size() + " subjects × " + ploCodes.size() + " PLOs, "
+                + Arrays.stream(bits).map(Long::bitCount).sum() + " bits]";
+    }
+}
@@ -0,0 +1,368 @@
+package vn.edu.smd.core.service.follow;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Bitmap nén kiểu Roaring trên các số nguyên không âm (id dày đặc của sinh viên / đề cương)
+ *
+ * - Chia theo 16 bit cao thành các container; mỗi container chứa 16 bit thấp:
+ *   ≤ 4096 phần tử → mảng char đã sắp xếp (2 byte / phần tử), nhiều hơn → bitset 8 KB
+ * - Immutable: with / without chỉ copy container bị đổi, đọc đồng thời không cần khóa
+ */
+public final class CompressedBitmap {
+
+    public static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Object[0], new int[0]);
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    private final char[] keys;
+    // char[] (container mảng) hoặc long[] (container bitset)
+    private final Object[] containers;
+    private final int[] sizes;
+
+    private CompressedBitmap(char[] keys, Object[] containers, int[] sizes) {
+        this.keys = keys;
+        this.containers = containers;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Dựng một lần từ danh sách giá trị (không cần sắp xếp, trùng được bỏ qua)
+     */
+    public static CompressedBitmap of(int... values) {
+        int[] sorted = Arrays.stream(values).sorted().distinct().toArray();
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+        checkValue(sorted[0]);
+        int containerCount = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (high(sorted[i]) != high(sorted[i - 1])) {
+                containerCount++;
+            }
+        }
+        char[] keys = new char[containerCount];
+        Object[] containers = new Object[containerCount];
+        int[] sizes = new int[containerCount];
+        int start = 0;
+        for (int container = 0; container < containerCount; container++) {
+            char key = high(sorted[start]);
+            int end = start;
+            while (end < sorted.length && high(sorted[end]) == key) {
+                end++;
+            }
+            int size = end - start;
+            char[] array = new char[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = low(sorted[start + i]);
+            }
+            keys[container] = key;
+            sizes[container] = size;
+            if (size <= ARRAY_MAX) {
+                containers[container] = array;
+            } else {
+                long[] bits = new long[BITMAP_WORDS];
+                for (char low : array) {
+                    bits[low >>> 6] |= 1L << low;
+                }
+                containers[container] = bits;
+            }
+            start = end;
+        }
+        return new CompressedBitmap(keys, containers, sizes);
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, high(value));
+        if (index < 0) {
+            return false;
+        }
+        Object container = containers[index];
+        if (container instanceof char[] array) {
+            return Arrays.binarySearch(array, low(value)) >= 0;
+        }
+        long[] bits = (long[]) container;
+        char low = low(value);
+        return (bits[low >>> 6] & (1L << low)) != 0;
+    }
+
+    public CompressedBitmap with(int value) {
+        checkValue(value);
+        char key = high(value);
+        char low = low(value);
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            int insertAt = -index - 1;
+            return new CompressedBitmap(insert(keys, insertAt, key), insert(containers, insertAt, new char[]{low}),
+                    insert(sizes, insertAt, 1));
+        }
+
+        Object container = containers[index];
+        Object updated;
+        if (container instanceof char[] array) {
+            int position = Arrays.binarySearch(array, low);
+            if (position >= 0) {
+                return this;
+            }
+            updated = array.length < ARRAY_MAX ? insert(array, -position - 1, low) : toBitmap(array, low);
+        } else {
+            long[] bits = (long[]) container;
+            if ((bits[low >>> 6] & (1L << low)) != 0) {
+                return this;
+            }
+            long[] copy = bits.clone();
+            copy[low >>> 6] |= 1L << low;
+            updated = copy;
+        }
+        return replace(index, updated, sizes[index] + 1);
+    }
+
+    public CompressedBitmap without(int value) {
+        if (value < 0) {
+            return this;
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        if (index < 0) {
+            return this;
+        }
+        char low = low(value);
+        Object container = containers[index];
+        int size = sizes[index] - 1;
+        Object updated;
+        if (container instanceof char[] array) {
+            int position = Arrays.binarySearch(array, low);
+            if (position < 0) {
+                return this;
+            }
+            updated = remove(array, position);
+        } else {
+            long[] bits = (long[]) container;
+            if ((bits[low >>> 6] & (1L << low)) == 0) {
+                return this;
+            }
+            long[] copy = bits.clone();
+            copy[low >>> 6] &= ~(1L << low);
+            updated = size <= ARRAY_MAX ? toArray(copy, size) : copy;
+        }
+        if (size == 0) {
+            return new CompressedBitmap(remove(keys, index), remove(containers, index), remove(sizes, index));
+        }
+        return replace(index, updated, size);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Duyệt theo thứ tự tăng dần
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            int base = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof char[] array) {
+                for (char low : array) {
+                    consumer.accept(base | low);
+                }
+            } else {
+                long[] bits = (long[]) container;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long value = bits[word];
+                    while (value != 0) {
+                        consumer.accept(base | (word << 6) + Long.numberOfTrailingZeros(value));
+                        value &= value - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> result[position[0]++] = value);
+        return result;
+    }
+
+    /**
+     * Số byte khi serialize - dùng cho metric / log dung lượng
+     */
+    public int serializedSizeInBytes() {
+        int bytes = Integer.BYTES;
+        for (Object container : containers) {
+            bytes += Character.BYTES + 1 + Integer.BYTES;
+            bytes += container instanceof char[] array ? array.length * Character.BYTES : BITMAP_WORDS * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    // =============================================
+    // SERIALIZATION
+    // =============================================
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            out.writeChar(keys[i]);
+            Object container = containers[i];
+            if (container instanceof char[] array) {
+                out.writeByte(ARRAY);
+                out.writeInt(array.length);
+                for (char low : array) {
+                    out.writeChar(low);
+                }
+            } else {
+                out.writeByte(BITMAP);
+                out.writeInt(sizes[i]);
+                for (long word : (long[]) container) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    public static CompressedBitmap readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count == 0) {
+            return EMPTY;
+        }
+        char[] keys = new char[count];
+        Object[] containers = new Object[count];
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = in.readChar();
+            byte type = in.readByte();
+            sizes[i] = in.readInt();
+            if (type == ARRAY) {
+                char[] array = new char[sizes[i]];
+                for (int j = 0; j < array.length; j++) {
+                    array[j] = in.readChar();
+                }
+                containers[i] = array;
+            } else if (type == BITMAP) {
+                long[] bits = new long[BITMAP_WORDS];
+                for (int j = 0; j < BITMAP_WORDS; j++) {
+                    bits[j] = in.readLong();
+                }
+                containers[i] = bits;
+            } else {
+                throw new IOException("Unknown bitmap container type " + type);
+            }
+        }
+        return new CompressedBitmap(keys, containers, sizes);
+    }
+
+    // =============================================
+    // HELPERS
+    // =============================================
+
+    private CompressedBitmap replace(int index, Object container, int size) {
+        Object[] nextContainers = containers.clone();
+        nextContainers[index] = container;
+        int[] nextSizes = sizes.clone();
+        nextSizes[index] = size;
+        return new CompressedBitmap(keys, nextContainers, nextSizes);
+    }
+
+    private static long[] toBitmap(char[] array, char extra) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (char low : array) {
+            bits[low >>> 6] |= 1L << low;
+        }
+        bits[extra >>> 6] |= 1L << extra;
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int size) {
+        char[] array = new char[size];
+        int position = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long value = bits[word];
+            while (value != 0) {
+                array[position++] = (char) ((word << 6) + Long.numberOfTrailingZeros(value));
+                value &= value - 1;
+            }
+        }
+        return array;
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must be non-negative: " + value);
+        }
+    }
+
+    private static char[] insert(char[] array, int index, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static int[] insert(int[] array, int index, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Object[] insert(Object[] array, int index, Object value) {
+        Object[] result = new Object[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static char[] remove(char[] array, int index) {
+        char[] result = new char[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static int[] remove(int[] array, int index) {
+        int[] result = new int[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static Object[] remove(Object[] array, int index) {
+        Object[] result = new Object[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedBitmap[" + cardinality() + " values, " + keys.length + " containers]";
+    }
+}
@@ -0,0 +1,281 @@
+package vn.edu.smd.core.service.follow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chỉ mục theo dõi đề cương: sinh viên → đề cương và đề cương → sinh viên, dạng bitmap nén
+ *
+ * - UUID được ánh xạ sang id số nguyên dày đặc (0, 1, 2...) theo thứ tự xuất hiện, mỗi chiều một từ điển
+ * - Ghi (follow / unfollow / removeStudent) tuần tự trong khóa; đọc không khóa
+ *   (ConcurrentHashMap + bitmap immutable)
+ * - Serialize chỉ lưu từ điển + chiều đề cương → sinh viên; chiều ngược dựng lại khi đọc
+ */
+public final class FollowerIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final IdDictionary students = new IdDictionary();
+    private final IdDictionary syllabi = new IdDictionary();
+    private final Map<Integer, CompressedBitmap> followersBySyllabus = new ConcurrentHashMap<>();
+    private final Map<Integer, CompressedBitmap> followingByStudent = new ConcurrentHashMap<>();
+
+    /**
+     * Một cặp (sinh viên, đề cương) trong bảng student_syllabus_tracker
+     */
+    public record Follow(UUID studentId, UUID syllabusId) {
+    }
+
+    public static FollowerIndex of(Collection<Follow> follows) {
+        Map<Integer, List<Integer>> bySyllabus = new HashMap<>();
+        FollowerIndex index = new FollowerIndex();
+        for (Follow follow : follows) {
+            int student = index.students.idOf(follow.studentId());
+            int syllabus = index.syllabi.idOf(follow.syllabusId());
+            bySyllabus.computeIfAbsent(syllabus, key -> new ArrayList<>()).add(student);
+        }
+        bySyllabus.forEach((syllabus, followers) ->
+                index.followersBySyllabus.put(syllabus, CompressedBitmap.of(toIntArray(followers))));
+        index.rebuildStudentSide();
+        return index;
+    }
+
+    // =============================================
+    // WRITES
+    // =============================================
+
+    /**
+     * @return true nếu cặp chưa có trước đó
+     */
+    public synchronized boolean follow(UUID studentId, UUID syllabusId) {
+        int student = students.idOf(studentId);
+        int syllabus = syllabi.idOf(syllabusId);
+        CompressedBitmap followers = followersBySyllabus.getOrDefault(syllabus, CompressedBitmap.EMPTY);
+        if (followers.contains(student)) {
+            return false;
+        }
+        followersBySyllabus.put(syllabus, followers.with(student));
+        followingByStudent.merge(student, CompressedBitmap.EMPTY.with(syllabus), (current, ignored) -> current.with(syllabus));
+        return true;
+    }
+
+    /**
+     * @return true nếu cặp có trước đó
+     */
+    public synchronized boolean unfollow(UUID studentId, UUID syllabusId) {
+        Integer student = students.find(studentId);
+        Integer syllabus = syllabi.find(syllabusId);
+        if (student == null || syllabus == null) {
+            return false;
+        }
+        CompressedBitmap followers = followersBySyllabus.get(syllabus);
+        if (followers == null || !followers.contains(student)) {
+            return false;
+        }
+        putOrRemove(followersBySyllabus, syllabus, followers.without(student));
+        putOrRemove(followingByStudent, student, followingByStudent.get(student).without(syllabus));
+        return true;
+    }
+
+    /**
+     * Bỏ mọi đề cương sinh viên đang theo dõi (tài khoản bị xóa)
+     *
+     * @return số cặp bị bỏ
+     */
+    public synchronized int removeStudent(UUID studentId) {
+        Integer student = students.find(studentId);
+        CompressedBitmap following = student == null ? null : followingByStudent.remove(student);
+        if (following == null) {
+            return 0;
+        }
+        following.forEach(syllabus -> putOrRemove(followersBySyllabus, syllabus,
+                followersBySyllabus.get(syllabus).without(student)));
+        return following.cardinality();
+    }
+
+    // =============================================
+    // READS
+    // =============================================
+
+    public boolean isFollowing(UUID studentId, UUID syllabusId) {
+        Integer student = students.find(studentId);
+        Integer syllabus = syllabi.find(syllabusId);
+        if (student == null || syllabus == null) {
+            return false;
+        }
+        CompressedBitmap following = followingByStudent.get(student);
+        return following != null && following.contains(syllabus);
+    }
+
+    public List<UUID> followersOf(UUID syllabusId) {
+        return resolve(syllabi.find(syllabusId), followersBySyllabus, students);
+    }
+
+    public Set<UUID> followedBy(UUID studentId) {
+        return new HashSet<>(resolve(students.find(studentId), followingByStudent, syllabi));
+    }
+
+    public int followerCount(UUID syllabusId) {
+        Integer syllabus = syllabi.find(syllabusId);
+        CompressedBitmap followers = syllabus == null ? null : followersBySyllabus.get(syllabus);
+        return followers == null ? 0 : followers.cardinality();
+    }
+
+    /**
+     * Tổng số cặp theo dõi - so với số dòng của bảng để phát hiện bản lưu trong Redis bị lệch
+     */
+    public long size() {
+        long total = 0;
+        for (CompressedBitmap followers : followersBySyllabus.values()) {
+            total += followers.cardinality();
+        }
+        return total;
+    }
+
+    public long sizeInBytes() {
+        long bytes = (long) (students.size() + syllabi.size()) * 16;
+        for (CompressedBitmap bitmap : followersBySyllabus.values()) {
+            bytes += bitmap.serializedSizeInBytes();
+        }
+        for (CompressedBitmap bitmap : followingByStudent.values()) {
+            bytes += bitmap.serializedSizeInBytes();
+        }
+        return bytes;
+    }
+
+    // =============================================
+    // SERIALIZATION
+    // =============================================
+
+    public synchronized byte[] serialize() {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            students.writeTo(out);
+            syllabi.writeTo(out);
+            out.writeInt(followersBySyllabus.size());
+            for (Map.Entry<Integer, CompressedBitmap> entry : followersBySyllabus.entrySet()) {
+                out.writeInt(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize follower index", e);
+        }
+    }
+
+    public static FollowerIndex deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported follower index format " + version);
+            }
+            FollowerIndex index = new FollowerIndex();
+            index.students.readFrom(in);
+            index.syllabi.readFrom(in);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.followersBySyllabus.put(in.readInt(), CompressedBitmap.readFrom(in));
+            }
+            index.rebuildStudentSide();
+            return index;
+        }
+    }
+
+    // =============================================
+    // HELPERS
+    // =============================================
+
+    private void rebuildStudentSide() {
+        Map<Integer, List<Integer>> byStudent = new HashMap<>();
+        followersBySyllabus.forEach((syllabus, followers) ->
+                followers.forEach(student -> byStudent.computeIfAbsent(student, key -> new ArrayList<>()).add(syllabus)));
+        followingByStudent.clear();
+        byStudent.forEach((student, following) -> followingByStudent.put(student, CompressedBitmap.of(toIntArray(following))));
+    }
+
+    private static List<UUID> resolve(Integer id, Map<Integer, CompressedBitmap> bitmaps, IdDictionary dictionary) {
+        CompressedBitmap bitmap = id == null ? null : bitmaps.get(id);
+        if (bitmap == null) {
+            return List.of();
+        }
+        List<UUID> result = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(value -> result.add(dictionary.uuidOf(value)));
+        return result;
+    }
+
+    private static void putOrRemove(Map<Integer, CompressedBitmap> bitmaps, int key, CompressedBitmap bitmap) {
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        } else {
+            bitmaps.put(key, bitmap);
+        }
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * UUID ↔ id dày đặc; chỉ thêm, không thu hồi id (dựng lại từ DB thì id được nén lại)
+     */
+    private static final class IdDictionary {
+
+        private final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, UUID> uuids = new ConcurrentHashMap<>();
+
+        Integer find(UUID uuid) {
+            return uuid == null ? null : ids.get(uuid);
+        }
+
+        // Chỉ gọi trong khóa của FollowerIndex
+        int idOf(UUID uuid) {
+            Integer id = ids.get(uuid);
+            if (id == null) {
+                id = ids.size();
+                uuids.put(id, uuid);
+                ids.put(uuid, id);
+            }
+            return id;
+        }
+
+        UUID uuidOf(int id) {
+            return uuids.get(id);
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(ids.size());
+            for (int id = 0; id < ids.size(); id++) {
+                UUID uuid = uuids.get(id);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+        }
+
+        void readFrom(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            for (int id = 0; id < count; id++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                uuids.put(id, uuid);
+                ids.put(uuid, id);
+            }
+        }
+    }
+}
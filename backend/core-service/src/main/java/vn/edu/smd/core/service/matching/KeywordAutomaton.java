@@ -0,0 +1,168 @@
+package vn.edu.smd.core.service.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton cho nhiều từ khóa
+ *
+ * Quét văn bản một lần (O(độ dài văn bản + số lần khớp)) và báo mọi từ khóa xuất hiện,
+ * kể cả các từ khóa chồng lên nhau. Ngữ nghĩa giống String.contains: khớp chuỗi con,
+ * không xét ranh giới từ. Immutable sau khi compile, dùng chung giữa các thread được.
+ */
+public final class KeywordAutomaton {
+
+    private static final int NONE = -1;
+
+    // Cạnh của mỗi node: ký tự đã sắp xếp + node đích (tìm bằng binary search)
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[] output;
+    private final int[] dictLink;
+    private final int patternCount;
+
+    private KeywordAutomaton(char[][] edgeChars, int[][] edgeTargets, int[] fail,
+                             int[] output, int[] dictLink, int patternCount) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.dictLink = dictLink;
+        this.patternCount = patternCount;
+    }
+
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param patternId vị trí của từ khóa trong danh sách truyền vào compile
+         * @param end       vị trí (exclusive) kết thúc của lần khớp trong văn bản
+         */
+        void onMatch(int patternId, int end);
+    }
+
+    /**
+     * Build automaton từ danh sách từ khóa; patternId = index trong danh sách.
+     * Từ khóa rỗng bị bỏ qua, từ khóa trùng nhau thì giữ id đầu tiên.
+     */
+    public static KeywordAutomaton compile(List<String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(NONE);
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(node).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    outputs.add(NONE);
+                    trie.get(node).put(pattern.charAt(i), next);
+                }
+                node = next;
+            }
+            if (outputs.get(node) == NONE) {
+                outputs.set(node, id);
+            }
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        int[] output = new int[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            edgeChars[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+            output[node] = outputs.get(node);
+        }
+
+        // BFS để tính failure link và dictionary link (node output gần nhất theo chuỗi fail)
+        int[] fail = new int[size];
+        int[] dictLink = new int[size];
+        dictLink[0] = NONE;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            fail[child] = 0;
+            dictLink[child] = NONE;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+                int f = fail[node];
+                int target = step(edgeChars, edgeTargets, f, c);
+                while (target == NONE && f != 0) {
+                    f = fail[f];
+                    target = step(edgeChars, edgeTargets, f, c);
+                }
+                fail[child] = target == NONE ? 0 : target;
+                dictLink[child] = output[fail[child]] != NONE ? fail[child] : dictLink[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordAutomaton(edgeChars, edgeTargets, fail, output, dictLink, patterns.size());
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Quét văn bản, gọi listener cho mỗi lần khớp theo thứ tự vị trí kết thúc tăng dần
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = step(edgeChars, edgeTargets, node, c);
+            while (next == NONE && node != 0) {
+                node = fail[node];
+                next = step(edgeChars, edgeTargets, node, c);
+            }
+            node = next == NONE ? 0 : next;
+
+            int hit = output[node] != NONE ? node : dictLink[node];
+            while (hit != NONE) {
+                listener.onMatch(output[hit], i + 1);
+                hit = dictLink[hit];
+            }
+        }
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int node, char c) {
+        char[] chars = edgeChars[node];
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (chars[mid] < c) {
+                low = mid + 1;
+            } else if (chars[mid] > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[node][mid];
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,291 @@
+package vn.edu.smd.core.service.matching;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bộ so khớp CLO → PLO đã compile cho một danh mục PLO (một curriculum)
+ *
+ * Mọi từ khóa của mọi PLO nằm chung trong một KeywordAutomaton; toàn bộ mô tả CLO của
+ * một đề cương được nối lại và quét đúng một lần.
+ *
+ * - Một mã PLO có thể có nhiều bộ từ khóa (nhiều môn khai báo cùng mã với mô tả khác nhau):
+ *   mỗi bộ được chấm riêng, điểm của mã PLO = điểm cao nhất.
+ * - Điểm của một bộ = số từ khóa khác nhau xuất hiện / min(số từ khóa, SCORE_KEYWORD_CAP).
+ *   Bộ PLO1-PLO8 mặc định có 6-8 từ khóa nên điểm giống hệt cách chấm cũ (String.contains);
+ *   bộ từ khóa tách tự động từ mô tả dài không bị loãng điểm theo độ dài mô tả.
+ * - wholeWords = true: từ khóa chỉ khớp trọn từ (vd "tin" không khớp trong "testing").
+ */
+public final class PloMatcher {
+
+    private static final double MIN_SCORE = 0.1;
+    private static final int MAX_SUGGESTIONS = 3;
+    private static final int SCORE_KEYWORD_CAP = 8;
+    private static final char CLO_SEPARATOR = '\n';
+
+    /**
+     * Một bộ từ khóa của một mã PLO
+     */
+    public record PloKeywords(String code, Collection<String> keywords) {
+    }
+
+    private final List<String> ploCodes;
+    private final int[] codeByVariant;
+    private final int[] keywordCounts;
+    private final int[][] variantsByPattern;
+    private final int[] patternLengths;
+    private final boolean wholeWords;
+    private final KeywordAutomaton automaton;
+
+    private PloMatcher(List<String> ploCodes, int[] codeByVariant, int[] keywordCounts, int[][] variantsByPattern,
+                       int[] patternLengths, boolean wholeWords, KeywordAutomaton automaton) {
+        this.ploCodes = ploCodes;
+        this.codeByVariant = codeByVariant;
+        this.keywordCounts = keywordCounts;
+        this.variantsByPattern = variantsByPattern;
+        this.patternLengths = patternLengths;
+        this.wholeWords = wholeWords;
+        this.automaton = automaton;
+    }
+
+    /**
+     * Khớp chuỗi con (giống String.contains), mỗi mã PLO một bộ từ khóa
+     * @param keywordsByPloCode PLO code → danh sách từ khóa (thứ tự PLO được giữ để xếp hạng khi bằng điểm)
+     */
+    public static PloMatcher compile(Map<String, ? extends Collection<String>> keywordsByPloCode) {
+        List<PloKeywords> plos = new ArrayList<>();
+        keywordsByPloCode.forEach((code, keywords) -> plos.add(new PloKeywords(code, keywords)));
+        return compile(plos, false);
+    }
+
+    /**
+     * @param plos       các bộ từ khóa; cùng mã PLO có thể xuất hiện nhiều lần
+     * @param wholeWords true = chỉ khớp trọn từ
+     */
+    public static PloMatcher compile(List<PloKeywords> plos, boolean wholeWords) {
+        List<String> ploCodes = new ArrayList<>();
+        List<Integer> codeByVariant = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        Map<String, List<Integer>> variantsByKeyword = new LinkedHashMap<>();
+
+        for (PloKeywords plo : plos) {
+            int variantIndex = counts.size();
+            int count = 0;
+            for (String raw : plo.keywords()) {
+                String keyword = normalize(raw);
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                List<Integer> owners = variantsByKeyword.computeIfAbsent(keyword, k -> new ArrayList<>());
+                if (!owners.contains(variantIndex)) {
+                    owners.add(variantIndex);
+                    count++;
+                }
+            }
+            // Bộ không có từ khóa nào thì bỏ qua, index được dùng lại cho bộ kế tiếp
+            if (count > 0) {
+                int codeIndex = ploCodes.indexOf(plo.code());
+                if (codeIndex < 0) {
+                    codeIndex = ploCodes.size();
+                    ploCodes.add(plo.code());
+                }
+                codeByVariant.add(codeIndex);
+                counts.add(count);
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(variantsByKeyword.keySet());
+        int[][] variantsByPattern = new int[patterns.size()][];
+        int[] patternLengths = new int[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            variantsByPattern[i] = variantsByKeyword.get(patterns.get(i)).stream().mapToInt(Integer::intValue).toArray();
+            patternLengths[i] = patterns.get(i).length();
+        }
+        return new PloMatcher(List.copyOf(ploCodes), toArray(codeByVariant), toArray(counts), variantsByPattern,
+                patternLengths, wholeWords, KeywordAutomaton.compile(patterns));
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Chuẩn hóa văn bản trước khi so khớp: Unicode NFC, chữ thường, gộp khoảng trắng
+     * (dữ liệu nhập từ Word/macOS hay ở dạng NFD, khiến "dữ liệu" không khớp)
+     */
+    public static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text == null ? 0 : text.length());
+        appendNormalized(sb, text);
+        return sb.toString();
+    }
+
+    /**
+     * Ghi thẳng văn bản đã chuẩn hóa vào buffer, không tạo chuỗi trung gian;
+     * Normalizer chỉ chạy khi văn bản có dấu tổ hợp (dạng NFD)
+     */
+    private static void appendNormalized(StringBuilder sb, String text) {
+        if (text == null) {
+            return;
+        }
+        if (hasCombiningMark(text)) {
+            text = Normalizer.normalize(text, Normalizer.Form.NFC);
+        }
+        int start = sb.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > start;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+    }
+
+    private static boolean hasCombiningMark(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '\u0300' && Character.getType(c) == Character.NON_SPACING_MARK) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getPloCodes() {
+        return ploCodes;
+    }
+
+    public int getKeywordCount() {
+        return automaton.patternCount();
+    }
+
+    /**
+     * Gợi ý PLO cho danh sách CLO (code, description, bloomLevel) trong một lần quét.
+     * Output giữ nguyên format cũ: cloCode, ploCode, contributionLevel, confidence.
+     */
+    public List<Map<String, Object>> suggest(List<Map<String, Object>> clos) {
+        List<Map<String, Object>> scorable = new ArrayList<>(clos.size());
+        StringBuilder text = new StringBuilder(clos.size() * 128);
+        int[] ends = new int[clos.size()];
+        for (Map<String, Object> clo : clos) {
+            int start = text.length();
+            appendNormalized(text, (String) clo.get("description"));
+            if (text.length() == start) {
+                continue;
+            }
+            ends[scorable.size()] = text.length();
+            scorable.add(clo);
+            text.append(CLO_SEPARATOR);
+        }
+        if (scorable.isEmpty() || ploCodes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int[][] hits = new int[scorable.size()][keywordCounts.length];
+        int[] lastSeenClo = new int[variantsByPattern.length];
+        Arrays.fill(lastSeenClo, -1);
+        int[] cursor = {0};
+
+        automaton.scan(text, (patternId, end) -> {
+            if (wholeWords && !isWholeWord(text, end - patternLengths[patternId], end)) {
+                return;
+            }
+            // Các lần khớp đến theo thứ tự vị trí tăng dần nên chỉ cần dịch con trỏ CLO tới trước
+            while (end > ends[cursor[0]]) {
+                cursor[0]++;
+            }
+            int cloIndex = cursor[0];
+            if (lastSeenClo[patternId] == cloIndex) {
+                return; // Mỗi từ khóa chỉ tính một lần cho mỗi CLO
+            }
+            lastSeenClo[patternId] = cloIndex;
+            for (int variantIndex : variantsByPattern[patternId]) {
+                hits[cloIndex][variantIndex]++;
+            }
+        });
+
+        List<Map<String, Object>> mappings = new ArrayList<>();
+        double[] scores = new double[ploCodes.size()];
+        for (int cloIndex = 0; cloIndex < scorable.size(); cloIndex++) {
+            Map<String, Object> clo = scorable.get(cloIndex);
+            String bloomLevel = (String) clo.getOrDefault("bloomLevel", "Remember");
+
+            Arrays.fill(scores, 0);
+            for (int variantIndex = 0; variantIndex < keywordCounts.length; variantIndex++) {
+                double score = (double) hits[cloIndex][variantIndex]
+                        / Math.min(keywordCounts[variantIndex], SCORE_KEYWORD_CAP);
+                int codeIndex = codeByVariant[variantIndex];
+                scores[codeIndex] = Math.max(scores[codeIndex], Math.min(score, 1.0));
+            }
+            List<double[]> matches = new ArrayList<>();
+            for (int ploIndex = 0; ploIndex < ploCodes.size(); ploIndex++) {
+                if (scores[ploIndex] > MIN_SCORE) {
+                    matches.add(new double[]{ploIndex, scores[ploIndex]});
+                }
+            }
+            matches.sort((a, b) -> Double.compare(b[1], a[1]));
+
+            for (double[] match : matches.subList(0, Math.min(MAX_SUGGESTIONS, matches.size()))) {
+                Map<String, Object> mapping = new HashMap<>();
+                mapping.put("cloCode", clo.get("code"));
+                mapping.put("ploCode", ploCodes.get((int) match[0]));
+                mapping.put("contributionLevel", determineContributionLevel(match[1], bloomLevel));
+                mapping.put("confidence", match[1]);
+                mappings.add(mapping);
+            }
+        }
+        return mappings;
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !isWordChar(text.charAt(start - 1)))
+                && (end == text.length() || !isWordChar(text.charAt(end)));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    /**
+     * Determine contribution level (M/I/R) based on score and Bloom's level
+     * M = Main (chính), I = Important (quan trọng), R = Related (liên quan)
+     */
+    private static String determineContributionLevel(double score, String bloomLevel) {
+        // High Bloom levels (Analyze, Evaluate, Create) + high score = Main
+        if (isHighBloom(bloomLevel) && score >= 0.4) {
+            return "M";
+        }
+        // Medium score or mid Bloom = Important
+        if (score >= 0.25 || isMidBloom(bloomLevel)) {
+            return "I";
+        }
+        // Low score = Related
+        return "R";
+    }
+
+    private static boolean isHighBloom(String level) {
+        return level != null && (
+            level.equalsIgnoreCase("Analyze") ||
+            level.equalsIgnoreCase("Evaluate") ||
+            level.equalsIgnoreCase("Create")
+        );
+    }
+
+    private static boolean isMidBloom(String level) {
+        return level != null && (
+            level.equalsIgnoreCase("Apply") ||
+            level.equalsIgnoreCase("Understand")
+        );
+    }
+}
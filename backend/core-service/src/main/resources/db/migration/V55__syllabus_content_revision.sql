@@ -0,0 +1,11 @@
+-- =====================================================
+-- Migration V55: Syllabus content revision (ETag for autosave)
+-- =====================================================
+-- Purpose: Monotonic counter of the content document of a syllabus version.
+-- PATCH /api/syllabi/{id}/content requires If-Match on it and only writes the
+-- changed fragments of the jsonb column (jsonb_set / jsonb_insert / #-).
+
+ALTER TABLE core_service.syllabus_versions
+ADD COLUMN IF NOT EXISTS content_revision BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN core_service.syllabus_versions.content_revision IS 'Incremented on every content save; exposed as the ETag of the syllabus content';
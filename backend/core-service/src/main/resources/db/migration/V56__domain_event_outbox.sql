@@ -0,0 +1,31 @@
+-- =====================================================
+-- Migration V56: Domain event outbox
+-- =====================================================
+-- Purpose: Side effects of the syllabus workflow (notifications, FCM push, AI request,
+-- teaching assignment status) are recorded as events in the same transaction as the
+-- state change and dispatched after commit (at-least-once, retried with backoff).
+
+CREATE TABLE IF NOT EXISTS core_service.outbox_events (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    event_type VARCHAR(255) NOT NULL,
+    aggregate_id UUID,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Relay chỉ quét các event còn chờ; event đã xử lý nằm ngoài index
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+    ON core_service.outbox_events (next_attempt_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_processed_at
+    ON core_service.outbox_events (processed_at)
+    WHERE status = 'DONE';
+
+COMMENT ON TABLE core_service.outbox_events IS 'Transactional outbox: domain events dispatched to in-process handlers after commit';
+COMMENT ON COLUMN core_service.outbox_events.next_attempt_at IS 'Earliest time the relay may (re)claim the event; doubles as the processing lease';
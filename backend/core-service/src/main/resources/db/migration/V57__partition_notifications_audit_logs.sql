@@ -0,0 +1,112 @@
+-- =====================================================
+-- Migration V57: Monthly range partitions for notifications & audit_logs
+-- =====================================================
+-- Purpose: notifications (tracker fan-out) and audit_logs (LOGIN/LOGOUT) only ever grow.
+-- Both become RANGE (created_at) partitioned tables with one partition per month
+-- (<table>_pYYYY_MM) plus a DEFAULT partition as a safety net.
+-- Future partitions are created ahead of time and expired ones detached / archived by
+-- PartitionRetentionJob (app.retention.*), which calls core_service.create_monthly_partition.
+--
+-- Notes:
+-- - The primary key must include the partition key → PRIMARY KEY (id, created_at); id stays unique
+--   in practice (gen_random_uuid) and the JPA entities keep @Id on id.
+-- - created_at becomes NOT NULL (legacy NULLs are set to the migration time).
+-- - Rows must not accumulate in the DEFAULT partition: a month partition cannot be created while
+--   the DEFAULT partition holds rows of that month.
+
+SET search_path TO core_service;
+
+-- ==========================================
+-- 1. HÀM TẠO PARTITION THEO THÁNG (dùng chung cho migration và job)
+-- ==========================================
+CREATE OR REPLACE FUNCTION core_service.create_monthly_partition(p_parent TEXT, p_month DATE)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::date;
+    v_name TEXT := p_parent || '_p' || to_char(v_from, 'YYYY_MM');
+BEGIN
+    -- Bảng cùng tên đã tồn tại (kể cả bảng đã detach chờ lưu trữ) → không tạo lại
+    IF to_regclass('core_service.' || v_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE core_service.%I PARTITION OF core_service.%I FOR VALUES FROM (%L) TO (%L)',
+                       v_name, p_parent, v_from::timestamp, (v_from + INTERVAL '1 month')::timestamp);
+    END IF;
+    RETURN v_name;
+END;
+$$;
+
+COMMENT ON FUNCTION core_service.create_monthly_partition(TEXT, DATE)
+    IS 'Creates core_service.<parent>_pYYYY_MM covering the month of p_month if it does not exist yet';
+
+-- ==========================================
+-- 2. NOTIFICATIONS
+-- ==========================================
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+UPDATE notifications_unpartitioned SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+CREATE TABLE notifications (LIKE notifications_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE notifications ALTER COLUMN created_at SET NOT NULL;
+
+DO $$
+DECLARE
+    v_month DATE := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(created_at) FROM core_service.notifications_unpartitioned), CURRENT_TIMESTAMP),
+            CURRENT_TIMESTAMP))::date;
+BEGIN
+    WHILE v_month <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date LOOP
+        PERFORM core_service.create_monthly_partition('notifications', v_month);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+DROP TABLE notifications_unpartitioned;
+
+ALTER TABLE notifications ADD CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE notifications ADD CONSTRAINT notifications_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES core_service.users(id);
+
+-- Hộp thư: WHERE user_id = ? AND created_at >= ? ORDER BY created_at DESC
+CREATE INDEX idx_notif_user_created ON notifications (user_id, created_at DESC);
+CREATE INDEX idx_notif_read ON notifications (user_id, is_read);
+CREATE INDEX idx_notif_entity ON notifications (related_entity_type, related_entity_id);
+
+-- ==========================================
+-- 3. AUDIT LOGS
+-- ==========================================
+ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned;
+UPDATE audit_logs_unpartitioned SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+CREATE TABLE audit_logs (LIKE audit_logs_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE audit_logs ALTER COLUMN created_at SET NOT NULL;
+
+DO $$
+DECLARE
+    v_month DATE := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(created_at) FROM core_service.audit_logs_unpartitioned), CURRENT_TIMESTAMP),
+            CURRENT_TIMESTAMP))::date;
+BEGIN
+    WHILE v_month <= date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date LOOP
+        PERFORM core_service.create_monthly_partition('audit_logs', v_month);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+INSERT INTO audit_logs SELECT * FROM audit_logs_unpartitioned;
+DROP TABLE audit_logs_unpartitioned;
+
+ALTER TABLE audit_logs ADD CONSTRAINT audit_logs_pkey PRIMARY KEY (id, created_at);
+
+-- Tra cứu theo đối tượng / người thực hiện luôn kèm khoảng created_at (partition pruning)
+CREATE INDEX idx_audit_entity ON audit_logs (entity_name, entity_id, created_at DESC);
+CREATE INDEX idx_audit_actor ON audit_logs (actor_id, created_at DESC);
+CREATE INDEX idx_audit_time ON audit_logs (created_at);
+CREATE INDEX idx_audit_status ON audit_logs (status);
+
+COMMENT ON TABLE notifications IS 'User notifications, RANGE partitioned by created_at (monthly)';
+COMMENT ON TABLE audit_logs IS 'Audit trail, RANGE partitioned by created_at (monthly)';
@@ -0,0 +1,58 @@
+-- =====================================================
+-- Migration V58: Syllabus content access (generated columns + GIN index)
+-- =====================================================
+-- Purpose: Hot facts of the content document (CLO / assessment / objective counts,
+-- total assessment weight) are kept as stored generated columns, so list views and
+-- reports read them without loading the jsonb document. A GIN index on content
+-- serves key-presence (?, ?|, ?&), containment (@>) and jsonpath (@?, @@) filters.
+--
+-- Note: adding STORED generated columns rewrites syllabus_versions once.
+
+-- ==========================================
+-- 1. TOTAL ASSESSMENT WEIGHT OF A CONTENT DOCUMENT
+-- ==========================================
+-- IMMUTABLE so it can be used in a generated column; non-numeric weights are ignored
+CREATE OR REPLACE FUNCTION core_service.syllabus_assessment_weight_total(p_content JSONB)
+RETURNS NUMERIC
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT COALESCE(SUM((item ->> 'weight')::numeric), 0)
+    FROM jsonb_array_elements(
+             CASE WHEN jsonb_typeof(p_content -> 'assessmentMethods') = 'array'
+                  THEN p_content -> 'assessmentMethods'
+                  ELSE '[]'::jsonb END) AS item
+    WHERE jsonb_typeof(item -> 'weight') = 'number'
+$$;
+
+COMMENT ON FUNCTION core_service.syllabus_assessment_weight_total(JSONB)
+    IS 'Sum of assessmentMethods[*].weight of a syllabus content document (0 when absent)';
+
+-- ==========================================
+-- 2. GENERATED COLUMNS
+-- ==========================================
+ALTER TABLE core_service.syllabus_versions
+ADD COLUMN IF NOT EXISTS content_clo_count INTEGER GENERATED ALWAYS AS (
+    CASE WHEN jsonb_typeof(content -> 'clos') = 'array'
+         THEN jsonb_array_length(content -> 'clos') ELSE 0 END) STORED,
+ADD COLUMN IF NOT EXISTS content_assessment_count INTEGER GENERATED ALWAYS AS (
+    CASE WHEN jsonb_typeof(content -> 'assessmentMethods') = 'array'
+         THEN jsonb_array_length(content -> 'assessmentMethods') ELSE 0 END) STORED,
+ADD COLUMN IF NOT EXISTS content_assessment_weight_total NUMERIC(7,2) GENERATED ALWAYS AS (
+    core_service.syllabus_assessment_weight_total(content)) STORED,
+ADD COLUMN IF NOT EXISTS content_objective_count INTEGER GENERATED ALWAYS AS (
+    CASE WHEN jsonb_typeof(content -> 'objectives') = 'array'
+         THEN jsonb_array_length(content -> 'objectives') ELSE 0 END) STORED;
+
+COMMENT ON COLUMN core_service.syllabus_versions.content_clo_count IS 'Generated: number of elements of content->clos';
+COMMENT ON COLUMN core_service.syllabus_versions.content_assessment_count IS 'Generated: number of elements of content->assessmentMethods';
+COMMENT ON COLUMN core_service.syllabus_versions.content_assessment_weight_total IS 'Generated: sum of content->assessmentMethods[*].weight';
+COMMENT ON COLUMN core_service.syllabus_versions.content_objective_count IS 'Generated: number of elements of content->objectives';
+
+-- ==========================================
+-- 3. GIN INDEX ON CONTENT
+-- ==========================================
+-- Default jsonb_ops (not jsonb_path_ops): key-presence operators need it
+CREATE INDEX IF NOT EXISTS idx_syllabus_versions_content_gin
+    ON core_service.syllabus_versions USING GIN (content);
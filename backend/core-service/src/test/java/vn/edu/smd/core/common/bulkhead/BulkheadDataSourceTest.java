@@ -0,0 +1,107 @@
+package vn.edu.smd.core.common.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    private DataSource target;
+    private Bulkhead bulkhead;
+    private boolean guarded;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        bulkhead = new Bulkhead("database", 2, Duration.ofMillis(10), new SimpleMeterRegistry());
+        guarded = true;
+        dataSource = new BulkheadDataSource(target, () -> bulkhead, () -> guarded);
+    }
+
+    @Test
+    void permitIsHeldWhileConnectionIsOpenAndReleasedOnClose() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertThat(bulkhead.getActiveCount()).isEqualTo(1);
+
+        connection.close();
+
+        assertThat(bulkhead.getActiveCount()).isZero();
+    }
+
+    @Test
+    void closingTwiceReleasesExactlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(bulkhead.getActiveCount()).isEqualTo(1);
+        second.close();
+        assertThat(bulkhead.getActiveCount()).isZero();
+    }
+
+    @Test
+    void permitIsReleasedWhenTargetFailsToConnect() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        assertThat(bulkhead.getActiveCount()).isZero();
+    }
+
+    @Test
+    void fullBulkheadSurfacesAsSqlExceptionWithBulkheadCause() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasCauseInstanceOf(BulkheadFullException.class)
+                .satisfies(e -> assertThat(((SQLException) e).getSQLState()).isEqualTo("08001"));
+    }
+
+    @Test
+    void unguardedThreadsBypassTheBulkhead() throws SQLException {
+        guarded = false;
+        dataSource.getConnection();
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(bulkhead.getActiveCount()).isZero();
+        verify(target, times(3)).getConnection();
+    }
+
+    @Test
+    void proxyUsesIdentityForEqualsAndHashCode() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        Set<Connection> connections = new HashSet<>();
+        connections.add(first);
+        connections.add(first);
+        connections.add(second);
+
+        assertThat(first).isEqualTo(first).isNotEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(System.identityHashCode(first));
+        assertThat(connections).hasSize(2);
+    }
+}
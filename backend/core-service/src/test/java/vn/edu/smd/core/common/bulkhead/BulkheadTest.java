@@ -0,0 +1,61 @@
+package vn.edu.smd.core.common.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWhenAllPermitsAreTaken() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(10), meterRegistry);
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry.counter("smd.bulkhead.rejected", "name", "test").count()).isEqualTo(1);
+        assertThat(bulkhead.getSaturation()).isEqualTo(1.0);
+    }
+
+    @Test
+    void releasesPermitWhenCallThrows() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(10), meterRegistry);
+
+        assertThatThrownBy(() -> bulkhead.run(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.getActiveCount()).isZero();
+        assertThat(bulkhead.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void waitingCallerGetsPermitOnceReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.acquire();
+
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            bulkhead.release();
+        });
+        releaser.start();
+
+        assertThat(bulkhead.execute(() -> "after wait")).isEqualTo("after wait");
+        releaser.join();
+        assertThat(bulkhead.getActiveCount()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package vn.edu.smd.core.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.entity.AcademicTerm;
+import vn.edu.smd.core.entity.Faculty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SecondLevelCacheInvalidatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CacheImplementor cache = mock(CacheImplementor.class);
+    private SecondLevelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        invalidator = new SecondLevelCacheInvalidator(entityManagerFactory, stringRedisTemplate,
+                new BulkheadRegistry(new MockEnvironment(), meterRegistry), eventPublisher, meterRegistry);
+    }
+
+    @Test
+    void broadcastsCommittedUpdateAndIgnoresOwnMessage() {
+        UUID id = UUID.randomUUID();
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        EntityPersister persister = persister(Faculty.class.getName(), true);
+        when(event.getPersister()).thenReturn(persister);
+        when(event.getId()).thenReturn(id);
+
+        assertThat(invalidator.requiresPostCommitHandling(persister)).isTrue();
+        invalidator.onPostUpdate(event);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(SecondLevelCacheInvalidator.CHANNEL), body.capture());
+        assertThat(body.getValue()).startsWith(Faculty.class.getName() + "|" + id + "|");
+
+        invalidator.onMessage(message(body.getValue()), null);
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    void evictsEntityOrWholeRegionOnRemoteMessage() {
+        UUID id = UUID.randomUUID();
+
+        invalidator.onMessage(message(Faculty.class.getName() + "|" + id + "|other-node"), null);
+        invalidator.onMessage(message(AcademicTerm.class.getName() + "|*|other-node"), null);
+
+        verify(cache).evictEntityData(Faculty.class.getName(), id);
+        verify(cache).evictEntityData(AcademicTerm.class.getName());
+        assertThat(meterRegistry.counter("smd.l2cache.remote_evictions", "entity", "Faculty").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("smd.l2cache.remote_evictions", "entity", "AcademicTerm").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void ignoresMalformedMessagesAndRedisFailures() {
+        invalidator.onMessage(message("garbage"), null);
+        invalidator.onMessage(message(Faculty.class.getName() + "|not-a-uuid|other-node"), null);
+        verify(cache, never()).evictDefaultQueryRegion();
+
+        when(stringRedisTemplate.convertAndSend(anyString(), anyString()))
+                .thenThrow(new QueryTimeoutException("redis down"));
+        invalidator.onEvictAll(new SecondLevelCacheEvictEvent(AcademicTerm.class.getName()));
+        verify(stringRedisTemplate).convertAndSend(SecondLevelCacheInvalidator.CHANNEL,
+                AcademicTerm.class.getName() + "|*|" + ReflectionTestUtils.getField(invalidator, "nodeId"));
+    }
+
+    @Test
+    void skipsPostCommitHandlingWhenPubSubDisabledOrEntityNotCached() {
+        assertThat(invalidator.requiresPostCommitHandling(persister("x.Uncached", false))).isFalse();
+
+        ReflectionTestUtils.setField(invalidator, "pubSubEnabled", false);
+        assertThat(invalidator.requiresPostCommitHandling(persister(Faculty.class.getName(), true))).isFalse();
+        invalidator.onEvictAll(new SecondLevelCacheEvictEvent(AcademicTerm.class.getName()));
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    private static EntityPersister persister(String entityName, boolean cached) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getEntityName()).thenReturn(entityName);
+        when(persister.canWriteToCache()).thenReturn(cached);
+        return persister;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(SecondLevelCacheInvalidator.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
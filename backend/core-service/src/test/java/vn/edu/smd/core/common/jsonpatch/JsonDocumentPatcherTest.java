@@ -0,0 +1,127 @@
+package vn.edu.smd.core.common.jsonpatch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.common.exception.ConflictException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonDocumentPatcherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CONTENT = """
+            {"description":"Nhập môn","clos":[{"code":"CLO1","bloom":2},{"code":"CLO2","bloom":3}],
+             "assessment":{"midterm":30,"final":50}}""";
+
+    @Test
+    void appliesJsonPatchOperationsInOrder() throws Exception {
+        JsonDocumentPatcher.Result result = JsonDocumentPatcher.applyJsonPatch(json(CONTENT), json("""
+                [{"op":"test","path":"/clos/0/code","value":"CLO1"},
+                 {"op":"replace","path":"/description","value":"Nhập môn lập trình"},
+                 {"op":"add","path":"/clos/1","value":{"code":"CLO1b","bloom":1}},
+                 {"op":"add","path":"/clos/-","value":{"code":"CLO3","bloom":4}},
+                 {"op":"remove","path":"/assessment/midterm"},
+                 {"op":"copy","from":"/assessment/final","path":"/assessment/project"},
+                 {"op":"move","from":"/clos/0","path":"/firstClo"}]"""));
+
+        assertThat(result.document()).isEqualTo(json("""
+                {"description":"Nhập môn lập trình",
+                 "clos":[{"code":"CLO1b","bloom":1},{"code":"CLO2","bloom":3},{"code":"CLO3","bloom":4}],
+                 "assessment":{"final":50,"project":50},"firstClo":{"code":"CLO1","bloom":2}}"""));
+        assertThat(result.edits()).extracting(JsonbEdit::kind).containsExactly(
+                JsonbEdit.Kind.SET, JsonbEdit.Kind.INSERT, JsonbEdit.Kind.SET, JsonbEdit.Kind.REMOVE,
+                JsonbEdit.Kind.SET, JsonbEdit.Kind.REMOVE, JsonbEdit.Kind.SET);
+        // "-" được đổi sang index cụ thể (cuối mảng) cho jsonb_set
+        assertThat(result.edits().get(2).path()).containsExactly("clos", "3");
+        assertThat(result.changed(json(CONTENT))).isTrue();
+    }
+
+    @Test
+    void editValuesAreNotAffectedByLaterOperations() throws Exception {
+        JsonDocumentPatcher.Result result = JsonDocumentPatcher.applyJsonPatch(json("{}"), json("""
+                [{"op":"add","path":"/textbooks","value":[]},
+                 {"op":"add","path":"/textbooks/-","value":"Clean Code"}]"""));
+
+        assertThat(result.edits().get(0).value()).isEqualTo(json("[]"));
+        assertThat(result.document()).isEqualTo(json("{\"textbooks\":[\"Clean Code\"]}"));
+    }
+
+    @Test
+    void rejectsInapplicableOrMalformedPatches() throws Exception {
+        assertThatThrownBy(() -> JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("[{\"op\":\"replace\",\"path\":\"/missing\",\"value\":1}]")))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("[{\"op\":\"test\",\"path\":\"/assessment/final\",\"value\":40}]")))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("[{\"op\":\"add\",\"path\":\"/clos/07\",\"value\":1}]")))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("[{\"op\":\"add\",\"path\":\"/x\"}]")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("{\"op\":\"add\",\"path\":\"/x\",\"value\":1}")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testOperationComparesNumbersByValue() throws Exception {
+        JsonDocumentPatcher.Result result = JsonDocumentPatcher.applyJsonPatch(json(CONTENT),
+                json("[{\"op\":\"test\",\"path\":\"/assessment\",\"value\":{\"final\":50.0,\"midterm\":30}}]"));
+
+        assertThat(result.edits()).isEmpty();
+        assertThat(result.changed(json(CONTENT))).isFalse();
+    }
+
+    @Test
+    void appliesMergePatchAndSkipsUnchangedMembers() throws Exception {
+        JsonDocumentPatcher.Result result = JsonDocumentPatcher.applyMergePatch(json(CONTENT), json("""
+                {"description":"Nhập môn","assessment":{"midterm":null,"final":60},
+                 "references":{"main":"SICP","extra":null}}"""));
+
+        assertThat(result.document()).isEqualTo(json("""
+                {"description":"Nhập môn","clos":[{"code":"CLO1","bloom":2},{"code":"CLO2","bloom":3}],
+                 "assessment":{"final":60},"references":{"main":"SICP"}}"""));
+        assertThat(result.edits()).extracting(JsonbEdit::path).containsExactly(
+                List.of("assessment", "midterm"), List.of("assessment", "final"), List.of("references"));
+    }
+
+    @Test
+    void rendersEditsAsNestedJsonbExpression() {
+        List<JsonbEdit> edits = List.of(
+                JsonbEdit.remove(List.of("assessment", "midterm")),
+                JsonbEdit.insert(List.of("clos", "1"), MAPPER.createObjectNode().put("code", "CLO1b")),
+                JsonbEdit.set(List.of("it's \"quoted\"", "a,b"), MAPPER.getNodeFactory().numberNode(1)));
+
+        JsonbEditSql.Expression expression = JsonbEditSql.render("content", edits);
+
+        assertThat(expression.sql()).isEqualTo("jsonb_set(jsonb_insert((COALESCE(content, CAST('{}' AS jsonb))"
+                + " #- CAST(:p0 AS text[])), CAST(:p1 AS text[]), CAST(:p2 AS jsonb), false),"
+                + " CAST(:p3 AS text[]), CAST(:p4 AS jsonb), true)");
+        assertThat(expression.parameters()).containsExactly("{\"assessment\",\"midterm\"}", "{\"clos\",\"1\"}",
+                "{\"code\":\"CLO1b\"}", "{\"it's \\\"quoted\\\"\",\"a,b\"}", "1");
+    }
+
+    @Test
+    void documentReplacementDropsEarlierEdits() {
+        List<JsonbEdit> edits = List.of(
+                JsonbEdit.remove(List.of("a")),
+                JsonbEdit.set(List.of(), MAPPER.createObjectNode().put("b", 2)));
+
+        JsonbEditSql.Expression expression = JsonbEditSql.render("content", edits);
+
+        assertThat(expression.sql()).isEqualTo("CAST(:p0 AS jsonb)");
+        assertThat(expression.parameters()).containsExactly("{\"b\":2}");
+    }
+
+    private static JsonNode json(String value) throws Exception {
+        return MAPPER.readTree(value);
+    }
+}
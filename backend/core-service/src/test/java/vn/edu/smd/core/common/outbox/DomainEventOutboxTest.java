@@ -0,0 +1,142 @@
+package vn.edu.smd.core.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import vn.edu.smd.core.entity.OutboxEvent;
+import vn.edu.smd.core.module.syllabus.event.SyllabusApprovedEvent;
+import vn.edu.smd.core.repository.OutboxEventRepository;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DomainEventOutboxTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxEventRepository repository;
+    private ApplicationEventPublisher eventPublisher;
+    private DomainEventOutbox outbox;
+
+    private final SyllabusApprovedEvent event = new SyllabusApprovedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            SyllabusStatus.PENDING_HOD, SyllabusStatus.PENDING_AA);
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        outbox = new DomainEventOutbox(repository, eventPublisher, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void emitStoresEventAndSignalsAfterCommitDispatch() {
+        UUID outboxId = UUID.randomUUID();
+        when(repository.save(any(OutboxEvent.class))).thenAnswer(invocation -> {
+            OutboxEvent row = invocation.getArgument(0);
+            row.setId(outboxId);
+            return row;
+        });
+
+        outbox.emit(event);
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(repository).save(row.capture());
+        assertThat(row.getValue().getEventType()).isEqualTo(SyllabusApprovedEvent.class.getName());
+        assertThat(row.getValue().getAggregateId()).isEqualTo(event.syllabusVersionId());
+        assertThat(row.getValue().getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(row.getValue().getPayload()).containsEntry("fromStatus", "PENDING_HOD");
+        // Relay chưa nhặt event vừa ghi: lần đầu đi theo đường sau commit
+        assertThat(row.getValue().getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(60));
+        verify(eventPublisher).publishEvent(new DomainEventOutbox.Appended(outboxId));
+    }
+
+    @Test
+    void dispatchPublishesStoredEventAndMarksDone() {
+        OutboxEvent row = storedRow(1);
+        when(repository.claim(eq(row.getId()), eq(OutboxEvent.Status.PENDING), any(), any())).thenReturn(1);
+
+        outbox.dispatch(row.getId());
+
+        verify(eventPublisher).publishEvent(event);
+        verify(repository).markProcessed(eq(row.getId()), eq(OutboxEvent.Status.DONE), any());
+    }
+
+    @Test
+    void dispatchSkipsEventClaimedElsewhere() {
+        OutboxEvent row = storedRow(1);
+        when(repository.claim(any(), any(), any(), any())).thenReturn(0);
+
+        outbox.dispatch(row.getId());
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(repository, never()).markProcessed(any(), any(), any());
+    }
+
+    @Test
+    void failedHandlerIsRetriedWithBackoffThenMarkedFailed() {
+        OutboxEvent row = storedRow(2);
+        when(repository.claim(any(), any(), any(), any())).thenReturn(1);
+        doThrow(new IllegalStateException("db down")).when(eventPublisher).publishEvent(event);
+
+        outbox.dispatch(row.getId());
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).markAttemptFailed(eq(row.getId()), eq(OutboxEvent.Status.PENDING), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isAfter(LocalDateTime.now().plusSeconds(15));
+        verify(repository, never()).markProcessed(any(), any(), any());
+
+        row.setAttempts(8);
+        outbox.dispatch(row.getId());
+
+        verify(repository).markAttemptFailed(eq(row.getId()), eq(OutboxEvent.Status.FAILED), any(), anyString());
+    }
+
+    @Test
+    void rejectsPayloadOfNonDomainEventType() {
+        OutboxEvent row = storedRow(1);
+        row.setEventType(String.class.getName());
+        when(repository.claim(any(), any(), any(), any())).thenReturn(1);
+
+        outbox.dispatch(row.getId());
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(repository).markAttemptFailed(eq(row.getId()), eq(OutboxEvent.Status.PENDING), any(), anyString());
+    }
+
+    @Test
+    void retryDelayDoublesUpToCap() {
+        assertThat(outbox.retryDelay(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(outbox.retryDelay(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(outbox.retryDelay(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private OutboxEvent storedRow(int attempts) {
+        OutboxEvent row = OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .eventType(SyllabusApprovedEvent.class.getName())
+                .aggregateId(event.syllabusVersionId())
+                .payload(objectMapper.convertValue(event, Map.class))
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(2))
+                .build();
+        when(repository.findById(row.getId())).thenReturn(Optional.of(row));
+        return row;
+    }
+}
@@ -0,0 +1,46 @@
+package vn.edu.smd.core.common.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonthlyPartitionsTest {
+
+    @Test
+    void nameRoundTripsThroughMonth() {
+        String name = MonthlyPartitions.name(PartitionedTable.AUDIT_LOGS, YearMonth.of(2025, 3));
+
+        assertThat(name).isEqualTo("audit_logs_p2025_03");
+        assertThat(MonthlyPartitions.month(PartitionedTable.AUDIT_LOGS, name)).contains(YearMonth.of(2025, 3));
+    }
+
+    @Test
+    void ignoresNamesOutsideConvention() {
+        assertThat(MonthlyPartitions.month(PartitionedTable.NOTIFICATIONS, "notifications_default")).isEmpty();
+        assertThat(MonthlyPartitions.month(PartitionedTable.NOTIFICATIONS, "notifications_p2025_13")).isEmpty();
+        assertThat(MonthlyPartitions.month(PartitionedTable.NOTIFICATIONS, "audit_logs_p2025_01")).isEmpty();
+        assertThat(MonthlyPartitions.month(PartitionedTable.NOTIFICATIONS, "notifications_p2025_01_old")).isEmpty();
+    }
+
+    @Test
+    void partitionExpiresOnlyWhenWholeMonthIsOlderThanRetention() {
+        // Giữ 6 tháng tính đến 15/07/2025 → mốc 15/01/2025, tháng 01 vẫn còn dòng chưa đủ hạn
+        YearMonth firstRetained = MonthlyPartitions.firstRetainedMonth(LocalDate.of(2025, 7, 15), 6);
+
+        assertThat(firstRetained).isEqualTo(YearMonth.of(2025, 1));
+        assertThat(MonthlyPartitions.isExpired(YearMonth.of(2024, 12), firstRetained)).isTrue();
+        assertThat(MonthlyPartitions.isExpired(YearMonth.of(2025, 1), firstRetained)).isFalse();
+    }
+
+    @Test
+    void retentionWindowStartsAtPartitionBoundary() {
+        RetentionWindow window = new RetentionWindow();
+
+        assertThat(window.since(PartitionedTable.NOTIFICATIONS))
+                .isEqualTo(YearMonth.now().minusMonths(6).atDay(1).atStartOfDay());
+        assertThat(window.months(PartitionedTable.AUDIT_LOGS)).isEqualTo(24);
+    }
+}
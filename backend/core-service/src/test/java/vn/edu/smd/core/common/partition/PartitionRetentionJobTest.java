@@ -0,0 +1,55 @@
+package vn.edu.smd.core.common.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartitionRetentionJobTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void exportWritesOneJsonLinePerRowGzipped() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString(1)).thenReturn("{\"id\":1}", "{\"id\":2}");
+        Path target = archiveDir.resolve("notifications").resolve("notifications_p2024_01.jsonl.gz");
+
+        long rows = PartitionRetentionJob.export(rs, target);
+
+        assertThat(rows).isEqualTo(2);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(target)), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines()).containsExactly("{\"id\":1}", "{\"id\":2}");
+        }
+        assertThat(target.resolveSibling(target.getFileName() + ".part")).doesNotExist();
+    }
+
+    @Test
+    void failedExportLeavesNoArchiveFile() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true).thenThrow(new SQLException("connection reset"));
+        when(rs.getString(1)).thenReturn("{\"id\":1}");
+        Path target = archiveDir.resolve("audit_logs_p2024_01.jsonl.gz");
+
+        assertThatThrownBy(() -> PartitionRetentionJob.export(rs, target)).isInstanceOf(SQLException.class);
+
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package vn.edu.smd.core.common.refdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataRegistryTest {
+
+    record Item(UUID id, String code) {
+    }
+
+    private StringRedisTemplate stringRedisTemplate;
+    private ReferenceDataRegistry registry;
+
+    private final List<Item> semesterRows = new ArrayList<>();
+    private final AtomicInteger semesterLoads = new AtomicInteger();
+    private final AtomicInteger curriculumLoads = new AtomicInteger();
+    private ReferenceDataset<Item> semesters;
+    private ReferenceDataset<Item> curriculums;
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new ReferenceDataRegistry(new ObjectMapper(), stringRedisTemplate,
+                new BulkheadRegistry(new MockEnvironment(), meterRegistry), mock(PlatformTransactionManager.class),
+                mock(ApplicationEventPublisher.class), meterRegistry);
+
+        semesterRows.add(new Item(UUID.randomUUID(), "HK1"));
+        semesters = registry.register(ReferenceDataRegistry.SEMESTERS, Set.of(ReferenceDataRegistry.SEMESTERS), () -> {
+            semesterLoads.incrementAndGet();
+            return List.copyOf(semesterRows);
+        }, Item::id);
+        curriculums = registry.register(ReferenceDataRegistry.CURRICULUMS,
+                Set.of(ReferenceDataRegistry.CURRICULUMS, ReferenceDataRegistry.FACULTIES), () -> {
+                    curriculumLoads.incrementAndGet();
+                    return List.of(new Item(UUID.randomUUID(), "KTPM"));
+                }, Item::id);
+    }
+
+    @Test
+    void loadsLazilyOnceAndReloadsOnlyDatasetsOfChangedSource() {
+        assertThat(semesterLoads).hasValue(0);
+
+        ReferenceSnapshot<Item> first = semesters.snapshot();
+        assertThat(semesters.snapshot()).isSameAs(first);
+        curriculums.snapshot();
+
+        semesterRows.add(new Item(UUID.randomUUID(), "HK2"));
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.SEMESTERS));
+
+        ReferenceSnapshot<Item> second = semesters.snapshot();
+        assertThat(second.getItems()).extracting(Item::code).containsExactly("HK1", "HK2");
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(second.findById(semesterRows.get(1).id())).isPresent();
+        assertThat(first.getItems()).hasSize(1);
+        assertThat(semesterLoads).hasValue(2);
+
+        curriculums.snapshot();
+        assertThat(curriculumLoads).hasValue(1);
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.FACULTIES));
+        curriculums.snapshot();
+        assertThat(curriculumLoads).hasValue(2);
+    }
+
+    @Test
+    void etagDependsOnlyOnContent() {
+        String etag = semesters.snapshot().getEtag();
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.SEMESTERS));
+        assertThat(semesters.snapshot().getEtag()).isEqualTo(etag).startsWith("\"semesters-");
+
+        semesterRows.add(new Item(UUID.randomUUID(), "HK2"));
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.SEMESTERS));
+        assertThat(semesters.snapshot().getEtag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void broadcastsInvalidationAndIgnoresOwnMessages() {
+        String nodeId = (String) ReflectionTestUtils.getField(registry, "nodeId");
+        semesters.snapshot();
+
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.SEMESTERS));
+        verify(stringRedisTemplate).convertAndSend(ReferenceDataRegistry.CHANNEL, "semesters|" + nodeId);
+
+        semesters.snapshot();
+        registry.onMessage(message("semesters|" + nodeId), null);
+        semesters.snapshot();
+        assertThat(semesterLoads).hasValue(2);
+
+        registry.onMessage(message("semesters|other-node"), null);
+        semesters.snapshot();
+        assertThat(semesterLoads).hasValue(3);
+    }
+
+    @Test
+    void redisFailureDoesNotBreakLocalInvalidation() {
+        when(stringRedisTemplate.convertAndSend(eq(ReferenceDataRegistry.CHANNEL), anyString()))
+                .thenThrow(new QueryTimeoutException("redis down"));
+        semesters.snapshot();
+
+        registry.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataRegistry.SEMESTERS));
+
+        semesters.snapshot();
+        assertThat(semesterLoads).hasValue(2);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ReferenceDataRegistry.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package vn.edu.smd.core.common.settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.entity.SystemSetting;
+import vn.edu.smd.core.repository.SystemSettingRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SystemSettingRegistryTest {
+
+    private SystemSettingRepository repository;
+    private StringRedisTemplate stringRedisTemplate;
+    private SystemSettingRegistry registry;
+    private final List<SystemSetting> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SystemSettingRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(rows));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new SystemSettingRegistry(repository, stringRedisTemplate,
+                new BulkheadRegistry(new MockEnvironment(), meterRegistry), mock(PlatformTransactionManager.class),
+                mock(ApplicationEventPublisher.class), meterRegistry);
+    }
+
+    @Test
+    void readsTypedValuesAndFallsBackToDefaults() {
+        rows.add(row(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name(), Map.of("value", 45)));
+        rows.add(row(SystemSettings.DEFAULT_STATUSES_HOD.name(), Map.of("value", List.of("PENDING_HOD"))));
+        // Sai miền giá trị / sai kiểu → mặc định
+        rows.add(row(SystemSettings.AI_TASK_RESULT_TTL_MINUTES.name(), Map.of("value", 0)));
+        rows.add(row(SystemSettings.NOTIFY_PUBLISHED_MESSAGE.name(), Map.of("value", "Môn %d")));
+
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(45L);
+        assertThat(registry.get(SystemSettings.DEFAULT_STATUSES_HOD)).containsExactly("PENDING_HOD");
+        assertThat(registry.get(SystemSettings.AI_TASK_RESULT_TTL_MINUTES)).isEqualTo(120L);
+        assertThat(registry.get(SystemSettings.NOTIFY_PUBLISHED_MESSAGE))
+                .isEqualTo(SystemSettings.NOTIFY_PUBLISHED_MESSAGE.defaultValue());
+        assertThat(registry.get(SystemSettings.DEFAULT_STATUSES_AA))
+                .containsExactly("PENDING_AA", "PENDING_PRINCIPAL", "REJECTED");
+
+        // Một lần nạp cho mọi lần đọc
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void changeReloadsLocallyAndBroadcasts() {
+        rows.add(row(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name(), Map.of("value", 45)));
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(45L);
+
+        rows.set(0, row(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name(), Map.of("value", 60)));
+        registry.onSystemSettingChanged(new SystemSettingChangedEvent(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name()));
+
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(60L);
+        verify(stringRedisTemplate).convertAndSend(eq(SystemSettingRegistry.CHANNEL),
+                startsWith(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name() + "|"));
+    }
+
+    @Test
+    void messageFromOtherInstanceInvalidatesSnapshot() {
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(30L);
+        rows.add(row(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name(), Map.of("value", 5)));
+
+        registry.onMessage(new DefaultMessage(SystemSettingRegistry.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "ai.task_status_ttl_minutes|other-node".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(5L);
+    }
+
+    @Test
+    void keepsPreviousSnapshotWhenReloadFails() {
+        rows.add(row(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name(), Map.of("value", 45)));
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(45L);
+
+        when(repository.findAll()).thenThrow(new QueryTimeoutException("db down"));
+        registry.invalidateLocal(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.name());
+
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(45L);
+        assertThat(registry.get(SystemSettings.AI_TASK_STATUS_TTL_MINUTES)).isEqualTo(45L);
+        // Lỗi nạp không bị thử lại ở mỗi lần đọc
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void settingKeyRejectsValuesOfWrongShape() {
+        assertThatThrownBy(() -> SystemSettings.AI_TASK_STATUS_TTL_MINUTES.parse(Map.of("value", 10.5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SystemSettings.AI_TASK_STATUS_TTL_MINUTES.parse(Map.of("amount", 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SystemSettings.DEFAULT_STATUSES_HOD.parse(Map.of("value", List.of("PENDING_HOD", 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SystemSettings.DEFAULT_STATUSES_HOD.parse(Map.of("value", List.of("UNKNOWN"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SystemSettings.AI_TASK_STATUS_TTL_MINUTES.parse(Map.of("value", 10.0))).isEqualTo(10L);
+        assertThat(SystemSettings.NOTIFY_PUBLISHED_MESSAGE.parse(Map.of("value", "%s (%s) đã xuất hành")))
+                .isEqualTo("%s (%s) đã xuất hành");
+    }
+
+    private static SystemSetting row(String key, Map<String, Object> value) {
+        return SystemSetting.builder().key(key).value(value).build();
+    }
+}
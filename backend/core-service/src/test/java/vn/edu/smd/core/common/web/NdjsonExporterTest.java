@@ -0,0 +1,82 @@
+package vn.edu.smd.core.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NdjsonExporterTest {
+
+    record Row(int week, String topic) {
+    }
+
+    @Test
+    void writesOneObjectPerLineInsideReadOnlyTransactionAndClosesStream() throws Exception {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NdjsonExporter exporter = new NdjsonExporter(new ObjectMapper().registerModule(new JavaTimeModule()),
+                transactionManager, mock(EntityManager.class), meterRegistry);
+        AtomicBoolean closed = new AtomicBoolean();
+
+        ResponseEntity<StreamingResponseBody> response = exporter.export("lesson-plans",
+                () -> Stream.of(new Row(1, "Giới thiệu"), new Row(2, "Lớp \"và\" đối tượng")).onClose(() -> closed.set(true)));
+        assertThat(response.getHeaders().getContentType()).isEqualTo(NdjsonExporter.APPLICATION_NDJSON);
+        assertThat(closed).isFalse();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"week\":1,\"topic\":\"Giới thiệu\"}\n{\"week\":2,\"topic\":\"Lớp \\\"và\\\" đối tượng\"}\n");
+        assertThat(closed).isTrue();
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        assertThat(meterRegistry.counter("smd.export.ndjson.rows", "dataset", "lesson-plans").count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamsJsonArrayUnlessNdjsonIsAcceptedAndClearsPersistenceContextPerBatch() throws Exception {
+        EntityManager entityManager = mock(EntityManager.class);
+        NdjsonExporter exporter = new NdjsonExporter(new ObjectMapper(), mock(PlatformTransactionManager.class),
+                entityManager, new SimpleMeterRegistry());
+
+        ResponseEntity<StreamingResponseBody> array = exporter.stream("subjects", "application/json, */*",
+                () -> IntStream.rangeClosed(1, NdjsonExporter.CLEAR_EVERY * 2 + 1).mapToObj(week -> new Row(week, "T")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        array.getBody().writeTo(out);
+        String json = out.toString(StandardCharsets.UTF_8);
+
+        assertThat(array.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new ObjectMapper().readValue(json, Row[].class)).hasSize(NdjsonExporter.CLEAR_EVERY * 2 + 1);
+        verify(entityManager, times(2)).clear();
+
+        ResponseEntity<StreamingResponseBody> empty = exporter.stream("subjects", null, Stream::<Row>empty);
+        out = new ByteArrayOutputStream();
+        empty.getBody().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+
+        ResponseEntity<StreamingResponseBody> ndjson = exporter.stream("subjects", "application/x-ndjson",
+                () -> Stream.of(new Row(1, "A")));
+        out = new ByteArrayOutputStream();
+        ndjson.getBody().writeTo(out);
+        assertThat(ndjson.getHeaders().getContentType()).isEqualTo(NdjsonExporter.APPLICATION_NDJSON);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"week\":1,\"topic\":\"A\"}\n");
+    }
+}
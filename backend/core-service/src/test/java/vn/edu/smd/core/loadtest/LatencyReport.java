@@ -0,0 +1,127 @@
+package vn.edu.smd.core.loadtest;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thống kê độ trễ / thông lượng theo endpoint cho pha đo của load test
+ *
+ * - Mỗi thao tác một Timer riêng (registry riêng, không lẫn metric của ứng dụng) với p50 / p95 / p99;
+ *   cửa sổ thống kê kéo dài hết lần chạy để percentile tính trên toàn bộ mẫu
+ * - Lỗi = response không phải 2xx hoặc exception phía client; "skipped" = không còn đề cương ở trạng thái cần
+ */
+public class LatencyReport {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> skipped = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, AtomicLong>> statuses = new ConcurrentHashMap<>();
+
+    public void record(String operation, long nanos, int status) {
+        timer(operation).record(nanos, TimeUnit.NANOSECONDS);
+        statuses.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+        if (status < 200 || status >= 300) {
+            counter(errors, operation).incrementAndGet();
+        }
+    }
+
+    public void skip(String operation) {
+        counter(skipped, operation).incrementAndGet();
+    }
+
+    public long totalRequests() {
+        return timers.values().stream().mapToLong(Timer::count).sum();
+    }
+
+    public long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    public double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0 : (double) totalErrors() / total;
+    }
+
+    /**
+     * Bảng kết quả: count, lỗi, req/s, mean, p50 / p95 / p99, max (ms) và phân bố HTTP status theo endpoint
+     */
+    public String format(Duration measured) {
+        double seconds = Math.max(0.001, measured.toMillis() / 1000.0);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-18s %8s %7s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "count", "errors", "skipped", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses"));
+        Set<String> operations = new TreeSet<>(timers.keySet());
+        operations.addAll(skipped.keySet());
+        for (String operation : operations) {
+            Timer timer = timer(operation);
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            double[] percentiles = new double[PERCENTILES.length];
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (value.percentile() == PERCENTILES[i]) {
+                        percentiles[i] = value.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            out.append(String.format(Locale.ROOT, "%-18s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    operation, timer.count(), count(errors, operation), count(skipped, operation),
+                    timer.count() / seconds, timer.mean(TimeUnit.MILLISECONDS),
+                    percentiles[0], percentiles[1], percentiles[2], timer.max(TimeUnit.MILLISECONDS),
+                    new TreeMap<>(statuses.getOrDefault(operation, Map.of()))));
+        }
+        out.append(String.format(Locale.ROOT, "%-18s %8d %7d %7s %9.1f%n",
+                "TOTAL", totalRequests(), totalErrors(), "", totalRequests() / seconds));
+        return out.toString();
+    }
+
+    /**
+     * Ghi báo cáo vào target/load-test/ để so sánh giữa các lần chạy
+     */
+    public Path write(String header, Duration measured) throws IOException {
+        Path directory = Path.of("target", "load-test");
+        Files.createDirectories(directory);
+        Path file = directory.resolve("report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.writeString(file, header + System.lineSeparator() + format(measured));
+        return file;
+    }
+
+    private Timer timer(String operation) {
+        return timers.computeIfAbsent(operation, name -> Timer.builder("loadtest.request")
+                .tag("operation", name)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry));
+    }
+
+    private static AtomicLong counter(Map<String, AtomicLong> counters, String operation) {
+        return counters.computeIfAbsent(operation, key -> new AtomicLong());
+    }
+
+    private static long count(Map<String, AtomicLong> counters, String operation) {
+        AtomicLong counter = counters.get(operation);
+        return counter == null ? 0 : counter.get();
+    }
+}
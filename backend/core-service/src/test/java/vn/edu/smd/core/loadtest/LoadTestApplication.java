@@ -0,0 +1,66 @@
+package vn.edu.smd.core.loadtest;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import vn.edu.smd.core.CoreServiceApplication;
+import vn.edu.smd.core.RabbitMQTestSender;
+import vn.edu.smd.core.TestPasswordApp;
+
+import javax.sql.DataSource;
+
+/**
+ * Toàn bộ core-service (web + JPA + Redis) cho load test, RabbitMQ được thay bằng RecordingRabbitTemplate
+ *
+ * Cùng cách loại các @SpringBootApplication trong src/test như SqlStatementMetricsTest.TestApplication
+ * (và loại luôn cấu hình lồng trong các test khác để hai context không quét lẫn nhau).
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("vn.edu.smd.core.entity")
+@EnableJpaRepositories("vn.edu.smd.core")
+@ComponentScan(basePackages = "vn.edu.smd.core", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {CoreServiceApplication.class, RabbitMQTestSender.class, TestPasswordApp.class}),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "vn\\.edu\\.smd\\.core\\..*Test\\$.*")})
+public class LoadTestApplication {
+
+    @Bean
+    @Primary
+    public RabbitTemplate loadTestRabbitTemplate(ConnectionFactory connectionFactory,
+                                                 Jackson2JsonMessageConverter messageConverter) {
+        RecordingRabbitTemplate template = new RecordingRabbitTemplate(connectionFactory);
+        template.setMessageConverter(messageConverter);
+        return template;
+    }
+
+    /**
+     * Bọc DataSource H2 để tham số enum / jsonb kiểu PostgreSQL ghi được (xem PostgresParameterTransformer);
+     * lớp proxy này nằm ngoài proxy đếm SQL của SqlObservabilityConfig
+     */
+    @Bean
+    public static BeanPostProcessor postgresParameterDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName + "-postgres-types")
+                        .parameterTransformer(new PostgresParameterTransformer())
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package vn.edu.smd.core.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import vn.edu.smd.core.security.GatewayPrincipalVerifier;
+import vn.edu.smd.core.security.JwtTokenProvider;
+import vn.edu.smd.core.security.UserPrincipal;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Header xác thực cho từng người dùng ảo, tính một lần rồi dùng lại
+ *
+ * - "gateway": header X-SMD-Principal ký HMAC như gateway (đường nhanh, không đọc user từ DB)
+ * - "jwt": Bearer token thật (đường cũ: parse JWT + loadUserById mỗi request)
+ */
+public class LoadTestAuth {
+
+    private final String mode;
+    private final JwtTokenProvider tokenProvider;
+    private final SecretKeySpec gatewayKey;
+    private final long expiresAtEpochSeconds;
+    private final Map<UUID, String[]> headers = new ConcurrentHashMap<>();
+
+    public LoadTestAuth(String mode, JwtTokenProvider tokenProvider, String gatewaySecret, Duration validity) {
+        if (!LoadTestSettings.AUTH_GATEWAY.equals(mode) && !LoadTestSettings.AUTH_JWT.equals(mode)) {
+            throw new IllegalArgumentException("loadtest.auth must be 'gateway' or 'jwt': " + mode);
+        }
+        this.mode = mode;
+        this.tokenProvider = tokenProvider;
+        this.gatewayKey = new SecretKeySpec(gatewaySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.expiresAtEpochSeconds = System.currentTimeMillis() / 1000 + validity.toSeconds();
+    }
+
+    /**
+     * @return {tên header, giá trị}
+     */
+    public String[] header(LoadTestSeeder.Actor actor) {
+        return headers.computeIfAbsent(actor.id(), id -> LoadTestSettings.AUTH_GATEWAY.equals(mode)
+                ? new String[]{GatewayPrincipalVerifier.HEADER, gatewayHeader(actor)}
+                : new String[]{HttpHeaders.AUTHORIZATION, "Bearer " + jwt(actor)});
+    }
+
+    private String jwt(LoadTestSeeder.Actor actor) {
+        List<GrantedAuthority> authorities = actor.roleNames().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        UserPrincipal principal = new UserPrincipal(actor.id(), actor.email(), null, authorities);
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    private String gatewayHeader(LoadTestSeeder.Actor actor) {
+        String payload = String.join("|", actor.id().toString(), String.join(",", actor.roleNames()),
+                JwtTokenProvider.SCOPE_ACCESS, Long.toString(expiresAtEpochSeconds), actor.email());
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(gatewayKey.getAlgorithm());
+            mac.init(gatewayKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign gateway principal", e);
+        }
+    }
+}
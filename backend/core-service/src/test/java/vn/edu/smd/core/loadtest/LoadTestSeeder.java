@@ -0,0 +1,256 @@
+package vn.edu.smd.core.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.smd.core.entity.Department;
+import vn.edu.smd.core.entity.Faculty;
+import vn.edu.smd.core.entity.Notification;
+import vn.edu.smd.core.entity.Role;
+import vn.edu.smd.core.entity.StudentSyllabusTracker;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.entity.User;
+import vn.edu.smd.core.module.student.repository.StudentSyllabusTrackerRepository;
+import vn.edu.smd.core.repository.DepartmentRepository;
+import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.NotificationRepository;
+import vn.edu.smd.core.repository.RoleRepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.UserRepository;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sinh dữ liệu cho load test theo quy mô cấu hình
+ *
+ * - Mỗi môn: (versions-per-subject - 1) bản ARCHIVED + 1 bản PUBLISHED, content JSON đủ CLO / đánh giá / giáo trình
+ * - Hàng chờ duyệt pending-approvals bản: ~50% PENDING_HOD, 20% PENDING_AA, 15% PENDING_PRINCIPAL, 15% APPROVED
+ * - Sinh viên theo dõi ngẫu nhiên trackers-per-student bản PUBLISHED và có notifications-per-student thông báo
+ * - Seed cố định (Random(42)) để các lần chạy so sánh được với nhau
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadTestSeeder {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final FacultyRepository facultyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final SubjectRepository subjectRepository;
+    private final SyllabusVersionRepository syllabusVersionRepository;
+    private final StudentSyllabusTrackerRepository trackerRepository;
+    private final NotificationRepository notificationRepository;
+
+    private final Random random = new Random(42);
+
+    /**
+     * Người dùng đăng nhập trong workload
+     *
+     * @param roleNames tên role (authority giống UserPrincipal.create)
+     */
+    public record Actor(UUID id, String email, List<String> roleNames) {
+    }
+
+    public record SeedData(Map<String, Actor> staff,
+                           List<Actor> students,
+                           List<UUID> publishedVersionIds,
+                           Map<SyllabusStatus, List<UUID>> pendingVersionIds) {
+    }
+
+    public SeedData seed(LoadTestSettings settings) {
+        long start = System.currentTimeMillis();
+
+        Map<String, Role> roles = new HashMap<>();
+        inTransaction(() -> {
+            for (String[] role : new String[][]{{"ADMIN", "Administrator"}, {"PRINCIPAL", "Principal"},
+                    {"AA", "Academic Affairs"}, {"HOD", "Head of Department"}, {"LECTURER", "Lecturer"},
+                    {"STUDENT", "Student"}}) {
+                roles.put(role[0], roleRepository.save(Role.builder().code(role[0]).name(role[1]).isSystem(true).build()));
+            }
+        });
+
+        Map<String, User> staffUsers = new HashMap<>();
+        for (String code : List.of("ADMIN", "PRINCIPAL", "AA", "HOD", "LECTURER")) {
+            staffUsers.put(code, newUser(code.toLowerCase() + "@loadtest.smd.edu.vn", "Load test " + code, roles.get(code)));
+        }
+        inTransaction(() -> userRepository.saveAll(staffUsers.values()));
+        User lecturer = staffUsers.get("LECTURER");
+
+        List<Subject> subjects = new ArrayList<>();
+        inTransaction(() -> {
+            Faculty faculty = facultyRepository.save(Faculty.builder().code("LT").name("Khoa Load Test").build());
+            Department department = departmentRepository.save(Department.builder()
+                    .faculty(faculty).code("LT-KTPM").name("Bộ môn Load Test").build());
+            for (int i = 0; i < settings.subjects(); i++) {
+                subjects.add(Subject.builder()
+                        .code("LT" + (1000 + i))
+                        .department(department)
+                        .currentNameVi("Môn học tải " + i)
+                        .defaultCredits(2 + i % 3)
+                        .build());
+            }
+            subjectRepository.saveAll(subjects);
+        });
+
+        // Bản ARCHIVED + PUBLISHED của từng môn
+        List<SyllabusVersion> versions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int s = 0; s < subjects.size(); s++) {
+            Subject subject = subjects.get(s);
+            int count = Math.max(1, settings.versionsPerSubject());
+            for (int v = 1; v <= count; v++) {
+                SyllabusStatus status = v == count ? SyllabusStatus.PUBLISHED : SyllabusStatus.ARCHIVED;
+                versions.add(newVersion(subject, v, status, lecturer, now.minusDays((long) (count - v) * 180 + s % 30)));
+            }
+        }
+        saveInChunks(syllabusVersionRepository, versions);
+        List<UUID> publishedIds = versions.stream()
+                .filter(version -> version.getStatus() == SyllabusStatus.PUBLISHED)
+                .map(SyllabusVersion::getId)
+                .toList();
+
+        // Hàng chờ duyệt: bản mới của các môn đã có, trạng thái theo tỉ lệ của quy trình thật
+        Map<SyllabusStatus, List<UUID>> pending = new EnumMap<>(SyllabusStatus.class);
+        List<SyllabusVersion> pendingVersions = new ArrayList<>();
+        for (int i = 0; i < settings.pendingApprovals(); i++) {
+            Subject subject = subjects.get(i % subjects.size());
+            pendingVersions.add(newVersion(subject, settings.versionsPerSubject() + 1 + i / subjects.size(),
+                    pendingStatus(i, settings.pendingApprovals()), lecturer, null));
+        }
+        saveInChunks(syllabusVersionRepository, pendingVersions);
+        for (SyllabusVersion version : pendingVersions) {
+            pending.computeIfAbsent(version.getStatus(), key -> new ArrayList<>()).add(version.getId());
+        }
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < settings.students(); i++) {
+            students.add(newUser("sv" + i + "@loadtest.smd.edu.vn", "Sinh viên tải " + i, roles.get("STUDENT")));
+        }
+        saveInChunks(userRepository, students);
+
+        List<StudentSyllabusTracker> trackers = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        int follows = Math.min(settings.trackersPerStudent(), publishedIds.size());
+        for (User student : students) {
+            for (int index : random.ints(0, publishedIds.size()).distinct().limit(follows).toArray()) {
+                StudentSyllabusTracker tracker = new StudentSyllabusTracker();
+                tracker.setStudentId(student.getId());
+                tracker.setSyllabusId(publishedIds.get(index));
+                tracker.setCreatedAt(now);
+                trackers.add(tracker);
+            }
+            for (int n = 0; n < settings.notificationsPerStudent(); n++) {
+                UUID syllabusId = publishedIds.get(random.nextInt(publishedIds.size()));
+                notifications.add(Notification.builder()
+                        .user(student)
+                        .title("Đề cương đã được cập nhật")
+                        .message("Đề cương bạn theo dõi vừa có phiên bản mới (#" + n + ")")
+                        .type("SYLLABUS_PUBLISHED")
+                        .payload(Map.of("syllabusId", syllabusId.toString()))
+                        .relatedEntityType("SYLLABUS_VERSION")
+                        .relatedEntityId(syllabusId)
+                        .isRead(random.nextInt(3) == 0)
+                        .build());
+            }
+        }
+        saveInChunks(trackerRepository, trackers);
+        saveInChunks(notificationRepository, notifications);
+
+        Map<String, Actor> staff = new HashMap<>();
+        staffUsers.forEach((code, user) -> staff.put(code, toActor(user)));
+        SeedData data = new SeedData(staff, students.stream().map(LoadTestSeeder::toActor).toList(), publishedIds, pending);
+        log.info("🌱 Seeded load test data in {} ms: {} subjects, {} versions, {} pending, {} students, {} trackers, {} notifications",
+                System.currentTimeMillis() - start, subjects.size(), versions.size(), pendingVersions.size(),
+                students.size(), trackers.size(), notifications.size());
+        return data;
+    }
+
+    // =============================================
+    // HELPERS
+    // =============================================
+
+    private static SyllabusStatus pendingStatus(int index, int total) {
+        double position = (double) index / Math.max(1, total);
+        if (position < 0.50) return SyllabusStatus.PENDING_HOD;
+        if (position < 0.70) return SyllabusStatus.PENDING_AA;
+        if (position < 0.85) return SyllabusStatus.PENDING_PRINCIPAL;
+        return SyllabusStatus.APPROVED;
+    }
+
+    private static User newUser(String email, String fullName, Role role) {
+        User user = User.builder().email(email).fullName(fullName).build();
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    private SyllabusVersion newVersion(Subject subject, int versionNumber, SyllabusStatus status, User lecturer,
+                                       LocalDateTime publishedAt) {
+        return SyllabusVersion.builder()
+                .subject(subject)
+                .versionNo("v" + versionNumber + ".0")
+                .versionNumber(versionNumber)
+                .status(status)
+                .snapSubjectCode(subject.getCode())
+                .snapSubjectNameVi(subject.getCurrentNameVi())
+                .snapCreditCount(subject.getDefaultCredits())
+                .description("Đề cương " + subject.getCode() + " phiên bản " + versionNumber)
+                .content(content(subject.getCode()))
+                .createdBy(lecturer)
+                .publishedAt(publishedAt)
+                .submittedAt(status == SyllabusStatus.PUBLISHED || status == SyllabusStatus.ARCHIVED ? null : LocalDateTime.now())
+                .build();
+    }
+
+    // Cùng cấu trúc content mà StudentSyllabusServiceImpl đọc (clos / assessmentMethods / textbooks / references)
+    private Map<String, Object> content(String subjectCode) {
+        List<Map<String, Object>> clos = new ArrayList<>();
+        int cloCount = 4 + random.nextInt(4);
+        for (int i = 1; i <= cloCount; i++) {
+            clos.add(Map.of(
+                    "code", "CLO" + i,
+                    "description", "Chuẩn đầu ra " + i + " của môn " + subjectCode,
+                    "bloomLevel", List.of("Remember", "Understand", "Apply", "Analyze").get(i % 4),
+                    "weight", 100 / cloCount,
+                    "mappedPLOs", List.of("PLO" + (1 + i % 6), "PLO" + (1 + (i + 2) % 6))));
+        }
+        List<Map<String, Object>> assessments = List.of(
+                Map.of("method", "Chuyên cần", "form", "Điểm danh", "criteria", "Tham gia lớp", "weight", 10, "clos", List.of("CLO1")),
+                Map.of("method", "Giữa kỳ", "form", "Tự luận", "criteria", "Đáp án", "weight", 30, "clos", List.of("CLO1", "CLO2")),
+                Map.of("method", "Cuối kỳ", "form", "Trắc nghiệm", "criteria", "Đáp án", "weight", 60, "clos", List.of("CLO2", "CLO3")));
+        return Map.of(
+                "clos", clos,
+                "assessmentMethods", assessments,
+                "textbooks", List.of(Map.of("title", "Giáo trình " + subjectCode), Map.of("title", "Bài giảng " + subjectCode)),
+                "references", "Tài liệu tham khảo 1\nTài liệu tham khảo 2");
+    }
+
+    private <T> void saveInChunks(JpaRepository<T, UUID> repository, List<T> entities) {
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            List<T> chunk = entities.subList(from, Math.min(entities.size(), from + CHUNK_SIZE));
+            inTransaction(() -> repository.saveAll(chunk));
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+
+    private static Actor toActor(User user) {
+        return new Actor(user.getId(), user.getEmail(), user.getRoles().stream().map(Role::getName).toList());
+    }
+}
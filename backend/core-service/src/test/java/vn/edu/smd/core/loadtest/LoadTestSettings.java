@@ -0,0 +1,67 @@
+package vn.edu.smd.core.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tham số load test (profile "loadtest", ghi đè được bằng -Dloadtest.xxx=...)
+ *
+ * @param workload tên thao tác → trọng số, ví dụ "student-list:30,approve:8"
+ */
+public record LoadTestSettings(
+        int subjects,
+        int versionsPerSubject,
+        int students,
+        int trackersPerStudent,
+        int notificationsPerStudent,
+        int pendingApprovals,
+        int virtualUsers,
+        int warmupSeconds,
+        int durationSeconds,
+        String auth,
+        Map<String, Integer> workload,
+        double maxErrorRate) {
+
+    public static final String AUTH_GATEWAY = "gateway";
+    public static final String AUTH_JWT = "jwt";
+
+    public static LoadTestSettings from(Environment env) {
+        return new LoadTestSettings(
+                env.getProperty("loadtest.seed.subjects", Integer.class, 200),
+                env.getProperty("loadtest.seed.versions-per-subject", Integer.class, 3),
+                env.getProperty("loadtest.seed.students", Integer.class, 500),
+                env.getProperty("loadtest.seed.trackers-per-student", Integer.class, 8),
+                env.getProperty("loadtest.seed.notifications-per-student", Integer.class, 20),
+                env.getProperty("loadtest.seed.pending-approvals", Integer.class, 300),
+                env.getProperty("loadtest.virtual-users", Integer.class, 16),
+                env.getProperty("loadtest.warmup-seconds", Integer.class, 10),
+                env.getProperty("loadtest.duration-seconds", Integer.class, 60),
+                env.getProperty("loadtest.auth", AUTH_GATEWAY),
+                parseWorkload(env.getProperty("loadtest.workload", "student-list:1")),
+                env.getProperty("loadtest.max-error-rate", Double.class, 0.01));
+    }
+
+    static Map<String, Integer> parseWorkload(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalid workload entry '" + trimmed + "', expected name:weight");
+            }
+            int weight = Integer.parseInt(trimmed.substring(colon + 1).trim());
+            if (weight > 0) {
+                weights.put(trimmed.substring(0, colon).trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload has no operation with a positive weight: " + spec);
+        }
+        return weights;
+    }
+}
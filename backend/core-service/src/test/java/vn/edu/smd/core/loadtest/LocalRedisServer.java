@@ -0,0 +1,285 @@
+package vn.edu.smd.core.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis giả lập trong tiến trình cho load test (giao thức RESP2 thật qua TCP, client Lettuce không đổi)
+ *
+ * - Hỗ trợ nhóm lệnh string / key mà đường request dùng: GET, SET (EX / PX / NX / XX), SETEX, GETDEL, DEL,
+ *   EXISTS, EXPIRE, PEXPIRE, TTL, INCR, INCRBY, PUBLISH; PING / HELLO / CLIENT / SELECT để Lettuce bắt tay
+ * - Lệnh khác (EVAL, ZSET...) trả lỗi như Redis thật không có lệnh đó → service fail open như khi Redis lỗi
+ * - PUBLISH không có subscriber (pub/sub giữa các instance không có nghĩa khi chỉ chạy một instance)
+ */
+@Slf4j
+public final class LocalRedisServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-redis");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong unsupported = new AtomicLong();
+
+    private record Entry(byte[] value, long expiresAtMillis) {
+
+        boolean expired(long now) {
+            return expiresAtMillis > 0 && now >= expiresAtMillis;
+        }
+    }
+
+    private LocalRedisServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    public static LocalRedisServer start() throws IOException {
+        LocalRedisServer server = new LocalRedisServer(new ServerSocket(0, 128, InetAddress.getLoopbackAddress()));
+        server.connections.submit(server::acceptLoop);
+        log.info("Local Redis stand-in listening on port {}", server.getPort());
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    public long getUnsupportedCommandCount() {
+        return unsupported.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Local Redis accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                List<byte[]> command = readCommand(in);
+                execute(command, out);
+                // Lettuce pipeline nhiều lệnh một lúc: chỉ flush khi không còn dữ liệu chờ đọc
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // Client đóng kết nối
+        } catch (IOException e) {
+            log.warn("Local Redis connection failed: {}", e.getMessage());
+        }
+    }
+
+    // =============================================
+    // COMMANDS
+    // =============================================
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        commands.incrementAndGet();
+        String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "CLIENT", "SELECT" -> simple(out, "OK");
+            case "GET" -> bulk(out, get(text(command.get(1)), now));
+            case "GETDEL" -> {
+                Entry removed = data.remove(text(command.get(1)));
+                bulk(out, removed == null || removed.expired(now) ? null : removed.value());
+            }
+            case "SET" -> set(command, now, out);
+            case "SETEX" -> {
+                data.put(text(command.get(1)), new Entry(command.get(3), now + Long.parseLong(text(command.get(2))) * 1000));
+                simple(out, "OK");
+            }
+            case "DEL" -> {
+                long removed = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    removed += data.remove(text(command.get(i))) == null ? 0 : 1;
+                }
+                integer(out, removed);
+            }
+            case "EXISTS" -> {
+                long found = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    found += get(text(command.get(i)), now) == null ? 0 : 1;
+                }
+                integer(out, found);
+            }
+            case "EXPIRE", "PEXPIRE" -> {
+                long amount = Long.parseLong(text(command.get(2)));
+                long ttlMillis = "EXPIRE".equals(name) ? amount * 1000 : amount;
+                Entry updated = data.computeIfPresent(text(command.get(1)),
+                        (key, entry) -> entry.expired(now) ? null : new Entry(entry.value(), now + ttlMillis));
+                integer(out, updated == null ? 0 : 1);
+            }
+            case "TTL" -> {
+                Entry entry = data.get(text(command.get(1)));
+                if (entry == null || entry.expired(now)) {
+                    integer(out, -2);
+                } else {
+                    integer(out, entry.expiresAtMillis() == 0 ? -1 : (entry.expiresAtMillis() - now) / 1000);
+                }
+            }
+            case "INCR", "INCRBY" -> {
+                long delta = "INCR".equals(name) ? 1 : Long.parseLong(text(command.get(2)));
+                Entry updated = data.compute(text(command.get(1)), (key, entry) -> {
+                    long current = entry == null || entry.expired(now) ? 0 : Long.parseLong(text(entry.value()));
+                    long expiresAt = entry == null || entry.expired(now) ? 0 : entry.expiresAtMillis();
+                    return new Entry(String.valueOf(current + delta).getBytes(StandardCharsets.UTF_8), expiresAt);
+                });
+                integer(out, Long.parseLong(text(updated.value())));
+            }
+            case "PUBLISH" -> integer(out, 0);
+            default -> {
+                // HELLO cũng rơi vào đây: Lettuce nhận lỗi và quay về RESP2
+                unsupported.incrementAndGet();
+                error(out, "ERR unknown command '" + name + "'");
+            }
+        }
+    }
+
+    private void set(List<byte[]> command, long now, OutputStream out) throws IOException {
+        String key = text(command.get(1));
+        long expiresAt = 0;
+        boolean onlyIfAbsent = false;
+        boolean onlyIfPresent = false;
+        for (int i = 3; i < command.size(); i++) {
+            String option = text(command.get(i)).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "EX" -> expiresAt = now + Long.parseLong(text(command.get(++i))) * 1000;
+                case "PX" -> expiresAt = now + Long.parseLong(text(command.get(++i)));
+                case "NX" -> onlyIfAbsent = true;
+                case "XX" -> onlyIfPresent = true;
+                default -> {
+                    error(out, "ERR syntax error");
+                    return;
+                }
+            }
+        }
+        boolean exists = get(key, now) != null;
+        if ((onlyIfAbsent && exists) || (onlyIfPresent && !exists)) {
+            bulk(out, null);
+            return;
+        }
+        data.put(key, new Entry(command.get(2), expiresAt));
+        simple(out, "OK");
+    }
+
+    private byte[] get(String key, long now) {
+        Entry entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired(now)) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    // =============================================
+    // RESP
+    // =============================================
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException();
+        }
+        if (type != '*') {
+            throw new IOException("Inline commands are not supported");
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<byte[]> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            arguments.add(in.readNBytes(length));
+            in.skipNBytes(2);
+        }
+        return arguments;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            line.append((char) b);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void simple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void error(OutputStream out, String message) throws IOException {
+        out.write(('-' + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void integer(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void bulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package vn.edu.smd.core.loadtest;
+
+import net.ttddyy.dsproxy.proxy.ParameterKey;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.transform.ParameterReplacer;
+import net.ttddyy.dsproxy.transform.ParameterTransformer;
+import net.ttddyy.dsproxy.transform.TransformInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cho H2 nhận các tham số mà chỉ PostgreSQL hiểu khi gửi dưới dạng setObject(i, value, Types.OTHER)
+ *
+ * - Enum (status - PostgreSQLEnumJdbcType): H2 serialize thành JAVA_OBJECT → đổi sang setString(name)
+ * - Chuỗi JSON (content / payload - JsonBinaryType): H2 lưu thành JSON string có ngoặc kép, đọc lại không
+ *   ra object → đổi sang setBytes(UTF-8), H2 parse byte[] thành giá trị JSON như jsonb của PostgreSQL
+ */
+public class PostgresParameterTransformer implements ParameterTransformer {
+
+    @Override
+    public void transformParameters(ParameterReplacer replacer, TransformInfo transformInfo) {
+        List<Runnable> replacements = new ArrayList<>();
+        for (Map.Entry<ParameterKey, ParameterSetOperation> entry : replacer.getModifiedParameters().entrySet()) {
+            Object[] args = entry.getValue().getArgs();
+            if (!entry.getKey().isByIndex() || !"setObject".equals(entry.getValue().getMethod().getName())
+                    || args.length != 3 || !Integer.valueOf(Types.OTHER).equals(args[2])) {
+                continue;
+            }
+            int index = entry.getKey().getIndex();
+            if (args[1] instanceof Enum<?> value) {
+                replacements.add(() -> replacer.setString(index, value.name()));
+            } else if (args[1] instanceof String json) {
+                replacements.add(() -> replacer.setBytes(index, json.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        replacements.forEach(Runnable::run);
+    }
+}
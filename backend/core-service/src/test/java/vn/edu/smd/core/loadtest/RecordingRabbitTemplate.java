@@ -0,0 +1,33 @@
+package vn.edu.smd.core.loadtest;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RabbitTemplate thay cho broker thật khi load test: chỉ đếm message theo routing key
+ *
+ * ConnectionFactory chỉ để qua bước kiểm tra cấu hình của RabbitTemplate, send() không bao giờ mở kết nối.
+ */
+public class RecordingRabbitTemplate extends RabbitTemplate {
+
+    private final Map<String, AtomicLong> sent = new ConcurrentHashMap<>();
+
+    public RecordingRabbitTemplate(ConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        sent.computeIfAbsent(routingKey == null ? "" : routingKey, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public Map<String, AtomicLong> getSentByRoutingKey() {
+        return sent;
+    }
+}
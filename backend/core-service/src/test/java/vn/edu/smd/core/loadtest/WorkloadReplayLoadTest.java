@@ -0,0 +1,135 @@
+package vn.edu.smd.core.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vn.edu.smd.core.module.student.repository.StudentSyllabusTrackerRepository;
+import vn.edu.smd.core.repository.DepartmentRepository;
+import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.NotificationRepository;
+import vn.edu.smd.core.repository.RoleRepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.UserRepository;
+import vn.edu.smd.core.security.JwtTokenProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test phát lại workload trên môi trường nhúng: H2 (PostgreSQL mode), Redis giả lập qua TCP,
+ * RabbitMQ thay bằng RecordingRabbitTemplate
+ *
+ * Không chạy trong "mvn test" mặc định (tag load-test). Chạy:
+ * <pre>
+ * mvn -Pload-test test
+ * mvn -Pload-test test -Dloadtest.seed.students=2000 -Dloadtest.virtual-users=32 -Dloadtest.auth=jwt
+ * </pre>
+ * Tham số mặc định trong application-loadtest.properties; báo cáo ghi vào target/load-test/.
+ */
+@Slf4j
+@Tag("load-test")
+@SpringBootTest(classes = LoadTestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class WorkloadReplayLoadTest {
+
+    private static LocalRedisServer redis;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        redis = LocalRedisServer.start();
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", redis::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redis != null) {
+            redis.close();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private RecordingRabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private SyllabusVersionRepository syllabusVersionRepository;
+
+    @Autowired
+    private StudentSyllabusTrackerRepository trackerRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void replayWorkload() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(environment);
+        LoadTestSeeder.SeedData data = new LoadTestSeeder(new TransactionTemplate(transactionManager), roleRepository,
+                userRepository, facultyRepository, departmentRepository, subjectRepository, syllabusVersionRepository,
+                trackerRepository, notificationRepository).seed(settings);
+
+        String gatewaySecret = environment.getProperty("app.jwt.gateway-principal.secret",
+                environment.getProperty("app.jwt.secret", ""));
+        LoadTestAuth auth = new LoadTestAuth(settings.auth(), tokenProvider, gatewaySecret,
+                Duration.ofSeconds(settings.warmupSeconds() + settings.durationSeconds()).plusHours(1));
+
+        WorkloadRunner.Result result = new WorkloadRunner(port, settings, data, auth).run();
+
+        LatencyReport report = result.report();
+        String header = String.format("Workload replay: %s%nseed: %d subjects x %d versions, %d pending, %d students "
+                        + "(%d trackers, %d notifications each), %d virtual users, auth=%s, measured %ds%n"
+                        + "redis commands: %d (%d unsupported), rabbit messages: %s",
+                settings.workload(), settings.subjects(), settings.versionsPerSubject(), settings.pendingApprovals(),
+                settings.students(), settings.trackersPerStudent(), settings.notificationsPerStudent(),
+                settings.virtualUsers(), settings.auth(), result.measured().toSeconds(),
+                redis.getCommandCount(), redis.getUnsupportedCommandCount(), rabbitTemplate.getSentByRoutingKey());
+        Path file = report.write(header, result.measured());
+        log.info("📊 Load test report ({}):{}{}{}{}", file, System.lineSeparator(), header, System.lineSeparator(),
+                report.format(result.measured()));
+
+        assertThat(report.totalRequests()).isPositive();
+        assertThat(report.errorRate())
+                .as("error rate, see %s", file)
+                .isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+}
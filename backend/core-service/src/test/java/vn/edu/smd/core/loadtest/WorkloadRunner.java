@@ -0,0 +1,232 @@
+package vn.edu.smd.core.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phát lại workload có trọng số lên core-service đang chạy (HTTP thật qua cổng ngẫu nhiên)
+ *
+ * - virtual-users luồng, mỗi luồng gửi request liên tục (closed model), chọn thao tác theo trọng số
+ * - Pha warmup không được tính; chỉ request BẮT ĐẦU trong pha đo mới vào báo cáo
+ * - approve / publish đi đúng quy trình: lấy đề cương từ hàng chờ của trạng thái hiện tại, thành công thì
+ *   chuyển sang hàng chờ kế tiếp (PENDING_HOD → PENDING_AA → PENDING_PRINCIPAL → APPROVED → PUBLISHED);
+ *   hết đề cương thì thao tác bị tính "skipped"
+ */
+@Slf4j
+public class WorkloadRunner {
+
+    public static final List<String> OPERATIONS = List.of("student-list", "student-detail", "student-pdf", "track",
+            "syllabus-list", "syllabus-detail", "approve", "publish", "notifications", "unread-count");
+
+    private static final List<SyllabusStatus> APPROVAL_STAGES =
+            List.of(SyllabusStatus.PENDING_HOD, SyllabusStatus.PENDING_AA, SyllabusStatus.PENDING_PRINCIPAL);
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final LoadTestSeeder.SeedData data;
+    private final LoadTestAuth auth;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+    private final List<UUID> publishedIds;
+    private final Map<SyllabusStatus, Queue<UUID>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Kết quả pha đo
+     */
+    public record Result(LatencyReport report, Duration measured) {
+    }
+
+    /**
+     * Một request của thao tác; onSuccess chạy khi response 2xx (chuyển đề cương sang hàng chờ kế tiếp)
+     */
+    private record Call(LoadTestSeeder.Actor actor, HttpRequest.Builder request, Runnable onSuccess) {
+    }
+
+    public WorkloadRunner(int port, LoadTestSettings settings, LoadTestSeeder.SeedData data, LoadTestAuth auth) {
+        this.baseUrl = "http://127.0.0.1:" + port;
+        this.settings = settings;
+        this.data = data;
+        this.auth = auth;
+        this.publishedIds = new CopyOnWriteArrayList<>(data.publishedVersionIds());
+        data.pendingVersionIds().forEach((status, ids) -> queues.put(status, new ConcurrentLinkedQueue<>(ids)));
+
+        List<String> names = new ArrayList<>(settings.workload().keySet());
+        for (String name : names) {
+            if (!OPERATIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown workload operation '" + name + "', expected one of " + OPERATIONS);
+            }
+        }
+        operations = names.toArray(String[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.workload().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Result run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        log.info("🚀 Replaying workload {} with {} virtual users: {}s warmup + {}s measured",
+                settings.workload(), settings.virtualUsers(), settings.warmupSeconds(), settings.durationSeconds());
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < settings.virtualUsers(); i++) {
+            Thread user = new Thread(() -> virtualUser(report, measureStart, end), "load-test-vu-" + i);
+            user.start();
+            users.add(user);
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        return new Result(report, Duration.ofNanos(System.nanoTime() - measureStart));
+    }
+
+    private void virtualUser(LatencyReport report, long measureStart, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean measured = now >= measureStart;
+            String operation = pick(random);
+            Call call = prepare(operation, random);
+            if (call == null) {
+                if (measured) {
+                    report.skip(operation);
+                }
+                // Hết đề cương ở trạng thái cần: nhường cho thao tác khác thay vì quay vòng rỗng
+                Thread.onSpinWait();
+                continue;
+            }
+            String[] header = auth.header(call.actor());
+            HttpRequest request = call.request()
+                    .header(header[0], header[1])
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            int status;
+            long start = System.nanoTime();
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                log.debug("{} failed: {}", operation, e.getMessage());
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (status >= 200 && status < 300 && call.onSuccess() != null) {
+                call.onSuccess().run();
+            }
+            if (measured) {
+                report.record(operation, elapsed, status);
+            }
+        }
+    }
+
+    private String pick(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    // =============================================
+    // OPERATIONS
+    // =============================================
+
+    private Call prepare(String operation, ThreadLocalRandom random) {
+        LoadTestSeeder.Actor student = data.students().get(random.nextInt(data.students().size()));
+        LoadTestSeeder.Actor admin = data.staff().get("ADMIN");
+        return switch (operation) {
+            case "student-list" -> new Call(student, get("/api/student/syllabi"), null);
+            case "student-detail" -> new Call(student, get("/api/student/syllabi/" + randomPublished(random)), null);
+            case "student-pdf" -> new Call(student, get("/api/student/syllabi/" + randomPublished(random) + "/pdf"), null);
+            case "track" -> new Call(student, post("/api/student/syllabi/" + randomPublished(random) + "/track"), null);
+            case "notifications" -> new Call(student, get("/api/notifications"), null);
+            case "unread-count" -> new Call(student, get("/api/notifications/unread-count"), null);
+            case "syllabus-list" -> new Call(admin, get("/api/syllabi?page=" + random.nextInt(5) + "&size=20"), null);
+            case "syllabus-detail" -> new Call(admin, get("/api/syllabi/" + randomPublished(random)), null);
+            case "approve" -> approve(random);
+            case "publish" -> publish();
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        };
+    }
+
+    private Call approve(ThreadLocalRandom random) {
+        int offset = random.nextInt(APPROVAL_STAGES.size());
+        for (int i = 0; i < APPROVAL_STAGES.size(); i++) {
+            int stage = (offset + i) % APPROVAL_STAGES.size();
+            UUID id = queue(APPROVAL_STAGES.get(stage)).poll();
+            if (id == null) {
+                continue;
+            }
+            String actor = switch (APPROVAL_STAGES.get(stage)) {
+                case PENDING_HOD -> "HOD";
+                case PENDING_AA -> "AA";
+                default -> "PRINCIPAL";
+            };
+            SyllabusStatus next = stage + 1 < APPROVAL_STAGES.size() ? APPROVAL_STAGES.get(stage + 1) : SyllabusStatus.APPROVED;
+            return new Call(data.staff().get(actor), patch("/api/syllabi/" + id + "/approve", "{\"comment\":\"load test\"}"),
+                    () -> queue(next).add(id));
+        }
+        return null;
+    }
+
+    private Call publish() {
+        UUID id = queue(SyllabusStatus.APPROVED).poll();
+        if (id == null) {
+            return null;
+        }
+        return new Call(data.staff().get("ADMIN"), patch("/api/syllabi/" + id + "/publish", "{\"comment\":\"load test\"}"),
+                () -> publishedIds.add(id));
+    }
+
+    private UUID randomPublished(ThreadLocalRandom random) {
+        return publishedIds.get(random.nextInt(publishedIds.size()));
+    }
+
+    private Queue<UUID> queue(SyllabusStatus status) {
+        return queues.computeIfAbsent(status, key -> new ConcurrentLinkedQueue<>());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(HttpRequest.BodyPublishers.noBody());
+    }
+
+    private HttpRequest.Builder patch(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json));
+    }
+}
@@ -0,0 +1,101 @@
+package vn.edu.smd.core.module.ai.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import vn.edu.smd.core.common.exception.BulkheadFullException;
+import vn.edu.smd.core.config.RabbitMQConfig;
+import vn.edu.smd.core.module.ai.dto.AIResultMessage;
+import vn.edu.smd.core.module.ai.service.AITaskService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIResultListenerTest {
+
+    private AITaskService aiTaskService;
+    private RabbitTemplate rabbitTemplate;
+    private AIResultListener listener;
+
+    @BeforeEach
+    void setUp() {
+        aiTaskService = mock(AITaskService.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        listener = new AIResultListener(aiTaskService, rabbitTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validResultsAreAppliedAsOneBatch() {
+        listener.receiveAIResults(List.of(
+                message("{\"messageId\":\"t1\",\"action\":\"MAP_CLO_PLO\",\"status\":\"SUCCESS\",\"progress\":100,\"result\":{\"score\":0.9}}"),
+                message("{\"messageId\":\"t2\",\"status\":\"ERROR\",\"progress\":0,\"errorMessage\":\"timeout\",\"extra\":1}")));
+
+        ArgumentCaptor<List<AIResultMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aiTaskService).applyResults(captor.capture());
+        assertThat(captor.getValue()).extracting(AIResultMessage::getMessageId).containsExactly("t1", "t2");
+        verify(rabbitTemplate, never()).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void malformedResultsGoToDeadLetterQueueWithoutBlockingTheBatch() {
+        Message unreadable = message("not json");
+        Message unknownStatus = message("{\"messageId\":\"t2\",\"status\":\"WHATEVER\"}");
+        Message missingId = message("{\"status\":\"SUCCESS\"}");
+
+        listener.receiveAIResults(List.of(unreadable, unknownStatus, missingId,
+                message("{\"messageId\":\"t4\",\"status\":\"SUCCESS\",\"progress\":100}")));
+
+        verify(rabbitTemplate).send("", RabbitMQConfig.QUEUE_AI_RESULT_DLQ, unreadable);
+        verify(rabbitTemplate).send("", RabbitMQConfig.QUEUE_AI_RESULT_DLQ, unknownStatus);
+        verify(rabbitTemplate).send("", RabbitMQConfig.QUEUE_AI_RESULT_DLQ, missingId);
+        assertThat((String) unknownStatus.getMessageProperties().getHeader(AIResultListener.DEAD_LETTER_REASON_HEADER))
+                .contains("WHATEVER");
+
+        ArgumentCaptor<List<AIResultMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aiTaskService).applyResults(captor.capture());
+        assertThat(captor.getValue()).extracting(AIResultMessage::getMessageId).containsExactly("t4");
+    }
+
+    @Test
+    void redisBulkheadFullRequeuesTheBatch() {
+        when(aiTaskService.applyResults(anyList())).thenThrow(new BulkheadFullException("Bulkhead redis is full"));
+
+        assertThatThrownBy(() -> listener.receiveAIResults(List.of(
+                message("{\"messageId\":\"t1\",\"status\":\"SUCCESS\",\"progress\":100}"))))
+                .isInstanceOf(ImmediateRequeueAmqpException.class);
+        verify(rabbitTemplate, never()).send(eq(""), eq(RabbitMQConfig.QUEUE_AI_RESULT_DLQ), any(Message.class));
+    }
+
+    @Test
+    void terminalStatusOutranksAnyProgress() {
+        AIResultMessage processing = AIResultMessage.builder().messageId("t").status("PROCESSING").progress(100).build();
+        AIResultMessage success = AIResultMessage.builder().messageId("t").status("SUCCESS").progress(100).build();
+        AIResultMessage error = AIResultMessage.builder().messageId("t").status("ERROR").progress(0).build();
+
+        assertThat(success.rank()).isGreaterThan(processing.rank());
+        assertThat(error.rank()).isEqualTo(success.rank());
+        assertThat(AIResultMessage.builder().messageId("t").status("PROCESSING").progress(140).build().validate())
+                .contains("out of range");
+    }
+
+    private static Message message(String json) {
+        return new Message(json.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    }
+}
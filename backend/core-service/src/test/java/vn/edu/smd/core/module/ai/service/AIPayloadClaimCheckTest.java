@@ -0,0 +1,134 @@
+package vn.edu.smd.core.module.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AIPayloadClaimCheckTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RedisStringCommands stringCommands;
+    private RedisKeyCommands keyCommands;
+    private SimpleMeterRegistry meterRegistry;
+    private AIPayloadClaimCheck claimCheck;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        keyCommands = mock(RedisKeyCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+
+        meterRegistry = new SimpleMeterRegistry();
+        claimCheck = new AIPayloadClaimCheck(redisTemplate,
+                new BulkheadRegistry(new MockEnvironment(), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(claimCheck, "enabled", true);
+        ReflectionTestUtils.setField(claimCheck, "thresholdBytes", 1024);
+        ReflectionTestUtils.setField(claimCheck, "ttlMinutes", 120L);
+    }
+
+    @Test
+    void smallPayloadStaysInline() {
+        Map<String, Object> payload = Map.of("syllabus_id", "s1", "strict_mode", true);
+
+        assertThat(claimCheck.externalize("MAP_CLO_PLO", payload)).isSameAs(payload);
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void largePayloadIsReplacedByReferenceToGzipBlob() throws Exception {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class), any())).thenReturn(true);
+        Map<String, Object> payload = comparePayload();
+
+        Map<String, Object> queued = claimCheck.externalize("COMPARE_VERSIONS", payload);
+
+        assertThat(queued).containsEntry("old_version_id", "v1").doesNotContainKeys("old_version", "new_version");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> reference = (Map<String, Object>) queued.get(AIPayloadClaimCheck.CLAIM_CHECK_FIELD);
+        AIPayloadClaimCheck.EncodedPayload encoded = claimCheck.encode(payload);
+        assertThat(reference).containsEntry("key", "ai:payload:" + encoded.sha256()).containsEntry("encoding", "gzip");
+
+        // Blob giải nén ra đúng payload gốc
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            JsonNode restored = new ObjectMapper().readTree(in.readAllBytes());
+            assertThat(restored.get("old_version").get("content").get("description").asText()).startsWith("Môn học");
+            assertThat(restored.get("comparison_depth").asText()).isEqualTo("DETAILED");
+        }
+        assertThat(encoded.gzip().length).isLessThan(encoded.jsonBytes());
+        assertThat(meterRegistry.counter("smd.ai.claim_check.blobs", "action", "COMPARE_VERSIONS", "result", "stored").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void identicalPayloadReusesStoredBlobAndRefreshesTtl() {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class), any())).thenReturn(false);
+        Map<String, Object> first = comparePayload();
+        Map<String, Object> reordered = new HashMap<>();
+        List.of("comparison_depth", "new_version", "old_version", "old_version_id").forEach(key -> reordered.put(key, first.get(key)));
+
+        claimCheck.externalize("COMPARE_VERSIONS", first);
+        claimCheck.externalize("COMPARE_VERSIONS", reordered);
+
+        assertThat(claimCheck.encode(reordered).sha256()).isEqualTo(claimCheck.encode(first).sha256());
+        byte[] key = claimCheck.encode(first).key().getBytes(StandardCharsets.UTF_8);
+        verify(keyCommands, times(2)).expire(eq(key), anyLong());
+        assertThat(meterRegistry.counter("smd.ai.claim_check.blobs", "action", "COMPARE_VERSIONS", "result", "reused").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void redisFailureFallsBackToInlinePayload() {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        Map<String, Object> payload = comparePayload();
+
+        assertThat(claimCheck.externalize("COMPARE_VERSIONS", payload)).isSameAs(payload);
+        assertThat(meterRegistry.counter("smd.ai.claim_check.blobs", "action", "COMPARE_VERSIONS", "result", "failed").count())
+                .isEqualTo(1);
+    }
+
+    private static Map<String, Object> comparePayload() {
+        Map<String, Object> content = new HashMap<>();
+        content.put("description", "Môn học cung cấp kiến thức nền tảng về quy trình phát triển phần mềm. ".repeat(40));
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("old_version_id", "v1");
+        payload.put("old_version", Map.of("version_no", "v1.0", "content", content));
+        payload.put("new_version", Map.of("version_no", "v1.1", "content", content));
+        payload.put("comparison_depth", "DETAILED");
+        return payload;
+    }
+}
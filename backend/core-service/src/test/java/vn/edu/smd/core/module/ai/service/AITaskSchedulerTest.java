@@ -0,0 +1,149 @@
+package vn.edu.smd.core.module.ai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import vn.edu.smd.core.common.bulkhead.BulkheadRegistry;
+import vn.edu.smd.core.common.exception.RateLimitExceededException;
+import vn.edu.smd.core.config.RabbitMQConfig;
+import vn.edu.smd.core.module.ai.dto.AIResultMessage;
+import vn.edu.smd.shared.dto.ai.AIMessageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AITaskSchedulerTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RabbitTemplate rabbitTemplate;
+    private MockEnvironment environment;
+    private SimpleMeterRegistry meterRegistry;
+    private AITaskScheduler scheduler;
+    private AITaskRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        environment = new MockEnvironment();
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadRegistry bulkheads = new BulkheadRegistry(environment, meterRegistry);
+        scheduler = new AITaskScheduler(redisTemplate, rabbitTemplate, bulkheads, meterRegistry, environment);
+        rateLimiter = new AITaskRateLimiter(redisTemplate, bulkheads, meterRegistry, environment);
+    }
+
+    // ==========================================
+    // WEIGHTED FAIR QUEUE
+    // ==========================================
+
+    @Test
+    void disabledSchedulerPublishesDirectly() {
+        environment.setProperty("app.ai.scheduler.enabled", "false");
+
+        assertThat(scheduler.submit(RabbitMQConfig.ROUTING_KEY_SUMMARIZE, message("SUMMARIZE_SYLLABUS"), 1)).isNull();
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EXCHANGE_DIRECT), eq(RabbitMQConfig.ROUTING_KEY_SUMMARIZE),
+                any(AIMessageRequest.class), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redisFailureFallsBackToDirectPublish() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(values).set(any(), any(), any(Duration.class));
+
+        assertThat(scheduler.submit(RabbitMQConfig.ROUTING_KEY_PROCESS, message("MAP_CLO_PLO"), 5)).isNull();
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.EXCHANGE_DIRECT), eq(RabbitMQConfig.ROUTING_KEY_PROCESS),
+                any(AIMessageRequest.class), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    void etaGrowsWithQueuePositionAndWorkerCapacity() {
+        environment.setProperty("app.ai.scheduler.processing.worker-capacity", "2");
+
+        // 7s mặc định cho MAP_CLO_PLO: đang chạy (1 lượt) + xử lý chính task
+        assertThat(scheduler.estimateEtaSeconds("MAP_CLO_PLO", 0)).isEqualTo(14);
+        assertThat(scheduler.estimateEtaSeconds("MAP_CLO_PLO", 1)).isEqualTo(14);
+        assertThat(scheduler.estimateEtaSeconds("MAP_CLO_PLO", 4)).isEqualTo(28);
+        // Đã được gửi cho worker: chỉ còn thời gian xử lý
+        assertThat(scheduler.estimateEtaSeconds("MAP_CLO_PLO", null)).isEqualTo(7);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void completedTasksUpdateAverageProcessingTime() {
+        when(redisTemplate.opsForZSet()).thenReturn(mock(ZSetOperations.class));
+
+        scheduler.release(List.of(AIResultMessage.builder().messageId("t1").action("SUMMARIZE_SYLLABUS")
+                .status("SUCCESS").progress(100).processingTimeMs(15_000).build()));
+
+        // EWMA bắt đầu từ giá trị cấu hình: 5s * 0.8 + 15s * 0.2 = 7s
+        assertThat(scheduler.estimateEtaSeconds("SUMMARIZE_SYLLABUS", null)).isEqualTo(7);
+        scheduler.release(List.of(AIResultMessage.builder().messageId("t2").action("SUMMARIZE_SYLLABUS")
+                .status("SUCCESS").progress(100).processingTimeMs(25_000).build()));
+        // 7s * 0.8 + 25s * 0.2 = 10.6s
+        assertThat(scheduler.estimateEtaSeconds("SUMMARIZE_SYLLABUS", null)).isEqualTo(11);
+    }
+
+    // ==========================================
+    // TOKEN BUCKET
+    // ==========================================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void emptyBucketIsRejectedWithRetryAfter() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(0L, 2_500L));
+
+        assertThatThrownBy(() -> rateLimiter.acquire("u1", "SUMMARIZE_SYLLABUS"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(meterRegistry.counter("smd.ai.scheduler.rate_limited", "action", "SUMMARIZE_SYLLABUS").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bucketIsKeyedPerUserAndAction() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(1L, 0L));
+
+        assertThatCode(() -> rateLimiter.acquire("u1", "COMPARE_VERSIONS")).doesNotThrowAnyException();
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ai:ratelimit:u1:COMPARE_VERSIONS")), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void limiterFailsOpenWhenRedisIsDown() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatCode(() -> rateLimiter.acquire("u1", "MAP_CLO_PLO")).doesNotThrowAnyException();
+    }
+
+    private static AIMessageRequest message(String action) {
+        return AIMessageRequest.builder().messageId("t-" + action).action(action).userId("u1")
+                .payload(Map.of("syllabus_id", "s1")).build();
+    }
+}
@@ -0,0 +1,267 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.entity.AcademicTerm;
+import vn.edu.smd.core.entity.ApprovalHistory;
+import vn.edu.smd.core.entity.Notification;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.entity.SyllabusVersion;
+import vn.edu.smd.core.entity.TeachingAssignment;
+import vn.edu.smd.core.entity.User;
+import vn.edu.smd.core.module.syllabus.dto.BulkSyllabusDecisionRequest;
+import vn.edu.smd.core.module.syllabus.dto.BulkSyllabusDecisionResponse;
+import vn.edu.smd.core.module.syllabus.event.SyllabusPublicationChangedEvent;
+import vn.edu.smd.core.repository.ApprovalHistoryRepository;
+import vn.edu.smd.core.repository.NotificationRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+import vn.edu.smd.core.repository.TeachingAssignmentRepository;
+import vn.edu.smd.core.repository.UserRepository;
+import vn.edu.smd.core.security.UserPrincipal;
+import vn.edu.smd.core.service.FCMService;
+import vn.edu.smd.core.service.SyllabusFollowerService;
+import vn.edu.smd.shared.enums.AssignmentStatus;
+import vn.edu.smd.shared.enums.SyllabusStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyllabusBulkDecisionServiceTest {
+
+    private SyllabusVersionRepository syllabusVersionRepository;
+    private TeachingAssignmentRepository teachingAssignmentRepository;
+    private ApprovalHistoryRepository approvalHistoryRepository;
+    private NotificationRepository notificationRepository;
+    private UserRepository userRepository;
+    private SyllabusFollowerService followerService;
+    private ApplicationEventPublisher eventPublisher;
+    private SyllabusBulkDecisionService service;
+
+    private final AcademicTerm term = AcademicTerm.builder().id(UUID.randomUUID()).build();
+    private final User principal = user("Hiệu trưởng");
+    private final User lecturer = user("Giảng viên");
+    private final User hod = user("Trưởng bộ môn");
+    private final List<User> aaUsers = List.of(user("AA 1"), user("AA 2"));
+    private final List<User> admins = List.of(user("Admin"));
+    private final List<SyllabusVersion> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        syllabusVersionRepository = mock(SyllabusVersionRepository.class);
+        teachingAssignmentRepository = mock(TeachingAssignmentRepository.class);
+        approvalHistoryRepository = mock(ApprovalHistoryRepository.class);
+        notificationRepository = mock(NotificationRepository.class);
+        userRepository = mock(UserRepository.class);
+        followerService = mock(SyllabusFollowerService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new SyllabusBulkDecisionService(syllabusVersionRepository, teachingAssignmentRepository,
+                approvalHistoryRepository, notificationRepository, userRepository, followerService, eventPublisher,
+                mock(FCMService.class));
+        ReflectionTestUtils.setField(service, "maxItems", 5);
+
+        when(syllabusVersionRepository.findByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return stored.stream().filter(s -> ids.contains(s.getId())).toList();
+        });
+        when(userRepository.findByIdWithRoles(principal.getId())).thenReturn(Optional.of(principal));
+        when(userRepository.findByRoleName("AA")).thenReturn(aaUsers);
+        when(userRepository.findByRoleName("ADMIN")).thenReturn(admins);
+        when(userRepository.getReferenceById(any())).thenAnswer(invocation -> {
+            User student = new User();
+            student.setId(invocation.getArgument(0));
+            return student;
+        });
+        when(followerService.followersOf(any())).thenReturn(List.of());
+        // Notification id được gán khi persist
+        when(notificationRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(n -> n.setId(UUID.randomUUID()));
+            return notifications;
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(principal.getId(), principal.getEmail(), "", List.of()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void approvesValidItemsAndReportsInvalidOnesPerItem() {
+        SyllabusVersion hodStage = syllabus("SE101", SyllabusStatus.PENDING_HOD);
+        SyllabusVersion principalStage = syllabus("SE102", SyllabusStatus.PENDING_PRINCIPAL);
+        SyllabusVersion draft = syllabus("SE103", SyllabusStatus.DRAFT);
+        SyllabusVersion deleted = syllabus("SE104", SyllabusStatus.PENDING_AA);
+        deleted.setIsDeleted(true);
+        UUID missing = UUID.randomUUID();
+        TeachingAssignment assignment = assignment(hodStage);
+
+        BulkSyllabusDecisionResponse response = service.approve(request(null,
+                hodStage.getId(), principalStage.getId(), draft.getId(), deleted.getId(), missing, hodStage.getId()));
+
+        assertThat(response.getRequested()).isEqualTo(5);
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        Map<UUID, BulkSyllabusDecisionResponse.ItemResult> items = response.getItems().stream()
+                .collect(Collectors.toMap(BulkSyllabusDecisionResponse.ItemResult::getSyllabusId, Function.identity()));
+        assertThat(items.get(hodStage.getId()).getToStatus()).isEqualTo(SyllabusStatus.PENDING_AA);
+        assertThat(items.get(principalStage.getId()).getToStatus()).isEqualTo(SyllabusStatus.APPROVED);
+        assertThat(items.get(draft.getId()).getError()).contains("DRAFT");
+        assertThat(items.get(deleted.getId()).isSuccess()).isFalse();
+        assertThat(items.get(missing).getError()).isEqualTo("Syllabus not found");
+
+        assertThat(hodStage.getStatus()).isEqualTo(SyllabusStatus.PENDING_AA);
+        assertThat(principalStage.getStatus()).isEqualTo(SyllabusStatus.APPROVED);
+        assertThat(draft.getStatus()).isEqualTo(SyllabusStatus.DRAFT);
+        assertThat(assignment.getStatus()).isEqualTo(AssignmentStatus.COMPLETED);
+
+        List<ApprovalHistory> histories = savedHistories();
+        assertThat(histories).hasSize(2)
+                .allSatisfy(h -> assertThat(h.getBatchId()).isEqualTo(response.getBatchId()));
+
+        // 2 AA nhận thông báo SE101, admin nhận thông báo SE102
+        List<Notification> notifications = savedNotifications();
+        assertThat(notifications).extracting(n -> n.getUser().getId())
+                .containsExactlyInAnyOrder(aaUsers.get(0).getId(), aaUsers.get(1).getId(), admins.get(0).getId());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void combinesNotificationsPerRecipientAndStudent() {
+        SyllabusVersion first = syllabus("SE201", SyllabusStatus.PENDING_HOD);
+        SyllabusVersion second = syllabus("SE202", SyllabusStatus.PENDING_HOD);
+        SyllabusVersion third = syllabus("SE203", SyllabusStatus.APPROVED);
+        UUID student = UUID.randomUUID();
+        when(followerService.followersOf(first.getId())).thenReturn(List.of(student));
+        when(followerService.followersOf(third.getId())).thenReturn(List.of(student));
+
+        service.approve(request("ok", first.getId(), second.getId(), third.getId()));
+
+        List<Notification> notifications = savedNotifications();
+        // mỗi AA một thông báo cho cả 2 đề cương, sinh viên một thông báo cho 2 đề cương đang theo dõi
+        assertThat(notifications).hasSize(3);
+        Notification aaNotification = notifications.stream()
+                .filter(n -> n.getUser().getId().equals(aaUsers.get(0).getId())).findFirst().orElseThrow();
+        assertThat(aaNotification.getType()).isEqualTo("SYLLABUS_AA_REVIEW");
+        assertThat(aaNotification.getTitle()).contains("2 đề cương");
+        assertThat(aaNotification.getMessage()).contains("SE201", "SE202");
+        Notification studentNotification = notifications.stream()
+                .filter(n -> n.getUser().getId().equals(student)).findFirst().orElseThrow();
+        assertThat(studentNotification.getMessage()).contains("SE201", "SE203", "xuất hành");
+        assertThat(third.getPublishedAt()).isNotNull();
+        verify(eventPublisher).publishEvent(any(SyllabusPublicationChangedEvent.class));
+    }
+
+    @Test
+    void rejectNotifiesLecturerOnceAndHodForLaterStages() {
+        SyllabusVersion atAa = syllabus("SE301", SyllabusStatus.PENDING_AA);
+        SyllabusVersion atHod = syllabus("SE302", SyllabusStatus.PENDING_HOD);
+        SyllabusVersion published = syllabus("SE303", SyllabusStatus.PUBLISHED);
+        assignment(atAa);
+
+        BulkSyllabusDecisionResponse response = service.reject(request("Thiếu CLO",
+                atAa.getId(), atHod.getId(), published.getId()));
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(atAa.getStatus()).isEqualTo(SyllabusStatus.REJECTED);
+        assertThat(atAa.getUnpublishReason()).isEqualTo("Thiếu CLO");
+        assertThat(published.getStatus()).isEqualTo(SyllabusStatus.PUBLISHED);
+
+        List<Notification> notifications = savedNotifications();
+        assertThat(notifications).extracting(n -> n.getUser().getId())
+                .containsExactlyInAnyOrder(lecturer.getId(), hod.getId());
+        Notification toLecturer = notifications.stream()
+                .filter(n -> n.getUser().getId().equals(lecturer.getId())).findFirst().orElseThrow();
+        assertThat(toLecturer.getType()).isEqualTo("SYLLABUS_REJECTED");
+        assertThat(toLecturer.getMessage()).contains("SE301", "SE302", "Thiếu CLO");
+    }
+
+    @Test
+    void rejectsRequestsWithoutReasonOrOverTheLimit() {
+        assertThatThrownBy(() -> service.reject(request(" ", UUID.randomUUID())))
+                .isInstanceOf(BadRequestException.class);
+        UUID[] tooMany = new UUID[6];
+        for (int i = 0; i < tooMany.length; i++) {
+            tooMany[i] = UUID.randomUUID();
+        }
+        assertThatThrownBy(() -> service.approve(request(null, tooMany)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private SyllabusVersion syllabus(String code, SyllabusStatus status) {
+        SyllabusVersion syllabus = new SyllabusVersion();
+        syllabus.setId(UUID.randomUUID());
+        syllabus.setSubject(Subject.builder().id(UUID.randomUUID()).code(code).build());
+        syllabus.setAcademicTerm(term);
+        syllabus.setSnapSubjectCode(code);
+        syllabus.setSnapSubjectNameVi("Môn " + code);
+        syllabus.setStatus(status);
+        syllabus.setIsDeleted(false);
+        syllabus.setCreatedBy(lecturer);
+        stored.add(syllabus);
+        return syllabus;
+    }
+
+    private TeachingAssignment assignment(SyllabusVersion syllabus) {
+        TeachingAssignment assignment = new TeachingAssignment();
+        assignment.setId(UUID.randomUUID());
+        assignment.setSubject(syllabus.getSubject());
+        assignment.setAcademicTerm(term);
+        assignment.setAssignedBy(hod);
+        assignment.setStatus(AssignmentStatus.SUBMITTED);
+        when(teachingAssignmentRepository.findBySubjectIdIn(any())).thenReturn(List.of(assignment));
+        return assignment;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(UUID.randomUUID() + "@smd.edu.vn");
+        user.setFullName(name);
+        return user;
+    }
+
+    private static BulkSyllabusDecisionRequest request(String comment, UUID... ids) {
+        BulkSyllabusDecisionRequest request = new BulkSyllabusDecisionRequest();
+        request.setSyllabusIds(List.of(ids));
+        request.setComment(comment);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ApprovalHistory> savedHistories() {
+        ArgumentCaptor<List<ApprovalHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(approvalHistoryRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Notification> savedNotifications() {
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,84 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.smd.core.repository.projection.SyllabusContentSections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyllabusContentReaderTest {
+
+    private final UUID id = UUID.randomUUID();
+    private final Query query = mock(Query.class);
+    private SyllabusContentReader reader;
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        reader = new SyllabusContentReader(new ObjectMapper());
+        ReflectionTestUtils.setField(reader, "entityManager", entityManager);
+    }
+
+    @Test
+    void sectionsSqlBindsEveryKeyInsteadOfInliningIt() {
+        String sql = SyllabusContentReader.sectionsSql(List.of("clos", "objectives"));
+
+        assertThat(sql).contains("jsonb_build_object(CAST(:k0 AS text), s.content -> CAST(:k0 AS text), "
+                + "CAST(:k1 AS text), s.content -> CAST(:k1 AS text))");
+        assertThat(sql).doesNotContain("'clos'").contains("s.is_deleted = false");
+        assertThatThrownBy(() -> SyllabusContentReader.sectionsSql(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SyllabusContentReader.sectionsSql(
+                Collections.nCopies(SyllabusContentReader.MAX_KEYS + 1, "k")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mapsRowAndParsesRequestedSections() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Lập trình Java", 3, 30, null,
+                "{\"clos\": [{\"code\": \"CLO1\"}], \"objectives\": null}"});
+        when(query.getResultList()).thenReturn(rows);
+
+        Optional<SyllabusContentSections> result = reader.readSections(id, List.of("clos", "objectives"));
+
+        assertThat(result).hasValueSatisfying(sections -> {
+            assertThat(sections.subjectNameVi()).isEqualTo("Lập trình Java");
+            assertThat(sections.creditCount()).isEqualTo(3);
+            assertThat(sections.practiceHours()).isNull();
+            assertThat(sections.sections()).containsKey("objectives").containsEntry("objectives", null);
+            assertThat(sections.sections().get("clos")).asList().hasSize(1);
+        });
+        verify(query).setParameter("k0", "clos");
+        verify(query).setParameter("k1", "objectives");
+        verify(query).setParameter("id", id);
+    }
+
+    @Test
+    void emptyWhenMissingAndNullSectionsWhenContentIsNull() {
+        when(query.getResultList()).thenReturn(List.of());
+        assertThat(reader.readSections(id, List.of("clos"))).isEmpty();
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"Mạng máy tính", 3, 0, 0, null});
+        when(query.getResultList()).thenReturn(rows);
+        assertThat(reader.readSections(id, List.of("clos"))).get()
+                .extracting(SyllabusContentSections::sections).isNull();
+    }
+}
@@ -0,0 +1,126 @@
+package vn.edu.smd.core.module.syllabus.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import vn.edu.smd.core.common.exception.BadRequestException;
+import vn.edu.smd.core.module.student.dto.StudentSyllabusDetailDto;
+import vn.edu.smd.core.module.student.service.PdfService;
+import vn.edu.smd.core.module.student.service.StudentSyllabusService;
+import vn.edu.smd.core.module.syllabus.dto.SyllabusExportRequest;
+import vn.edu.smd.core.repository.CurriculumRepository;
+import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.SyllabusVersionRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SyllabusPdfExportServiceTest {
+
+    private StudentSyllabusService studentSyllabusService;
+    private PdfService pdfService;
+    private SyllabusPdfExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        studentSyllabusService = mock(StudentSyllabusService.class);
+        pdfService = mock(PdfService.class);
+        exportService = new SyllabusPdfExportService(mock(SyllabusVersionRepository.class), mock(CurriculumRepository.class),
+                mock(FacultyRepository.class), studentSyllabusService, pdfService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(exportService, "parallelism", 3);
+        when(pdfService.generateSyllabusPdf(any())).thenAnswer(invocation -> {
+            StudentSyllabusDetailDto data = invocation.getArgument(0);
+            // Bản đầu render chậm hơn: thứ tự entry vẫn phải theo thứ tự items
+            if ("SE100".equals(data.getCode())) {
+                Thread.sleep(50);
+            }
+            return ("%PDF " + data.getCode()).getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+    }
+
+    @Test
+    void writesEntriesInItemOrderAndListsFailures() throws Exception {
+        List<SyllabusPdfExportService.ExportItem> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(item("SE1" + String.format("%02d", i), "V1.0"));
+        }
+        when(studentSyllabusService.getPublishedDetail(eq(items.get(4).versionId())))
+                .thenThrow(new BadRequestException("Đề cương chưa được xuất bản!"));
+        SyllabusPdfExportService.ExportJob job = job(items);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeZip(job, out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(entries.keySet()).startsWith("SE100_V1.0.pdf", "SE101_V1.0.pdf", "SE102_V1.0.pdf", "SE103_V1.0.pdf", "SE105_V1.0.pdf")
+                .doesNotContain("SE104_V1.0.pdf")
+                .endsWith("_errors.txt");
+        assertThat(entries.get("SE100_V1.0.pdf")).isEqualTo("%PDF SE100");
+        assertThat(entries.get("_errors.txt")).contains("SE104").contains("chưa được xuất bản");
+        assertThat(job.completed.get()).isEqualTo(9);
+        assertThat(job.failed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateEntryNamesAreSuffixed() throws Exception {
+        SyllabusPdfExportService.ExportJob job = job(List.of(item("SE100", "V1.0"), item("SE100", "V1.0"), item("SE/200", "V2.0")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeZip(job, out);
+
+        assertThat(unzip(out.toByteArray()).keySet()).containsExactly("SE100_V1.0.pdf", "SE100_V1.0-2.pdf", "SE_200_V2.0.pdf");
+    }
+
+    @Test
+    void rejectsRequestWithoutExactlyOneScope() {
+        SyllabusExportRequest both = new SyllabusExportRequest();
+        both.setCurriculumId(UUID.randomUUID());
+        both.setFacultyId(UUID.randomUUID());
+
+        assertThatThrownBy(() -> exportService.startExport(new SyllabusExportRequest())).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> exportService.startExport(both)).isInstanceOf(BadRequestException.class);
+    }
+
+    private SyllabusPdfExportService.ExportItem item(String subjectCode, String versionNo) {
+        SyllabusPdfExportService.ExportItem item = new SyllabusPdfExportService.ExportItem(UUID.randomUUID(), subjectCode, versionNo);
+        when(studentSyllabusService.getPublishedDetail(eq(item.versionId())))
+                .thenReturn(StudentSyllabusDetailDto.builder().code(subjectCode).build());
+        return item;
+    }
+
+    private static SyllabusPdfExportService.ExportJob job(List<SyllabusPdfExportService.ExportItem> items) {
+        return new SyllabusPdfExportService.ExportJob(UUID.randomUUID(), "aa", "CURRICULUM SE", "syllabi_SE.zip", items);
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,56 @@
+package vn.edu.smd.core.observability;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+/**
+ * MockMvc helpers để giới hạn số câu SQL của một endpoint
+ *
+ * Ví dụ:
+ * <pre>
+ * mockMvc.perform(get("/api/subjects"))
+ *        .andExpect(status().isOk())
+ *        .andExpect(SqlStatementAssertions.maxStatements(5))
+ *        .andExpect(SqlStatementAssertions.noRepeatedStatementAbove(3));
+ * </pre>
+ *
+ * Yêu cầu SqlStatementMetricsFilter được đăng ký trong MockMvc (mặc định với @AutoConfigureMockMvc).
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            SqlRequestStats stats = stats(result);
+            if (stats.getStatementCount() > max) {
+                throw new AssertionError(String.format(
+                        "Expected at most %d SQL statements for %s but %d were executed: %s",
+                        max, result.getRequest().getRequestURI(), stats.getStatementCount(),
+                        stats.getStatementCounts()));
+            }
+        };
+    }
+
+    public static ResultMatcher noRepeatedStatementAbove(int max) {
+        return result -> {
+            Map.Entry<String, Integer> repeated = stats(result).getMostRepeatedStatement();
+            if (repeated != null && repeated.getValue() > max) {
+                throw new AssertionError(String.format(
+                        "Statement executed %d times for %s (max %d), possible N+1: %s",
+                        repeated.getValue(), result.getRequest().getRequestURI(), max, repeated.getKey()));
+            }
+        };
+    }
+
+    private static SqlRequestStats stats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStatementMetricsFilter.STATS_ATTRIBUTE);
+        if (!(stats instanceof SqlRequestStats)) {
+            throw new AssertionError("No SQL statistics recorded - is SqlStatementMetricsFilter registered?");
+        }
+        return (SqlRequestStats) stats;
+    }
+}
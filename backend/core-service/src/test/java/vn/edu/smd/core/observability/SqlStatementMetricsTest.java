@@ -0,0 +1,142 @@
+package vn.edu.smd.core.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import vn.edu.smd.core.CoreServiceApplication;
+import vn.edu.smd.core.RabbitMQTestSender;
+import vn.edu.smd.core.TestPasswordApp;
+import vn.edu.smd.core.entity.Department;
+import vn.edu.smd.core.entity.Faculty;
+import vn.edu.smd.core.entity.Subject;
+import vn.edu.smd.core.repository.DepartmentRepository;
+import vn.edu.smd.core.repository.FacultyRepository;
+import vn.edu.smd.core.repository.SubjectRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Đếm SQL thật của endpoint /api/subjects trên H2 (profile "test")
+ *
+ * - GET /api/subjects (phân trang) gọi findBySubjectId cho từng môn → phải bị gắn cờ N+1
+ * - GET /api/subjects/{id} chỉ được chạy vài câu SQL, không câu nào lặp lại
+ */
+@SpringBootTest(classes = SqlStatementMetricsTest.TestApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class SqlStatementMetricsTest {
+
+    private static final int SUBJECT_COUNT = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FacultyRepository facultyRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    private List<Subject> subjects;
+
+    @BeforeEach
+    void seed() {
+        Faculty faculty = facultyRepository.save(Faculty.builder().code("CNTT").name("Khoa CNTT").build());
+        Department department = departmentRepository.save(Department.builder()
+                .faculty(faculty).code("KTPM").name("Bộ môn KTPM").build());
+        subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECT_COUNT; i++) {
+            subjects.add(subjectRepository.save(Subject.builder()
+                    .code("SE" + (100 + i))
+                    .department(department)
+                    .currentNameVi("Môn học " + i)
+                    .defaultCredits(3)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        subjectRepository.deleteAll();
+        departmentRepository.deleteAll();
+        facultyRepository.deleteAll();
+    }
+
+    @Test
+    void pagedSubjectListIsFlaggedAsNPlusOne() throws Exception {
+        double before = nPlusOneCount("/api/subjects");
+
+        MvcResult result = mockMvc.perform(get("/api/subjects").param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlRequestStats stats = (SqlRequestStats) result.getRequest().getAttribute(SqlStatementMetricsFilter.STATS_ATTRIBUTE);
+        assertThat(stats.getMostRepeatedStatement().getValue()).isGreaterThanOrEqualTo(SUBJECT_COUNT);
+        assertThat(stats.getStatementCount()).isGreaterThan(SUBJECT_COUNT);
+        assertThat(stats.getJdbcTimeNanos()).isPositive();
+        assertThat(nPlusOneCount("/api/subjects")).isEqualTo(before + 1);
+        assertThat(meterRegistry.find("smd.sql.statements")
+                .tags("method", "GET", "uri", "/api/subjects").summary())
+                .isNotNull();
+    }
+
+    @Test
+    void subjectDetailStaysWithinStatementBudget() throws Exception {
+        double before = nPlusOneCount("/api/subjects/{id}");
+
+        mockMvc.perform(get("/api/subjects/{id}", subjects.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementAssertions.maxStatements(5))
+                .andExpect(SqlStatementAssertions.noRepeatedStatementAbove(1));
+
+        assertThat(nPlusOneCount("/api/subjects/{id}")).isEqualTo(before);
+    }
+
+    private double nPlusOneCount(String uri) {
+        Counter counter = meterRegistry.find("smd.sql.n_plus_one").tags("method", "GET", "uri", uri).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Không dùng CoreServiceApplication trực tiếp: component scan của nó kéo theo
+     * TestPasswordApp / RabbitMQTestSender (cũng là @SpringBootApplication) trong src/test.
+     * Gói loadtest có cấu hình riêng (RabbitTemplate giả) nên cũng bị loại.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("vn.edu.smd.core.entity")
+    @EnableJpaRepositories("vn.edu.smd.core")
+    @ComponentScan(basePackages = "vn.edu.smd.core", excludeFilters = {
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {CoreServiceApplication.class, RabbitMQTestSender.class, TestPasswordApp.class}),
+            @ComponentScan.Filter(type = FilterType.REGEX, pattern = "vn\\.edu\\.smd\\.core\\.loadtest\\..*")})
+    static class TestApplication {
+    }
+}
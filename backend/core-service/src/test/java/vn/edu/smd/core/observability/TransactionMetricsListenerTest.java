@@ -0,0 +1,79 @@
+package vn.edu.smd.core.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionExecution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private final TransactionMetricsListener listener = new TransactionMetricsListener(meterRegistry,
+            mock(ObjectProvider.class));
+
+    @Test
+    void recordsDurationAndOutboundCallsOfInnermostTransaction() {
+        TransactionExecution outer = transaction("vn.edu.smd.core.module.syllabus.service.SyllabusService.approveSyllabus", false);
+        TransactionExecution inner = transaction("vn.edu.smd.core.service.FCMService.saveToken", false);
+
+        listener.afterBegin(outer, null);
+        TransactionRecorder.recordOutboundCall("rabbitmq");
+        listener.afterBegin(inner, null);
+        TransactionRecorder.recordOutboundCall("fcm");
+        listener.afterCommit(inner, null);
+        TransactionRecorder.recordOutboundCall("fcm");
+        listener.afterRollback(outer, null);
+
+        assertThat(meterRegistry.timer("smd.tx.duration", "name", "SyllabusService.approveSyllabus",
+                "outcome", "rollback", "read_only", "false").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("smd.tx.duration", "name", "FCMService.saveToken",
+                "outcome", "commit", "read_only", "false").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("smd.tx.outbound_calls", "name", "SyllabusService.approveSyllabus",
+                "target", "fcm").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("smd.tx.outbound_calls", "name", "FCMService.saveToken",
+                "target", "fcm").count()).isEqualTo(1);
+        assertThat(TransactionRecorder.current()).isNull();
+        assertThat(listener.activeCount()).isZero();
+    }
+
+    @Test
+    void ignoresParticipatingTransactionsAndCountsSlowOnes() {
+        ReflectionTestUtils.setField(listener, "slowThresholdMs", 0L);
+        TransactionExecution participating = transaction("vn.edu.smd.core.X.y", false);
+        when(participating.isNewTransaction()).thenReturn(false);
+        TransactionExecution readOnly = transaction(null, true);
+
+        listener.afterBegin(participating, null);
+        listener.afterBegin(readOnly, null);
+        listener.sampleSlowTransactions();
+        listener.afterCommit(readOnly, null);
+        listener.afterCommit(participating, null);
+
+        assertThat(meterRegistry.find("smd.tx.duration").timers()).hasSize(1);
+        assertThat(meterRegistry.counter("smd.tx.slow", "name", TransactionMetricsListener.PROGRAMMATIC).count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shortNameKeepsTypeAndMethod() {
+        assertThat(TransactionMetricsListener.shortName("a.b.SubjectService.getAllSubjects"))
+                .isEqualTo("SubjectService.getAllSubjects");
+        assertThat(TransactionMetricsListener.shortName("noDots")).isEqualTo("noDots");
+        assertThat(TransactionMetricsListener.shortName("")).isEqualTo(TransactionMetricsListener.PROGRAMMATIC);
+    }
+
+    private static TransactionExecution transaction(String name, boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.getTransactionName()).thenReturn(name);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+}
@@ -0,0 +1,74 @@
+package vn.edu.smd.core.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayPrincipalVerifierTest {
+
+    private static final String SECRET = "principal-secret";
+    private static final UUID USER_ID = UUID.fromString("7d9f1c2e-2b6a-4c1e-9a51-0f6d2c8b9e11");
+
+    private GatewayPrincipalVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new GatewayPrincipalVerifier();
+        ReflectionTestUtils.setField(verifier, "enabled", true);
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        verifier.init();
+    }
+
+    @Test
+    void validHeaderBuildsPrincipalWithoutDatabase() {
+        UserPrincipal principal = verifier.verify(header(USER_ID + "|LECTURER,HOD|access|" + future() + "|gv@smd.edu.vn", SECRET));
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(USER_ID);
+        assertThat(principal.getEmail()).isEqualTo("gv@smd.edu.vn");
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("LECTURER", "HOD");
+    }
+
+    @Test
+    void headerSignedWithAnotherSecretIsIgnored() {
+        assertThat(verifier.verify(header(USER_ID + "|ADMIN|access|" + future() + "|a@b.c", "forged"))).isNull();
+    }
+
+    @Test
+    void expiredHeaderIsIgnored() {
+        long past = System.currentTimeMillis() / 1000 - 5;
+        assertThat(verifier.verify(header(USER_ID + "|ADMIN|access|" + past + "|a@b.c", SECRET))).isNull();
+    }
+
+    @Test
+    void malformedHeaderIsIgnored() {
+        assertThat(verifier.verify("not-a-principal")).isNull();
+        assertThat(verifier.verify(header("garbage", SECRET))).isNull();
+        assertThat(verifier.verify(null)).isNull();
+    }
+
+    private static long future() {
+        return System.currentTimeMillis() / 1000 + 60;
+    }
+
+    private static String header(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(bytes) + "." + encoder.encodeToString(mac.doFinal(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
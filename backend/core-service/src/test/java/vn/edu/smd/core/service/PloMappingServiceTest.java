@@ -0,0 +1,167 @@
+package vn.edu.smd.core.service;
+
+import org.junit.jupiter.api.Test;
+import vn.edu.smd.core.entity.PLO;
+import vn.edu.smd.core.service.matching.PloMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PloMappingServiceTest {
+
+    private static final List<String[]> SAMPLE_CLOS = List.of(
+            new String[]{"CLO1", "Áp dụng kiến thức toán học và thuật toán để giải quyết bài toán", "Apply"},
+            new String[]{"CLO2", "Phân tích, thiết kế và đánh giá kiến trúc hệ thống phần mềm", "Analyze"},
+            new String[]{"CLO3", "Thiết kế cơ sở dữ liệu và viết truy vấn SQL (query) để lưu trữ dữ liệu", "Create"},
+            new String[]{"CLO4", "Lập trình Java, Python và C++ để cài đặt thuật toán", "Apply"},
+            new String[]{"CLO5", "Làm việc nhóm, phối hợp và chia sẻ trong dự án", "Understand"},
+            new String[]{"CLO6", "Trình bày báo cáo và thuyết trình (presentation) trước lớp", "Remember"},
+            new String[]{"CLO7", "Tuân thủ đạo đức, trách nhiệm, bảo mật và an toàn thông tin", "Evaluate"},
+            new String[]{"CLO8", "Tự học, nghiên cứu công nghệ mới và cập nhật xu hướng phát triển", "Create"},
+            new String[]{"CLO9", "Viết code quản lý dữ liệu với database", "Apply"},
+            new String[]{"CLO10", "Mô tả mô hình yêu cầu của hệ thống", "Remember"},
+            new String[]{"CLO11", "", "Apply"},
+            new String[]{"CLO12", "Hiểu    LÝ THUYẾT   và CÔNG THỨC", "Understand"});
+
+    private final PloMappingService service = new PloMappingService(null);
+
+    // ==========================================
+    // Tương đương với cách chấm cũ (String.contains) trên bộ PLO1-PLO8
+    // ==========================================
+
+    @Test
+    void defaultMatcherProducesTheSameMappingsAsContainsScoring() {
+        List<Map<String, Object>> clos = SAMPLE_CLOS.stream().map(PloMappingServiceTest::clo).toList();
+
+        List<Map<String, Object>> expected = legacySuggest(clos);
+        List<Map<String, Object>> actual = service.suggestPloMappings(clos);
+
+        assertThat(actual).isNotEmpty().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void everySingleKeywordScoresLikeContains() {
+        List<Map<String, Object>> clos = new ArrayList<>();
+        PloMappingService.DEFAULT_PLO_KEYWORDS.values().forEach(keywords -> keywords.forEach(keyword ->
+                clos.add(clo(new String[]{"CLO-" + keyword, "Nội dung về " + keyword + " nâng cao", "Analyze"}))));
+
+        assertThat(service.suggestPloMappings(clos)).containsExactlyElementsOf(legacySuggest(clos));
+    }
+
+    // ==========================================
+    // Tách từ khóa từ mô tả PLO
+    // ==========================================
+
+    @Test
+    void bigramsDoNotCrossPunctuation() {
+        List<String> keywords = PloMappingService.extractKeywords("Phân tích, thiết kế hệ thống; đánh giá");
+
+        assertThat(keywords).contains("phân tích", "thiết kế", "kế hệ", "hệ thống", "đánh giá")
+                .doesNotContain("tích thiết", "thống đánh");
+    }
+
+    @Test
+    void genericPhrasesAndStopWordsAreDropped() {
+        List<String> keywords = PloMappingService.extractKeywords("Sinh viên có khả năng lập trình với Java");
+
+        assertThat(keywords).contains("lập trình", "java")
+                .doesNotContain("sinh viên", "khả năng", "có khả", "với java");
+    }
+
+    @Test
+    void keywordsSharedByMostPloCodesAreDropped() {
+        List<PLO> plos = List.of(
+                plo("PLO1", "Vận dụng kiến thức toán học"),
+                plo("PLO2", "Vận dụng kiến thức thiết kế hệ thống"),
+                plo("PLO3", "Vận dụng kiến thức cơ sở dữ liệu"),
+                plo("PLO4", "Lập trình thành thạo"));
+
+        List<PloMatcher.PloKeywords> sets = PloMappingService.buildKeywordSets(plos);
+
+        Set<String> all = new HashSet<>();
+        sets.forEach(set -> all.addAll(set.keywords()));
+        assertThat(all).doesNotContain("vận dụng", "dụng kiến", "kiến thức")
+                .contains("toán học", "thiết kế", "dữ liệu", "lập trình");
+    }
+
+    @Test
+    void eachDistinctDescriptionOfACodeIsScoredSeparately() {
+        List<PLO> plos = List.of(
+                plo("PLO1", "Thiết kế phần mềm"),
+                plo("PLO1", "Thiết kế phần mềm"),
+                plo("PLO1", "Kiểm thử và đảm bảo chất lượng theo quy trình chuẩn quốc tế"));
+
+        List<PloMatcher.PloKeywords> sets = PloMappingService.buildKeywordSets(plos);
+        PloMatcher matcher = PloMatcher.compile(sets, true);
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(
+                clo(new String[]{"CLO1", "Thiết kế phần mềm hướng đối tượng", "Apply"})));
+
+        assertThat(sets).hasSize(2);
+        assertThat(mappings).hasSize(1);
+        assertThat(mappings.get(0)).containsEntry("confidence", 1.0);
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    private static Map<String, Object> clo(String[] values) {
+        Map<String, Object> clo = new HashMap<>();
+        clo.put("code", values[0]);
+        clo.put("description", values[1]);
+        clo.put("bloomLevel", values[2]);
+        return clo;
+    }
+
+    private static PLO plo(String code, String description) {
+        return PLO.builder().code(code).description(description).build();
+    }
+
+    /**
+     * Cách chấm trước khi có PloMatcher: toLowerCase + String.contains, duyệt PLO theo thứ tự PLO1-PLO8
+     */
+    private static List<Map<String, Object>> legacySuggest(List<Map<String, Object>> clos) {
+        List<Map<String, Object>> mappings = new ArrayList<>();
+        for (Map<String, Object> clo : clos) {
+            String description = (String) clo.get("description");
+            if (description == null || description.isEmpty()) {
+                continue;
+            }
+            String descLower = description.toLowerCase();
+            String bloomLevel = (String) clo.getOrDefault("bloomLevel", "Remember");
+            List<Object[]> matches = new ArrayList<>();
+            PloMappingService.DEFAULT_PLO_KEYWORDS.forEach((code, keywords) -> {
+                long count = keywords.stream().filter(descLower::contains).count();
+                double score = (double) count / keywords.size();
+                if (score > 0.1) {
+                    matches.add(new Object[]{code, score});
+                }
+            });
+            matches.sort((a, b) -> Double.compare((double) b[1], (double) a[1]));
+            for (Object[] match : matches.subList(0, Math.min(3, matches.size()))) {
+                Map<String, Object> mapping = new HashMap<>();
+                mapping.put("cloCode", clo.get("code"));
+                mapping.put("ploCode", match[0]);
+                mapping.put("contributionLevel", legacyLevel((double) match[1], bloomLevel));
+                mapping.put("confidence", match[1]);
+                mappings.add(mapping);
+            }
+        }
+        return mappings;
+    }
+
+    private static String legacyLevel(double score, String bloomLevel) {
+        boolean high = List.of("analyze", "evaluate", "create").contains(bloomLevel.toLowerCase());
+        boolean mid = List.of("apply", "understand").contains(bloomLevel.toLowerCase());
+        if (high && score >= 0.4) {
+            return "M";
+        }
+        return score >= 0.25 || mid ? "I" : "R";
+    }
+}
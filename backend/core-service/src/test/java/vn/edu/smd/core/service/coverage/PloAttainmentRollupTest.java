@@ -0,0 +1,134 @@
+package vn.edu.smd.core.service.coverage;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PloAttainmentRollupTest {
+
+    private static final UUID SE101 = UUID.randomUUID();
+    private static final UUID SE102 = UUID.randomUUID();
+
+    private static final List<PloAttainmentRollup.PiKey> PIS = List.of(
+            new PloAttainmentRollup.PiKey("PLO1", "PI1.1"),
+            new PloAttainmentRollup.PiKey("PLO1", "PI1.2"));
+
+    @Test
+    void weightsCloContributionByAssessmentWeightAndMappingLevel() {
+        UUID midterm = UUID.randomUUID();
+        UUID finalExam = UUID.randomUUID();
+        UUID clo1 = UUID.randomUUID();
+        UUID clo2 = UUID.randomUUID();
+        // Giữa kỳ 40% đo CLO1; cuối kỳ 60% chia đôi CLO1 / CLO2
+        PloAttainmentRollup.SyllabusGraph graph = PloAttainmentRollup.SyllabusGraph.builder()
+                .assessment(midterm, null, new BigDecimal("40"))
+                .assessment(finalExam, null, new BigDecimal("60"))
+                .assessmentClo(midterm, clo1, null)
+                .assessmentClo(finalExam, clo1, new BigDecimal("50"))
+                .assessmentClo(finalExam, clo2, new BigDecimal("50"))
+                .cloPlo(clo1, "PLO1", "H")
+                .cloPlo(clo2, "PLO1", "L")
+                .cloPlo(clo2, "PLO2", "M")
+                .cloPi(clo1, "PLO1", "PI1.1", "H")
+                .cloPi(clo2, "PLO1", "PI1.2", "M")
+                .build();
+
+        PloAttainmentRollup rollup = PloAttainmentRollup.of(List.of("PLO1", "PLO2"), PIS,
+                List.of(subject(SE101, "SE101"), subject(SE102, "SE102")), Map.of(SE101, graph));
+
+        // CLO1 = 0.4 + 0.3 = 0.7, CLO2 = 0.3
+        PloAttainmentRollup.PloAttainment plo1 = rollup.plos().get(0);
+        assertThat(plo1.directWeight()).isCloseTo(0.7 + 0.3 / 3, within(1e-9));
+        assertThat(plo1.piWeight()).isCloseTo(0.7 + 0.3 * 2 / 3, within(1e-9));
+        assertThat(plo1.subjects()).isEqualTo(1);
+        assertThat(rollup.plos().get(1).directWeight()).isCloseTo(0.2, within(1e-9));
+        assertThat(plo1.share()).isCloseTo(0.8 / 1.0, within(1e-9));
+        assertThat(rollup.pis()).extracting(PloAttainmentRollup.PiAttainment::weight)
+                .containsExactly(0.7, 0.3 * 2 / 3);
+        assertThat(rollup.mappedWeight(SE101)).isCloseTo(1.0, within(1e-9));
+        assertThat(rollup.subjectPlos(SE102)).isEmpty();
+    }
+
+    @Test
+    void childAssessmentWeightIsShareOfParentAndReplacesParentMappings() {
+        UUID labs = UUID.randomUUID();
+        UUID lab1 = UUID.randomUUID();
+        UUID clo1 = UUID.randomUUID();
+        UUID clo2 = UUID.randomUUID();
+        // Thực hành 50%, bài lab 1 chiếm 40% phần thực hành; ánh xạ của cha bị bỏ vì con đã ánh xạ
+        PloAttainmentRollup.SyllabusGraph graph = PloAttainmentRollup.SyllabusGraph.builder()
+                .assessment(labs, null, new BigDecimal("50"))
+                .assessment(lab1, labs, new BigDecimal("40"))
+                .assessmentClo(labs, clo2, null)
+                .assessmentClo(lab1, clo1, null)
+                .cloPlo(clo1, "PLO1", "H")
+                .cloPlo(clo2, "PLO2", "H")
+                .build();
+
+        PloAttainmentRollup rollup = PloAttainmentRollup.of(List.of("PLO1", "PLO2"), List.of(),
+                List.of(subject(SE101, "SE101")), Map.of(SE101, graph));
+
+        assertThat(rollup.subjectPlos(SE101)).containsOnlyKeys("PLO1");
+        assertThat(rollup.subjectPlos(SE101).get("PLO1")).isCloseTo(0.2, within(1e-9));
+        assertThat(rollup.mappedWeight(SE101)).isCloseTo(0.2, within(1e-9));
+    }
+
+    @Test
+    void withSubjectRecomputesOnlyThatSubjectRow() {
+        UUID exam = UUID.randomUUID();
+        UUID clo = UUID.randomUUID();
+        PloAttainmentRollup rollup = PloAttainmentRollup.of(List.of("PLO1"), PIS,
+                List.of(subject(SE101, "SE101"), subject(SE102, "SE102")),
+                Map.of(SE101, singleClo(exam, clo, "PLO1", "H")));
+
+        PloAttainmentRollup published = rollup.withSubject(subject(SE102, "SE102"),
+                singleClo(UUID.randomUUID(), UUID.randomUUID(), "PLO1", "M"));
+        PloAttainmentRollup unpublished = published.withSubject(subject(SE101, "SE101"), null);
+
+        assertThat(published.plos().get(0).directWeight()).isCloseTo(1.0 + 2.0 / 3, within(1e-9));
+        assertThat(published.plos().get(0).subjects()).isEqualTo(2);
+        assertThat(unpublished.plos().get(0).directWeight()).isCloseTo(2.0 / 3, within(1e-9));
+        // Bản cũ không bị sửa
+        assertThat(rollup.plos().get(0).directWeight()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void newCodesFromPublishedSyllabusExtendTheCatalog() {
+        PloAttainmentRollup rollup = PloAttainmentRollup.of(List.of("PLO1"), List.of(),
+                List.of(subject(SE101, "SE101")), Map.of());
+
+        UUID clo = UUID.randomUUID();
+        PloAttainmentRollup next = rollup.withSubject(subject(SE101, "SE101"), graphWithPi(clo));
+
+        assertThat(next.getPloCodes()).containsExactly("PLO1", "PLO9");
+        assertThat(next.pis()).extracting(PloAttainmentRollup.PiAttainment::piCode).containsExactly("PI9.1");
+        assertThat(next.plos().get(1).piWeight()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    private static PloAttainmentRollup.SyllabusGraph graphWithPi(UUID clo) {
+        UUID exam = UUID.randomUUID();
+        return PloAttainmentRollup.SyllabusGraph.builder()
+                .assessment(exam, null, new BigDecimal("100"))
+                .assessmentClo(exam, clo, null)
+                .cloPi(clo, "PLO9", "PI9.1", "L")
+                .build();
+    }
+
+    private static PloAttainmentRollup.SyllabusGraph singleClo(UUID assessment, UUID clo, String ploCode, String level) {
+        return PloAttainmentRollup.SyllabusGraph.builder()
+                .assessment(assessment, null, new BigDecimal("100"))
+                .assessmentClo(assessment, clo, null)
+                .cloPlo(clo, ploCode, level)
+                .build();
+    }
+
+    private static PloCoverageMatrix.SubjectRef subject(UUID id, String code) {
+        return new PloCoverageMatrix.SubjectRef(id, code, UUID.randomUUID());
+    }
+}
@@ -0,0 +1,110 @@
+package vn.edu.smd.core.service.coverage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PloCoverageMatrixTest {
+
+    private static final UUID SE101 = UUID.randomUUID();
+    private static final UUID SE102 = UUID.randomUUID();
+    private static final UUID SE103 = UUID.randomUUID();
+
+    @Test
+    void countsEachSubjectOnceAtItsStrongestLevel() {
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(List.of("PLO1", "PLO2", "PLO3"), subjects(), List.of(
+                mapping(SE101, "PLO1", "H"),
+                mapping(SE101, "PLO1", "L"), // CLO khác của cùng môn, mức yếu hơn
+                mapping(SE102, "PLO1", "m"),
+                mapping(SE103, "PLO1", null),
+                mapping(SE102, "PLO2", "L")));
+
+        PloCoverageMatrix.PloCoverage plo1 = matrix.coverage().get(0);
+        assertThat(plo1.subjects()).isEqualTo(3);
+        assertThat(plo1.high()).isEqualTo(1);
+        assertThat(plo1.medium()).isEqualTo(1);
+        assertThat(plo1.low()).isEqualTo(1);
+        assertThat(plo1.score()).isEqualTo((3.0 + 2.0 + 1.0) / 9.0);
+        assertThat(matrix.subjectLevels(SE101)).containsEntry("PLO1", "H").doesNotContainKey("PLO2");
+        assertThat(matrix.subjectsCovering("PLO1", PloCoverageMatrix.MEDIUM)).containsExactly("SE101", "SE102");
+    }
+
+    @Test
+    void reportsGapsAndRedundancies() {
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(List.of("PLO1", "PLO2", "PLO3"), subjects(), List.of(
+                mapping(SE101, "PLO1", "H"),
+                mapping(SE102, "PLO1", "H"),
+                mapping(SE103, "PLO1", "H"),
+                mapping(SE101, "PLO2", "L"),
+                mapping(SE102, "PLO2", "L")));
+
+        // PLO2: đủ số môn nhưng chỉ ở mức L; PLO3: không môn nào
+        assertThat(matrix.gaps(2)).extracting(PloCoverageMatrix.PloCoverage::ploCode).containsExactly("PLO2", "PLO3");
+        assertThat(matrix.redundancies(2)).extracting(PloCoverageMatrix.PloCoverage::ploCode).containsExactly("PLO1");
+    }
+
+    @Test
+    void withSubjectReplacesOnlyThatRowAndKeepsOriginalUnchanged() {
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(List.of("PLO1", "PLO2"), subjects(), List.of(
+                mapping(SE101, "PLO1", "H"),
+                mapping(SE102, "PLO1", "M")));
+
+        PloCoverageMatrix next = matrix.withSubject(new PloCoverageMatrix.SubjectRef(SE101, "SE101", UUID.randomUUID()),
+                List.of(mapping(SE101, "PLO2", "M")));
+
+        assertThat(next.subjectLevels(SE101)).containsOnlyKeys("PLO2");
+        assertThat(next.subjectLevels(SE102)).containsEntry("PLO1", "M");
+        assertThat(matrix.subjectLevels(SE101)).containsOnlyKeys("PLO1");
+    }
+
+    @Test
+    void withSubjectRebuildsForUnknownSubjectOrPloCode() {
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(List.of("PLO1"), subjects(), List.of(mapping(SE101, "PLO1", "H")));
+        UUID se201 = UUID.randomUUID();
+
+        PloCoverageMatrix next = matrix.withSubject(new PloCoverageMatrix.SubjectRef(se201, "SE201", null),
+                List.of(mapping(se201, "PLO9", "H")));
+
+        assertThat(next.getPloCodes()).containsExactly("PLO1", "PLO9");
+        assertThat(next.getSubjects()).hasSize(4);
+        assertThat(next.subjectLevels(SE101)).containsEntry("PLO1", "H");
+        assertThat(next.subjectsCovering("PLO9", PloCoverageMatrix.HIGH)).containsExactly("SE201");
+    }
+
+    @Test
+    void handlesSubjectsBeyondOneWord() {
+        List<PloCoverageMatrix.SubjectRef> subjects = new ArrayList<>();
+        List<PloCoverageMatrix.Mapping> mappings = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            UUID id = UUID.randomUUID();
+            subjects.add(new PloCoverageMatrix.SubjectRef(id, "S" + i, null));
+            if (i % 3 == 0) {
+                mappings.add(mapping(id, "PLO1", i % 2 == 0 ? "H" : "M"));
+            }
+        }
+
+        PloCoverageMatrix matrix = PloCoverageMatrix.of(List.of("PLO1"), subjects, mappings);
+        UUID last = subjects.get(147).subjectId();
+        PloCoverageMatrix next = matrix.withSubject(subjects.get(147), List.of());
+
+        assertThat(matrix.coverage().get(0).subjects()).isEqualTo(50);
+        assertThat(matrix.subjectsCovering("PLO1", PloCoverageMatrix.HIGH)).hasSize(25).contains("S0", "S144");
+        assertThat(matrix.subjectLevels(last)).containsEntry("PLO1", "M");
+        assertThat(next.coverage().get(0).subjects()).isEqualTo(49);
+    }
+
+    private static List<PloCoverageMatrix.SubjectRef> subjects() {
+        return List.of(
+                new PloCoverageMatrix.SubjectRef(SE101, "SE101", UUID.randomUUID()),
+                new PloCoverageMatrix.SubjectRef(SE102, "SE102", UUID.randomUUID()),
+                new PloCoverageMatrix.SubjectRef(SE103, "SE103", UUID.randomUUID()));
+    }
+
+    private static PloCoverageMatrix.Mapping mapping(UUID subjectId, String ploCode, String level) {
+        return new PloCoverageMatrix.Mapping(subjectId, ploCode, level);
+    }
+}
@@ -0,0 +1,62 @@
+package vn.edu.smd.core.service.follow;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    @Test
+    void switchesBetweenArrayAndBitsetContainers() {
+        CompressedBitmap bitmap = CompressedBitmap.EMPTY;
+        for (int value = 0; value < 5000; value++) {
+            bitmap = bitmap.with(value * 2);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(5000);
+        // Container đầu tiên đã đổi sang bitset 8 KB
+        assertThat(bitmap.serializedSizeInBytes()).isGreaterThan(8 * 1024);
+        assertThat(bitmap.contains(9998)).isTrue();
+        assertThat(bitmap.contains(9999)).isFalse();
+
+        for (int value = 0; value < 1000; value++) {
+            bitmap = bitmap.without(value * 2);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(4000);
+        // Xuống dưới ngưỡng → quay về mảng 2 byte / phần tử
+        assertThat(bitmap.serializedSizeInBytes()).isLessThan(8 * 1024 + 100);
+        assertThat(bitmap.contains(0)).isFalse();
+        assertThat(bitmap.contains(2000)).isTrue();
+    }
+
+    @Test
+    void keepsValuesAcrossContainersSortedAndImmutable() {
+        CompressedBitmap bitmap = CompressedBitmap.of(200_000, 3, 70_000, 3, 1);
+        CompressedBitmap extended = bitmap.with(65_536);
+
+        assertThat(bitmap.toArray()).containsExactly(1, 3, 70_000, 200_000);
+        assertThat(extended.toArray()).containsExactly(1, 3, 65_536, 70_000, 200_000);
+        assertThat(extended.without(200_000).without(1).without(3).toArray()).containsExactly(65_536, 70_000);
+        assertThat(bitmap.with(3)).isSameAs(bitmap);
+        assertThat(bitmap.without(4)).isSameAs(bitmap);
+    }
+
+    @Test
+    void roundTripsThroughSerialization() throws IOException {
+        int[] values = IntStream.concat(IntStream.range(0, 6000), IntStream.of(100_000, 100_005)).toArray();
+        CompressedBitmap bitmap = CompressedBitmap.of(values);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.writeTo(new DataOutputStream(bytes));
+        assertThat(bytes.size()).isEqualTo(bitmap.serializedSizeInBytes());
+
+        CompressedBitmap restored = CompressedBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertThat(restored.toArray()).containsExactly(values);
+    }
+}
@@ -0,0 +1,71 @@
+package vn.edu.smd.core.service.follow;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FollowerIndexTest {
+
+    private static final UUID AN = UUID.randomUUID();
+    private static final UUID BINH = UUID.randomUUID();
+    private static final UUID SE101 = UUID.randomUUID();
+    private static final UUID SE102 = UUID.randomUUID();
+
+    @Test
+    void tracksBothDirections() {
+        FollowerIndex index = FollowerIndex.of(List.of(
+                new FollowerIndex.Follow(AN, SE101),
+                new FollowerIndex.Follow(BINH, SE101),
+                new FollowerIndex.Follow(AN, SE102)));
+
+        assertThat(index.followersOf(SE101)).containsExactlyInAnyOrder(AN, BINH);
+        assertThat(index.followedBy(AN)).containsExactlyInAnyOrder(SE101, SE102);
+        assertThat(index.isFollowing(BINH, SE102)).isFalse();
+        assertThat(index.size()).isEqualTo(3);
+
+        assertThat(index.follow(BINH, SE102)).isTrue();
+        assertThat(index.follow(BINH, SE102)).isFalse();
+        assertThat(index.unfollow(AN, SE101)).isTrue();
+        assertThat(index.unfollow(AN, SE101)).isFalse();
+        assertThat(index.followersOf(SE101)).containsExactly(BINH);
+        assertThat(index.followerCount(SE102)).isEqualTo(2);
+        assertThat(index.followersOf(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void removesDeletedStudentEverywhere() {
+        FollowerIndex index = FollowerIndex.of(List.of(
+                new FollowerIndex.Follow(AN, SE101),
+                new FollowerIndex.Follow(AN, SE102),
+                new FollowerIndex.Follow(BINH, SE102)));
+
+        assertThat(index.removeStudent(AN)).isEqualTo(2);
+        assertThat(index.removeStudent(AN)).isZero();
+        assertThat(index.followersOf(SE101)).isEmpty();
+        assertThat(index.followersOf(SE102)).containsExactly(BINH);
+        assertThat(index.followedBy(AN)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void roundTripsThroughSerialization() throws IOException {
+        FollowerIndex index = FollowerIndex.of(List.of(
+                new FollowerIndex.Follow(AN, SE101),
+                new FollowerIndex.Follow(BINH, SE101)));
+        index.follow(BINH, SE102);
+
+        FollowerIndex restored = FollowerIndex.deserialize(index.serialize());
+
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(restored.followersOf(SE101)).containsExactlyInAnyOrder(AN, BINH);
+        assertThat(restored.followedBy(BINH)).containsExactlyInAnyOrder(SE101, SE102);
+        // Index nạp lại vẫn ghi tiếp được với id mới
+        UUID chi = UUID.randomUUID();
+        assertThat(restored.follow(chi, SE102)).isTrue();
+        assertThat(restored.followersOf(SE102)).containsExactlyInAnyOrder(BINH, chi);
+    }
+}
@@ -0,0 +1,62 @@
+package vn.edu.smd.core.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void reportsOverlappingPatternsThroughDictionaryLinks() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("he", "she", "his", "hers"));
+
+        List<String> matches = scan(automaton, "ushers");
+
+        // "she" và "he" cùng kết thúc ở vị trí 4: "he" chỉ tìm được qua dictionary link của "she"
+        assertThat(matches).containsExactly("1@4", "0@4", "3@6");
+    }
+
+    @Test
+    void reportsNestedKeywordsEndingAtTheSamePosition() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("dữ liệu", "cơ sở dữ liệu", "liệu"));
+
+        List<String> matches = scan(automaton, "thiết kế cơ sở dữ liệu");
+
+        assertThat(matches).containsExactlyInAnyOrder("1@22", "0@22", "2@22");
+    }
+
+    @Test
+    void matchesAreReportedInIncreasingEndOrder() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("java", "sql", "a"));
+
+        List<Integer> ends = new ArrayList<>();
+        automaton.scan("sql va java", (patternId, end) -> ends.add(end));
+
+        assertThat(ends).isSorted();
+        assertThat(ends).hasSize(5);
+    }
+
+    @Test
+    void duplicateAndEmptyPatternsAreIgnored() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("", "toán", "toán"));
+
+        assertThat(scan(automaton, "toán rời rạc")).containsExactly("1@4");
+        assertThat(automaton.patternCount()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyTextHasNoMatches() {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(List.of("sql"));
+
+        assertThat(scan(automaton, "")).isEmpty();
+    }
+
+    private static List<String> scan(KeywordAutomaton automaton, String text) {
+        List<String> matches = new ArrayList<>();
+        automaton.scan(text, (patternId, end) -> matches.add(patternId + "@" + end));
+        return matches;
+    }
+}
@@ -0,0 +1,130 @@
+package vn.edu.smd.core.service.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PloMatcherTest {
+
+    @Test
+    void keywordSharedByTwoPlosCountsForBoth() {
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        keywords.put("PLO1", List.of("toán", "thuật toán"));
+        keywords.put("PLO4", List.of("lập trình", "thuật toán"));
+        PloMatcher matcher = PloMatcher.compile(keywords);
+
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(clo("CLO1", "Cài đặt thuật toán sắp xếp", "Apply")));
+
+        // "thuật toán" chứa cả "toán" → PLO1 khớp 2/2, PLO4 khớp 1/2
+        assertThat(confidenceByPlo(mappings)).containsEntry("PLO1", 1.0).containsEntry("PLO4", 0.5);
+    }
+
+    @Test
+    void matchesDoNotCrossTheCloSeparator() {
+        PloMatcher matcher = PloMatcher.compile(Map.of("PLO1", List.of("khoa học")));
+
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(
+                clo("CLO1", "Hiểu các nguyên lý khoa", "Understand"),
+                clo("CLO2", "học được phương pháp mới", "Understand")));
+
+        assertThat(mappings).isEmpty();
+    }
+
+    @Test
+    void emptyDescriptionsAreSkipped() {
+        PloMatcher matcher = PloMatcher.compile(Map.of("PLO3", List.of("sql")));
+
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(
+                clo("CLO1", null, "Apply"),
+                clo("CLO2", "   ", "Apply"),
+                clo("CLO3", "Viết truy vấn SQL", "Apply")));
+
+        assertThat(mappings).extracting(m -> m.get("cloCode")).containsExactly("CLO3");
+    }
+
+    @Test
+    void decomposedInputMatchesLikeComposedInput() {
+        PloMatcher matcher = PloMatcher.compile(Map.of("PLO3", List.of("cơ sở dữ liệu", "dữ liệu")));
+        String composed = "Thiết kế cơ sở dữ liệu quan hệ";
+        String decomposed = Normalizer.normalize(composed, Normalizer.Form.NFD);
+        assertThat(decomposed).isNotEqualTo(composed);
+
+        assertThat(matcher.suggest(List.of(clo("CLO1", decomposed, "Create"))))
+                .isEqualTo(matcher.suggest(List.of(clo("CLO1", composed, "Create"))))
+                .hasSize(1);
+    }
+
+    @Test
+    void wholeWordModeIgnoresKeywordsInsideWords() {
+        PloMatcher matcher = PloMatcher.compile(List.of(new PloMatcher.PloKeywords("PLO9", List.of("tin", "sql"))), true);
+
+        assertThat(matcher.suggest(List.of(clo("CLO1", "Testing and sqlite tools", "Apply")))).isEmpty();
+        assertThat(matcher.suggest(List.of(clo("CLO1", "Công nghệ thông tin (SQL)", "Apply"))))
+                .extracting(m -> m.get("confidence")).containsExactly(1.0);
+    }
+
+    @Test
+    void substringModeKeepsStringContainsSemantics() {
+        PloMatcher matcher = PloMatcher.compile(Map.of("PLO4", List.of("code")));
+
+        assertThat(matcher.suggest(List.of(clo("CLO1", "Viết unicode parser", "Apply")))).hasSize(1);
+    }
+
+    @Test
+    void sameCodeWithSeveralKeywordSetsTakesTheBestSet() {
+        PloMatcher matcher = PloMatcher.compile(List.of(
+                new PloMatcher.PloKeywords("PLO2", List.of("phân tích", "thiết kế")),
+                new PloMatcher.PloKeywords("PLO2", List.of("kiểm thử", "đảm bảo", "chất lượng", "quy trình"))), true);
+
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(clo("CLO1", "Phân tích và thiết kế hệ thống", "Analyze")));
+
+        assertThat(matcher.getPloCodes()).containsExactly("PLO2");
+        assertThat(mappings).hasSize(1);
+        assertThat(mappings.get(0)).containsEntry("confidence", 1.0).containsEntry("contributionLevel", "M");
+    }
+
+    @Test
+    void longKeywordSetsAreNotDilutedBelowTheCap() {
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            keywords.add("kw" + i);
+        }
+        PloMatcher matcher = PloMatcher.compile(List.of(new PloMatcher.PloKeywords("PLO1", keywords)), true);
+
+        List<Map<String, Object>> mappings = matcher.suggest(List.of(clo("CLO1", "kw1 kw2 kw3 kw4", "Analyze")));
+
+        assertThat(mappings.get(0)).containsEntry("confidence", 0.5).containsEntry("contributionLevel", "M");
+    }
+
+    @Test
+    void returnsAtMostThreeSuggestionsPerClo() {
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            keywords.put("PLO" + i, List.of("chung"));
+        }
+        PloMatcher matcher = PloMatcher.compile(keywords);
+
+        assertThat(matcher.suggest(List.of(clo("CLO1", "kiến thức chung", "Remember")))).hasSize(3);
+    }
+
+    static Map<String, Object> clo(String code, String description, String bloomLevel) {
+        Map<String, Object> clo = new HashMap<>();
+        clo.put("code", code);
+        clo.put("description", description);
+        clo.put("bloomLevel", bloomLevel);
+        return clo;
+    }
+
+    private static Map<Object, Object> confidenceByPlo(List<Map<String, Object>> mappings) {
+        Map<Object, Object> result = new HashMap<>();
+        mappings.forEach(m -> result.put(m.get("ploCode"), m.get("confidence")));
+        return result;
+    }
+}
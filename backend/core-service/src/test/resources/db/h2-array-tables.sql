@@ -0,0 +1,86 @@
+-- H2 không hiểu kiểu text[] trong columnDefinition của SyllabusVersion / SyllabusVersionHistory
+-- nên Hibernate bỏ qua 2 bảng này; tạo lại bằng kiểu ARRAY tương đương của H2.
+
+create table if not exists core_service.syllabus_versions (
+    content_revision bigint default 0 not null,
+    -- V58: trên PostgreSQL là cột GENERATED từ content; H2 chỉ cần cột để map entity
+    content_clo_count integer,
+    content_assessment_count integer,
+    content_assessment_weight_total numeric(7,2),
+    content_objective_count integer,
+    current_approval_step integer,
+    effective_date date,
+    is_deleted boolean not null,
+    is_edit_enabled boolean not null,
+    practice_hours integer,
+    self_study_hours integer,
+    snap_credit_count integer not null,
+    theory_hours integer,
+    version_number integer,
+    aa_approved_at timestamp(6),
+    created_at timestamp(6) not null,
+    edit_enabled_at timestamp(6),
+    hod_approved_at timestamp(6),
+    principal_approved_at timestamp(6),
+    published_at timestamp(6),
+    review_deadline timestamp(6),
+    submitted_at timestamp(6),
+    unpublished_at timestamp(6),
+    updated_at timestamp(6) not null,
+    aa_approved_by uuid,
+    academic_term_id uuid,
+    approved_by uuid,
+    created_by uuid not null,
+    edit_enabled_by uuid,
+    grading_scale_id uuid,
+    hod_approved_by uuid,
+    id uuid not null,
+    previous_version_id uuid,
+    principal_approved_by uuid,
+    subject_id uuid not null,
+    unpublished_by uuid,
+    updated_by uuid,
+    workflow_id uuid,
+    component_type varchar(20),
+    course_type varchar(20),
+    snap_subject_code varchar(20) not null,
+    version_no varchar(20) not null,
+    description TEXT,
+    objectives TEXT,
+    snap_subject_name_en varchar(255),
+    snap_subject_name_vi varchar(255) not null,
+    student_duties TEXT,
+    student_tasks TEXT,
+    unpublish_reason TEXT,
+    content jsonb,
+    keywords varchar array,
+    status core_service.syllabus_status not null,
+    primary key (id)
+);
+
+create table if not exists core_service.syllabus_version_history (
+    practice_hours integer,
+    self_study_hours integer,
+    snap_credit_count integer,
+    theory_hours integer,
+    version_number integer not null,
+    created_at timestamp(6) not null,
+    created_by uuid,
+    id uuid not null,
+    syllabus_id uuid not null,
+    component_type varchar(20),
+    course_type varchar(20),
+    snap_subject_code varchar(20),
+    version_no varchar(20) not null,
+    snapshot_reason varchar(100),
+    description TEXT,
+    objectives TEXT,
+    snap_subject_name_en varchar(255),
+    snap_subject_name_vi varchar(255),
+    student_duties TEXT,
+    student_tasks TEXT,
+    content jsonb,
+    keywords varchar array,
+    status core_service.syllabus_status not null,
+    primary key (id)
+);
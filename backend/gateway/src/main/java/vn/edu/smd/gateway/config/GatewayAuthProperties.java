@@ -0,0 +1,38 @@
+package vn.edu.smd.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cấu hình xác thực JWT tại gateway (gateway.auth.*)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.auth")
+public class GatewayAuthProperties {
+
+    private boolean enabled = true;
+
+    /** Phải trùng app.jwt.secret của core-service (HS512) */
+    private String jwtSecret;
+
+    /** Secret ký header X-SMD-Principal; phải trùng app.jwt.gateway-principal.secret của core-service */
+    private String principalSecret;
+
+    /** Thời hạn tối đa của header principal (không vượt quá hạn của JWT) */
+    private Duration principalTtl = Duration.ofSeconds(60);
+
+    /** Số token đã giải mã được giữ lại (LRU), mỗi entry sống tới khi token hết hạn */
+    private int claimsCacheMaxEntries = 10_000;
+
+    /**
+     * Path không bắt buộc đăng nhập: token sai / hết hạn vẫn được chuyển tiếp
+     * (vd: /api/auth/refresh luôn được gọi kèm access token đã hết hạn)
+     */
+    private List<String> publicPaths = new ArrayList<>();
+}
@@ -0,0 +1,62 @@
+package vn.edu.smd.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cấu hình micro-cache cho các endpoint GET đọc nhiều (gateway.micro-cache.*)
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.micro-cache")
+public class MicroCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Số response tối đa giữ trong bộ nhớ (LRU) */
+    private int maxEntries = 1000;
+
+    /**
+     * Tổng dung lượng body tối đa của mọi entry (LRU theo trọng số).
+     * Container gateway giới hạn 1G, heap mặc định = 25% → giữ cache ở mức vài chục MB.
+     */
+    private long maxTotalBytes = 32L * 1024 * 1024;
+
+    /** Response lớn hơn ngưỡng này không được cache */
+    private int maxBodyBytes = 256 * 1024;
+
+    /** Thời gian tối đa một request chờ request dẫn đầu (cùng key) trước khi tự gọi upstream */
+    private Duration coalesceTimeout = Duration.ofSeconds(10);
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String id;
+
+        /** Path pattern, vd: /api/subjects/** */
+        private String path;
+
+        /** TTL tối đa; upstream s-maxage / max-age nhỏ hơn sẽ được ưu tiên */
+        private Duration ttl = Duration.ofSeconds(5);
+
+        private Scope scope = Scope.ROLE;
+    }
+
+    /**
+     * Phạm vi chia sẻ của response đã cache
+     */
+    public enum Scope {
+        /** Dùng chung cho mọi người gọi (endpoint permitAll) */
+        PUBLIC,
+        /** Dùng chung giữa những người cùng role */
+        ROLE,
+        /** Riêng từng người dùng */
+        USER
+    }
+}
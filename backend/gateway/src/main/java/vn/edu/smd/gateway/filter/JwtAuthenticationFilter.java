@@ -0,0 +1,162 @@
+package vn.edu.smd.gateway.filter;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import vn.edu.smd.gateway.config.GatewayAuthProperties;
+import vn.edu.smd.gateway.util.JwtClaimsCache;
+import vn.edu.smd.gateway.util.PrincipalHeaderSigner;
+import vn.edu.smd.gateway.util.VerifiedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Xác thực JWT một lần tại gateway
+ *
+ * - Header X-SMD-Principal do client gửi lên luôn bị xóa (chỉ gateway được phép đặt)
+ * - Không có Bearer token → chuyển tiếp nguyên trạng (core-service tự chặn endpoint cần đăng nhập)
+ * - Token hợp lệ → claims được cache đến khi token hết hạn, request được gắn VerifiedPrincipal
+ *   (MicroCacheFilter dùng để tạo cache key) và header X-SMD-Principal đã ký để core-service
+ *   dựng SecurityContext mà không cần đọc user từ DB
+ * - Token sai / hết hạn / là refresh token → 401 ngay tại gateway, trừ các public path
+ *
+ * Token phát hành trước khi core-service thêm claim "roles" vẫn hợp lệ nhưng không có header
+ * principal → core-service nạp user từ DB như trước.
+ *
+ * Metrics: smd.gateway.auth.requests (result), smd.gateway.auth.cache.entries
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    /** Chạy trước MicroCacheFilter (cache key phụ thuộc principal) và trước routing */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final GatewayAuthProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final JwtClaimsCache claimsCache;
+    private final PrincipalHeaderSigner signer;
+    private final List<PathPattern> publicPaths;
+
+    public JwtAuthenticationFilter(GatewayAuthProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.claimsCache = new JwtClaimsCache(properties.getJwtSecret(), properties.getClaimsCacheMaxEntries());
+        this.signer = new PrincipalHeaderSigner(properties.getPrincipalSecret());
+        this.publicPaths = properties.getPublicPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        Gauge.builder("smd.gateway.auth.cache.entries", claimsCache, JwtClaimsCache::size)
+                .description("Verified JWTs currently cached by the gateway")
+                .register(meterRegistry);
+        log.info("✅ Gateway JWT verification {} ({} public path(s))",
+                properties.isEnabled() ? "enabled" : "disabled", publicPaths.size());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        // Không bao giờ tin header principal đến từ client
+        ServerHttpRequest stripped = request.mutate()
+                .headers(headers -> headers.remove(PrincipalHeaderSigner.HEADER))
+                .build();
+
+        String token = resolveToken(request);
+        if (token == null || request.getMethod() == HttpMethod.OPTIONS) {
+            count("anonymous");
+            return chain.filter(exchange.mutate().request(stripped).build());
+        }
+
+        VerifiedPrincipal principal;
+        try {
+            principal = claimsCache.verify(token);
+        } catch (ExpiredJwtException e) {
+            return reject(exchange, stripped, chain, "expired", "Token đã hết hạn");
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT on {}: {}", request.getPath(), e.getMessage());
+            return reject(exchange, stripped, chain, "invalid", "Token không hợp lệ");
+        }
+        if (!principal.isAccessToken()) {
+            return reject(exchange, stripped, chain, "invalid", "Token không hợp lệ");
+        }
+
+        count("valid");
+        exchange.getAttributes().put(VerifiedPrincipal.ATTRIBUTE, principal);
+        if (!principal.hasRoles()) {
+            return chain.filter(exchange.mutate().request(stripped).build());
+        }
+        long expiresAt = Math.min(principal.expiresAt(), System.currentTimeMillis() + properties.getPrincipalTtl().toMillis());
+        ServerHttpRequest forwarded = stripped.mutate()
+                .header(PrincipalHeaderSigner.HEADER, signer.sign(principal, expiresAt))
+                .build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, ServerHttpRequest stripped, GatewayFilterChain chain,
+                              String result, String message) {
+        if (isPublicPath(stripped)) {
+            // Endpoint không cần đăng nhập (login, refresh...) → core-service bỏ qua token
+            count("public_" + result);
+            return chain.filter(exchange.mutate().request(stripped).build());
+        }
+        count(result);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        String body = "{\"success\":false,\"message\":\"" + message + "\",\"data\":null,\"timestamp\":\""
+                + LocalDateTime.now() + "\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private boolean isPublicPath(ServerHttpRequest request) {
+        for (PathPattern pattern : publicPaths) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String resolveToken(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("smd.gateway.auth.requests", "result", result).increment();
+    }
+}
@@ -0,0 +1,497 @@
+package vn.edu.smd.gateway.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import vn.edu.smd.gateway.config.MicroCacheProperties;
+import vn.edu.smd.gateway.config.MicroCacheProperties.Scope;
+import vn.edu.smd.gateway.util.CachedResponse;
+import vn.edu.smd.gateway.util.MicroCacheStore;
+import vn.edu.smd.gateway.util.VerifiedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Micro-cache + request coalescing cho các endpoint GET đọc nhiều
+ *
+ * - Key: route + principal (theo scope, lấy từ JWT đã xác thực) + path + query (đã sắp xếp) + Accept + Accept-Encoding
+ * - Cache hit: trả response từ bộ nhớ, không gọi core-service (hỗ trợ If-None-Match → 304)
+ * - Nhiều request cùng key đến khi cache miss: chỉ request đầu tiên gọi upstream,
+ *   các request còn lại chờ và dùng lại kết quả (COALESCED)
+ * - Tôn trọng Cache-Control của upstream: no-store / private / Set-Cookie → không cache,
+ *   s-maxage / max-age giới hạn TTL; entry hết hạn có ETag được revalidate bằng If-None-Match
+ * - Client gửi Cache-Control: no-cache / max-age=0 → không dùng entry còn hạn mà revalidate
+ *   qua đúng đường coalescing (nhiều lần reload cùng lúc vẫn chỉ một request lên upstream);
+ *   client gửi no-store → đi thẳng upstream, không đọc / ghi cache
+ * - POST/PUT/PATCH/DELETE thành công trên cùng route → xóa các entry liên quan
+ *
+ * Metrics: smd.gateway.cache.requests (route, result), smd.gateway.cache.revalidations (route),
+ * smd.gateway.cache.entries, smd.gateway.cache.bytes, smd.gateway.cache.evictions (route)
+ */
+@Slf4j
+@Component
+public class MicroCacheFilter implements GlobalFilter, Ordered {
+
+    /** Chạy trước CircuitBreaker / routing và bọc được response trước NettyWriteResponseFilter */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "transfer-encoding", "connection", "keep-alive", "content-length", "date", CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final MicroCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final MicroCacheStore store;
+    private final List<CompiledRoute> routes;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public MicroCacheFilter(MicroCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.store = new MicroCacheStore(properties.getMaxEntries(), properties.getMaxTotalBytes());
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(route, PathPatternParser.defaultInstance.parse(route.getPath())))
+                .toList();
+        Gauge.builder("smd.gateway.cache.entries", store, MicroCacheStore::size)
+                .description("Responses currently held by the gateway micro-cache")
+                .register(meterRegistry);
+        Gauge.builder("smd.gateway.cache.bytes", store, MicroCacheStore::totalBytes)
+                .description("Body bytes currently held by the gateway micro-cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("✅ Gateway micro-cache {} for {} route(s)", properties.isEnabled() ? "enabled" : "disabled", routes.size());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        CompiledRoute route = match(request);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> evictAfterWrite(exchange, route)));
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        // Đăng ký leader trong inFlight lúc subscribe (không phải lúc assemble) để doFinally luôn dọn được key
+        return Mono.defer(() -> filterGet(exchange, chain, route));
+    }
+
+    private Mono<Void> filterGet(ServerWebExchange exchange, GatewayFilterChain chain, CompiledRoute route) {
+        ServerHttpRequest request = exchange.getRequest();
+        String cacheControl = request.getHeaders().getCacheControl();
+        if (hasDirective(cacheControl, "no-store")) {
+            count(route, "bypass");
+            return chain.filter(exchange);
+        }
+
+        String principal = resolvePrincipal(exchange, route.scope());
+        String key = buildKey(request, route, principal);
+
+        // Hard reload (no-cache / max-age=0): bỏ qua entry còn hạn, revalidate qua đường coalescing bên dưới
+        boolean forceRevalidate = hasDirective(cacheControl, "no-cache") || hasDirective(cacheControl, "max-age=0");
+        CachedResponse cached = store.get(key);
+        if (cached != null && !forceRevalidate && cached.isFresh(System.currentTimeMillis())) {
+            count(route, "hit");
+            return writeCached(exchange, cached, "HIT");
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            count(route, "coalesced");
+            return awaitLeader(exchange, chain, leader);
+        }
+        count(route, forceRevalidate ? "revalidate" : "miss");
+        return fetch(exchange, chain, route, principal, key, cached, sink)
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    // ==========================================
+    // UPSTREAM
+    // ==========================================
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, CompiledRoute route,
+                             String principal, String key, CachedResponse stale, Sinks.One<CachedResponse> sink) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean revalidating = stale != null && stale.etag() != null
+                && !request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH);
+        ServerHttpRequest upstreamRequest = revalidating
+                ? request.mutate().header(HttpHeaders.IF_NONE_MATCH, stale.etag()).build()
+                : request;
+
+        ServerHttpResponseDecorator response = new CachingResponseDecorator(
+                exchange.getResponse(), route, principal, key, revalidating ? stale : null, sink);
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build());
+    }
+
+    private Mono<Void> awaitLeader(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<CachedResponse> leader) {
+        return leader.asMono()
+                .timeout(properties.getCoalesceTimeout())
+                .map(Optional::of)
+                .onErrorResume(e -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty())
+                // Request dẫn đầu không cache được (lỗi, no-store, quá lớn) → tự gọi upstream
+                .flatMap(result -> result.isPresent()
+                        ? writeCached(exchange, result.get(), "COALESCED")
+                        : chain.filter(exchange));
+    }
+
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final CompiledRoute route;
+        private final String principal;
+        private final String key;
+        private final CachedResponse stale;
+        private final Sinks.One<CachedResponse> sink;
+
+        CachingResponseDecorator(ServerHttpResponse delegate, CompiledRoute route, String principal, String key,
+                                 CachedResponse stale, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.route = route;
+            this.principal = principal;
+            this.key = key;
+            this.stale = stale;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long now = System.currentTimeMillis();
+
+            if (stale != null && status == HttpStatus.NOT_MODIFIED) {
+                // Upstream xác nhận bản cũ vẫn đúng → gia hạn và trả body đã lưu
+                CachedResponse refreshed = stale.refreshed(now, Math.max(resolveTtlMillis(route, getHeaders()), 0));
+                store.put(key, refreshed);
+                emit(refreshed);
+                meterRegistry.counter("smd.gateway.cache.revalidations", "route", route.id()).increment();
+                getDelegate().setStatusCode(HttpStatus.OK);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(writeBody(getDelegate(), refreshed, "REVALIDATED", now));
+            }
+
+            long ttl = status == HttpStatus.OK ? resolveTtlMillis(route, getHeaders()) : -1;
+            if (ttl < 0) {
+                emit(null);
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body))
+                    .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        if (bytes.length <= properties.getMaxBodyBytes()) {
+                            CachedResponse entry = new CachedResponse(route.id(), principal, copyHeaders(getHeaders()),
+                                    bytes, getHeaders().getETag(), now, now + ttl);
+                            store.put(key, entry);
+                            emit(entry);
+                        } else {
+                            emit(null);
+                        }
+                        getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                        return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+
+        /**
+         * Upstream kết thúc response không qua writeWith (vd 304 rỗng) → vẫn đi qua nhánh cache ở trên
+         */
+        @Override
+        public Mono<Void> setComplete() {
+            return writeWith(Flux.empty());
+        }
+
+        private void emit(CachedResponse entry) {
+            if (sink == null) {
+                return;
+            }
+            if (entry != null) {
+                sink.tryEmitValue(entry);
+            } else {
+                sink.tryEmitEmpty();
+            }
+        }
+    }
+
+    // ==========================================
+    // CACHE HIT
+    // ==========================================
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse entry, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (entry.etag() != null && ifNoneMatch != null && etagMatches(ifNoneMatch, entry.etag())) {
+            copyCachedHeaders(response, entry, cacheStatus, System.currentTimeMillis());
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        return writeBody(response, entry, cacheStatus, System.currentTimeMillis());
+    }
+
+    private Mono<Void> writeBody(ServerHttpResponse response, CachedResponse entry, String cacheStatus, long now) {
+        copyCachedHeaders(response, entry, cacheStatus, now);
+        response.getHeaders().setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    private void copyCachedHeaders(ServerHttpResponse response, CachedResponse entry, String cacheStatus, long now) {
+        HttpHeaders headers = response.getHeaders();
+        entry.headers().forEach((name, values) -> {
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                values.forEach(value -> headers.add(name, value));
+            } else if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(HttpHeaders.AGE, String.valueOf(entry.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+    }
+
+    // ==========================================
+    // INVALIDATION
+    // ==========================================
+
+    private void evictAfterWrite(ServerWebExchange exchange, CompiledRoute route) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null || !status.is2xxSuccessful()) {
+            return;
+        }
+        int evicted;
+        if (route.scope() == Scope.USER) {
+            String principal = resolvePrincipal(exchange, Scope.USER);
+            evicted = store.evictIf(entry -> entry.routeId().equals(route.id()) && entry.principal().equals(principal));
+        } else {
+            evicted = store.evictIf(entry -> entry.routeId().equals(route.id()));
+        }
+        if (evicted > 0) {
+            meterRegistry.counter("smd.gateway.cache.evictions", "route", route.id()).increment(evicted);
+            log.debug("Evicted {} cached response(s) of route {} after {} {}", evicted, route.id(),
+                    exchange.getRequest().getMethod(), exchange.getRequest().getPath());
+        }
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    private CompiledRoute match(ServerHttpRequest request) {
+        for (CompiledRoute route : routes) {
+            if (route.pattern().matches(request.getPath().pathWithinApplication())) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Principal đã được JwtAuthenticationFilter xác thực: ROLE → tập role, USER → user id.
+     * Token cũ chưa có claim roles thì ROLE rơi về theo user id (chặt hơn, không lộ dữ liệu).
+     * Khi gateway không xác thực JWT (gateway.auth.enabled=false) thì khóa theo hash của Authorization header.
+     */
+    private String resolvePrincipal(ServerWebExchange exchange, Scope scope) {
+        if (scope == Scope.PUBLIC) {
+            return "*";
+        }
+        VerifiedPrincipal principal = exchange.getAttribute(VerifiedPrincipal.ATTRIBUTE);
+        if (principal != null) {
+            if (scope == Scope.ROLE && principal.hasRoles()) {
+                return "role:" + principal.roles().stream().sorted().collect(Collectors.joining(","));
+            }
+            return "user:" + principal.userId();
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || authorization.isBlank()) {
+            return "anonymous";
+        }
+        return "token:" + sha256(authorization);
+    }
+
+    private String buildKey(ServerHttpRequest request, CompiledRoute route, String principal) {
+        StringBuilder key = new StringBuilder(128)
+                .append(route.id()).append('|')
+                .append(principal).append('|')
+                .append(request.getPath().value());
+        String query = request.getURI().getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            Arrays.sort(params);
+            key.append('?').append(String.join("&", params));
+        }
+        HttpHeaders headers = request.getHeaders();
+        key.append('|').append(headerValue(headers, HttpHeaders.ACCEPT))
+                .append('|').append(headerValue(headers, HttpHeaders.ACCEPT_ENCODING));
+        return key.toString();
+    }
+
+    /**
+     * TTL (ms) theo Cache-Control của upstream, giới hạn bởi TTL của route; -1 = không được cache
+     */
+    private long resolveTtlMillis(CompiledRoute route, HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return -1;
+        }
+        long ttl = route.ttlMillis();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return ttl;
+        }
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        boolean noCache = false;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            String value = directive.trim();
+            if (value.equals("no-store")) {
+                return -1;
+            }
+            if (value.equals("private") && route.scope() != Scope.USER) {
+                return -1;
+            }
+            if (value.equals("no-cache")) {
+                noCache = true;
+            } else if (value.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(value.substring("s-maxage=".length()));
+            } else if (value.startsWith("max-age=")) {
+                maxAge = parseSeconds(value.substring("max-age=".length()));
+            }
+        }
+        if (noCache) {
+            return 0;
+        }
+        Long upstreamSeconds = sharedMaxAge != null ? sharedMaxAge : maxAge;
+        return upstreamSeconds != null ? Math.min(ttl, upstreamSeconds * 1000) : ttl;
+    }
+
+    private static Long parseSeconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String value : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            if (value.trim().equals(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String strongEtag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(strongEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static HttpHeaders copyHeaders(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            // Header CORS phụ thuộc Origin của từng request, do gateway tự thêm
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    private static String headerValue(HttpHeaders headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null ? "" : String.join(",", values);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void count(CompiledRoute route, String result) {
+        meterRegistry.counter("smd.gateway.cache.requests", "route", route.id(), "result", result).increment();
+    }
+
+    private record CompiledRoute(MicroCacheProperties.Route route, PathPattern pattern) {
+        String id() {
+            return route.getId();
+        }
+
+        Scope scope() {
+            return route.getScope();
+        }
+
+        long ttlMillis() {
+            return route.getTtl().toMillis();
+        }
+    }
+}
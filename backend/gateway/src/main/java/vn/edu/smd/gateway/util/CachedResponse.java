@@ -0,0 +1,24 @@
+package vn.edu.smd.gateway.util;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Response 200 đã lưu trong micro-cache
+ *
+ * @param expiresAtMillis hết hạn thì chỉ còn dùng để revalidate bằng ETag
+ */
+public record CachedResponse(String routeId, String principal, HttpHeaders headers, byte[] body,
+                             String etag, long storedAtMillis, long expiresAtMillis) {
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < expiresAtMillis;
+    }
+
+    public long ageSeconds(long nowMillis) {
+        return Math.max(0, (nowMillis - storedAtMillis) / 1000);
+    }
+
+    public CachedResponse refreshed(long nowMillis, long ttlMillis) {
+        return new CachedResponse(routeId, principal, headers, body, etag, nowMillis, nowMillis + ttlMillis);
+    }
+}
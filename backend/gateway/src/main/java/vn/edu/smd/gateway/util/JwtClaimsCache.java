@@ -0,0 +1,103 @@
+package vn.edu.smd.gateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Xác thực JWT (HS512, cùng secret với core-service) và cache claims đã giải mã
+ *
+ * Mỗi token chỉ bị kiểm tra chữ ký một lần; các request sau dùng lại kết quả cho đến khi
+ * token hết hạn. Cache giới hạn theo số entry (LRU) như MicroCacheStore.
+ */
+public class JwtClaimsCache {
+
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final LinkedHashMap<String, VerifiedPrincipal> entries;
+
+    public JwtClaimsCache(String secret, int maxEntries) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("JWT secret is not configured. Set gateway.auth.jwt-secret");
+        }
+        this.parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(keyBytes(secret))).build();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedPrincipal> eldest) {
+                return size() > JwtClaimsCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return principal của token (từ cache nếu có)
+     * @throws JwtException token sai chữ ký, sai định dạng hoặc đã hết hạn
+     */
+    public VerifiedPrincipal verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedPrincipal cached = get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedPrincipal principal = toPrincipal(parser.parseClaimsJws(token).getBody());
+        synchronized (entries) {
+            entries.put(token, principal);
+        }
+        return principal;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private VerifiedPrincipal get(String token, long now) {
+        synchronized (entries) {
+            VerifiedPrincipal principal = entries.get(token);
+            if (principal != null && principal.isExpired(now)) {
+                entries.remove(token);
+                return null;
+            }
+            return principal;
+        }
+    }
+
+    private static VerifiedPrincipal toPrincipal(Claims claims) {
+        if (claims.getSubject() == null) {
+            throw new JwtException("JWT has no subject");
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new JwtException("JWT has no expiration");
+        }
+        List<String> roles = null;
+        Object rawRoles = claims.get("roles");
+        if (rawRoles instanceof List<?> list) {
+            roles = list.stream().map(String::valueOf).toList();
+        }
+        return new VerifiedPrincipal(claims.getSubject(), claims.get("email", String.class), roles,
+                claims.get("scope", String.class), expiration.getTime());
+    }
+
+    /**
+     * Giống JwtTokenProvider của core-service: secret base64 thì decode, ngược lại dùng bytes của chuỗi
+     */
+    private static byte[] keyBytes(String secret) {
+        try {
+            return Decoders.BASE64.decode(secret);
+        } catch (RuntimeException e) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package vn.edu.smd.gateway.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * LRU store cho micro-cache, giới hạn theo số entry VÀ tổng dung lượng body
+ *
+ * Entry hết hạn vẫn được giữ (đến khi bị đẩy ra theo LRU) để revalidate bằng If-None-Match.
+ * Trọng số của một entry = body.length; khi vượt maxEntries hoặc maxTotalBytes thì
+ * đẩy các entry ít dùng nhất ra cho đến khi đủ chỗ.
+ */
+public class MicroCacheStore {
+
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public MicroCacheStore(int maxEntries, long maxTotalBytes) {
+        this.maxEntries = maxEntries;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * @return số entry bị đẩy ra để nhường chỗ (không tính entry cũ cùng key)
+     */
+    public synchronized int put(String key, CachedResponse response) {
+        long weight = weight(response);
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= weight(previous);
+        }
+        if (weight > maxTotalBytes) {
+            return 0;
+        }
+        entries.put(key, response);
+        totalBytes += weight;
+
+        int evicted = 0;
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxTotalBytes) && eldest.hasNext()) {
+            CachedResponse victim = eldest.next();
+            if (victim == response) {
+                break;
+            }
+            eldest.remove();
+            totalBytes -= weight(victim);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * @return số entry đã xóa
+     */
+    public synchronized int evictIf(Predicate<CachedResponse> predicate) {
+        int evicted = 0;
+        Iterator<CachedResponse> it = entries.values().iterator();
+        while (it.hasNext()) {
+            CachedResponse entry = it.next();
+            if (predicate.test(entry)) {
+                it.remove();
+                totalBytes -= weight(entry);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private static long weight(CachedResponse response) {
+        return response.body().length;
+    }
+}
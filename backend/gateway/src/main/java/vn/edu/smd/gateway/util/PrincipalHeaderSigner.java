@@ -0,0 +1,53 @@
+package vn.edu.smd.gateway.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Ký header X-SMD-Principal gửi sang core-service (GatewayPrincipalVerifier ở phía core)
+ *
+ * Định dạng: base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+ * payload  : userId|ROLE_A,ROLE_B|scope|expEpochSeconds|email
+ */
+public class PrincipalHeaderSigner {
+
+    public static final String HEADER = "X-SMD-Principal";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+
+    public PrincipalHeaderSigner(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("Principal secret is not configured. Set gateway.auth.principal-secret");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * @param expiresAtMillis hạn của header, không được vượt quá hạn của JWT
+     */
+    public String sign(VerifiedPrincipal principal, long expiresAtMillis) {
+        String payload = principal.userId()
+                + '|' + String.join(",", principal.roles())
+                + '|' + VerifiedPrincipal.SCOPE_ACCESS
+                + '|' + (expiresAtMillis / 1000)
+                + '|' + (principal.email() == null ? "" : principal.email());
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(hmac(bytes));
+    }
+
+    private byte[] hmac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute " + HMAC_ALGORITHM, e);
+        }
+    }
+}
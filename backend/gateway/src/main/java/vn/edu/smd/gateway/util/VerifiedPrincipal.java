@@ -0,0 +1,30 @@
+package vn.edu.smd.gateway.util;
+
+import java.util.List;
+
+/**
+ * Thông tin người dùng lấy từ JWT đã được gateway xác thực
+ *
+ * @param roles null nếu token được phát hành trước khi core-service thêm claim "roles"
+ * @param expiresAt thời điểm hết hạn của token (epoch millis)
+ */
+public record VerifiedPrincipal(String userId, String email, List<String> roles, String scope, long expiresAt) {
+
+    /** Attribute của ServerWebExchange chứa principal của request hiện tại */
+    public static final String ATTRIBUTE = VerifiedPrincipal.class.getName();
+
+    public static final String SCOPE_ACCESS = "access";
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    public boolean hasRoles() {
+        return roles != null;
+    }
+
+    /** Token cũ không có claim "scope" được coi là access token */
+    public boolean isAccessToken() {
+        return scope == null || SCOPE_ACCESS.equals(scope);
+    }
+}
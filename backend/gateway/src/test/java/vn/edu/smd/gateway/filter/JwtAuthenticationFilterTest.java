@@ -0,0 +1,180 @@
+package vn.edu.smd.gateway.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import vn.edu.smd.gateway.config.GatewayAuthProperties;
+import vn.edu.smd.gateway.util.PrincipalHeaderSigner;
+import vn.edu.smd.gateway.util.VerifiedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-for-gateway-jwt-verification-hs512-needs-64-bytes!!";
+    private static final String USER_ID = "7d9f1c2e-2b6a-4c1e-9a51-0f6d2c8b9e11";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+    private CapturingChain chain;
+
+    @BeforeEach
+    void setUp() {
+        GatewayAuthProperties properties = new GatewayAuthProperties();
+        properties.setJwtSecret(SECRET);
+        properties.setPrincipalSecret("principal-secret");
+        properties.setPrincipalTtl(Duration.ofSeconds(60));
+        properties.setPublicPaths(List.of("/api/auth/**"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(properties, meterRegistry);
+        chain = new CapturingChain();
+    }
+
+    @Test
+    void validTokenIsForwardedWithSignedPrincipal() {
+        MockServerWebExchange exchange = withToken("/api/subjects",
+                token(Map.of("roles", List.of("LECTURER", "HOD"), "email", "gv@smd.edu.vn", "scope", "access"), 3600));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNotNull();
+        String header = chain.forwarded.getRequest().getHeaders().getFirst(PrincipalHeaderSigner.HEADER);
+        assertThat(header).isNotNull();
+        String payload = new String(Base64.getUrlDecoder().decode(header.substring(0, header.indexOf('.'))), StandardCharsets.UTF_8);
+        assertThat(payload).startsWith(USER_ID + "|LECTURER,HOD|access|").endsWith("|gv@smd.edu.vn");
+
+        VerifiedPrincipal principal = exchange.getAttribute(VerifiedPrincipal.ATTRIBUTE);
+        assertThat(principal.roles()).containsExactly("LECTURER", "HOD");
+    }
+
+    @Test
+    void repeatedTokenIsServedFromClaimsCache() {
+        String token = token(Map.of("roles", List.of("ADMIN"), "scope", "access"), 3600);
+
+        filter.filter(withToken("/api/subjects", token), chain).block();
+        filter.filter(withToken("/api/users", token), chain).block();
+
+        assertThat(meterRegistry.get("smd.gateway.auth.cache.entries").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.counter("smd.gateway.auth.requests", "result", "valid").count()).isEqualTo(2);
+    }
+
+    @Test
+    void clientSuppliedPrincipalHeaderIsStripped() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/subjects")
+                .header(PrincipalHeaderSigner.HEADER, "forged.header"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded.getRequest().getHeaders().containsKey(PrincipalHeaderSigner.HEADER)).isFalse();
+    }
+
+    @Test
+    void expiredTokenIsRejectedBeforeCoreService() {
+        MockServerWebExchange exchange = withToken("/api/subjects", token(Map.of("scope", "access"), -60));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("\"success\":false");
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String forged = Jwts.builder()
+                .setSubject(USER_ID)
+                .claim("roles", List.of("ADMIN"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-another-secret-key-another-secret-key-64bytes!".getBytes()),
+                        SignatureAlgorithm.HS512)
+                .compact();
+
+        MockServerWebExchange exchange = withToken("/api/subjects", forged);
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void refreshTokenCannotCallApi() {
+        MockServerWebExchange exchange = withToken("/api/subjects", token(Map.of("scope", "refresh"), 3600));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void invalidTokenOnPublicPathIsForwardedWithoutPrincipal() {
+        MockServerWebExchange exchange = withToken("/api/auth/refresh", token(Map.of("scope", "access"), -60));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNotNull();
+        assertThat(chain.forwarded.getRequest().getHeaders().containsKey(PrincipalHeaderSigner.HEADER)).isFalse();
+        assertThat(meterRegistry.counter("smd.gateway.auth.requests", "result", "public_expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    void legacyTokenWithoutRolesIsForwardedWithoutPrincipalHeader() {
+        MockServerWebExchange exchange = withToken("/api/subjects", token(Map.of(), 3600));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chain.forwarded).isNotNull();
+        assertThat(chain.forwarded.getRequest().getHeaders().containsKey(PrincipalHeaderSigner.HEADER)).isFalse();
+        VerifiedPrincipal principal = exchange.getAttribute(VerifiedPrincipal.ATTRIBUTE);
+        assertThat(principal.userId()).isEqualTo(USER_ID);
+        assertThat(principal.hasRoles()).isFalse();
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    private static String token(Map<String, Object> claims, long expiresInSeconds) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(USER_ID)
+                .addClaims(claims)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiresInSeconds * 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static MockServerWebExchange withToken(String path, String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static class CapturingChain implements GatewayFilterChain {
+
+        ServerWebExchange forwarded;
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            forwarded = exchange;
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package vn.edu.smd.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import vn.edu.smd.gateway.config.MicroCacheProperties;
+import vn.edu.smd.gateway.config.MicroCacheProperties.Scope;
+import vn.edu.smd.gateway.util.VerifiedPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroCacheFilterTest {
+
+    private static final String BODY = "{\"success\":true,\"data\":[]}";
+    private static final String ETAG = "\"v1\"";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MicroCacheFilter filter;
+    private FakeUpstream upstream;
+
+    @BeforeEach
+    void setUp() {
+        MicroCacheProperties properties = new MicroCacheProperties();
+        properties.setCoalesceTimeout(Duration.ofSeconds(5));
+        properties.setRoutes(List.of(
+                route("student-syllabi", "/api/student/syllabi/**", Scope.USER),
+                route("subjects", "/api/subjects/**", Scope.ROLE),
+                route("semesters", "/api/semesters/**", Scope.PUBLIC)));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new MicroCacheFilter(properties, meterRegistry);
+        upstream = new FakeUpstream();
+    }
+
+    @Test
+    void secondRequestIsServedFromCache() {
+        MockServerWebExchange first = get("/api/semesters");
+        MockServerWebExchange second = get("/api/semesters");
+
+        filter.filter(first, upstream).block();
+        filter.filter(second, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(1);
+        assertThat(cacheStatus(first)).isEqualTo("MISS");
+        assertThat(cacheStatus(second)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(ETAG);
+    }
+
+    @Test
+    void cachedEntryAnswersIfNoneMatchWith304() {
+        filter.filter(get("/api/semesters"), upstream).block();
+
+        MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/api/semesters")
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG));
+        filter.filter(conditional, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(1);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void concurrentMissesAreCoalescedIntoOneUpstreamCall() {
+        upstream.delay = Duration.ofMillis(200);
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        List<Mono<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = get("/api/semesters");
+            exchanges.add(exchange);
+            calls.add(filter.filter(exchange, upstream));
+        }
+
+        Flux.merge(calls).then().block(Duration.ofSeconds(5));
+
+        assertThat(upstream.calls.get()).isEqualTo(1);
+        assertThat(exchanges).extracting(MicroCacheFilterTest::cacheStatus)
+                .containsOnly("MISS", "COALESCED")
+                .containsOnlyOnce("MISS");
+        assertThat(exchanges).allSatisfy(exchange ->
+                assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY));
+    }
+
+    @Test
+    void expiredEntryIsRevalidatedWithIfNoneMatch() {
+        upstream.headers = headers -> headers.setCacheControl("max-age=0, must-revalidate, s-maxage=0");
+        filter.filter(get("/api/semesters"), upstream).block();
+
+        MockServerWebExchange second = get("/api/semesters");
+        filter.filter(second, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(2);
+        assertThat(upstream.lastIfNoneMatch).isEqualTo(ETAG);
+        assertThat(upstream.notModified.get()).isEqualTo(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cacheStatus(second)).isEqualTo("REVALIDATED");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.counter("smd.gateway.cache.revalidations", "route", "semesters").count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientNoCacheRevalidatesThroughCoalescing() {
+        filter.filter(get("/api/semesters"), upstream).block();
+
+        upstream.delay = Duration.ofMillis(200);
+        List<MockServerWebExchange> reloads = new ArrayList<>();
+        List<Mono<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/semesters")
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+            reloads.add(exchange);
+            calls.add(filter.filter(exchange, upstream));
+        }
+        Flux.merge(calls).then().block(Duration.ofSeconds(5));
+
+        // 1 lần cho request đầu + đúng 1 lần revalidate cho cả 3 lần reload
+        assertThat(upstream.calls.get()).isEqualTo(2);
+        assertThat(upstream.lastIfNoneMatch).isEqualTo(ETAG);
+        assertThat(reloads).extracting(MicroCacheFilterTest::cacheStatus)
+                .containsOnly("REVALIDATED", "COALESCED")
+                .containsOnlyOnce("REVALIDATED");
+    }
+
+    @Test
+    void clientNoStoreBypassesCache() {
+        filter.filter(get("/api/semesters"), upstream).block();
+
+        MockServerWebExchange noStore = exchange(MockServerHttpRequest.get("/api/semesters")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        filter.filter(noStore, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(2);
+        assertThat(cacheStatus(noStore)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no-store", "private", "set-cookie"})
+    void uncacheableResponsesAreNotStored(String kind) {
+        upstream.headers = headers -> {
+            if (kind.equals("set-cookie")) {
+                headers.add(HttpHeaders.SET_COOKIE, "SESSION=abc");
+            } else {
+                headers.setCacheControl(kind);
+            }
+        };
+
+        filter.filter(get("/api/subjects"), upstream).block();
+        filter.filter(get("/api/subjects"), upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void userScopedEntriesAreIsolatedPerToken() {
+        MockServerWebExchange alice = withToken("/api/student/syllabi", "Bearer alice");
+        MockServerWebExchange bob = withToken("/api/student/syllabi", "Bearer bob");
+        MockServerWebExchange aliceAgain = withToken("/api/student/syllabi", "Bearer alice");
+
+        filter.filter(alice, upstream).block();
+        filter.filter(bob, upstream).block();
+        filter.filter(aliceAgain, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(2);
+        assertThat(cacheStatus(bob)).isEqualTo("MISS");
+        assertThat(cacheStatus(aliceAgain)).isEqualTo("HIT");
+    }
+
+    @Test
+    void roleScopedEntriesAreSharedBetweenUsersWithTheSameRoles() {
+        MockServerWebExchange lecturerA = withPrincipal("/api/subjects", "u1", List.of("LECTURER"));
+        MockServerWebExchange lecturerB = withPrincipal("/api/subjects", "u2", List.of("LECTURER"));
+        MockServerWebExchange admin = withPrincipal("/api/subjects", "u3", List.of("ADMIN"));
+
+        filter.filter(lecturerA, upstream).block();
+        filter.filter(lecturerB, upstream).block();
+        filter.filter(admin, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(2);
+        assertThat(cacheStatus(lecturerB)).isEqualTo("HIT");
+        assertThat(cacheStatus(admin)).isEqualTo("MISS");
+    }
+
+    @Test
+    void userScopedEntriesUseVerifiedUserIdNotToken() {
+        // Cùng một người dùng, hai token khác nhau (đăng nhập trên hai thiết bị) → dùng chung entry
+        MockServerWebExchange laptop = withPrincipal("/api/student/syllabi", "u1", List.of("STUDENT"));
+        MockServerWebExchange phone = withPrincipal("/api/student/syllabi", "u1", List.of("STUDENT"));
+        MockServerWebExchange otherStudent = withPrincipal("/api/student/syllabi", "u2", List.of("STUDENT"));
+
+        filter.filter(laptop, upstream).block();
+        filter.filter(phone, upstream).block();
+        filter.filter(otherStudent, upstream).block();
+
+        assertThat(cacheStatus(phone)).isEqualTo("HIT");
+        assertThat(cacheStatus(otherStudent)).isEqualTo("MISS");
+    }
+
+    @Test
+    void successfulWriteEvictsRoute() {
+        filter.filter(get("/api/subjects"), upstream).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/subjects")), upstream).block();
+
+        MockServerWebExchange afterWrite = get("/api/subjects");
+        filter.filter(afterWrite, upstream).block();
+
+        assertThat(upstream.calls.get()).isEqualTo(3);
+        assertThat(cacheStatus(afterWrite)).isEqualTo("MISS");
+        assertThat(meterRegistry.counter("smd.gateway.cache.evictions", "route", "subjects").count()).isEqualTo(1);
+    }
+
+    @Test
+    void userWriteOnlyEvictsThatUsersEntries() {
+        filter.filter(withToken("/api/student/syllabi", "Bearer alice"), upstream).block();
+        filter.filter(withToken("/api/student/syllabi", "Bearer bob"), upstream).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/student/syllabi/1/track")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer alice")), upstream).block();
+
+        MockServerWebExchange bob = withToken("/api/student/syllabi", "Bearer bob");
+        MockServerWebExchange alice = withToken("/api/student/syllabi", "Bearer alice");
+        filter.filter(bob, upstream).block();
+        filter.filter(alice, upstream).block();
+
+        assertThat(cacheStatus(bob)).isEqualTo("HIT");
+        assertThat(cacheStatus(alice)).isEqualTo("MISS");
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    private static MicroCacheProperties.Route route(String id, String path, Scope scope) {
+        MicroCacheProperties.Route route = new MicroCacheProperties.Route();
+        route.setId(id);
+        route.setPath(path);
+        route.setTtl(Duration.ofSeconds(30));
+        route.setScope(scope);
+        return route;
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return exchange(MockServerHttpRequest.get(path));
+    }
+
+    private static MockServerWebExchange withToken(String path, String authorization) {
+        return exchange(MockServerHttpRequest.get(path).header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+
+    private static MockServerWebExchange withPrincipal(String path, String userId, List<String> roles) {
+        MockServerWebExchange exchange = withToken(path, "Bearer " + userId + "-" + System.nanoTime());
+        exchange.getAttributes().put(VerifiedPrincipal.ATTRIBUTE,
+                new VerifiedPrincipal(userId, userId + "@smd.edu.vn", roles, "access", Long.MAX_VALUE));
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private static String cacheStatus(MockServerWebExchange exchange) {
+        return exchange.getResponse().getHeaders().getFirst(MicroCacheFilter.CACHE_STATUS_HEADER);
+    }
+
+    /**
+     * Giả lập core-service: trả BODY kèm ETag, 304 khi If-None-Match khớp (giống ReadCacheHeadersFilter)
+     */
+    private static class FakeUpstream implements GatewayFilterChain {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger notModified = new AtomicInteger();
+        volatile String lastIfNoneMatch;
+        volatile Duration delay = Duration.ZERO;
+        volatile Consumer<HttpHeaders> headers = h -> h.setCacheControl("max-age=0, must-revalidate, s-maxage=30");
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            calls.incrementAndGet();
+            lastIfNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            return Mono.delay(delay).then(Mono.defer(() -> respond(exchange)));
+        }
+
+        private Mono<Void> respond(ServerWebExchange exchange) {
+            ServerHttpResponse response = exchange.getResponse();
+            if (exchange.getRequest().getMethod().name().equals("POST")) {
+                response.setStatusCode(HttpStatus.CREATED);
+                return response.setComplete();
+            }
+            headers.accept(response.getHeaders());
+            response.getHeaders().setETag(ETAG);
+            if (ETAG.equals(lastIfNoneMatch)) {
+                notModified.incrementAndGet();
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+            response.setStatusCode(HttpStatus.OK);
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package vn.edu.smd.gateway.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroCacheStoreTest {
+
+    @Test
+    void evictsLeastRecentlyUsedWhenByteBudgetIsExceeded() {
+        MicroCacheStore store = new MicroCacheStore(100, 250);
+        store.put("a", entry("a", 100));
+        store.put("b", entry("b", 100));
+        store.get("a");
+
+        int evicted = store.put("c", entry("c", 100));
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.totalBytes()).isEqualTo(200);
+    }
+
+    @Test
+    void evictsWhenEntryCountIsExceeded() {
+        MicroCacheStore store = new MicroCacheStore(2, 10_000);
+        store.put("a", entry("a", 10));
+        store.put("b", entry("b", 10));
+        store.put("c", entry("c", 10));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("a")).isNull();
+        assertThat(store.totalBytes()).isEqualTo(20);
+    }
+
+    @Test
+    void replacingAnEntryKeepsTheByteCountAccurate() {
+        MicroCacheStore store = new MicroCacheStore(10, 1_000);
+        store.put("a", entry("a", 300));
+        store.put("a", entry("a", 50));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.totalBytes()).isEqualTo(50);
+    }
+
+    @Test
+    void entryLargerThanBudgetIsNotStored() {
+        MicroCacheStore store = new MicroCacheStore(10, 100);
+        store.put("small", entry("small", 40));
+
+        store.put("huge", entry("huge", 101));
+
+        assertThat(store.get("huge")).isNull();
+        assertThat(store.get("small")).isNotNull();
+        assertThat(store.totalBytes()).isEqualTo(40);
+    }
+
+    @Test
+    void evictIfReleasesBytes() {
+        MicroCacheStore store = new MicroCacheStore(10, 1_000);
+        store.put("a", entry("r1", 100));
+        store.put("b", entry("r2", 200));
+
+        int evicted = store.evictIf(entry -> entry.routeId().equals("r1"));
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(store.totalBytes()).isEqualTo(200);
+    }
+
+    private static CachedResponse entry(String routeId, int bodyBytes) {
+        return new CachedResponse(routeId, "*", HttpHeaders.EMPTY, new byte[bodyBytes], null, 0, Long.MAX_VALUE);
+    }
+}